@@ -0,0 +1,81 @@
+package benchmark.jmh;
+
+import configsimulador.ContextoSimulacao;
+import eventos.AgendamentoEvento;
+import eventos.Evento;
+import eventos.GerenciadorAgenda;
+import eventos.TipoAgenda;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede {@link GerenciadorAgenda#adicionarEvento(Evento)} e {@link GerenciadorAgenda#proximoEvento()}
+ * com o modelo "hold": cada operação retira o próximo evento e agenda um novo em um tempo
+ * futuro aleatório, mantendo constante o número de eventos pendentes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AgendaBenchmark {
+
+    /** Intervalo máximo (em minutos) entre o evento retirado e o novo evento agendado. */
+    private static final int INCREMENTO_MAXIMO = 240;
+
+    @Param({"HEAP", "CALENDARIO", "LISTA"})
+    public TipoAgenda tipo;
+
+    /** Quantidade de eventos pendentes na agenda. */
+    @Param({"100", "10000", "100000"})
+    public int pendentes;
+
+    private GerenciadorAgenda agenda;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        random = new SplittableRandom(42);
+        agenda = new GerenciadorAgenda(tipo);
+        for (int i = 0; i < pendentes; i++) {
+            agenda.adicionarEvento(new EventoVazio(random.nextInt(INCREMENTO_MAXIMO)));
+        }
+    }
+
+    /**
+     * Retira o próximo evento e agenda um novo.
+     */
+    @Benchmark
+    public AgendamentoEvento hold() {
+        Evento proximo = agenda.proximoEvento();
+        return agenda.adicionarEvento(new EventoVazio(proximo.getTempo() + 1 + random.nextInt(INCREMENTO_MAXIMO)));
+    }
+
+    /**
+     * Evento sem efeito, usado apenas para popular a agenda.
+     */
+    private static final class EventoVazio extends Evento {
+        EventoVazio(int tempo) {
+            super(tempo);
+        }
+
+        @Override
+        public void executar(ContextoSimulacao contexto) {
+            // Sem efeito
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package benchmark.jmh;
+
+import configsimulador.ContextoSimulacao;
+import eventos.Evento;
+import eventos.GerenciadorAgenda;
+import eventos.TipoAgenda;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a carga inicial de uma agenda vazia: os eventos agendados um a um com
+ * {@link GerenciadorAgenda#adicionarEvento(Evento)} e de uma só vez com
+ * {@link GerenciadorAgenda#adicionarEventos(java.util.Collection)}.
+ * <p>
+ * Com {@code tempos = ZERO}, todos os eventos estão no mesmo minuto, como a primeira coleta de
+ * cada caminhão; com {@code tempos = ALEATORIOS}, estão espalhados pelo dia.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CargaAgendaBenchmark {
+
+    /** Último minuto (exclusivo) dos tempos aleatórios: um dia de simulação. */
+    private static final int MINUTOS_POR_DIA = 1440;
+
+    @Param({"HEAP", "CALENDARIO"})
+    public TipoAgenda tipo;
+
+    /** Quantidade de eventos carregados. */
+    @Param({"1000", "100000"})
+    public int quantidade;
+
+    @Param({"ZERO", "ALEATORIOS"})
+    public String tempos;
+
+    private List<Evento> eventos;
+    private GerenciadorAgenda agenda;
+
+    @Setup(Level.Trial)
+    public void prepararEventos() {
+        SplittableRandom random = new SplittableRandom(42);
+        eventos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            int tempo = "ZERO".equals(tempos) ? 0 : random.nextInt(MINUTOS_POR_DIA);
+            eventos.add(new EventoVazio(tempo));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void prepararAgenda() {
+        agenda = new GerenciadorAgenda(tipo);
+    }
+
+    /**
+     * Agenda os eventos um a um.
+     */
+    @Benchmark
+    public GerenciadorAgenda umAUm() {
+        for (Evento evento : eventos) {
+            agenda.adicionarEvento(evento);
+        }
+        return agenda;
+    }
+
+    /**
+     * Agenda os eventos de uma só vez.
+     */
+    @Benchmark
+    public GerenciadorAgenda emLote() {
+        agenda.adicionarEventos(eventos);
+        return agenda;
+    }
+
+    /**
+     * Evento sem efeito, usado apenas para popular a agenda.
+     */
+    private static final class EventoVazio extends Evento {
+        EventoVazio(int tempo) {
+            super(tempo);
+        }
+
+        @Override
+        public void executar(ContextoSimulacao contexto) {
+            // Sem efeito
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package benchmark.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Ponto de entrada do JAR de benchmarks. Aceita as mesmas opções da linha de comando do JMH
+ * (por exemplo, um filtro de nomes ou {@code -p tamanho=1000}) e sempre inclui o profiler
+ * de coleta de lixo, que informa a taxa de alocação de cada benchmark.
+ * <p>
+ * Uso: {@code java -jar target/benchmarks.jar [opções do JMH] [filtro]}
+ */
+public class ExecutarBenchmarks {
+
+    /**
+     * Construtor privado para impedir a instanciação da classe.
+     */
+    private ExecutarBenchmarks() {
+        // Previne instanciação
+    }
+
+    /**
+     * Executa os benchmarks selecionados.
+     *
+     * @param args As opções da linha de comando do JMH.
+     * @throws CommandLineOptionException se as opções forem inválidas.
+     * @throws RunnerException            se a execução dos benchmarks falhar.
+     * @throws IOException                se o terminal não puder exibir a ajuda.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions opcoes = new CommandLineOptions(args);
+        if (opcoes.shouldHelp()) {
+            opcoes.showHelp();
+            return;
+        }
+        if (opcoes.shouldList()) {
+            new Runner(opcoes).list();
+            return;
+        }
+        new Runner(new OptionsBuilder()
+                .parent(opcoes)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,100 @@
+package benchmark.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tads.Fila;
+import tads.FilaCircular;
+import tads.FilaCircularInt;
+import tads.FilaPrioridadeInt;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede as operações das filas usadas pelas estações de transferência: a {@link Fila} ligada,
+ * a {@link FilaCircular} e as versões primitivas {@link FilaCircularInt} e {@link FilaPrioridadeInt}, que as estações usam para enfileirar as posições dos caminhões na frota.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilaBenchmark {
+
+    /** Quantidade de elementos mantidos na fila. */
+    @Param({"1", "100", "10000"})
+    public int tamanho;
+
+    private Fila<Integer> fila;
+    private FilaCircular<Integer> filaCircular;
+    private FilaCircularInt filaCircularInt;
+    private FilaPrioridadeInt filaPrioridadeInt;
+    /** Valores enfileirados, criados antes da medição para não medir o encapsulamento. */
+    private Integer[] valores;
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        valores = new Integer[0x10000];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = i;
+        }
+        fila = new Fila<>();
+        filaCircular = new FilaCircular<>();
+        filaCircularInt = new FilaCircularInt();
+        filaPrioridadeInt = new FilaPrioridadeInt();
+        for (proximo = 0; proximo < tamanho; proximo++) {
+            fila.enqueue(valores[proximo & 0xFFFF]);
+            filaCircular.enqueue(valores[proximo & 0xFFFF]);
+            filaCircularInt.enqueue(proximo);
+            filaPrioridadeInt.enqueue(proximo, proximo & 7);
+        }
+    }
+
+    /**
+     * Enfileira um elemento e retira o primeiro, mantendo o tamanho constante.
+     */
+    @Benchmark
+    public Integer enqueuePoll() {
+        fila.enqueue(valores[proximo++ & 0xFFFF]);
+        return fila.poll();
+    }
+
+    /**
+     * O mesmo que {@link #enqueuePoll()}, com a {@link FilaCircular}.
+     */
+    @Benchmark
+    public Integer enqueuePollCircular() {
+        filaCircular.enqueue(valores[proximo++ & 0xFFFF]);
+        return filaCircular.poll();
+    }
+
+    /**
+     * O mesmo que {@link #enqueuePoll()}, com a {@link FilaCircularInt}.
+     */
+    @Benchmark
+    public int enqueuePollCircularInt() {
+        filaCircularInt.enqueue(proximo++);
+        return filaCircularInt.poll();
+    }
+
+    /**
+     * O mesmo que {@link #enqueuePollCircularInt()}, com a {@link FilaPrioridadeInt} e oito níveis de prioridade.
+     */
+    @Benchmark
+    public int enqueuePollPrioridadeInt() {
+        int i = proximo++;
+        filaPrioridadeInt.enqueue(i, i & 7);
+        return filaPrioridadeInt.poll();
+    }
+}
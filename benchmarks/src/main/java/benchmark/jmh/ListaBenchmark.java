@@ -0,0 +1,118 @@
+package benchmark.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tads.Lista;
+import tads.ListaArray;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede as operações de {@link Lista} usadas pela simulação: a inserção ordenada
+ * (como na agenda em lista) e o acesso por posição (como nos laços sobre zonas e caminhões),
+ * comparando o percurso por posição com o percurso por iterador e com a {@link ListaArray}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListaBenchmark {
+
+    private static final Comparator<Integer> ORDEM_NATURAL = Comparator.naturalOrder();
+
+    /** Quantidade de elementos mantidos na lista. */
+    @Param({"10", "100", "1000", "10000"})
+    public int tamanho;
+
+    private Lista<Integer> lista;
+    private ListaArray<Integer> listaArray;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        random = new SplittableRandom(42);
+        lista = new Lista<>();
+        for (int i = 0; i < tamanho; i++) {
+            lista.adicionarOrdenado(random.nextInt(tamanho * 10), ORDEM_NATURAL);
+        }
+        listaArray = new ListaArray<>(tamanho);
+        for (Integer valor : lista) {
+            listaArray.adicionar(valor);
+        }
+    }
+
+    /**
+     * Insere um valor aleatório em ordem e remove o primeiro, mantendo o tamanho constante.
+     */
+    @Benchmark
+    public Integer adicionarOrdenado() {
+        lista.adicionarOrdenado(random.nextInt(tamanho * 10), ORDEM_NATURAL);
+        return lista.removerHead();
+    }
+
+    /**
+     * Lê o valor de uma posição aleatória.
+     */
+    @Benchmark
+    public Integer getValor() {
+        return lista.getValor(random.nextInt(tamanho));
+    }
+
+    /**
+     * Percorre a lista inteira por posição, como fazem os laços da simulação.
+     */
+    @Benchmark
+    public long percorrerPorPosicao() {
+        long soma = 0;
+        for (int i = 0; i < lista.getTamanho(); i++) {
+            soma += lista.getValor(i);
+        }
+        return soma;
+    }
+
+    /**
+     * Percorre a lista inteira com o iterador, seguindo os nós.
+     */
+    @Benchmark
+    public long percorrerComIterador() {
+        long soma = 0;
+        for (Integer valor : lista) {
+            soma += valor;
+        }
+        return soma;
+    }
+
+    /**
+     * Lê o valor de uma posição aleatória da {@link ListaArray}.
+     */
+    @Benchmark
+    public Integer getValorListaArray() {
+        return listaArray.getValor(random.nextInt(tamanho));
+    }
+
+    /**
+     * Percorre a {@link ListaArray} inteira por posição.
+     */
+    @Benchmark
+    public long percorrerListaArrayPorPosicao() {
+        long soma = 0;
+        for (int i = 0; i < listaArray.getTamanho(); i++) {
+            soma += listaArray.getValor(i);
+        }
+        return soma;
+    }
+}
@@ -0,0 +1,72 @@
+package benchmark.jmh;
+
+import configsimulador.FluxoAleatorio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import timer.Timer;
+import timer.TimerDetalhado;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o cálculo dos tempos de viagem em {@link Timer}: o cálculo completo de uma operação
+ * ({@link Timer#calcularTimerDetalhado(int, int, boolean, java.util.random.RandomGenerator)})
+ * e o ajuste por horário de pico pela tabela e minuto a minuto.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerBenchmark {
+
+    /** Horizonte (em minutos) dos tempos de início sorteados. */
+    private static final int HORIZONTE = 30 * 24 * 60;
+
+    /** Duração base das viagens, em minutos. */
+    @Param({"20", "60"})
+    public int duracaoBase;
+
+    private FluxoAleatorio gerador;
+    private int[] inicios;
+    private int indice;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        gerador = new FluxoAleatorio(42);
+        inicios = new int[1024];
+        for (int i = 0; i < inicios.length; i++) {
+            inicios[i] = gerador.nextInt(HORIZONTE);
+        }
+    }
+
+    private int proximoInicio() {
+        return inicios[indice++ & (inicios.length - 1)];
+    }
+
+    @Benchmark
+    public TimerDetalhado calcularTimerDetalhado() {
+        return Timer.calcularTimerDetalhado(proximoInicio(), 4, true, gerador);
+    }
+
+    @Benchmark
+    public int tempoRealDeViagemTabela() {
+        return Timer.calcularTempoRealDeViagem(proximoInicio(), duracaoBase);
+    }
+
+    @Benchmark
+    public int tempoRealDeViagemPorMinuto() {
+        return Timer.calcularTempoRealDeViagemPorMinuto(proximoInicio(), duracaoBase);
+    }
+}
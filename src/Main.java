@@ -1,23 +1,175 @@
+import configsimulador.ArquivoCenario;
+import configsimulador.ExecutorReplicacoes;
+import configsimulador.ExecutorSimulacao;
 import configsimulador.ParametrosSimulacao;
-import configsimulador.Simulador;
+import configsimulador.ResultadoSimulacao;
+import configsimulador.ResumoReplicacoes;
+import configsimulador.SincronizacaoParticoes;
+import estacoes.DisciplinaFila;
+import eventos.TipoAgenda;
+import registro.DestinoTexto;
+import registro.NivelRegistro;
+import zonas.PoliticaRoteamento;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Ponto de entrada principal para a execução da versão CONSOLE do simulador.
  * NOTA: A aplicação principal agora é a classe MainFX, que fornece uma interface gráfica.
- * Esta classe foi mantida para fins de teste e execução sem GUI.
+ * Esta classe executa a simulação sem GUI e na velocidade máxima, por meio do
+ * {@link ExecutorSimulacao}.
+ * <p>
+ * Uso:
+ * <ul>
+ * <li>{@code java Main [execucoes] [horasASimular] [--narrativa | --depuracao] [--cenario arquivo]
+ * [--paralelismo threads [--otimista | --lotes]]}: execuções sequenciais, opcionalmente exibindo a narrativa da simulação,
+ * usando a cidade descrita em um arquivo (veja {@link ArquivoCenario}) e dividindo cada execução
+ * em partições por estação processadas em várias threads (veja {@link ExecutorSimulacao#setParalelismo(int)}),
+ * sincronizadas de forma otimista com {@code --otimista}, ou executando em paralelo os eventos
+ * independentes de cada minuto com {@code --lotes} (veja {@link SincronizacaoParticoes});</li>
+ * <li>{@code java Main --replicacoes N [horasASimular] [threads] [semente]}: N replicações
+ * em paralelo, com média e intervalo de confiança de 95% das métricas.</li>
+ * </ul>
+ * Em qualquer modo, {@code --roteamento-dinamico} faz os caminhões escolherem a estação de
+ * menor custo estimado ({@link PoliticaRoteamento#MENOR_CUSTO}) em vez da estação fixa da zona,
+ * e {@code --disciplina NOME} define a ordem de descarga das filas das estações
+ * (veja {@link DisciplinaFila}; por padrão, {@code FIFO}).
  */
 public class Main {
     /**
-     * O método principal que inicia a execução do simulador via console.
-     * Cria uma instância do {@link Simulador} e chama seu método {@code inicializar()}
-     * com um conjunto de parâmetros padrão.
+     * O método principal que executa o simulador via console.
+     * Por padrão, apenas o resumo de cada execução é exibido. A narrativa da simulação
+     * pode ser habilitada com {@code --narrativa} (nível INFO) ou {@code --depuracao}.
+     *
+     * @param args Opcionalmente, o número de execuções (padrão: 1), as horas a simular (padrão: 8),
+     *             as opções de narrativa, o arquivo de cenário e o paralelismo de cada execução.
+     * @throws IOException se o arquivo de cenário não puder ser lido.
+     */
+    public static void main(String[] args) throws IOException {
+        PoliticaRoteamento politica = PoliticaRoteamento.FIXA;
+        if (List.of(args).contains("--roteamento-dinamico")) {
+            politica = PoliticaRoteamento.MENOR_CUSTO;
+            args = List.of(args).stream().filter(arg -> !arg.equals("--roteamento-dinamico")).toArray(String[]::new);
+        }
+        DisciplinaFila disciplina = DisciplinaFila.FIFO;
+        int posicaoDisciplina = List.of(args).indexOf("--disciplina");
+        if (posicaoDisciplina >= 0) {
+            if (posicaoDisciplina + 1 == args.length) {
+                throw new IllegalArgumentException("Informe a disciplina da fila: --disciplina "
+                        + List.of(DisciplinaFila.values()));
+            }
+            disciplina = DisciplinaFila.valueOf(args[posicaoDisciplina + 1].toUpperCase());
+            List<String> restantes = new ArrayList<>(List.of(args));
+            restantes.subList(posicaoDisciplina, posicaoDisciplina + 2).clear();
+            args = restantes.toArray(String[]::new);
+        }
+        if (args.length > 0 && args[0].equals("--replicacoes")) {
+            executarReplicacoes(args, politica, disciplina);
+            return;
+        }
+        NivelRegistro nivel = NivelRegistro.DESLIGADO;
+        Path arquivoCenario = null;
+        int paralelismo = 1;
+        SincronizacaoParticoes sincronizacao = SincronizacaoParticoes.CONSERVADORA;
+        List<String> posicionais = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--cenario")) {
+                if (++i == args.length) {
+                    throw new IllegalArgumentException("Informe o arquivo do cenário: --cenario arquivo");
+                }
+                arquivoCenario = Path.of(args[i]);
+            } else if (arg.equals("--paralelismo")) {
+                if (++i == args.length) {
+                    throw new IllegalArgumentException("Informe o número de threads: --paralelismo threads");
+                }
+                paralelismo = Integer.parseInt(args[i]);
+            } else if (arg.equals("--otimista")) {
+                sincronizacao = SincronizacaoParticoes.OTIMISTA;
+            } else if (arg.equals("--lotes")) {
+                sincronizacao = SincronizacaoParticoes.LOTES;
+            } else if (arg.equals("--narrativa")) {
+                nivel = NivelRegistro.INFO;
+            } else if (arg.equals("--depuracao")) {
+                nivel = NivelRegistro.DEPURACAO;
+            } else {
+                posicionais.add(arg);
+            }
+        }
+        int execucoes = posicionais.size() > 0 ? Integer.parseInt(posicionais.get(0)) : 1;
+        int horasASimular = posicionais.size() > 1 ? Integer.parseInt(posicionais.get(1)) : 8;
+        if (execucoes < 1 || horasASimular < 1) {
+            throw new IllegalArgumentException("O número de execuções e as horas a simular devem ser positivos.");
+        }
+
+        ParametrosSimulacao parametrosPadrao = criarParametrosPadrao(horasASimular);
+        ExecutorSimulacao executor = new ExecutorSimulacao(parametrosPadrao);
+        executor.setRegistro(nivel, new DestinoTexto(System.out));
+        executor.setPoliticaRoteamento(politica);
+        executor.setDisciplinaFila(disciplina);
+        executor.setParalelismo(paralelismo);
+        executor.setSincronizacao(sincronizacao);
+        if (arquivoCenario != null) {
+            executor.setCenario(ArquivoCenario.ler(arquivoCenario));
+        }
+
+        long inicio = System.nanoTime();
+        long lixoRestanteTotal = 0;
+        for (int i = 1; i <= execucoes; i++) {
+            ResultadoSimulacao resultado = executor.executar();
+            lixoRestanteTotal += resultado.getLixoRestanteTotal();
+            System.out.println("#" + i + " " + resultado);
+            if (execucoes == 1) {
+                String[] nomes = resultado.getNomesZonas();
+                int[] lixo = resultado.getLixoRestantePorZona();
+                for (int z = 0; z < nomes.length; z++) {
+                    System.out.println("• " + nomes[z] + ": " + lixo[z] + "t");
+                }
+            }
+        }
+        if (execucoes > 1) {
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            System.out.printf("%d execuções em %.2fs (%.0f execuções/minuto). Lixo restante médio: %.2ft%n",
+                    execucoes, segundos, execucoes * 60 / segundos, (double) lixoRestanteTotal / execucoes);
+        }
+    }
+
+    /**
+     * Executa N replicações em paralelo e exibe o resumo estatístico.
+     *
+     * @param args     {@code --replicacoes N [horasASimular] [threads] [semente]}.
+     * @param politica   A política de roteamento das replicações.
+     * @param disciplina A disciplina das filas das estações nas replicações.
+     */
+    private static void executarReplicacoes(String[] args, PoliticaRoteamento politica, DisciplinaFila disciplina) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Informe o número de replicações: --replicacoes N [horasASimular] [threads] [semente]");
+        }
+        int replicacoes = Integer.parseInt(args[1]);
+        int horasASimular = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long semente = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+        ExecutorReplicacoes executor = new ExecutorReplicacoes(criarParametrosPadrao(horasASimular), TipoAgenda.HEAP, threads);
+        executor.setPoliticaRoteamento(politica);
+        executor.setDisciplinaFila(disciplina);
+
+        ResumoReplicacoes resumo = executor.executar(replicacoes, semente);
+        System.out.println("Threads: " + threads);
+        System.out.println(resumo);
+    }
+
+    /**
+     * Cria um conjunto de parâmetros padrão para a simulação em modo console.
      *
-     * @param args Argumentos de linha de comando (não utilizados).
+     * @param horasASimular O número de horas a simular.
+     * @return Os {@link ParametrosSimulacao} padrão.
      */
-    public static void main(String[] args) {
-        Simulador simulador = new Simulador();
-        // Cria um conjunto de parâmetros padrão para a simulação em modo console.
-        ParametrosSimulacao parametrosPadrao = new ParametrosSimulacao(
+    private static ParametrosSimulacao criarParametrosPadrao(int horasASimular) {
+        return new ParametrosSimulacao(
                 2, // número de caminhões de 2t
                 3, // viagens por caminhão de 2t
                 1, // número de caminhões de 4t
@@ -26,9 +178,7 @@ public class Main {
                 3, // viagens por caminhão de 8t
                 1, // número de caminhões de 10t
                 3,  // viagens por caminhão de 10t
-                8  // horas a simular
+                horasASimular  // horas a simular
         );
-        // Inicializa a simulação com os parâmetros definidos.
-        simulador.inicializar(parametrosPadrao);
     }
-}
\ No newline at end of file
+}
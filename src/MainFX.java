@@ -1,12 +1,17 @@
 import configsimulador.ConfiguracoesDoSimulador;
+import configsimulador.ContextoSimulacao;
 import configsimulador.ParametrosSimulacao;
 import configsimulador.Simulador;
 import eventos.Evento;
 import eventos.GerenciadorAgenda;
 import eventos.IEventoObserver;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.animation.TranslateTransition;
 import javafx.application.Application;
 import javafx.application.Platform;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
 import javafx.geometry.Point2D;
@@ -20,18 +25,36 @@ import javafx.scene.shape.Circle;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
 import javafx.util.Duration;
-import tads.Lista;
+import registro.DestinoLinhasRecentes;
+import registro.GravadorAssincrono;
+import registro.MensagemRegistro;
+import registro.NivelRegistro;
+import registro.Registrador;
+import tads.ListaArray;
 import zonas.Zonas;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class MainFX extends Application implements IEventoObserver {
 
-    private TextArea logArea;
+    /** Quantidade máxima de linhas do registro mantidas em memória e exibidas na tela. */
+    private static final int CAPACIDADE_LOG = 5000;
+    /** Intervalo entre as atualizações da lista de registro, em milissegundos. */
+    private static final int INTERVALO_ATUALIZACAO_LOG_MS = 100;
+
+    private ListView<String> logLista;
+    private DestinoLinhasRecentes destinoLog;
+    private Timeline atualizacaoLog;
+    private final List<String> linhasNovas = new ArrayList<>();
     private Button iniciarBtn;
     private Button pausarBtn;
     private Button encerrarBtn;
@@ -40,6 +63,7 @@ public class MainFX extends Application implements IEventoObserver {
     private TextField segPorHoraField;
 
     private Thread simuladorThread;
+    private volatile ContextoSimulacao contexto;
     private volatile boolean pausado = false;
     private volatile boolean encerrado = false;
     private Pane mapa;
@@ -107,12 +131,13 @@ public class MainFX extends Application implements IEventoObserver {
         topo.setAlignment(Pos.CENTER);
         root.setTop(topo);
 
-        logArea = new TextArea();
-        logArea.setEditable(false);
-        logArea.setWrapText(true);
-        logArea.setStyle("-fx-font-family: 'monospace'; -fx-font-size: 14px;");
-        logArea.setPrefHeight(300);
-        root.setBottom(logArea);
+        logLista = new ListView<>();
+        logLista.setStyle("-fx-font-family: 'monospace'; -fx-font-size: 14px;");
+        logLista.setPrefHeight(300);
+        root.setBottom(logLista);
+
+        atualizacaoLog = new Timeline(new KeyFrame(Duration.millis(INTERVALO_ATUALIZACAO_LOG_MS), e -> atualizarLog()));
+        atualizacaoLog.setCycleCount(Animation.INDEFINITE);
 
         VBox configuracaoBox = new VBox(10);
         configuracaoBox.setPadding(new Insets(20));
@@ -176,13 +201,18 @@ public class MainFX extends Application implements IEventoObserver {
         primaryStage.setTitle("Simulador de Coleta de Lixo - Teresina");
         primaryStage.setOnCloseRequest(e -> {
             encerrarSimulacao();
+            descartarDestinoLog();
             Platform.exit();
         });
         primaryStage.show();
     }
 
     private void iniciarSimulacao(ParametrosSimulacao params) {
-        logArea.clear();
+        logLista.getItems().clear();
+        descartarDestinoLog();
+        final DestinoLinhasRecentes destinoAtual = criarDestinoLog();
+        this.destinoLog = destinoAtual;
+        atualizacaoLog.play();
         this.tempoEventoAnterior = 0;
         caminhaoNodes.values().forEach(node -> mapa.getChildren().remove(node));
         caminhaoNodes.clear();
@@ -195,38 +225,38 @@ public class MainFX extends Application implements IEventoObserver {
         pausarBtn.setDisable(false);
         encerrarBtn.setDisable(false);
 
-        GerenciadorAgenda.adicionarObserver(this);
-        zonas.DistanciaZonas.configurar(new estacoes.EstacaoDeTransferencia("Estação A"), new estacoes.EstacaoDeTransferencia("Estação B"));
+        Simulador simulador = new Simulador();
+        final ContextoSimulacao contextoAtual = simulador.getContexto();
+        this.contexto = contextoAtual;
+        final GerenciadorAgenda agenda = contextoAtual.getAgenda();
+        agenda.adicionarObserver(this);
 
         simuladorThread = new Thread(() -> {
-            Simulador simulador = new Simulador();
-            final Lista<Zonas> zonas = simulador.inicializar(params);
-            final int tempoMaximoSimulacao = params.getHorasASimular() * 60;
-
-            Platform.runLater(() -> {
-                painelStatusCaminhoes.atualizarContagemCaminhoesGrandes(caminhoes.CaminhaoGrande.getContadorTotal());
-            });
+            Registrador registro = new Registrador(NivelRegistro.INFO, new GravadorAssincrono(destinoAtual));
+            contextoAtual.setRegistrador(registro);
+            try {
+                final ListaArray<Zonas> zonas = simulador.inicializar(params);
+                final int tempoMaximoSimulacao = params.getHorasASimular() * 60;
 
-            try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                 PrintStream ps = new PrintStream(baos, true, StandardCharsets.UTF_8)) {
-                PrintStream oldOut = System.out;
-                System.setOut(ps);
+                Platform.runLater(() -> {
+                    painelStatusCaminhoes.atualizarContagemCaminhoesGrandes(contextoAtual.getTotalCaminhoesGrandes());
+                });
 
-                while (!GerenciadorAgenda.estaVazia() && !Thread.currentThread().isInterrupted()) {
+                while (!agenda.estaVazia() && !Thread.currentThread().isInterrupted()) {
                     while (pausado) {
                         Thread.sleep(100);
                     }
 
-                    Evento proximoEvento = GerenciadorAgenda.espiarProximoEvento();
+                    Evento proximoEvento = agenda.espiarProximoEvento();
                     if (proximoEvento.getTempo() > tempoMaximoSimulacao) {
-                        System.out.println("[SIMULAÇÃO] Tempo limite de " + tempoMaximoSimulacao + " minutos atingido.");
+                        registro.registrar(MensagemRegistro.TEMPO_LIMITE_ATINGIDO, agenda.getTempoUltimoEvento(), tempoMaximoSimulacao);
                         break;
                     }
 
-                    Evento eventoAtual = GerenciadorAgenda.proximoEvento();
+                    Evento eventoAtual = agenda.proximoEvento();
                     if (eventoAtual != null) {
-                        eventoAtual.executar();
-                        GerenciadorAgenda.notificarObservers(eventoAtual);
+                        eventoAtual.executar(contextoAtual);
+                        agenda.notificarObservers(eventoAtual);
 
                         long tempoSimuladoDecorrido = eventoAtual.getTempo() - tempoEventoAnterior;
                         if (tempoSimuladoDecorrido > 0) {
@@ -237,17 +267,23 @@ public class MainFX extends Application implements IEventoObserver {
                     }
                 }
 
-                simulador.exibirRelatorioFinal(zonas);
-                System.setOut(oldOut);
-                Platform.runLater(() -> logArea.setText(removerCoresANSI(baos.toString(StandardCharsets.UTF_8))));
+                // Garante que toda a narrativa foi escrita antes do relatório final.
+                registro.fechar();
+                ByteArrayOutputStream relatorio = new ByteArrayOutputStream();
+                simulador.exibirRelatorioFinal(zonas, new PrintStream(relatorio, true, StandardCharsets.UTF_8));
+                for (String linha : relatorio.toString(StandardCharsets.UTF_8).split("\\R")) {
+                    destinoAtual.adicionarLinha(linha);
+                }
 
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
-                System.out.println("[SIMULAÇÃO] Thread interrompida. Encerrando.");
+                registro.fechar();
+                destinoAtual.adicionarLinha("[SIMULAÇÃO] Thread interrompida. Encerrando.");
             } catch (Exception ex) {
                 Platform.runLater(() -> new Alert(Alert.AlertType.ERROR, "Erro na simulação: " + ex.getMessage()).showAndWait());
                 ex.printStackTrace();
             } finally {
+                registro.fechar();
                 Platform.runLater(this::finalizarVisualizacao);
             }
         });
@@ -256,7 +292,15 @@ public class MainFX extends Application implements IEventoObserver {
     }
 
     private void finalizarVisualizacao() {
-        logArea.appendText("\nSimulação concluída.\n");
+        atualizacaoLog.stop();
+        atualizarLog();
+        destinoLog.close();
+        logLista.getItems().addAll("", "Simulação concluída.");
+        if (destinoLog.getLinhasExcedentes() > 0) {
+            logLista.getItems().add(destinoLog.getLinhasExcedentes() + " linhas anteriores gravadas em "
+                    + destinoLog.getArquivoExcedente());
+        }
+        logLista.scrollTo(logLista.getItems().size() - 1);
         iniciarBtn.setDisable(false);
         pausarBtn.setDisable(true);
         encerrarBtn.setDisable(true);
@@ -266,12 +310,14 @@ public class MainFX extends Application implements IEventoObserver {
 
     @Override
     public void onEvento(Evento evento) {
+        final ContextoSimulacao contextoEvento = this.contexto;
+        final caminhoes.CaminhaoPequeno caminhaoEvento = getCaminhaoPequeno(contextoEvento, evento);
         Platform.runLater(() -> {
             if (evento instanceof eventos.ColetaLixo) {
                 eventos.ColetaLixo eventoColeta = (eventos.ColetaLixo) evento;
                 atualizarVisualZona(eventoColeta.getZona());
-                atualizarPainelCaminhao(eventoColeta);
-                Node caminhaoNode = getOrCreateCaminhaoNode(eventoColeta.getCaminhao());
+                atualizarPainelCaminhao(eventoColeta, caminhaoEvento);
+                Node caminhaoNode = getOrCreateCaminhaoNode(caminhaoEvento);
                 Point2D pos = COORDENADAS.get(eventoColeta.getZona().getNome());
                 if (pos != null) {
                     resetarPosicao(caminhaoNode, pos);
@@ -281,20 +327,20 @@ public class MainFX extends Application implements IEventoObserver {
                 atualizarVisualZona(eventoGeracao.getZona());
             } else if (evento instanceof eventos.TransferenciaParaEstacao) {
                 eventos.TransferenciaParaEstacao eventoTransf = (eventos.TransferenciaParaEstacao) evento;
-                atualizarPainelCaminhao(eventoTransf);
-                Node caminhaoNode = getOrCreateCaminhaoNode(eventoTransf.getCaminhao());
-                estacoes.EstacaoDeTransferencia estacaoDestino = zonas.DistanciaZonas.getEstacaoPara(eventoTransf.getZona());
+                atualizarPainelCaminhao(caminhaoEvento);
+                Node caminhaoNode = getOrCreateCaminhaoNode(caminhaoEvento);
+                estacoes.EstacaoDeTransferencia estacaoDestino = eventoTransf.getEstacaoDestino();
                 Point2D posDestino = COORDENADAS.get(estacaoDestino.getNomeEstacao());
                 int duracaoViagem = eventoTransf.getDuracaoViagem();
                 animarNo(caminhaoNode, posDestino, duracaoViagem);
             } else if (evento instanceof eventos.EstacaoTransferencia) {
                 eventos.EstacaoTransferencia eventoEstacao = (eventos.EstacaoTransferencia) evento;
-                atualizarPainelCaminhao(eventoEstacao);
+                atualizarPainelCaminhao(eventoEstacao, caminhaoEvento);
                 atualizarVisualEstacao(eventoEstacao.getEstacao());
             } else if (evento instanceof eventos.GeracaoCaminhaoGrande) {
                 eventos.GeracaoCaminhaoGrande eventoGeracao = (eventos.GeracaoCaminhaoGrande) evento;
                 atualizarVisualEstacao(eventoGeracao.getEstacao());
-                painelStatusCaminhoes.atualizarContagemCaminhoesGrandes(caminhoes.CaminhaoGrande.getContadorTotal());
+                painelStatusCaminhoes.atualizarContagemCaminhoesGrandes(contextoEvento.getTotalCaminhoesGrandes());
             } else if (evento instanceof eventos.PartidaCaminhaoGrande) {
                 eventos.PartidaCaminhaoGrande eventoPartida = (eventos.PartidaCaminhaoGrande) evento;
                 Point2D posOrigem = COORDENADAS.get(eventoPartida.getEstacaoOrigem().getNomeEstacao());
@@ -401,8 +447,71 @@ public class MainFX extends Application implements IEventoObserver {
             }
         }
     }
-    private String removerCoresANSI(String texto) {
-        return texto.replaceAll("\u001B\\[[;\\d]*m", "");
+    /**
+     * Cria o destino do registro da próxima execução. As linhas que não cabem na tela
+     * são gravadas em um arquivo temporário; se ele não puder ser criado, são descartadas.
+     * O arquivo é apagado por {@link #descartarDestinoLog()} quando a próxima execução começa
+     * ou quando a janela é fechada.
+     */
+    private DestinoLinhasRecentes criarDestinoLog() {
+        Path arquivo = null;
+        try {
+            arquivo = Files.createTempFile("simulacao-coleta-", ".log");
+        } catch (IOException e) {
+            System.err.println("Não foi possível criar o arquivo do registro: " + e.getMessage());
+        }
+        return new DestinoLinhasRecentes(CAPACIDADE_LOG, arquivo);
+    }
+
+    /**
+     * Fecha o destino do registro da execução anterior, se houver, e apaga o seu arquivo de
+     * excedente. Se o arquivo não puder ser apagado agora, ele é apagado ao fim da JVM.
+     */
+    private void descartarDestinoLog() {
+        if (destinoLog == null) {
+            return;
+        }
+        destinoLog.close();
+        Path arquivo = destinoLog.getArquivoExcedente();
+        if (arquivo == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            arquivo.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * Acrescenta à lista de registro as linhas recebidas desde a última atualização,
+     * mantendo no máximo {@link #CAPACIDADE_LOG} linhas na tela.
+     */
+    private void atualizarLog() {
+        linhasNovas.clear();
+        if (destinoLog == null || destinoLog.copiarNovas(linhasNovas) == 0) {
+            return;
+        }
+        ObservableList<String> itens = logLista.getItems();
+        itens.addAll(linhasNovas);
+        if (itens.size() > CAPACIDADE_LOG) {
+            itens.remove(0, itens.size() - CAPACIDADE_LOG);
+        }
+        logLista.scrollTo(itens.size() - 1);
+    }
+    // Os eventos guardam a posição do caminhão na frota; a visão é obtida ainda na thread da simulação.
+    private static caminhoes.CaminhaoPequeno getCaminhaoPequeno(ContextoSimulacao contextoEvento, Evento evento) {
+        int caminhao;
+        if (evento instanceof eventos.ColetaLixo) {
+            caminhao = ((eventos.ColetaLixo) evento).getCaminhao();
+        } else if (evento instanceof eventos.TransferenciaParaEstacao) {
+            caminhao = ((eventos.TransferenciaParaEstacao) evento).getCaminhao();
+        } else if (evento instanceof eventos.EstacaoTransferencia) {
+            caminhao = ((eventos.EstacaoTransferencia) evento).getCaminhao();
+        } else {
+            return null;
+        }
+        return contextoEvento.getFrota().getCaminhao(caminhao);
     }
     private Node getOrCreateCaminhaoNode(caminhoes.CaminhaoPequeno caminhao) {
         String id = caminhao.getId();
@@ -461,20 +570,17 @@ public class MainFX extends Application implements IEventoObserver {
             valorLixo.setText(zona.getLixoAcumulado() + "T");
         }
     }
-    private void atualizarPainelCaminhao(eventos.ColetaLixo eventoColeta) {
-        caminhoes.CaminhaoPequeno caminhao = eventoColeta.getCaminhao();
+    private void atualizarPainelCaminhao(eventos.ColetaLixo eventoColeta, caminhoes.CaminhaoPequeno caminhao) {
         String status = "Coletando em " + eventoColeta.getZona().getNome();
         String cor = "#FFC107";
         painelStatusCaminhoes.adicionarOuAtualizarCaminhao(caminhao.getId(), status, caminhao.getCargaAtual(), caminhao.getCapacidadeMaxima(), cor);
     }
-    private void atualizarPainelCaminhao(eventos.TransferenciaParaEstacao eventoTransf) {
-        caminhoes.CaminhaoPequeno caminhao = eventoTransf.getCaminhao();
+    private void atualizarPainelCaminhao(caminhoes.CaminhaoPequeno caminhao) {
         String status = "Indo para estação";
         String cor = "#03A9F4";
         painelStatusCaminhoes.adicionarOuAtualizarCaminhao(caminhao.getId(), status, caminhao.getCargaAtual(), caminhao.getCapacidadeMaxima(), cor);
     }
-    private void atualizarPainelCaminhao(eventos.EstacaoTransferencia eventoEstacao) {
-        caminhoes.CaminhaoPequeno caminhao = eventoEstacao.getCaminhao();
+    private void atualizarPainelCaminhao(eventos.EstacaoTransferencia eventoEstacao, caminhoes.CaminhaoPequeno caminhao) {
         String status = "Na " + eventoEstacao.getEstacao().getNomeEstacao();
         String cor = "#E91E63";
         int cargaParaExibir = caminhao.getCapacidadeMaxima();
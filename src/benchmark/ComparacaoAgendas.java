@@ -0,0 +1,112 @@
+package benchmark;
+
+import configsimulador.ContextoSimulacao;
+import eventos.Evento;
+import eventos.IAgenda;
+import eventos.TipoAgenda;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compara o desempenho das implementações de {@link IAgenda} com diferentes quantidades
+ * de eventos pendentes (de 10^3 a 10^6).
+ * <p>
+ * Utiliza o modelo clássico "hold" de avaliação de filas de eventos: a agenda é preenchida
+ * com {@code n} eventos e, em seguida, cada operação medida remove o próximo evento e agenda
+ * um novo evento em um tempo futuro aleatório, mantendo o número de pendentes constante.
+ * Esse é o padrão de uso da agenda durante a simulação.
+ * <p>
+ * Uso: {@code java benchmark.ComparacaoAgendas [operacoesPorTamanho]}
+ */
+public class ComparacaoAgendas {
+
+    /** Intervalo máximo (em minutos) entre o evento removido e o novo evento agendado. */
+    private static final int INCREMENTO_MAXIMO = 240;
+    /** Tempo máximo de parede (em nanossegundos) gasto em cada medição. */
+    private static final long LIMITE_MEDICAO_NS = 5_000_000_000L;
+
+    /**
+     * Construtor privado para impedir a instanciação da classe.
+     */
+    private ComparacaoAgendas() {
+        // Previne instanciação
+    }
+
+    /**
+     * Executa a comparação e imprime uma tabela com o custo médio por operação.
+     *
+     * @param args Opcionalmente, o número de operações "hold" medidas por tamanho (padrão: 200000).
+     */
+    public static void main(String[] args) {
+        int operacoes = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int[] tamanhos = {1_000, 10_000, 100_000, 1_000_000};
+
+        System.out.printf("%-12s %-14s %12s %14s%n", "Pendentes", "Agenda", "Operações", "ns/operação");
+        for (int n : tamanhos) {
+            for (TipoAgenda tipo : TipoAgenda.values()) {
+                medir(tipo.name(), tipo::criar, n, operacoes);
+            }
+        }
+    }
+
+    /**
+     * Mede o custo médio de uma operação "hold" para uma implementação de agenda.
+     *
+     * @param nome       Nome exibido na tabela.
+     * @param fabrica    Fornece uma nova instância vazia da agenda.
+     * @param pendentes  Número de eventos mantidos na agenda durante a medição.
+     * @param operacoes  Número máximo de operações medidas.
+     */
+    private static void medir(String nome, Supplier<IAgenda> fabrica, int pendentes, int operacoes) {
+        Random random = new Random(42);
+        IAgenda agenda = fabrica.get();
+
+        // Preenche em ordem crescente de tempo para que a carga inicial não domine a medição.
+        for (int i = 0; i < pendentes; i++) {
+            agenda.adicionar(new EventoVazio(i * INCREMENTO_MAXIMO / 2 / Math.max(1, pendentes / 1000)));
+        }
+
+        // Aquecimento do JIT
+        hold(agenda, random, Math.min(operacoes, 10_000), LIMITE_MEDICAO_NS / 5);
+
+        long inicio = System.nanoTime();
+        int executadas = hold(agenda, random, operacoes, LIMITE_MEDICAO_NS);
+        long decorrido = System.nanoTime() - inicio;
+
+        System.out.printf("%-12d %-14s %12d %14.1f%n", pendentes, nome, executadas, (double) decorrido / executadas);
+    }
+
+    /**
+     * Executa operações "hold" até atingir a quantidade pedida ou o limite de tempo.
+     *
+     * @return O número de operações efetivamente executadas.
+     */
+    private static int hold(IAgenda agenda, Random random, int operacoes, long limiteNs) {
+        long fim = System.nanoTime() + limiteNs;
+        int i = 0;
+        while (i < operacoes) {
+            Evento proximo = agenda.removerProximo();
+            agenda.adicionar(new EventoVazio(proximo.getTempo() + 1 + random.nextInt(INCREMENTO_MAXIMO)));
+            i++;
+            if ((i & 0xFF) == 0 && System.nanoTime() > fim) {
+                break;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Evento sem efeito, usado apenas para popular a agenda.
+     */
+    private static final class EventoVazio extends Evento {
+        EventoVazio(int tempo) {
+            super(tempo);
+        }
+
+        @Override
+        public void executar(ContextoSimulacao contexto) {
+            // Sem efeito
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package benchmark;
+
+import configsimulador.ExecutorSimulacao;
+import configsimulador.GeradorCenario;
+import configsimulador.ResultadoSimulacao;
+import configsimulador.SincronizacaoParticoes;
+
+import java.util.Arrays;
+
+/**
+ * Compara a execução sequencial de uma única simulação com a execução particionada por estação
+ * de transferência ({@link ExecutorSimulacao#setParalelismo(int)}), com sincronização
+ * conservadora e otimista ({@link SincronizacaoParticoes}), em cidades geradas de tamanhos crescentes.
+ * <p>
+ * Para cada semente, confere se as execuções conservadora, otimista e em lotes
+ * ({@link SincronizacaoParticoes#LOTES}) chegam ao mesmo resultado da sequencial e lança
+ * {@link IllegalStateException} na primeira que divergir.
+ * <p>
+ * Uso: {@code java benchmark.ComparacaoParalelismo [threads] [sementes]}
+ */
+public class ComparacaoParalelismo {
+
+    /** Escalas das cidades comparadas (veja {@link GeradorCenario#gerarCidade(int, long)}). */
+    private static final int[] ESCALAS = {10, 100, 1000};
+    /** Horas simuladas em cada execução. */
+    private static final int HORAS = 24;
+
+    /**
+     * Construtor privado para impedir a instanciação da classe.
+     */
+    private ComparacaoParalelismo() {
+        // Previne instanciação
+    }
+
+    /**
+     * Executa a comparação e imprime o tempo médio de cada modo e o ganho da execução particionada.
+     *
+     * @param args Opcionalmente, o número de threads da execução particionada (padrão: um por
+     *             processador) e o número de sementes por escala (padrão: 5).
+     */
+    public static void main(String[] args) {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int sementes = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        System.out.printf("Threads: %d%n", threads);
+        System.out.printf("%-8s %9s %15s %16s %8s %13s %8s %11s %8s%n", "Escala", "Estações", "Sequencial (ms)",
+                "Particionado (ms)", "Ganho", "Otimista (ms)", "Ganho", "Lotes (ms)", "Ganho");
+        for (int escala : ESCALAS) {
+            ExecutorSimulacao sequencial = new ExecutorSimulacao(GeradorCenario.gerarFrota(escala * GeradorCenario.CAMINHOES_POR_ESCALA, HORAS));
+            sequencial.setCenario(GeradorCenario.gerarCidade(escala, 2024L));
+            ExecutorSimulacao particionado = new ExecutorSimulacao(sequencial.getParams());
+            particionado.setCenario(sequencial.getCenario());
+            particionado.setParalelismo(threads);
+            ExecutorSimulacao otimista = new ExecutorSimulacao(sequencial.getParams());
+            otimista.setCenario(sequencial.getCenario());
+            otimista.setParalelismo(threads);
+            otimista.setSincronizacao(SincronizacaoParticoes.OTIMISTA);
+            ExecutorSimulacao lotes = new ExecutorSimulacao(sequencial.getParams());
+            lotes.setCenario(sequencial.getCenario());
+            lotes.setParalelismo(threads);
+            lotes.setSincronizacao(SincronizacaoParticoes.LOTES);
+
+            // Aquecimento do JIT.
+            sequencial.executar(0);
+            particionado.executar(0);
+            otimista.executar(0);
+            lotes.executar(0);
+
+            long tempoSequencial = 0;
+            long tempoParticionado = 0;
+            long tempoOtimista = 0;
+            long tempoLotes = 0;
+            for (int semente = 1; semente <= sementes; semente++) {
+                ResultadoSimulacao a = sequencial.executar(semente);
+                ResultadoSimulacao b = particionado.executar(semente);
+                ResultadoSimulacao c = otimista.executar(semente);
+                ResultadoSimulacao d = lotes.executar(semente);
+                tempoSequencial += a.getDuracaoExecucaoNs();
+                tempoParticionado += b.getDuracaoExecucaoNs();
+                tempoOtimista += c.getDuracaoExecucaoNs();
+                tempoLotes += d.getDuracaoExecucaoNs();
+                if (!mesmoResultado(a, b)) {
+                    throw new IllegalStateException("As execuções sequencial e conservadora divergiram na semente " + semente + ".");
+                }
+                if (!mesmoResultado(a, c)) {
+                    throw new IllegalStateException("As execuções sequencial e otimista divergiram na semente " + semente + ".");
+                }
+                if (!mesmoResultado(a, d)) {
+                    throw new IllegalStateException("As execuções sequencial e em lotes divergiram na semente " + semente + ".");
+                }
+            }
+            System.out.printf("%-8s %9d %15.1f %16.1f %7.2fx %13.1f %7.2fx %11.1f %7.2fx%n", escala + "x",
+                    sequencial.getCenario().getQuantidadeEstacoes(),
+                    tempoSequencial / 1e6 / sementes, tempoParticionado / 1e6 / sementes,
+                    (double) tempoSequencial / tempoParticionado, tempoOtimista / 1e6 / sementes,
+                    (double) tempoSequencial / tempoOtimista, tempoLotes / 1e6 / sementes,
+                    (double) tempoSequencial / tempoLotes);
+        }
+    }
+
+    /**
+     * Verifica se duas execuções chegaram às mesmas métricas.
+     */
+    private static boolean mesmoResultado(ResultadoSimulacao a, ResultadoSimulacao b) {
+        return a.getTempoFinal() == b.getTempoFinal()
+                && a.getEventosProcessados() == b.getEventosProcessados()
+                && Arrays.equals(a.getLixoRestantePorZona(), b.getLixoRestantePorZona())
+                && a.getCaminhoesGrandesUtilizados() == b.getCaminhoesGrandesUtilizados()
+                && a.getCaminhoesExtraAcionados() == b.getCaminhoesExtraAcionados()
+                && a.getTempoTotalEspera() == b.getTempoTotalEspera()
+                && a.getToneladasDescarregadasFila() == b.getToneladasDescarregadasFila();
+    }
+}
@@ -0,0 +1,88 @@
+package benchmark;
+
+import timer.Timer;
+
+import java.util.Random;
+
+/**
+ * Compara o cálculo do tempo real de viagem pela tabela de tempos efetivos acumulados
+ * ({@link Timer#calcularTempoRealDeViagem(int, int)}) com o cálculo minuto a minuto
+ * ({@link Timer#calcularTempoRealDeViagemPorMinuto(int, int)}).
+ * <p>
+ * Antes de medir, confere que as duas implementações dão o mesmo resultado para todas as
+ * viagens de até {@value #DURACAO_MAXIMA} minutos iniciadas nos primeiros três dias.
+ * As viagens medidas começam em tempos aleatórios de uma simulação de 30 dias, com as
+ * durações base usadas pela simulação.
+ * <p>
+ * Uso: {@code java benchmark.ComparacaoTempoViagem [operacoes]}
+ */
+public class ComparacaoTempoViagem {
+
+    /** Duração base máxima das viagens (em minutos), a maior usada pela simulação. */
+    private static final int DURACAO_MAXIMA = 60;
+    /** Horizonte (em minutos) dos tempos de início das viagens medidas. */
+    private static final int HORIZONTE = 30 * 24 * 60;
+
+    /**
+     * Construtor privado para impedir a instanciação da classe.
+     */
+    private ComparacaoTempoViagem() {
+        // Previne instanciação
+    }
+
+    /**
+     * Executa a verificação e a comparação e imprime o custo médio por viagem.
+     *
+     * @param args Opcionalmente, o número de viagens medidas por implementação (padrão: 10000000).
+     */
+    public static void main(String[] args) {
+        int operacoes = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+
+        for (int inicio = 0; inicio < 3 * 24 * 60; inicio++) {
+            for (int duracao = 0; duracao <= DURACAO_MAXIMA; duracao++) {
+                int tabela = Timer.calcularTempoRealDeViagem(inicio, duracao);
+                int porMinuto = Timer.calcularTempoRealDeViagemPorMinuto(inicio, duracao);
+                if (tabela != porMinuto) {
+                    throw new IllegalStateException("Resultados diferentes para início " + inicio
+                            + " e duração " + duracao + ": " + tabela + " != " + porMinuto);
+                }
+            }
+        }
+
+        Random random = new Random(42);
+        int[] inicios = new int[4096];
+        int[] duracoes = new int[inicios.length];
+        for (int i = 0; i < inicios.length; i++) {
+            inicios[i] = random.nextInt(HORIZONTE);
+            duracoes[i] = 20 + random.nextInt(DURACAO_MAXIMA - 20 + 1);
+        }
+
+        System.out.printf("%-14s %12s %14s%n", "Cálculo", "Viagens", "ns/viagem");
+        for (int rodada = 0; rodada < 2; rodada++) {
+            // A primeira rodada serve de aquecimento do JIT.
+            medir("Tabela", true, inicios, duracoes, operacoes, rodada == 1);
+            medir("Por minuto", false, inicios, duracoes, operacoes, rodada == 1);
+        }
+    }
+
+    /**
+     * Mede o custo médio de uma viagem para uma das implementações.
+     */
+    private static void medir(String nome, boolean tabela, int[] inicios, int[] duracoes,
+                              int operacoes, boolean imprimir) {
+        int mascara = inicios.length - 1;
+        long soma = 0;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < operacoes; i++) {
+            int j = i & mascara;
+            soma += tabela
+                    ? Timer.calcularTempoRealDeViagem(inicios[j], duracoes[j])
+                    : Timer.calcularTempoRealDeViagemPorMinuto(inicios[j], duracoes[j]);
+        }
+        long decorrido = System.nanoTime() - inicio;
+        if (imprimir) {
+            // A soma é impressa para que o cálculo não seja eliminado pelo compilador.
+            System.out.printf("%-14s %12d %14.1f   (soma %d)%n", nome, operacoes, (double) decorrido / operacoes, soma);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package benchmark;
+
+import configsimulador.CenarioSimulacao;
+import configsimulador.ExecutorSimulacao;
+import configsimulador.GeradorCenario;
+import configsimulador.ParametrosSimulacao;
+import configsimulador.ResultadoSimulacao;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+/**
+ * Benchmark de ponta a ponta: executa um dia completo de simulação, sem interface gráfica,
+ * em cidades sintéticas de tamanhos crescentes (veja {@link GeradorCenario}).
+ * <p>
+ * Na escala {@code k}, a cidade tem {@code 5k} zonas, {@code 8k} caminhões pequenos e
+ * {@code 2k} estações de transferência. Para cada escala, a simulação é executada uma vez
+ * para aquecimento e depois {@value #REPETICOES} vezes com sementes fixas; a tabela mostra a
+ * mediana do tempo de parede e dos eventos por segundo, o maior pico de uso do heap e a
+ * alocação média por evento da thread da simulação.
+ * <p>
+ * O pico do heap é a soma dos picos dos pools de memória do heap desde o início da execução,
+ * depois de uma coleta de lixo; inclui objetos que já eram lixo mas ainda não foram coletados.
+ * <p>
+ * Uso: {@code java benchmark.MacroBenchmark [escala...]} (padrão: 1 10 100 1000)
+ */
+public class MacroBenchmark {
+
+    /** Duração de cada simulação: um dia completo. */
+    private static final int HORAS_SIMULADAS = 24;
+    /** Quantidade de execuções medidas por escala. */
+    private static final int REPETICOES = 3;
+    /** Semente usada para gerar as cidades. */
+    private static final long SEMENTE_CIDADE = 2024L;
+
+    /**
+     * Construtor privado para impedir a instanciação da classe.
+     */
+    private MacroBenchmark() {
+        // Previne instanciação
+    }
+
+    /**
+     * Executa o benchmark nas escalas informadas e imprime uma linha por escala.
+     *
+     * @param args As escalas a serem medidas (padrão: 1 10 100 1000).
+     */
+    public static void main(String[] args) {
+        int[] escalas = args.length > 0
+                ? java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1, 10, 100, 1000};
+
+        System.out.printf("%-7s %7s %10s %9s %12s %12s %14s %14s %12s%n",
+                "Escala", "Zonas", "Caminhões", "Estações", "Eventos", "Tempo (ms)", "Eventos/s", "Heap pico (MB)", "Bytes/evento");
+        for (int escala : escalas) {
+            medir(escala);
+        }
+    }
+
+    /**
+     * Mede uma escala e imprime o resultado.
+     */
+    private static void medir(int escala) {
+        CenarioSimulacao cenario = GeradorCenario.gerarCidade(escala, SEMENTE_CIDADE);
+        int caminhoes = escala * GeradorCenario.CAMINHOES_POR_ESCALA;
+        ParametrosSimulacao params = GeradorCenario.gerarFrota(caminhoes, HORAS_SIMULADAS);
+        ExecutorSimulacao executor = new ExecutorSimulacao(params);
+        executor.setCenario(cenario);
+
+        // Aquecimento do JIT
+        executor.executar(0);
+
+        long[] duracoes = new long[REPETICOES];
+        long eventos = 0;
+        long picoHeap = 0;
+        long bytesAlocados = 0;
+        for (int i = 0; i < REPETICOES; i++) {
+            System.gc();
+            reiniciarPicosHeap();
+            long alocadosAntes = bytesAlocadosPelaThread();
+
+            ResultadoSimulacao resultado = executor.executar(i + 1);
+
+            bytesAlocados += bytesAlocadosPelaThread() - alocadosAntes;
+            picoHeap = Math.max(picoHeap, picosHeap());
+            duracoes[i] = resultado.getDuracaoExecucaoNs();
+            eventos += resultado.getEventosProcessados();
+        }
+
+        java.util.Arrays.sort(duracoes);
+        long mediana = duracoes[REPETICOES / 2];
+        long eventosPorExecucao = eventos / REPETICOES;
+        System.out.printf("%-7s %7d %10d %9d %12d %12.1f %14.0f %14.1f %12.1f%n",
+                escala + "x",
+                cenario.getQuantidadeZonas(),
+                caminhoes,
+                cenario.getQuantidadeEstacoes(),
+                eventosPorExecucao,
+                mediana / 1e6,
+                eventosPorExecucao / (mediana / 1e9),
+                picoHeap / (1024.0 * 1024.0),
+                eventos > 0 ? (double) bytesAlocados / eventos : 0.0);
+    }
+
+    private static List<MemoryPoolMXBean> poolsHeap() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+    }
+
+    private static void reiniciarPicosHeap() {
+        for (MemoryPoolMXBean pool : poolsHeap()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    private static long picosHeap() {
+        long soma = 0;
+        for (MemoryPoolMXBean pool : poolsHeap()) {
+            soma += pool.getPeakUsage().getUsed();
+        }
+        return soma;
+    }
+
+    /**
+     * Retorna o total de bytes alocados pela thread atual, ou 0 se a JVM não informar esse valor.
+     */
+    private static long bytesAlocadosPelaThread() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
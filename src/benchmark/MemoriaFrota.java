@@ -0,0 +1,73 @@
+package benchmark;
+
+import caminhoes.Frota;
+import configsimulador.FluxoAleatorio;
+import zonas.Zonas;
+
+/**
+ * Mede a memória ocupada por caminhão pequeno na {@link Frota} e o custo de contar os caminhões
+ * ativos ({@link Frota#getCaminhoesAtivos()}), que percorre o vetor de viagens restantes.
+ * <p>
+ * A memória é a diferença do heap usado, depois da coleta de lixo, antes e depois de criar a
+ * frota; por isso, a medição é aproximada e deve ser feita com heap suficiente (ex: {@code -Xmx2g}).
+ * <p>
+ * Uso: {@code java benchmark.MemoriaFrota [caminhoes]}
+ */
+public class MemoriaFrota {
+
+    /** Número de contagens medidas. */
+    private static final int CONTAGENS = 200;
+
+    /**
+     * Construtor privado para impedir a instanciação da classe.
+     */
+    private MemoriaFrota() {
+        // Previne instanciação
+    }
+
+    /**
+     * Executa as medições e imprime um resumo.
+     *
+     * @param args Opcionalmente, o número de caminhões da frota (padrão: 1000000).
+     */
+    public static void main(String[] args) {
+        int caminhoes = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Zonas[] zonas = {new Zonas(0, "Zona 0", 0, 0), new Zonas(1, "Zona 1", 0, 0)};
+
+        long antes = heapUsado();
+        Frota frota = new Frota(zonas, caminhoes);
+        for (int i = 0; i < caminhoes; i++) {
+            int caminhao = frota.adicionar(i + 1, 4, i % 4, i % zonas.length);
+            frota.setGerador(caminhao, new FluxoAleatorio(i));
+        }
+        long depois = heapUsado();
+        System.out.printf("Memória: %.1f bytes por caminhão (%d caminhões)%n",
+                (double) (depois - antes) / caminhoes, caminhoes);
+
+        if (frota.getCaminhoesAtivos() != frota.getCaminhoesAtivosRegistrados()) {
+            throw new IllegalStateException("A contagem de ativos difere da mantida pela frota.");
+        }
+        long ativos = 0;
+        for (int i = 0; i < CONTAGENS; i++) { // Aquecimento
+            ativos += frota.getCaminhoesAtivos();
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < CONTAGENS; i++) {
+            ativos += frota.getCaminhoesAtivos();
+        }
+        long duracao = System.nanoTime() - inicio;
+        System.out.printf("Contagem de ativos: %.3f ms por contagem (%.2f ns por caminhão; %d ativos)%n",
+                duracao / 1e6 / CONTAGENS, (double) duracao / CONTAGENS / caminhoes, ativos / (2 * CONTAGENS));
+    }
+
+    /**
+     * Retorna o heap usado depois de pedir a coleta de lixo algumas vezes.
+     */
+    private static long heapUsado() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -12,17 +12,11 @@ import static configsimulador.ConfiguracoesDoSimulador.CAPACIDADE_CAMINHAO_GRAND
 public class CaminhaoGrande {
 
     /**
-     * Identificador único do caminhão.
-     * É atribuído automaticamente no momento da criação de cada nova instância.
+     * Identificador único do caminhão dentro da simulação.
+     * É atribuído sequencialmente pelo contexto da simulação ({@code ContextoSimulacao}).
      */
     private int id;
 
-    /**
-     * Contador estático para atribuição sequencial de IDs aos caminhões.
-     * Garante que cada caminhão grande tenha um ID único.
-     */
-    private static int contadorIds = 1;
-
     /**
      * A capacidade máxima de carga que o caminhão pode transportar.
      */
@@ -42,12 +36,14 @@ public class CaminhaoGrande {
     private boolean estaCarregado;
 
     /**
-     * Construtor padrão da classe CaminhaoGrande.
-     * Inicializa o caminhão com carga zero e atribui um ID único.
+     * Construtor da classe CaminhaoGrande.
+     * Inicializa o caminhão com carga zero e o ID informado.
      * O estado inicial é "carregado" ({@code true}), indicando que está disponível para carregar lixo.
+     *
+     * @param id O identificador único do caminhão na simulação.
      */
-    public CaminhaoGrande() {
-        this.id = contadorIds++;
+    public CaminhaoGrande(int id) {
+        this.id = id;
         this.cargaAtual = 0;
         this.estaCarregado = true; // Inicia como "carregado" no sentido de estar pronto para receber carga
     }
@@ -77,7 +73,6 @@ public class CaminhaoGrande {
      * Após o descarregamento, a carga é zerada e o estado {@code estaCarregado} é definido como {@code false}.
      */
     public void descarregar() {
-        System.out.println("Caminhão grande " + id + " partiu para o aterro com " + cargaAtual + "t.");
         cargaAtual = 0;
         estaCarregado = false;
     }
@@ -121,20 +116,4 @@ public class CaminhaoGrande {
     public boolean getEstaCarregado() {
         return estaCarregado;
     }
-
-    /**
-     * Retorna o número total de caminhões grandes instanciados.
-     * @return O valor do contador de IDs.
-     */
-    public static int getContadorTotal() {
-        return contadorIds - 1;
-    }
-
-    /**
-     * Reseta o contador de IDs dos caminhões grandes para 1.
-     * Útil para reiniciar o estado entre simulações.
-     */
-    public static void resetContador() {
-        contadorIds = 1;
-    }
-}
\ No newline at end of file
+}
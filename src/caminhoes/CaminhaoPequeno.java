@@ -1,68 +1,39 @@
 package caminhoes;
 
-import tads.Lista;
-import eventos.GeracaoCaminhaoGrande;
+import eventos.AgendamentoEvento;
 import zonas.Zonas;
 
 /**
  * Representa um caminhão pequeno utilizado para a coleta de lixo nas zonas da cidade.
  * Cada caminhão possui uma capacidade limitada, número máximo de viagens por dia,
  * e uma zona de destino definida.
+ * <p>
+ * O estado do caminhão é guardado pela sua {@link Frota}, em vetores indexados pela posição
+ * do caminhão na frota; este objeto é apenas uma visão sobre essa posição, criada sob demanda
+ * por {@link Frota#getCaminhao(int)}. A simulação em si trabalha com as posições e não cria
+ * visões; duas visões da mesma posição da mesma frota são iguais.
  */
 public class CaminhaoPequeno {
 
     /**
-     * Identificador único do caminhão.
+     * A frota que guarda o estado do caminhão.
      */
-    private String id;
+    private final Frota frota;
 
     /**
-     * Capacidade máxima de carga do caminhão, em toneladas.
+     * A posição do caminhão nos vetores da frota.
      */
-    private int capacidadeMaxima;
+    private final int indice;
 
     /**
-     * Quantidade atual de carga no caminhão, em toneladas.
-     */
-    private int cargaAtual;
-
-    /**
-     * Número de viagens restantes que o caminhão pode realizar no dia.
-     */
-    private int viagensRestantes;
-
-    /**
-     * Zona de destino atual do caminhão para coleta de lixo.
-     */
-    private Zonas destinoZona;
-
-    /**
-     * Evento de geração de caminhão grande associado a este caminhão.
-     */
-    private GeracaoCaminhaoGrande eventoAgendado;
-
-    /**
-     * Armazena o tempo (em minutos) em que o caminhão entrou na fila de espera da estação.
-     */
-    private int tempoEntradaFila;
-
-
-    /**
-     * Construtor da classe CaminhaoPequeno.
+     * Cria a visão de uma posição da frota. Chamado por {@link Frota#getCaminhao(int)}.
      *
-     * @param id               Identificador do caminhão (ex: "C1", "C2").
-     * @param capacidadeMaxima Capacidade máxima de carga do caminhão em toneladas.
-     * @param viagensRestantes Número inicial de viagens que o caminhão pode realizar por dia.
-     * @param destinoZona      A zona inicial para a qual o caminhão está designado para coleta.
+     * @param frota  A frota que guarda o estado do caminhão.
+     * @param indice A posição do caminhão na frota.
      */
-    public CaminhaoPequeno(String id, int capacidadeMaxima, int viagensRestantes, Zonas destinoZona) {
-        this.id = id;
-        this.capacidadeMaxima = capacidadeMaxima;
-        this.cargaAtual = 0;
-        this.viagensRestantes = viagensRestantes;
-        this.destinoZona = destinoZona;
-        this.eventoAgendado = null;
-        this.tempoEntradaFila = 0;
+    CaminhaoPequeno(Frota frota, int indice) {
+        this.frota = frota;
+        this.indice = indice;
     }
 
     /**
@@ -70,7 +41,7 @@ public class CaminhaoPequeno {
      * @return Capacidade máxima em toneladas.
      */
     public int getCapacidadeMaxima() {
-        return capacidadeMaxima;
+        return frota.getCapacidadeMaxima(indice);
     }
 
     /**
@@ -78,7 +49,7 @@ public class CaminhaoPequeno {
      * @return Número de viagens restantes.
      */
     public int getViagensRestantes() {
-        return viagensRestantes;
+        return frota.getViagensRestantes(indice);
     }
 
     /**
@@ -86,7 +57,7 @@ public class CaminhaoPequeno {
      * @return O ID do caminhão.
      */
     public String getId() {
-        return id;
+        return frota.getId(indice);
     }
 
     /**
@@ -94,7 +65,7 @@ public class CaminhaoPequeno {
      * @return Carga atual em toneladas.
      */
     public int getCargaAtual() {
-        return cargaAtual;
+        return frota.getCargaAtual(indice);
     }
 
     /**
@@ -102,81 +73,67 @@ public class CaminhaoPequeno {
      * @return A zona de destino.
      */
     public Zonas getDestinoZona() {
-        return destinoZona;
+        return frota.getDestinoZona(indice);
     }
 
     /**
-     * Retorna o evento de geração de caminhão grande que foi agendado para este caminhão.
-     * @return O evento agendado ou {@code null} se não houver.
+     * Retorna a referência para o evento de geração de caminhão grande agendado para este caminhão.
+     * @return A referência do evento agendado ou {@code null} se não houver.
      */
-    public GeracaoCaminhaoGrande getEventoAgendado() {
-        return eventoAgendado;
+    public AgendamentoEvento getEventoAgendado() {
+        return frota.getEventoAgendado(indice);
     }
 
     /**
-     * Define o evento de geração de caminhão grande associado a este caminhão.
-     * @param eventoAgendado O evento a ser associado.
+     * Verifica se o caminhão ainda pode realizar mais viagens de coleta no dia.
+     * @return {@code true} se houver viagens restantes, {@code false} caso contrário.
      */
-    public void setEventoAgendado(GeracaoCaminhaoGrande eventoAgendado) {
-        this.eventoAgendado = eventoAgendado;
+    public boolean podeViajarNovamente() {
+        return frota.podeViajarNovamente(indice);
     }
 
     /**
-     * Tenta adicionar uma quantidade de carga ao caminhão.
-     * @param quantidade Quantidade de lixo a ser coletada (em toneladas).
-     * @return {@code true} se a carga foi adicionada, {@code false} caso contrário.
+     * Retorna o tempo de simulação em que o caminhão entrou na fila de uma estação.
+     * @return O tempo de entrada na fila.
      */
-    public boolean coletarCarga(int quantidade) {
-        if (cargaAtual + quantidade <= capacidadeMaxima) {
-            cargaAtual += quantidade;
-            System.out.println("[CAMINHÃO " + id + "] Coletou " + quantidade + " toneladas.");
-            return true;
-        }
-        System.out.println("[CAMINHÃO " + id + "] Carga máxima atingida. Não é possível coletar mais.");
-        return false;
+    public int getTempoEntradaFila() {
+        return frota.getTempoEntradaFila(indice);
     }
 
     /**
-     * Descarrega toda a carga do caminhão, resetando a carga atual para zero.
+     * @return A frota que guarda o estado do caminhão.
      */
-    public void descarregarCarga() {
-        cargaAtual = 0;
-        System.out.println("[CAMINHÃO " + id + "] Carga descarregada. Caminhão vazio.");
+    public Frota getFrota() {
+        return frota;
     }
 
     /**
-     * Verifica se o caminhão ainda pode realizar mais viagens de coleta no dia.
-     * @return {@code true} se houver viagens restantes, {@code false} caso contrário.
+     * @return A posição do caminhão na sua frota (veja {@link Frota#getCaminhao(int)}).
      */
-    public boolean podeViajarNovamente() {
-        return viagensRestantes > 0;
+    public int getIndice() {
+        return indice;
     }
 
     /**
-     * Registra que uma viagem foi realizada, decrementando o contador de viagens restantes.
+     * Duas visões são iguais se olham para a mesma posição da mesma frota.
+     *
+     * @param outro O objeto a comparar.
+     * @return {@code true} se for uma visão do mesmo caminhão.
      */
-    public void registrarViagem() {
-        if (viagensRestantes > 0) {
-            viagensRestantes--;
-            System.out.println("[CAMINHÃO " + id + "] Viagem registrada. " + viagensRestantes + " viagens restantes.");
-        } else {
-            System.out.println("[CAMINHÃO " + id + "] Limite de viagens diárias atingido.");
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) {
+            return true;
         }
+        if (!(outro instanceof CaminhaoPequeno)) {
+            return false;
+        }
+        CaminhaoPequeno caminhao = (CaminhaoPequeno) outro;
+        return frota == caminhao.frota && indice == caminhao.indice;
     }
 
-    /**
-     * Retorna o tempo de simulação em que o caminhão entrou na fila de uma estação.
-     * @return O tempo de entrada na fila.
-     */
-    public int getTempoEntradaFila() {
-        return tempoEntradaFila;
-    }
-
-    /**
-     * Define o tempo de simulação em que o caminhão entra na fila de uma estação.
-     * @param tempoEntradaFila O tempo de entrada na fila.
-     */
-    public void setTempoEntradaFila(int tempoEntradaFila) {
-        this.tempoEntradaFila = tempoEntradaFila;
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(frota) + indice;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,702 @@
+package caminhoes;
+
+import configsimulador.FluxoAleatorio;
+import eventos.AgendamentoEvento;
+import zonas.Zonas;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Representa a frota de caminhões pequenos de uma simulação.
+ * <p>
+ * O estado dos caminhões é guardado pela frota em vetores paralelos de primitivos, indexados
+ * pela posição de cada caminhão na frota: capacidade, carga, viagens restantes, zona de destino
+ * (o identificador da zona), entrada na fila, número do caminhão e estado do seu fluxo aleatório.
+ * A frota não guarda um objeto por caminhão: os eventos referem-se a um caminhão pela sua
+ * posição, e o identificador de texto (ex: "C2-1", "EXTRA-1") é montado a partir da capacidade
+ * e do número apenas quando é pedido, com {@link #getId(int)}. Um {@link CaminhaoPequeno} é uma
+ * visão sobre uma posição, criada sob demanda por {@link #getCaminhao(int)} para a interface
+ * gráfica e para quem prefere um objeto.
+ * <p>
+ * A frota mantém a quantidade de caminhões com viagens restantes: ela aumenta quando um
+ * caminhão é adicionado e diminui quando um caminhão gasta a sua última viagem. Assim, o
+ * supervisor sabe se a frota ainda está trabalhando ({@link #temCaminhoesAtivos()}) em tempo
+ * constante, sem percorrer os caminhões.
+ * <p>
+ * Na execução particionada (veja {@code configsimulador.SimuladorParticionado}), caminhões de
+ * estações diferentes são atualizados por threads diferentes; cada thread só altera as posições
+ * dos seus caminhões. Por isso, a contagem de ativos é mantida por grupo de zonas
+ * ({@link #particionar(int[], int)}), um contador por partição, e os contadores são somados
+ * entre as janelas de tempo. Os caminhões só são adicionados (e os vetores, aumentados) entre
+ * as janelas, quando nenhuma partição está executando.
+ * <p>
+ * Os estados salvos ({@link #salvarEstado()}) não copiam os vetores: a partir do primeiro estado
+ * salvo, a frota registra em um diário os valores anteriores de cada caminhão na primeira vez em
+ * que ele é alterado depois de cada estado, e restaurar um estado desfaz o diário até ele. O
+ * diário não é seguro para uso concorrente; ele é usado pela execução otimista
+ * ({@code configsimulador.SimuladorOtimista}), em que cada frota pertence a uma única thread.
+ */
+public class Frota implements Iterable<CaminhaoPequeno> {
+
+    /** Capacidade inicial dos vetores de estado, usada quando nenhuma é informada. */
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    /**
+     * Fluxo emprestado a cada thread para os sorteios de um caminhão (veja {@link #getGerador(int)}).
+     */
+    private static final ThreadLocal<FluxoAleatorio> FLUXO_EMPRESTADO = ThreadLocal.withInitial(() -> new FluxoAleatorio(0));
+
+    /**
+     * Distância entre os contadores de ativos de dois grupos no vetor {@link #ativos}: 16 posições
+     * (64 bytes), para que os contadores de partições diferentes não dividam uma linha de cache.
+     */
+    private static final int PASSO_CONTADOR = 16;
+
+    /** Acesso atômico às posições de {@link #ativos}. */
+    private static final VarHandle CONTADOR = MethodHandles.arrayElementVarHandle(int[].class);
+
+    /** As zonas da cidade, indexadas pelo identificador, para resolver as zonas de destino. */
+    private final Zonas[] zonasPorId;
+
+    /** Quantidade de caminhões da frota. */
+    private int tamanho;
+
+    /** O grupo de cada zona, indexado pelo identificador da zona (veja {@link #particionar(int[], int)}). */
+    private int[] grupoDaZona;
+    /** Quantidade de caminhões com viagens restantes de cada grupo, na posição {@code grupo * PASSO_CONTADOR}. */
+    private int[] ativos;
+
+    /** Capacidade máxima de carga de cada caminhão, em toneladas. */
+    private int[] capacidades;
+    /** Carga atual de cada caminhão, em toneladas. */
+    private int[] cargas;
+    /** Viagens restantes de cada caminhão no dia. */
+    private int[] viagensRestantes;
+    /** Identificador da zona de destino atual de cada caminhão. */
+    private int[] zonas;
+    /** Tempo (em minutos) em que cada caminhão entrou na fila de espera de uma estação. */
+    private int[] temposEntradaFila;
+    /** Número de cada caminhão entre os da sua capacidade, ou o número do reforço com sinal negativo. */
+    private int[] numeros;
+    /** Estado do fluxo de números aleatórios de cada caminhão (veja {@link FluxoAleatorio#getEstado()}). */
+    private long[] estadosGeradores;
+    /** Timeout de espera na fila (geração de caminhão grande) pendente de cada caminhão, ou {@code null}. */
+    private AgendamentoEvento[] eventosAgendados;
+
+    /**
+     * Os valores anteriores dos caminhões alterados desde o estado salvo mais antigo ainda
+     * guardado, ou {@code null} se nenhum estado está guardado.
+     */
+    private Diario diario;
+    /**
+     * A época em que cada caminhão foi registrado no diário pela última vez, ou {@code null} se
+     * nenhum estado está guardado. A época muda a cada estado salvo ou restaurado.
+     */
+    private int[] epocas;
+    /** A época atual do diário. */
+    private int epoca;
+
+    /**
+     * Cria uma frota vazia para a cidade informada.
+     *
+     * @param zonasPorId As zonas da cidade, indexadas pelo identificador.
+     * @throws IllegalArgumentException se as zonas forem nulas.
+     */
+    public Frota(Zonas[] zonasPorId) {
+        this(zonasPorId, CAPACIDADE_INICIAL);
+    }
+
+    /**
+     * Cria uma frota vazia para a cidade informada, com espaço reservado para a quantidade de
+     * caminhões informada.
+     *
+     * @param zonasPorId        As zonas da cidade, indexadas pelo identificador.
+     * @param capacidadeInicial A quantidade de caminhões que cabem na frota antes de os vetores crescerem.
+     * @throws IllegalArgumentException se as zonas forem nulas ou a capacidade for negativa.
+     */
+    public Frota(Zonas[] zonasPorId, int capacidadeInicial) {
+        if (zonasPorId == null) {
+            throw new IllegalArgumentException("As zonas da frota não podem ser nulas.");
+        }
+        if (capacidadeInicial < 0) {
+            throw new IllegalArgumentException("A capacidade inicial não pode ser negativa: " + capacidadeInicial);
+        }
+        this.zonasPorId = zonasPorId;
+        grupoDaZona = new int[zonasPorId.length];
+        ativos = new int[PASSO_CONTADOR];
+        capacidades = new int[capacidadeInicial];
+        cargas = new int[capacidadeInicial];
+        viagensRestantes = new int[capacidadeInicial];
+        zonas = new int[capacidadeInicial];
+        temposEntradaFila = new int[capacidadeInicial];
+        numeros = new int[capacidadeInicial];
+        estadosGeradores = new long[capacidadeInicial];
+        eventosAgendados = new AgendamentoEvento[capacidadeInicial];
+    }
+
+    /**
+     * Cria um novo caminhão na frota, identificado pela capacidade e pelo número
+     * (ex: {@code "C2-1"}). O caminhão começa vazio; o seu fluxo aleatório deve ser definido
+     * com {@link #setGerador(int, FluxoAleatorio)}.
+     *
+     * @param numero           O número do caminhão entre os da sua capacidade, a partir de 1.
+     * @param capacidadeMaxima Capacidade máxima de carga do caminhão em toneladas.
+     * @param viagensRestantes Número inicial de viagens que o caminhão pode realizar por dia.
+     * @param zona             O identificador da zona inicial do caminhão.
+     * @return A posição do novo caminhão na frota.
+     * @throws IllegalArgumentException se o número não for positivo ou a zona não existir.
+     */
+    public int adicionar(int numero, int capacidadeMaxima, int viagensRestantes, int zona) {
+        if (numero < 1) {
+            throw new IllegalArgumentException("O número do caminhão deve ser positivo: " + numero);
+        }
+        return adicionarCaminhao(numero, capacidadeMaxima, viagensRestantes, zona);
+    }
+
+    /**
+     * Cria um caminhão de reforço na frota, identificado pelo número do reforço
+     * (ex: {@code "EXTRA-1"}). O caminhão começa vazio; o seu fluxo aleatório deve ser definido
+     * com {@link #setGerador(int, FluxoAleatorio)}.
+     *
+     * @param numero           O número do reforço na simulação, a partir de 1.
+     * @param capacidadeMaxima Capacidade máxima de carga do caminhão em toneladas.
+     * @param viagensRestantes Número de viagens que o caminhão pode realizar.
+     * @param zona             O identificador da zona que o reforço vai atender.
+     * @return A posição do novo caminhão na frota.
+     * @throws IllegalArgumentException se o número não for positivo ou a zona não existir.
+     */
+    public int adicionarReforco(int numero, int capacidadeMaxima, int viagensRestantes, int zona) {
+        if (numero < 1) {
+            throw new IllegalArgumentException("O número do reforço deve ser positivo: " + numero);
+        }
+        return adicionarCaminhao(-numero, capacidadeMaxima, viagensRestantes, zona);
+    }
+
+    private int adicionarCaminhao(int numero, int capacidadeMaxima, int viagensRestantes, int zona) {
+        if (zona < 0 || zona >= zonasPorId.length) {
+            throw new IllegalArgumentException("Zona inexistente: " + zona);
+        }
+        int caminhao = tamanho;
+        if (caminhao == capacidades.length) {
+            crescer();
+        }
+        capacidades[caminhao] = capacidadeMaxima;
+        cargas[caminhao] = 0;
+        this.viagensRestantes[caminhao] = viagensRestantes;
+        zonas[caminhao] = zona;
+        temposEntradaFila[caminhao] = 0;
+        numeros[caminhao] = numero;
+        estadosGeradores[caminhao] = 0;
+        eventosAgendados[caminhao] = null;
+        if (epocas != null) {
+            // Um caminhão novo não existia nos estados salvos: as suas alterações não são registradas.
+            epocas[caminhao] = epoca;
+        }
+        if (viagensRestantes > 0) {
+            ativos[grupoDaZona[zona] * PASSO_CONTADOR]++;
+        }
+        tamanho++;
+        return caminhao;
+    }
+
+    /**
+     * Dobra a capacidade dos vetores de estado (ou a inicia, se for zero).
+     */
+    private void crescer() {
+        int novaCapacidade = Math.max(CAPACIDADE_INICIAL, capacidades.length * 2);
+        capacidades = Arrays.copyOf(capacidades, novaCapacidade);
+        cargas = Arrays.copyOf(cargas, novaCapacidade);
+        viagensRestantes = Arrays.copyOf(viagensRestantes, novaCapacidade);
+        zonas = Arrays.copyOf(zonas, novaCapacidade);
+        temposEntradaFila = Arrays.copyOf(temposEntradaFila, novaCapacidade);
+        numeros = Arrays.copyOf(numeros, novaCapacidade);
+        estadosGeradores = Arrays.copyOf(estadosGeradores, novaCapacidade);
+        eventosAgendados = Arrays.copyOf(eventosAgendados, novaCapacidade);
+        if (epocas != null) {
+            epocas = Arrays.copyOf(epocas, novaCapacidade);
+        }
+    }
+
+    /**
+     * Registra no diário, se algum estado estiver guardado, os valores de um caminhão antes da
+     * sua primeira alteração na época atual.
+     */
+    private void registrarAlteracao(int caminhao) {
+        if (epocas != null && epocas[caminhao] != epoca) {
+            epocas[caminhao] = epoca;
+            diario.adicionar(caminhao, cargas[caminhao], viagensRestantes[caminhao], temposEntradaFila[caminhao],
+                    estadosGeradores[caminhao], eventosAgendados[caminhao]);
+        }
+    }
+
+    /**
+     * Divide as zonas em grupos, cada um com o seu contador de caminhões ativos. Os caminhões
+     * de zonas de grupos diferentes podem gastar viagens em threads diferentes sem disputar o
+     * mesmo contador. Os contadores são recalculados a partir dos caminhões atuais.
+     *
+     * @param grupoDaZona O grupo de cada zona, indexado pelo identificador da zona.
+     * @param grupos      A quantidade de grupos.
+     * @throws IllegalArgumentException se o vetor não tiver uma posição por zona ou algum grupo for inválido.
+     */
+    public void particionar(int[] grupoDaZona, int grupos) {
+        if (grupoDaZona == null || grupoDaZona.length != zonasPorId.length) {
+            throw new IllegalArgumentException("Informe o grupo de cada uma das " + zonasPorId.length + " zonas.");
+        }
+        for (int grupo : grupoDaZona) {
+            if (grupo < 0 || grupo >= grupos) {
+                throw new IllegalArgumentException("Grupo inválido: " + grupo);
+            }
+        }
+        this.grupoDaZona = grupoDaZona.clone();
+        ativos = new int[grupos * PASSO_CONTADOR];
+        for (int i = 0; i < tamanho; i++) {
+            if (viagensRestantes[i] > 0) {
+                ativos[this.grupoDaZona[zonas[i]] * PASSO_CONTADOR]++;
+            }
+        }
+    }
+
+    /**
+     * Retorna a quantidade de caminhões com viagens restantes, somando os contadores dos grupos.
+     * Na execução particionada, deve ser chamado entre as janelas de tempo.
+     *
+     * @return A quantidade de caminhões ativos.
+     */
+    public int getCaminhoesAtivosRegistrados() {
+        int total = 0;
+        for (int i = 0; i < ativos.length; i += PASSO_CONTADOR) {
+            total += ativos[i];
+        }
+        return total;
+    }
+
+    /**
+     * Conta os caminhões da frota com viagens restantes, percorrendo o vetor de viagens: um laço
+     * sem desvios dependentes de dados, que o compilador JIT pode vetorizar. O resultado é o
+     * mesmo de {@link #getCaminhoesAtivosRegistrados()}, que não percorre os caminhões.
+     *
+     * @return A quantidade de caminhões ativos.
+     */
+    public int getCaminhoesAtivos() {
+        int[] viagens = viagensRestantes;
+        int ativos = 0;
+        for (int i = 0; i < tamanho; i++) {
+            ativos += -viagens[i] >>> 31; // 1 se viagens[i] > 0, sem desvio
+        }
+        return ativos;
+    }
+
+    /**
+     * Verifica se algum caminhão da frota ainda tem viagens restantes, pelos contadores de
+     * ativos (veja {@link #getCaminhoesAtivosRegistrados()}).
+     *
+     * @return {@code true} se pelo menos um caminhão está ativo, {@code false} caso contrário.
+     */
+    public boolean temCaminhoesAtivos() {
+        return getCaminhoesAtivosRegistrados() > 0;
+    }
+
+    /**
+     * Retorna o identificador de texto de um caminhão, montado a partir da sua capacidade e do
+     * seu número. Como cria uma {@code String}, deve ser usado só para exibição e registro.
+     *
+     * @param caminhao A posição do caminhão.
+     * @return O identificador (ex: "C2-1", "EXTRA-1").
+     */
+    public String getId(int caminhao) {
+        int numero = numeros[caminhao];
+        return numero > 0 ? "C" + capacidades[caminhao] + "-" + numero : "EXTRA-" + -numero;
+    }
+
+    /**
+     * @param caminhao A posição do caminhão.
+     * @return O número do caminhão entre os da sua capacidade ou, para um reforço, o número do reforço.
+     */
+    public int getNumero(int caminhao) {
+        return Math.abs(numeros[caminhao]);
+    }
+
+    /**
+     * @param caminhao A posição do caminhão.
+     * @return {@code true} se o caminhão foi criado como reforço ({@link #adicionarReforco}).
+     */
+    public boolean isReforco(int caminhao) {
+        return numeros[caminhao] < 0;
+    }
+
+    /**
+     * @param caminhao A posição do caminhão.
+     * @return A capacidade máxima de carga do caminhão, em toneladas.
+     */
+    public int getCapacidadeMaxima(int caminhao) {
+        return capacidades[caminhao];
+    }
+
+    /**
+     * @param caminhao A posição do caminhão.
+     * @return A carga atual do caminhão, em toneladas.
+     */
+    public int getCargaAtual(int caminhao) {
+        return cargas[caminhao];
+    }
+
+    /**
+     * Tenta adicionar uma quantidade de carga a um caminhão.
+     *
+     * @param caminhao   A posição do caminhão.
+     * @param quantidade Quantidade de lixo a ser coletada (em toneladas).
+     * @return {@code true} se a carga foi adicionada, {@code false} se excederia a capacidade.
+     */
+    public boolean coletarCarga(int caminhao, int quantidade) {
+        int cargaAtual = cargas[caminhao];
+        if (cargaAtual + quantidade <= capacidades[caminhao]) {
+            registrarAlteracao(caminhao);
+            cargas[caminhao] = cargaAtual + quantidade;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Descarrega toda a carga de um caminhão.
+     *
+     * @param caminhao A posição do caminhão.
+     */
+    public void descarregarCarga(int caminhao) {
+        registrarAlteracao(caminhao);
+        cargas[caminhao] = 0;
+    }
+
+    /**
+     * @param caminhao A posição do caminhão.
+     * @return O número de viagens restantes do caminhão no dia.
+     */
+    public int getViagensRestantes(int caminhao) {
+        return viagensRestantes[caminhao];
+    }
+
+    /**
+     * @param caminhao A posição do caminhão.
+     * @return {@code true} se o caminhão ainda tem viagens restantes.
+     */
+    public boolean podeViajarNovamente(int caminhao) {
+        return viagensRestantes[caminhao] > 0;
+    }
+
+    /**
+     * Registra que um caminhão realizou uma viagem. Se o limite diário já foi atingido, o
+     * contador permanece em zero. Ao gastar a última viagem, o caminhão deixa de ser contado
+     * como ativo; o contador do seu grupo é atualizado atomicamente, porque caminhões do mesmo
+     * grupo podem gastar viagens em threads diferentes (veja {@code eventos.ProcessadorLotes}).
+     *
+     * @param caminhao A posição do caminhão.
+     */
+    public void registrarViagem(int caminhao) {
+        int viagens = viagensRestantes[caminhao];
+        if (viagens > 0) {
+            registrarAlteracao(caminhao);
+            viagensRestantes[caminhao] = viagens - 1;
+            if (viagens == 1) {
+                CONTADOR.getAndAdd(ativos, grupoDaZona[zonas[caminhao]] * PASSO_CONTADOR, -1);
+            }
+        }
+    }
+
+    /**
+     * @param caminhao A posição do caminhão.
+     * @return O identificador da zona de destino do caminhão.
+     */
+    public int getZona(int caminhao) {
+        return zonas[caminhao];
+    }
+
+    /**
+     * @param caminhao A posição do caminhão.
+     * @return A zona de destino do caminhão.
+     */
+    public Zonas getDestinoZona(int caminhao) {
+        return zonasPorId[zonas[caminhao]];
+    }
+
+    /**
+     * @param caminhao A posição do caminhão.
+     * @return O tempo de simulação em que o caminhão entrou na fila de uma estação.
+     */
+    public int getTempoEntradaFila(int caminhao) {
+        return temposEntradaFila[caminhao];
+    }
+
+    /**
+     * @param caminhao         A posição do caminhão.
+     * @param tempoEntradaFila O tempo de simulação em que o caminhão entra na fila de uma estação.
+     */
+    public void setTempoEntradaFila(int caminhao, int tempoEntradaFila) {
+        registrarAlteracao(caminhao);
+        temposEntradaFila[caminhao] = tempoEntradaFila;
+    }
+
+    /**
+     * @param caminhao A posição do caminhão.
+     * @return O timeout de espera (geração de caminhão grande) pendente do caminhão, ou {@code null}.
+     */
+    public AgendamentoEvento getEventoAgendado(int caminhao) {
+        return eventosAgendados[caminhao];
+    }
+
+    /**
+     * @param caminhao       A posição do caminhão.
+     * @param eventoAgendado A referência devolvida por {@code GerenciadorAgenda.adicionarEvento}, ou {@code null}.
+     */
+    public void setEventoAgendado(int caminhao, AgendamentoEvento eventoAgendado) {
+        registrarAlteracao(caminhao);
+        eventosAgendados[caminhao] = eventoAgendado;
+    }
+
+    /**
+     * Define o fluxo de números aleatórios de um caminhão. Apenas o estado do fluxo é guardado.
+     *
+     * @param caminhao A posição do caminhão.
+     * @param fluxo    O fluxo do caminhão (veja {@code ContextoSimulacao.criarFluxoCaminhao}).
+     */
+    public void setGerador(int caminhao, FluxoAleatorio fluxo) {
+        registrarAlteracao(caminhao);
+        estadosGeradores[caminhao] = fluxo.getEstado();
+    }
+
+    /**
+     * Retorna o fluxo de números aleatórios de um caminhão, no seu estado atual. O fluxo
+     * devolvido é reutilizado por todas as chamadas da mesma thread: depois dos sorteios, o
+     * seu estado deve ser gravado de volta com {@link #salvarGerador(int, FluxoAleatorio)},
+     * antes de pedir o fluxo de outro caminhão.
+     *
+     * @param caminhao A posição do caminhão.
+     * @return O fluxo emprestado à thread atual, posicionado no estado do caminhão.
+     */
+    public FluxoAleatorio getGerador(int caminhao) {
+        FluxoAleatorio fluxo = FLUXO_EMPRESTADO.get();
+        fluxo.setEstado(estadosGeradores[caminhao]);
+        return fluxo;
+    }
+
+    /**
+     * Grava o estado de um fluxo obtido com {@link #getGerador(int)} depois dos sorteios.
+     *
+     * @param caminhao A posição do caminhão.
+     * @param fluxo    O fluxo do caminhão.
+     */
+    public void salvarGerador(int caminhao, FluxoAleatorio fluxo) {
+        registrarAlteracao(caminhao);
+        estadosGeradores[caminhao] = fluxo.getEstado();
+    }
+
+    /**
+     * Salva o estado de todos os caminhões da frota, que pode ser restaurado com
+     * {@link #restaurarEstado(Estado)}. Os vetores não são copiados: o estado guarda a posição
+     * no diário, a quantidade de caminhões e os contadores de ativos, e cada caminhão alterado
+     * depois é registrado no diário uma única vez por estado. As referências dos eventos
+     * agendados são guardadas como estão; os eventos em si são salvos com a agenda.
+     * <p>
+     * O diário cresce até que os estados mais antigos sejam descartados com
+     * {@link #descartarEstadosAnteriores(Estado)} ou {@link #descartarEstados()}.
+     *
+     * @return O estado atual da frota.
+     */
+    public Estado salvarEstado() {
+        if (diario == null) {
+            diario = new Diario();
+            epocas = new int[capacidades.length];
+            epoca = 0;
+        }
+        epoca++;
+        return new Estado(diario, diario.getFim(), tamanho, ativos.clone());
+    }
+
+    /**
+     * Volta a frota a um estado salvo com {@link #salvarEstado()}: os caminhões adicionados
+     * depois são removidos e os demais voltam a ter os valores salvos, desfazendo o diário até
+     * o estado. O estado restaurado continua válido, mas os estados salvos depois dele são
+     * invalidados.
+     *
+     * @param estado O estado a ser restaurado.
+     * @throws IllegalArgumentException se o estado for nulo, tiver sido invalidado ou descartado.
+     */
+    public void restaurarEstado(Estado estado) {
+        validar(estado);
+        int n = estado.tamanho;
+        for (int i = diario.tamanho - 1, fim = (int) (estado.posicao - diario.inicio); i >= fim; i--) {
+            int caminhao = diario.caminhoes[i];
+            if (caminhao < n) {
+                cargas[caminhao] = diario.cargas[i];
+                viagensRestantes[caminhao] = diario.viagens[i];
+                temposEntradaFila[caminhao] = diario.temposEntradaFila[i];
+                estadosGeradores[caminhao] = diario.estadosGeradores[i];
+                eventosAgendados[caminhao] = diario.eventosAgendados[i];
+            }
+        }
+        diario.truncar(estado.posicao);
+        Arrays.fill(eventosAgendados, n, tamanho, null);
+        tamanho = n;
+        ativos = estado.ativos.clone();
+        epoca++;
+    }
+
+    /**
+     * Descarta do diário o que só era necessário para restaurar estados salvos antes do estado
+     * informado, que continua válido. Os estados anteriores deixam de poder ser restaurados.
+     *
+     * @param estado O estado salvo mais antigo que ainda pode ser restaurado.
+     * @throws IllegalArgumentException se o estado for nulo, tiver sido invalidado ou descartado.
+     */
+    public void descartarEstadosAnteriores(Estado estado) {
+        validar(estado);
+        diario.descartarAte(estado.posicao);
+    }
+
+    /**
+     * Descarta todos os estados salvos e deixa de registrar o diário até o próximo
+     * {@link #salvarEstado()}.
+     */
+    public void descartarEstados() {
+        diario = null;
+        epocas = null;
+    }
+
+    /**
+     * Verifica se um estado salvo ainda pode ser restaurado.
+     */
+    private void validar(Estado estado) {
+        if (estado == null) {
+            throw new IllegalArgumentException("O estado da frota não pode ser nulo.");
+        }
+        if (estado.diario != diario || estado.posicao < diario.inicio || estado.posicao > diario.getFim()) {
+            throw new IllegalArgumentException("O estado da frota foi invalidado ou descartado.");
+        }
+    }
+
+    /**
+     * Retorna uma visão do caminhão de uma posição da frota. Cada chamada cria uma nova visão;
+     * visões da mesma posição são iguais ({@link CaminhaoPequeno#equals(Object)}).
+     *
+     * @param caminhao A posição do caminhão, na ordem em que foram adicionados.
+     * @return O caminhão na posição ou {@code null} se a posição for inválida.
+     */
+    public CaminhaoPequeno getCaminhao(int caminhao) {
+        return caminhao >= 0 && caminhao < tamanho ? new CaminhaoPequeno(this, caminhao) : null;
+    }
+
+    /**
+     * @return A quantidade total de caminhões da frota.
+     */
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * @return Um iterador sobre visões dos caminhões da frota, na ordem em que foram adicionados.
+     */
+    @Override
+    public Iterator<CaminhaoPequeno> iterator() {
+        return new Iterator<>() {
+            private int proximo;
+
+            @Override
+            public boolean hasNext() {
+                return proximo < tamanho;
+            }
+
+            @Override
+            public CaminhaoPequeno next() {
+                if (proximo >= tamanho) {
+                    throw new NoSuchElementException();
+                }
+                return new CaminhaoPequeno(Frota.this, proximo++);
+            }
+        };
+    }
+
+    /**
+     * O estado salvo de uma frota ({@link #salvarEstado()}): a posição no diário, a quantidade
+     * de caminhões e uma cópia dos contadores de ativos.
+     */
+    public static final class Estado {
+        private final Diario diario;
+        private final long posicao;
+        private final int tamanho;
+        private final int[] ativos;
+
+        private Estado(Diario diario, long posicao, int tamanho, int[] ativos) {
+            this.diario = diario;
+            this.posicao = posicao;
+            this.tamanho = tamanho;
+            this.ativos = ativos;
+        }
+    }
+
+    /**
+     * Os valores anteriores dos caminhões alterados, em vetores paralelos endereçados por
+     * posições absolutas, que não mudam quando o início do diário é descartado. Só as colunas
+     * que mudam durante a simulação são registradas.
+     */
+    private static final class Diario {
+        private int[] caminhoes = new int[CAPACIDADE_INICIAL];
+        private int[] cargas = new int[CAPACIDADE_INICIAL];
+        private int[] viagens = new int[CAPACIDADE_INICIAL];
+        private int[] temposEntradaFila = new int[CAPACIDADE_INICIAL];
+        private long[] estadosGeradores = new long[CAPACIDADE_INICIAL];
+        private AgendamentoEvento[] eventosAgendados = new AgendamentoEvento[CAPACIDADE_INICIAL];
+        private int tamanho;
+        /** A posição absoluta do primeiro registro guardado. */
+        private long inicio;
+
+        void adicionar(int caminhao, int carga, int viagensRestantes, int tempoEntradaFila,
+                       long estadoGerador, AgendamentoEvento eventoAgendado) {
+            if (tamanho == caminhoes.length) {
+                int novaCapacidade = tamanho * 2;
+                caminhoes = Arrays.copyOf(caminhoes, novaCapacidade);
+                cargas = Arrays.copyOf(cargas, novaCapacidade);
+                viagens = Arrays.copyOf(viagens, novaCapacidade);
+                temposEntradaFila = Arrays.copyOf(temposEntradaFila, novaCapacidade);
+                estadosGeradores = Arrays.copyOf(estadosGeradores, novaCapacidade);
+                eventosAgendados = Arrays.copyOf(eventosAgendados, novaCapacidade);
+            }
+            caminhoes[tamanho] = caminhao;
+            cargas[tamanho] = carga;
+            viagens[tamanho] = viagensRestantes;
+            temposEntradaFila[tamanho] = tempoEntradaFila;
+            estadosGeradores[tamanho] = estadoGerador;
+            eventosAgendados[tamanho] = eventoAgendado;
+            tamanho++;
+        }
+
+        /** A posição absoluta do próximo registro. */
+        long getFim() {
+            return inicio + tamanho;
+        }
+
+        /** Descarta os registros a partir da posição. */
+        void truncar(long posicao) {
+            int novoTamanho = (int) (posicao - inicio);
+            Arrays.fill(eventosAgendados, novoTamanho, tamanho, null);
+            tamanho = novoTamanho;
+        }
+
+        /** Descarta os registros anteriores à posição. */
+        void descartarAte(long posicao) {
+            int descartados = (int) (posicao - inicio);
+            int restantes = tamanho - descartados;
+            System.arraycopy(caminhoes, descartados, caminhoes, 0, restantes);
+            System.arraycopy(cargas, descartados, cargas, 0, restantes);
+            System.arraycopy(viagens, descartados, viagens, 0, restantes);
+            System.arraycopy(temposEntradaFila, descartados, temposEntradaFila, 0, restantes);
+            System.arraycopy(estadosGeradores, descartados, estadosGeradores, 0, restantes);
+            System.arraycopy(eventosAgendados, descartados, eventosAgendados, 0, restantes);
+            Arrays.fill(eventosAgendados, restantes, tamanho, null);
+            tamanho = restantes;
+            inicio = posicao;
+        }
+    }
+}
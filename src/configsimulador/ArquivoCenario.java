@@ -0,0 +1,270 @@
+package configsimulador;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Classe utilitária que lê e grava um {@link CenarioSimulacao} em um arquivo de texto.
+ * <p>
+ * O arquivo tem uma linha por estação ou zona, com os campos separados por {@code ;}:
+ * <pre>
+ * # Comentários começam com '#'; linhas em branco são ignoradas.
+ * estacao;Estação A;0;4
+ * zona;Norte;0;8;15;30;Estação A
+ * </pre>
+ * Uma estação é descrita por {@code estacao;nome;x;y} e uma zona por
+ * {@code zona;nome;x;y;lixoMinimo;lixoMaximo;estação}, com as coordenadas em quilômetros e os
+ * limites de lixo em toneladas por dia. Uma estação precisa aparecer antes das zonas que atende.
+ * <p>
+ * O arquivo é lido linha a linha, sem carregá-lo inteiro na memória, e os dados vão direto para
+ * os vetores do cenário. O nome da estação de cada zona é convertido no índice da estação durante
+ * a leitura, de forma que a simulação não compara nomes. Cidades com milhares de zonas são lidas
+ * em poucos milissegundos.
+ */
+public class ArquivoCenario {
+
+    /** Separador dos campos de uma linha. */
+    private static final char SEPARADOR = ';';
+    /** Início das linhas de comentário. */
+    private static final char COMENTARIO = '#';
+    private static final String TIPO_ESTACAO = "estacao";
+    private static final String TIPO_ZONA = "zona";
+    /** Quantidade de campos das linhas de estação e de zona. */
+    private static final int CAMPOS_ESTACAO = 4;
+    private static final int CAMPOS_ZONA = 7;
+
+    /**
+     * Construtor privado para impedir a instanciação da classe.
+     */
+    private ArquivoCenario() {
+        // Previne instanciação
+    }
+
+    /**
+     * Lê um cenário de um arquivo em UTF-8.
+     *
+     * @param arquivo O caminho do arquivo.
+     * @return O cenário lido.
+     * @throws IOException              se o arquivo não puder ser lido.
+     * @throws IllegalArgumentException se o conteúdo do arquivo for inválido; a mensagem indica a linha.
+     */
+    public static CenarioSimulacao ler(Path arquivo) throws IOException {
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            return ler(leitor);
+        }
+    }
+
+    /**
+     * Lê um cenário de um {@link Reader}. O leitor não é fechado.
+     *
+     * @param entrada O leitor com o conteúdo do cenário.
+     * @return O cenário lido.
+     * @throws IOException              se a leitura falhar.
+     * @throws IllegalArgumentException se o conteúdo for inválido; a mensagem indica a linha.
+     */
+    public static CenarioSimulacao ler(Reader entrada) throws IOException {
+        BufferedReader leitor = entrada instanceof BufferedReader b ? b : new BufferedReader(entrada);
+        DadosLidos dados = new DadosLidos();
+        Map<String, Integer> indiceEstacoes = new HashMap<>();
+        Set<String> nomesZonas = new HashSet<>();
+        String[] campos = new String[CAMPOS_ZONA];
+
+        String linha;
+        int numeroLinha = 0;
+        while ((linha = leitor.readLine()) != null) {
+            numeroLinha++;
+            linha = linha.strip();
+            if (linha.isEmpty() || linha.charAt(0) == COMENTARIO) {
+                continue;
+            }
+            int quantidadeCampos = separarCampos(linha, campos);
+            try {
+                if (campos[0].equals(TIPO_ESTACAO)) {
+                    exigirCampos(quantidadeCampos, CAMPOS_ESTACAO, TIPO_ESTACAO);
+                    String nome = exigirNome(campos[1]);
+                    if (indiceEstacoes.putIfAbsent(nome, dados.estacoes) != null) {
+                        throw new IllegalArgumentException("A estação " + nome + " já foi definida.");
+                    }
+                    dados.adicionarEstacao(nome, Double.parseDouble(campos[2]), Double.parseDouble(campos[3]));
+                } else if (campos[0].equals(TIPO_ZONA)) {
+                    exigirCampos(quantidadeCampos, CAMPOS_ZONA, TIPO_ZONA);
+                    String nome = exigirNome(campos[1]);
+                    if (!nomesZonas.add(nome)) {
+                        throw new IllegalArgumentException("A zona " + nome + " já foi definida.");
+                    }
+                    Integer estacao = indiceEstacoes.get(campos[6]);
+                    if (estacao == null) {
+                        throw new IllegalArgumentException("A estação " + campos[6] + " não foi definida antes da zona " + nome + ".");
+                    }
+                    int minimo = Integer.parseInt(campos[4]);
+                    int maximo = Integer.parseInt(campos[5]);
+                    if (minimo < 0 || maximo < minimo) {
+                        throw new IllegalArgumentException("Limites de lixo inválidos para a zona " + nome + ".");
+                    }
+                    dados.adicionarZona(nome, Double.parseDouble(campos[2]), Double.parseDouble(campos[3]),
+                            minimo, maximo, estacao);
+                } else {
+                    throw new IllegalArgumentException("Tipo de linha desconhecido: " + campos[0] + ".");
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Linha " + numeroLinha + ": número inválido (" + e.getMessage() + ").", e);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Linha " + numeroLinha + ": " + e.getMessage(), e);
+            }
+        }
+        return dados.criarCenario();
+    }
+
+    /**
+     * Grava um cenário em um arquivo em UTF-8, no formato lido por {@link #ler(Path)}.
+     *
+     * @param cenario O cenário a ser gravado.
+     * @param arquivo O caminho do arquivo; se existir, é substituído.
+     * @throws IOException              se o arquivo não puder ser gravado.
+     * @throws IllegalArgumentException se algum nome tiver o separador {@code ;} ou uma quebra de linha.
+     */
+    public static void escrever(CenarioSimulacao cenario, Path arquivo) throws IOException {
+        try (BufferedWriter escritor = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            escrever(cenario, escritor);
+        }
+    }
+
+    /**
+     * Grava um cenário em um {@link Writer}, no formato lido por {@link #ler(Reader)}. O escritor
+     * não é fechado.
+     *
+     * @param cenario O cenário a ser gravado.
+     * @param saida   O escritor de destino.
+     * @throws IOException              se a gravação falhar.
+     * @throws IllegalArgumentException se algum nome tiver o separador {@code ;} ou uma quebra de linha.
+     */
+    public static void escrever(CenarioSimulacao cenario, Writer saida) throws IOException {
+        StringBuilder linha = new StringBuilder(128);
+        saida.write("# " + cenario.getQuantidadeZonas() + " zonas, " + cenario.getQuantidadeEstacoes() + " estações\n");
+        for (int i = 0; i < cenario.getQuantidadeEstacoes(); i++) {
+            linha.setLength(0);
+            linha.append(TIPO_ESTACAO).append(SEPARADOR).append(validarNomeParaGravacao(cenario.getNomeEstacao(i)))
+                    .append(SEPARADOR).append(cenario.getXEstacao(i))
+                    .append(SEPARADOR).append(cenario.getYEstacao(i)).append('\n');
+            saida.append(linha);
+        }
+        for (int i = 0; i < cenario.getQuantidadeZonas(); i++) {
+            linha.setLength(0);
+            linha.append(TIPO_ZONA).append(SEPARADOR).append(validarNomeParaGravacao(cenario.getNomeZona(i)))
+                    .append(SEPARADOR).append(cenario.getXZona(i))
+                    .append(SEPARADOR).append(cenario.getYZona(i))
+                    .append(SEPARADOR).append(cenario.getLixoMinimo(i))
+                    .append(SEPARADOR).append(cenario.getLixoMaximo(i))
+                    .append(SEPARADOR).append(cenario.getNomeEstacao(cenario.getEstacaoDaZona(i))).append('\n');
+            saida.append(linha);
+        }
+        saida.flush();
+    }
+
+    /**
+     * Separa os campos de uma linha, sem expressões regulares.
+     *
+     * @return A quantidade de campos da linha (pode ser maior que o tamanho do vetor; os
+     * campos excedentes são descartados).
+     */
+    private static int separarCampos(String linha, String[] campos) {
+        int quantidade = 0;
+        int inicio = 0;
+        while (true) {
+            int fim = linha.indexOf(SEPARADOR, inicio);
+            if (quantidade < campos.length) {
+                campos[quantidade] = (fim < 0 ? linha.substring(inicio) : linha.substring(inicio, fim)).strip();
+            }
+            quantidade++;
+            if (fim < 0) {
+                return quantidade;
+            }
+            inicio = fim + 1;
+        }
+    }
+
+    private static void exigirCampos(int quantidade, int esperado, String tipo) {
+        if (quantidade != esperado) {
+            throw new IllegalArgumentException("Uma linha de " + tipo + " deve ter " + esperado
+                    + " campos, mas tem " + quantidade + ".");
+        }
+    }
+
+    private static String exigirNome(String nome) {
+        if (nome.isEmpty()) {
+            throw new IllegalArgumentException("O nome não pode ser vazio.");
+        }
+        return nome;
+    }
+
+    private static String validarNomeParaGravacao(String nome) {
+        if (nome.indexOf(SEPARADOR) >= 0 || nome.indexOf('\n') >= 0 || nome.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("O nome \"" + nome + "\" não pode conter '" + SEPARADOR + "' nem quebras de linha.");
+        }
+        return nome;
+    }
+
+    /**
+     * Vetores que crescem conforme as linhas são lidas, para montar o cenário sem objetos
+     * intermediários por zona.
+     */
+    private static final class DadosLidos {
+        private String[] nomesZonas = new String[16];
+        private double[] coordenadasZonas = new double[32];
+        private int[] lixoMinimo = new int[16];
+        private int[] lixoMaximo = new int[16];
+        private int[] estacaoDaZona = new int[16];
+        private int zonas;
+
+        private String[] nomesEstacoes = new String[4];
+        private double[] coordenadasEstacoes = new double[8];
+        private int estacoes;
+
+        void adicionarEstacao(String nome, double x, double y) {
+            if (estacoes == nomesEstacoes.length) {
+                nomesEstacoes = Arrays.copyOf(nomesEstacoes, estacoes * 2);
+                coordenadasEstacoes = Arrays.copyOf(coordenadasEstacoes, estacoes * 4);
+            }
+            nomesEstacoes[estacoes] = nome;
+            coordenadasEstacoes[2 * estacoes] = x;
+            coordenadasEstacoes[2 * estacoes + 1] = y;
+            estacoes++;
+        }
+
+        void adicionarZona(String nome, double x, double y, int minimo, int maximo, int estacao) {
+            if (zonas == nomesZonas.length) {
+                nomesZonas = Arrays.copyOf(nomesZonas, zonas * 2);
+                coordenadasZonas = Arrays.copyOf(coordenadasZonas, zonas * 4);
+                lixoMinimo = Arrays.copyOf(lixoMinimo, zonas * 2);
+                lixoMaximo = Arrays.copyOf(lixoMaximo, zonas * 2);
+                estacaoDaZona = Arrays.copyOf(estacaoDaZona, zonas * 2);
+            }
+            nomesZonas[zonas] = nome;
+            coordenadasZonas[2 * zonas] = x;
+            coordenadasZonas[2 * zonas + 1] = y;
+            lixoMinimo[zonas] = minimo;
+            lixoMaximo[zonas] = maximo;
+            estacaoDaZona[zonas] = estacao;
+            zonas++;
+        }
+
+        CenarioSimulacao criarCenario() {
+            return new CenarioSimulacao(
+                    Arrays.copyOf(nomesZonas, zonas), Arrays.copyOf(coordenadasZonas, 2 * zonas),
+                    Arrays.copyOf(lixoMinimo, zonas), Arrays.copyOf(lixoMaximo, zonas),
+                    Arrays.copyOf(nomesEstacoes, estacoes), Arrays.copyOf(coordenadasEstacoes, 2 * estacoes),
+                    Arrays.copyOf(estacaoDaZona, zonas));
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package configsimulador;
+
+import estacoes.EstacaoDeTransferencia;
+import tads.ListaArray;
+import zonas.DistanciaZonas;
+import zonas.Zonas;
+
+/**
+ * Descrição imutável da cidade simulada: as zonas (com as suas coordenadas e os seus limites
+ * de geração de lixo), as estações de transferência e a estação que atende cada zona.
+ * <p>
+ * Os dados ficam em vetores compactos, indexados pelo número da zona ou da estação; a estação
+ * de cada zona é guardada pelo seu índice, de forma que nenhum nome é comparado durante a
+ * simulação. O cenário não guarda estado da simulação: a cada execução, {@link #criarZonas()} e
+ * {@link #criarEstacoes(ContextoSimulacao)} criam zonas e estações novas. O cenário
+ * {@linkplain #padrao() padrão} é a cidade de Teresina com as cinco zonas e as duas estações
+ * originais do simulador; cidades maiores podem ser criadas com {@link GeradorCenario} ou
+ * lidas de um arquivo com {@link ArquivoCenario}.
+ * <p>
+ * As coordenadas são dadas em quilômetros, em um plano cartesiano com origem arbitrária.
+ */
+public final class CenarioSimulacao {
+
+    private final String[] nomesZonas;
+    /** Coordenadas das zonas, intercaladas: {@code x0, y0, x1, y1, ...}. */
+    private final double[] coordenadasZonas;
+    private final int[] lixoMinimo;
+    private final int[] lixoMaximo;
+    private final String[] nomesEstacoes;
+    /** Coordenadas das estações, intercaladas: {@code x0, y0, x1, y1, ...}. */
+    private final double[] coordenadasEstacoes;
+    /** Índice, em {@link #nomesEstacoes}, da estação que atende cada zona. */
+    private final int[] estacaoDaZona;
+
+    /**
+     * Cria um cenário sem coordenadas (todas as zonas e estações ficam na origem). Os vetores são copiados.
+     *
+     * @param nomesZonas    Os nomes das zonas.
+     * @param lixoMinimo    A geração diária mínima de lixo de cada zona, em toneladas.
+     * @param lixoMaximo    A geração diária máxima de lixo de cada zona, em toneladas.
+     * @param nomesEstacoes Os nomes das estações de transferência.
+     * @param estacaoDaZona O índice da estação que atende cada zona.
+     * @throws IllegalArgumentException nos mesmos casos do construtor completo.
+     */
+    public CenarioSimulacao(String[] nomesZonas, int[] lixoMinimo, int[] lixoMaximo,
+                            String[] nomesEstacoes, int[] estacaoDaZona) {
+        this(nomesZonas,
+                new double[2 * (nomesZonas == null ? 0 : nomesZonas.length)],
+                lixoMinimo, lixoMaximo,
+                nomesEstacoes,
+                new double[2 * (nomesEstacoes == null ? 0 : nomesEstacoes.length)],
+                estacaoDaZona);
+    }
+
+    /**
+     * Cria um cenário. Os vetores são copiados.
+     *
+     * @param nomesZonas          Os nomes das zonas.
+     * @param coordenadasZonas    As coordenadas de cada zona, intercaladas ({@code x0, y0, x1, y1, ...}).
+     * @param lixoMinimo          A geração diária mínima de lixo de cada zona, em toneladas.
+     * @param lixoMaximo          A geração diária máxima de lixo de cada zona, em toneladas.
+     * @param nomesEstacoes       Os nomes das estações de transferência.
+     * @param coordenadasEstacoes As coordenadas de cada estação, intercaladas.
+     * @param estacaoDaZona       O índice da estação que atende cada zona.
+     * @throws IllegalArgumentException se algum vetor for nulo ou vazio, se os vetores das zonas ou das
+     *                                  estações tiverem tamanhos incompatíveis, se algum limite for inválido
+     *                                  ou se alguma zona apontar para uma estação inexistente.
+     */
+    public CenarioSimulacao(String[] nomesZonas, double[] coordenadasZonas, int[] lixoMinimo, int[] lixoMaximo,
+                            String[] nomesEstacoes, double[] coordenadasEstacoes, int[] estacaoDaZona) {
+        if (nomesZonas == null || nomesZonas.length == 0) {
+            throw new IllegalArgumentException("O cenário precisa de pelo menos uma zona.");
+        }
+        if (nomesEstacoes == null || nomesEstacoes.length == 0) {
+            throw new IllegalArgumentException("O cenário precisa de pelo menos uma estação de transferência.");
+        }
+        int zonas = nomesZonas.length;
+        if (lixoMinimo == null || lixoMaximo == null || estacaoDaZona == null || coordenadasZonas == null
+                || lixoMinimo.length != zonas || lixoMaximo.length != zonas || estacaoDaZona.length != zonas
+                || coordenadasZonas.length != 2 * zonas) {
+            throw new IllegalArgumentException("Os dados das zonas devem ter um valor para cada zona.");
+        }
+        if (coordenadasEstacoes == null || coordenadasEstacoes.length != 2 * nomesEstacoes.length) {
+            throw new IllegalArgumentException("As coordenadas devem ter um par (x, y) para cada estação.");
+        }
+        for (int i = 0; i < zonas; i++) {
+            if (lixoMinimo[i] < 0 || lixoMaximo[i] < lixoMinimo[i]) {
+                throw new IllegalArgumentException("Limites de lixo inválidos para a zona " + nomesZonas[i] + ".");
+            }
+            if (estacaoDaZona[i] < 0 || estacaoDaZona[i] >= nomesEstacoes.length) {
+                throw new IllegalArgumentException("A zona " + nomesZonas[i] + " aponta para uma estação inexistente.");
+            }
+        }
+        this.nomesZonas = nomesZonas.clone();
+        this.coordenadasZonas = coordenadasZonas.clone();
+        this.lixoMinimo = lixoMinimo.clone();
+        this.lixoMaximo = lixoMaximo.clone();
+        this.nomesEstacoes = nomesEstacoes.clone();
+        this.coordenadasEstacoes = coordenadasEstacoes.clone();
+        this.estacaoDaZona = estacaoDaZona.clone();
+    }
+
+    /**
+     * Retorna o cenário original do simulador: as zonas Sul, Sudeste, Centro, Leste e Norte,
+     * com os limites de {@link ConfiguracoesDoSimulador}, e as estações A (Norte e Centro)
+     * e B (Sul, Sudeste e Leste). As coordenadas são aproximadas, em quilômetros a partir do Centro.
+     *
+     * @return O cenário padrão.
+     */
+    public static CenarioSimulacao padrao() {
+        return new CenarioSimulacao(
+                new String[]{"Sul", "Sudeste", "Centro", "Leste", "Norte"},
+                new double[]{0, -9, 5, -6, 0, 0, 6, 1, 0, 8},
+                new int[]{
+                        ConfiguracoesDoSimulador.LIXO_MIN_ZONA_SUL,
+                        ConfiguracoesDoSimulador.LIXO_MIN_ZONA_SUDESTE,
+                        ConfiguracoesDoSimulador.LIXO_MIN_ZONA_CENTRO,
+                        ConfiguracoesDoSimulador.LIXO_MIN_ZONA_LESTE,
+                        ConfiguracoesDoSimulador.LIXO_MIN_ZONA_NORTE},
+                new int[]{
+                        ConfiguracoesDoSimulador.LIXO_MAX_ZONA_SUL,
+                        ConfiguracoesDoSimulador.LIXO_MAX_ZONA_SUDESTE,
+                        ConfiguracoesDoSimulador.LIXO_MAX_ZONA_CENTRO,
+                        ConfiguracoesDoSimulador.LIXO_MAX_ZONA_LESTE,
+                        ConfiguracoesDoSimulador.LIXO_MAX_ZONA_NORTE},
+                new String[]{"Estação A", "Estação B"},
+                new double[]{0, 4, 3, -5},
+                new int[]{1, 1, 0, 1, 0});
+    }
+
+    /**
+     * Cria as zonas do cenário, sem lixo acumulado, na ordem em que foram definidas.
+     * O identificador de cada zona é a sua posição no cenário.
+     *
+     * @return Uma nova {@link ListaArray} de {@link Zonas}.
+     */
+    public ListaArray<Zonas> criarZonas() {
+        ListaArray<Zonas> zonas = new ListaArray<>(nomesZonas.length);
+        for (int i = 0; i < nomesZonas.length; i++) {
+            zonas.adicionar(new Zonas(i, nomesZonas[i], lixoMinimo[i], lixoMaximo[i]));
+        }
+        return zonas;
+    }
+
+    /**
+     * Cria as estações do cenário no contexto informado, na ordem em que foram definidas.
+     * O identificador de cada estação é a sua posição no cenário.
+     *
+     * @param contexto O contexto da simulação ao qual as estações pertencem.
+     * @return As novas estações de transferência.
+     */
+    public EstacaoDeTransferencia[] criarEstacoes(ContextoSimulacao contexto) {
+        EstacaoDeTransferencia[] estacoes = new EstacaoDeTransferencia[nomesEstacoes.length];
+        for (int i = 0; i < estacoes.length; i++) {
+            estacoes[i] = new EstacaoDeTransferencia(i, nomesEstacoes[i], contexto);
+        }
+        return estacoes;
+    }
+
+    /**
+     * Monta o mapeamento das zonas criadas por {@link #criarZonas()} para as estações
+     * criadas por {@link #criarEstacoes(ContextoSimulacao)}.
+     *
+     * @param zonas    As zonas do cenário, na ordem de criação.
+     * @param estacoes As estações do cenário, na ordem de criação.
+     * @return O {@link DistanciaZonas} com a estação de cada zona e os tempos de viagem entre zonas e estações.
+     * @throws IllegalArgumentException se as zonas ou as estações não forem as do cenário.
+     */
+    public DistanciaZonas criarRoteamento(ListaArray<Zonas> zonas, EstacaoDeTransferencia[] estacoes) {
+        if (zonas.getTamanho() != nomesZonas.length || estacoes.length != nomesEstacoes.length) {
+            throw new IllegalArgumentException("As zonas e estações não correspondem ao cenário.");
+        }
+        for (int i = 0; i < nomesZonas.length; i++) {
+            if (zonas.getValor(i).getId() != i) {
+                throw new IllegalArgumentException("A zona " + zonas.getValor(i).getNome() + " não tem o identificador do cenário.");
+            }
+        }
+        return new DistanciaZonas(estacoes, estacaoDaZona, coordenadasZonas, coordenadasEstacoes);
+    }
+
+    /**
+     * @return A quantidade de zonas do cenário.
+     */
+    public int getQuantidadeZonas() {
+        return nomesZonas.length;
+    }
+
+    /**
+     * @return A quantidade de estações de transferência do cenário.
+     */
+    public int getQuantidadeEstacoes() {
+        return nomesEstacoes.length;
+    }
+
+    /**
+     * @param zona O índice da zona.
+     * @return O nome da zona.
+     */
+    public String getNomeZona(int zona) {
+        return nomesZonas[zona];
+    }
+
+    /**
+     * @param zona O índice da zona.
+     * @return A coordenada x da zona, em quilômetros.
+     */
+    public double getXZona(int zona) {
+        return coordenadasZonas[2 * zona];
+    }
+
+    /**
+     * @param zona O índice da zona.
+     * @return A coordenada y da zona, em quilômetros.
+     */
+    public double getYZona(int zona) {
+        return coordenadasZonas[2 * zona + 1];
+    }
+
+    /**
+     * @param zona O índice da zona.
+     * @return A geração diária mínima de lixo da zona, em toneladas.
+     */
+    public int getLixoMinimo(int zona) {
+        return lixoMinimo[zona];
+    }
+
+    /**
+     * @param zona O índice da zona.
+     * @return A geração diária máxima de lixo da zona, em toneladas.
+     */
+    public int getLixoMaximo(int zona) {
+        return lixoMaximo[zona];
+    }
+
+    /**
+     * @param zona O índice da zona.
+     * @return O índice da estação que atende a zona.
+     */
+    public int getEstacaoDaZona(int zona) {
+        return estacaoDaZona[zona];
+    }
+
+    /**
+     * @param estacao O índice da estação.
+     * @return O nome da estação.
+     */
+    public String getNomeEstacao(int estacao) {
+        return nomesEstacoes[estacao];
+    }
+
+    /**
+     * @param estacao O índice da estação.
+     * @return A coordenada x da estação, em quilômetros.
+     */
+    public double getXEstacao(int estacao) {
+        return coordenadasEstacoes[2 * estacao];
+    }
+
+    /**
+     * @param estacao O índice da estação.
+     * @return A coordenada y da estação, em quilômetros.
+     */
+    public double getYEstacao(int estacao) {
+        return coordenadasEstacoes[2 * estacao + 1];
+    }
+}
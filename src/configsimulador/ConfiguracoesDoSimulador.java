@@ -27,6 +27,8 @@ public final class ConfiguracoesDoSimulador {
     public static final int VIAGEM_MIN_FORA_PICO = 20;
     public static final int VIAGEM_MAX_FORA_PICO = 40;
     public static final int MAX_VIAGENS_DIARIAS_PEQUENO = 3;
+    /** Velocidade média sem trânsito, em km/h, usada nos tempos de viagem calculados a partir das coordenadas. */
+    public static final double VELOCIDADE_MEDIA_URBANA_KMH = 30.0;
 
     // ==================== GERAÇÃO DE LIXO POR ZONA (em toneladas) ====================
     public static final int LIXO_MIN_ZONA_SUL = 20;
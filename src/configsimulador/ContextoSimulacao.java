@@ -0,0 +1,497 @@
+package configsimulador;
+
+import caminhoes.CaminhaoGrande;
+import caminhoes.Frota;
+import estacoes.DisciplinaFila;
+import estacoes.EstacaoDeTransferencia;
+import eventos.GerenciadorAgenda;
+import eventos.TipoAgenda;
+import registro.MensagemRegistro;
+import registro.Registrador;
+import zonas.DistanciaZonas;
+import zonas.PoliticaRoteamento;
+import zonas.Zonas;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reúne todo o estado mutável de uma execução da simulação: a agenda de eventos
+ * (e, com ela, o relógio simulado), as estatísticas, os contadores de identificadores,
+ * o roteamento entre zonas e estações de transferência e a frota de caminhões pequenos,
+ * cujos caminhões os eventos referenciam pela posição.
+ * <p>
+ * Cada {@link Simulador} possui o seu próprio contexto, que é repassado aos eventos
+ * em {@code Evento.executar} e às estações de transferência. Como nenhuma parte do
+ * estado é estática, várias simulações independentes podem ser executadas ao mesmo
+ * tempo, em threads diferentes, sem compartilhar dados.
+ * <p>
+ * O contexto também fornece os fluxos de números aleatórios da simulação: um fluxo raiz,
+ * criado a partir da semente, e um fluxo derivado para cada zona e para cada caminhão
+ * (veja {@link FluxoAleatorio}). Duas execuções com a mesma semente e os mesmos
+ * parâmetros produzem exatamente os mesmos resultados.
+ * <p>
+ * A narrativa da simulação é enviada ao {@link Registrador} do contexto, que fica
+ * desligado a menos que outro seja configurado com {@link #setRegistrador(Registrador)}.
+ * <p>
+ * As estatísticas das filas das estações e a numeração dos caminhões grandes podem ser
+ * atualizadas ao mesmo tempo por estações de threads diferentes (veja
+ * {@code eventos.ProcessadorLotes}), e por isso são acumuladas com {@link LongAdder} e
+ * {@link AtomicInteger}. Como as somas não dependem da ordem, os eventos das estações não
+ * precisam declarar o contexto como recurso. Caminhões grandes criados no mesmo minuto por
+ * estações de grupos diferentes podem receber os identificadores em outra ordem, mas a
+ * quantidade é a mesma.
+ */
+public class ContextoSimulacao {
+
+    /** A agenda de eventos desta simulação. */
+    private final GerenciadorAgenda agenda;
+
+    /** O mapeamento de zonas para estações de transferência desta simulação. */
+    private DistanciaZonas distanciaZonas;
+    /** A frota de caminhões pequenos cujos caminhões os eventos desta simulação referenciam. */
+    private Frota frota;
+    /** Como os caminhões escolhem a estação de transferência; mantida em {@link #reiniciar()}. */
+    private PoliticaRoteamento politicaRoteamento = PoliticaRoteamento.FIXA;
+    /** A ordem de descarga das filas de espera das estações; mantida em {@link #reiniciar()}. */
+    private DisciplinaFila disciplinaFila = DisciplinaFila.FIFO;
+
+    /** Soma dos tempos de espera (em minutos) dos caminhões pequenos nas filas das estações. */
+    private final LongAdder tempoTotalEspera = new LongAdder();
+    /** Número de caminhões pequenos que precisaram esperar na fila de uma estação. */
+    private final LongAdder totalCaminhoesNaFila = new LongAdder();
+    /** Toneladas descarregadas pelos caminhões pequenos que saíram da fila de uma estação. */
+    private final LongAdder toneladasDescarregadasFila = new LongAdder();
+    /** Número de caminhões de reforço acionados pelo supervisor. */
+    private int contadorCaminhoesExtra;
+    /** Próximo identificador a ser atribuído a um caminhão grande. */
+    private final AtomicInteger proximoIdCaminhaoGrande = new AtomicInteger(1);
+
+    /** O registro (log) desta simulação; desligado por padrão. */
+    private Registrador registrador = Registrador.desligado();
+
+    /** A semente usada para inicializar o fluxo aleatório raiz. */
+    private final long semente;
+    /** O fluxo aleatório raiz desta simulação, do qual são derivados os fluxos das zonas e dos caminhões. */
+    private FluxoAleatorio fluxoRaiz;
+
+    /**
+     * Cria um contexto vazio usando a implementação de agenda padrão e uma semente aleatória.
+     */
+    public ContextoSimulacao() {
+        this(TipoAgenda.HEAP);
+    }
+
+    /**
+     * Cria um contexto vazio usando a implementação de agenda informada e uma semente aleatória.
+     *
+     * @param tipoAgenda O tipo de estrutura usada pela agenda de eventos.
+     */
+    public ContextoSimulacao(TipoAgenda tipoAgenda) {
+        this(tipoAgenda, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Cria um contexto vazio usando a implementação de agenda e a semente informadas.
+     *
+     * @param tipoAgenda O tipo de estrutura usada pela agenda de eventos.
+     * @param semente    A semente dos fluxos aleatórios da simulação.
+     */
+    public ContextoSimulacao(TipoAgenda tipoAgenda, long semente) {
+        this.agenda = new GerenciadorAgenda(tipoAgenda);
+        this.semente = semente;
+        this.fluxoRaiz = new FluxoAleatorio(semente);
+    }
+
+    /**
+     * Reinicia o contexto para uma nova simulação: limpa a agenda (mantendo os observadores),
+     * zera as estatísticas e os contadores, remove o roteamento configurado e reinicia o
+     * fluxo aleatório raiz a partir da semente.
+     */
+    public void reiniciar() {
+        agenda.reset();
+        registrador.registrar(MensagemRegistro.AGENDA_RESETADA, 0);
+        fluxoRaiz = new FluxoAleatorio(semente);
+        tempoTotalEspera.reset();
+        totalCaminhoesNaFila.reset();
+        toneladasDescarregadasFila.reset();
+        contadorCaminhoesExtra = 0;
+        proximoIdCaminhaoGrande.set(1);
+        distanciaZonas = null;
+        frota = null;
+    }
+
+    /**
+     * Retorna a agenda de eventos desta simulação.
+     *
+     * @return O {@link GerenciadorAgenda} da simulação.
+     */
+    public GerenciadorAgenda getAgenda() {
+        return agenda;
+    }
+
+    /**
+     * Retorna o registro (log) desta simulação.
+     *
+     * @return O {@link Registrador} da simulação; por padrão, {@link Registrador#desligado()}.
+     */
+    public Registrador getRegistrador() {
+        return registrador;
+    }
+
+    /**
+     * Define o registro (log) desta simulação. O registrador é mantido em {@link #reiniciar()}.
+     *
+     * @param registrador O registrador a ser usado.
+     * @throws IllegalArgumentException se o registrador for nulo.
+     */
+    public void setRegistrador(Registrador registrador) {
+        if (registrador == null) {
+            throw new IllegalArgumentException("O registrador não pode ser nulo. Use Registrador.desligado().");
+        }
+        this.registrador = registrador;
+    }
+
+    /**
+     * Retorna o fluxo aleatório raiz desta simulação.
+     * O fluxo não é thread-safe e deve ser usado apenas pela thread que executa a simulação.
+     *
+     * @return O fluxo aleatório raiz da simulação.
+     */
+    public FluxoAleatorio getGerador() {
+        return fluxoRaiz;
+    }
+
+    /**
+     * Cria o fluxo aleatório de uma zona. O fluxo depende apenas da semente da simulação
+     * e do nome da zona, e não da ordem em que as zonas são criadas.
+     *
+     * @param zona A zona que usará o fluxo.
+     * @return Um novo {@link FluxoAleatorio} para a zona.
+     */
+    public FluxoAleatorio criarFluxoZona(Zonas zona) {
+        return fluxoRaiz.derivar(FluxoAleatorio.chaveDe("zona:" + zona.getNome()));
+    }
+
+    /**
+     * Cria o fluxo aleatório de um caminhão. O fluxo depende apenas da semente da simulação
+     * e do identificador do caminhão, e não da ordem em que os caminhões são criados.
+     *
+     * @param idCaminhao O identificador do caminhão que usará o fluxo.
+     * @return Um novo {@link FluxoAleatorio} para o caminhão.
+     */
+    public FluxoAleatorio criarFluxoCaminhao(String idCaminhao) {
+        return fluxoRaiz.derivar(FluxoAleatorio.chaveDe("caminhao:" + idCaminhao));
+    }
+
+    /**
+     * @return A semente usada para inicializar o fluxo aleatório raiz.
+     */
+    public long getSemente() {
+        return semente;
+    }
+
+    /**
+     * Retorna o tempo simulado atual, isto é, o tempo do último evento processado.
+     *
+     * @return O tempo atual em minutos desde o início da simulação.
+     */
+    public int getTempoAtual() {
+        return agenda.getTempoUltimoEvento();
+    }
+
+    /**
+     * Retorna o mapeamento de zonas para estações de transferência.
+     *
+     * @return O {@link DistanciaZonas} configurado.
+     * @throws IllegalStateException se as estações ainda não tiverem sido configuradas.
+     */
+    public DistanciaZonas getDistanciaZonas() {
+        if (distanciaZonas == null) {
+            throw new IllegalStateException("As estações de transferência não foram configuradas. Chame configurarEstacoes() primeiro.");
+        }
+        return distanciaZonas;
+    }
+
+    /**
+     * Configura as estações de transferência usadas pelo roteamento das zonas.
+     *
+     * @param a A primeira estação de transferência (Estação A).
+     * @param b A segunda estação de transferência (Estação B).
+     */
+    public void configurarEstacoes(EstacaoDeTransferencia a, EstacaoDeTransferencia b) {
+        this.distanciaZonas = new DistanciaZonas(a, b);
+    }
+
+    /**
+     * Configura um mapeamento de zonas para estações já montado, como o de um
+     * {@link CenarioSimulacao} com várias estações.
+     *
+     * @param distanciaZonas O mapeamento de zonas para estações.
+     * @throws IllegalArgumentException se o mapeamento for nulo.
+     */
+    public void configurarRoteamento(DistanciaZonas distanciaZonas) {
+        if (distanciaZonas == null) {
+            throw new IllegalArgumentException("O mapeamento de zonas para estações não pode ser nulo.");
+        }
+        this.distanciaZonas = distanciaZonas;
+    }
+
+    /**
+     * Retorna a frota de caminhões pequenos desta simulação.
+     *
+     * @return A {@link Frota} configurada.
+     * @throws IllegalStateException se a frota ainda não tiver sido configurada.
+     */
+    public Frota getFrota() {
+        if (frota == null) {
+            throw new IllegalStateException("A frota não foi configurada. Distribua as rotas primeiro.");
+        }
+        return frota;
+    }
+
+    /**
+     * Define a frota de caminhões pequenos desta simulação. Na execução particionada, todas as
+     * partições usam a mesma frota.
+     *
+     * @param frota A frota da simulação.
+     * @throws IllegalArgumentException se a frota for nula.
+     */
+    public void setFrota(Frota frota) {
+        if (frota == null) {
+            throw new IllegalArgumentException("A frota não pode ser nula.");
+        }
+        this.frota = frota;
+    }
+
+    /**
+     * Retorna como os caminhões desta simulação escolhem a estação de transferência.
+     *
+     * @return A {@link PoliticaRoteamento}; por padrão, {@link PoliticaRoteamento#FIXA}.
+     */
+    public PoliticaRoteamento getPoliticaRoteamento() {
+        return politicaRoteamento;
+    }
+
+    /**
+     * Define como os caminhões desta simulação escolhem a estação de transferência.
+     * A política é mantida em {@link #reiniciar()}.
+     *
+     * @param politicaRoteamento A política de roteamento.
+     * @throws IllegalArgumentException se a política for nula.
+     */
+    public void setPoliticaRoteamento(PoliticaRoteamento politicaRoteamento) {
+        if (politicaRoteamento == null) {
+            throw new IllegalArgumentException("A política de roteamento não pode ser nula.");
+        }
+        this.politicaRoteamento = politicaRoteamento;
+    }
+
+    /**
+     * Retorna a ordem em que os caminhões pequenos descarregam das filas de espera das estações.
+     *
+     * @return A {@link DisciplinaFila}; por padrão, {@link DisciplinaFila#FIFO}.
+     */
+    public DisciplinaFila getDisciplinaFila() {
+        return disciplinaFila;
+    }
+
+    /**
+     * Define a ordem em que os caminhões pequenos descarregam das filas de espera das estações.
+     * A disciplina vale para as estações criadas depois da chamada e é mantida em {@link #reiniciar()}.
+     *
+     * @param disciplinaFila A disciplina das filas de espera.
+     * @throws IllegalArgumentException se a disciplina for nula.
+     */
+    public void setDisciplinaFila(DisciplinaFila disciplinaFila) {
+        if (disciplinaFila == null) {
+            throw new IllegalArgumentException("A disciplina da fila não pode ser nula.");
+        }
+        this.disciplinaFila = disciplinaFila;
+    }
+
+    /**
+     * Cria um novo caminhão grande com o próximo identificador sequencial desta simulação.
+     *
+     * @return Um novo {@link CaminhaoGrande} vazio.
+     */
+    public CaminhaoGrande criarCaminhaoGrande() {
+        return new CaminhaoGrande(proximoIdCaminhaoGrande.getAndIncrement());
+    }
+
+    /**
+     * Retorna o número total de caminhões grandes criados nesta simulação.
+     *
+     * @return A quantidade de caminhões grandes utilizados.
+     */
+    public int getTotalCaminhoesGrandes() {
+        return proximoIdCaminhaoGrande.get() - 1;
+    }
+
+    /**
+     * Registra o tempo de espera de um caminhão na fila de uma estação
+     * para cálculo de estatísticas.
+     *
+     * @param tempoEspera O tempo (em minutos) que o caminhão esperou.
+     */
+    public void registrarTempoEspera(int tempoEspera) {
+        if (tempoEspera > 0) {
+            tempoTotalEspera.add(tempoEspera);
+            totalCaminhoesNaFila.increment();
+        }
+    }
+
+    /**
+     * Registra a carga descarregada por um caminhão pequeno que saiu da fila de uma estação.
+     *
+     * @param toneladas A carga descarregada, em toneladas.
+     */
+    public void registrarDescargaFila(int toneladas) {
+        toneladasDescarregadasFila.add(toneladas);
+    }
+
+    /**
+     * Incrementa e retorna o número de caminhões de reforço acionados.
+     *
+     * @return O número sequencial do novo caminhão de reforço.
+     */
+    public int registrarCaminhaoExtra() {
+        return ++contadorCaminhoesExtra;
+    }
+
+    /**
+     * @return A soma dos tempos de espera (em minutos) nas filas das estações.
+     */
+    public long getTempoTotalEspera() {
+        return tempoTotalEspera.sum();
+    }
+
+    /**
+     * @return O número de caminhões pequenos que esperaram na fila de uma estação.
+     */
+    public int getTotalCaminhoesNaFila() {
+        return totalCaminhoesNaFila.intValue();
+    }
+
+    /**
+     * @return As toneladas descarregadas pelos caminhões pequenos que saíram da fila de uma estação.
+     */
+    public long getToneladasDescarregadasFila() {
+        return toneladasDescarregadasFila.sum();
+    }
+
+    /**
+     * @return O número de caminhões de reforço acionados pelo supervisor.
+     */
+    public int getContadorCaminhoesExtra() {
+        return contadorCaminhoesExtra;
+    }
+
+    /**
+     * Salva o estado da simulação que os eventos alteram: a agenda, a frota (se configurada),
+     * as estatísticas, os contadores e o fluxo aleatório raiz. O estado pode ser restaurado com
+     * {@link #restaurarEstado(Estado)}. As zonas e as estações guardam o seu próprio estado.
+     * <p>
+     * A agenda e a frota não são copiadas: elas passam a registrar as suas alterações em um
+     * diário, que cresce até que os estados antigos sejam descartados com
+     * {@link #descartarEstadosAnteriores(Estado)} ou {@link #descartarEstados()}.
+     *
+     * @return O estado atual do contexto.
+     */
+    public Estado salvarEstado() {
+        return new Estado(this);
+    }
+
+    /**
+     * Volta o contexto a um estado salvo com {@link #salvarEstado()}. O roteamento, a política,
+     * a disciplina e o registrador não fazem parte do estado e não são alterados. O estado
+     * salvo pode ser restaurado de novo, mas os estados salvos depois dele são invalidados.
+     *
+     * @param estado O estado a ser restaurado.
+     * @throws IllegalArgumentException se o estado for nulo, tiver sido salvo com outra frota,
+     *                                  invalidado ou descartado.
+     */
+    public void restaurarEstado(Estado estado) {
+        if (estado == null) {
+            throw new IllegalArgumentException("O estado do contexto não pode ser nulo.");
+        }
+        if (estado.frota != frota) {
+            throw new IllegalArgumentException("O estado foi salvo com outra frota.");
+        }
+        agenda.restaurarEstado(estado.agenda);
+        if (frota != null) {
+            frota.restaurarEstado(estado.estadoFrota);
+        }
+        fluxoRaiz.setEstado(estado.estadoFluxoRaiz);
+        restaurar(tempoTotalEspera, estado.tempoTotalEspera);
+        restaurar(totalCaminhoesNaFila, estado.totalCaminhoesNaFila);
+        restaurar(toneladasDescarregadasFila, estado.toneladasDescarregadasFila);
+        contadorCaminhoesExtra = estado.contadorCaminhoesExtra;
+        proximoIdCaminhaoGrande.set(estado.proximoIdCaminhaoGrande);
+    }
+
+    /**
+     * Descarta o que só era necessário para restaurar estados salvos antes do estado informado,
+     * que continua válido.
+     *
+     * @param estado O estado salvo mais antigo que ainda pode ser restaurado.
+     * @throws IllegalArgumentException se o estado for nulo, tiver sido salvo com outra frota,
+     *                                  invalidado ou descartado.
+     */
+    public void descartarEstadosAnteriores(Estado estado) {
+        if (estado == null) {
+            throw new IllegalArgumentException("O estado do contexto não pode ser nulo.");
+        }
+        if (estado.frota != frota) {
+            throw new IllegalArgumentException("O estado foi salvo com outra frota.");
+        }
+        agenda.descartarEstadosAnteriores(estado.agenda);
+        if (frota != null) {
+            frota.descartarEstadosAnteriores(estado.estadoFrota);
+        }
+    }
+
+    /**
+     * Descarta todos os estados salvos; a agenda e a frota deixam de registrar as suas
+     * alterações até o próximo {@link #salvarEstado()}.
+     */
+    public void descartarEstados() {
+        agenda.descartarEstados();
+        if (frota != null) {
+            frota.descartarEstados();
+        }
+    }
+
+    private static void restaurar(LongAdder contador, long valor) {
+        contador.reset();
+        contador.add(valor);
+    }
+
+    /**
+     * O estado salvo de um contexto ({@link #salvarEstado()}).
+     */
+    public static final class Estado {
+        private final GerenciadorAgenda.Estado agenda;
+        private final Frota frota;
+        private final Frota.Estado estadoFrota;
+        private final long estadoFluxoRaiz;
+        private final long tempoTotalEspera;
+        private final int totalCaminhoesNaFila;
+        private final long toneladasDescarregadasFila;
+        private final int contadorCaminhoesExtra;
+        private final int proximoIdCaminhaoGrande;
+
+        private Estado(ContextoSimulacao contexto) {
+            agenda = contexto.agenda.salvarEstado();
+            frota = contexto.frota;
+            estadoFrota = frota == null ? null : frota.salvarEstado();
+            estadoFluxoRaiz = contexto.fluxoRaiz.getEstado();
+            tempoTotalEspera = contexto.tempoTotalEspera.sum();
+            totalCaminhoesNaFila = contexto.getTotalCaminhoesNaFila();
+            toneladasDescarregadasFila = contexto.toneladasDescarregadasFila.sum();
+            contadorCaminhoesExtra = contexto.contadorCaminhoesExtra;
+            proximoIdCaminhaoGrande = contexto.proximoIdCaminhaoGrande.get();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package configsimulador;
+
+/**
+ * Resumo estatístico de uma métrica observada em várias replicações da simulação:
+ * média, variância amostral, desvio-padrão, extremos e intervalo de confiança de 95%
+ * para a média.
+ * <p>
+ * O intervalo de confiança usa a distribuição t de Student com {@code n - 1} graus de
+ * liberdade, o que o torna adequado também para poucas replicações.
+ */
+public class EstatisticaResumo {
+
+    /**
+     * Valores críticos t(0,975) da distribuição t de Student para 1 a 30 graus de liberdade.
+     */
+    private static final double[] T_975 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+    /** Quantil 0,975 da distribuição normal padrão. */
+    private static final double Z_975 = 1.959964;
+
+    private final int tamanho;
+    private final double media;
+    private final double variancia;
+    private final double minimo;
+    private final double maximo;
+
+    /**
+     * Calcula o resumo estatístico das amostras informadas.
+     * As amostras são percorridas na ordem do vetor, de forma que o resultado
+     * não depende da ordem em que as replicações terminaram.
+     *
+     * @param amostras Os valores observados em cada replicação.
+     * @throws IllegalArgumentException se o vetor for nulo ou vazio.
+     */
+    public EstatisticaResumo(double[] amostras) {
+        if (amostras == null || amostras.length == 0) {
+            throw new IllegalArgumentException("É necessária pelo menos uma amostra para calcular as estatísticas.");
+        }
+        // Algoritmo de Welford: numericamente estável em uma única passada.
+        double mediaParcial = 0.0;
+        double somaQuadrados = 0.0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < amostras.length; i++) {
+            double x = amostras[i];
+            double delta = x - mediaParcial;
+            mediaParcial += delta / (i + 1);
+            somaQuadrados += delta * (x - mediaParcial);
+            min = Math.min(min, x);
+            max = Math.max(max, x);
+        }
+        this.tamanho = amostras.length;
+        this.media = mediaParcial;
+        this.variancia = tamanho > 1 ? somaQuadrados / (tamanho - 1) : 0.0;
+        this.minimo = min;
+        this.maximo = max;
+    }
+
+    /**
+     * @return O número de amostras.
+     */
+    public int getTamanho() { return tamanho; }
+
+    /**
+     * @return A média das amostras.
+     */
+    public double getMedia() { return media; }
+
+    /**
+     * @return A variância amostral (com denominador {@code n - 1}), ou 0 para uma única amostra.
+     */
+    public double getVariancia() { return variancia; }
+
+    /**
+     * @return O desvio-padrão amostral.
+     */
+    public double getDesvioPadrao() { return Math.sqrt(variancia); }
+
+    /**
+     * @return O erro-padrão da média.
+     */
+    public double getErroPadrao() { return Math.sqrt(variancia / tamanho); }
+
+    /**
+     * @return O menor valor observado.
+     */
+    public double getMinimo() { return minimo; }
+
+    /**
+     * @return O maior valor observado.
+     */
+    public double getMaximo() { return maximo; }
+
+    /**
+     * Retorna a semiamplitude do intervalo de confiança de 95% para a média.
+     *
+     * @return A metade da largura do intervalo, ou 0 para uma única amostra.
+     */
+    public double getSemiAmplitudeIC95() {
+        if (tamanho < 2) {
+            return 0.0;
+        }
+        return valorCriticoT975(tamanho - 1) * getErroPadrao();
+    }
+
+    /**
+     * @return O limite inferior do intervalo de confiança de 95% para a média.
+     */
+    public double getLimiteInferiorIC95() { return media - getSemiAmplitudeIC95(); }
+
+    /**
+     * @return O limite superior do intervalo de confiança de 95% para a média.
+     */
+    public double getLimiteSuperiorIC95() { return media + getSemiAmplitudeIC95(); }
+
+    /**
+     * Retorna o valor crítico t(0,975) para os graus de liberdade informados.
+     * Acima de 30 graus de liberdade, usa a expansão de Cornish-Fisher a partir do quantil normal.
+     *
+     * @param grausLiberdade Os graus de liberdade (pelo menos 1).
+     * @return O valor crítico bilateral para 95% de confiança.
+     */
+    private static double valorCriticoT975(int grausLiberdade) {
+        if (grausLiberdade <= T_975.length) {
+            return T_975[grausLiberdade - 1];
+        }
+        double z = Z_975;
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+        return z + (z3 + z) / (4.0 * grausLiberdade)
+                + (5 * z5 + 16 * z3 + 3 * z) / (96.0 * grausLiberdade * grausLiberdade);
+    }
+
+    /**
+     * Retorna o resumo no formato "média ± semiamplitude [mín, máx]".
+     *
+     * @return Uma string com o resumo estatístico.
+     */
+    @Override
+    public String toString() {
+        return String.format("%.3f ± %.3f (dp %.3f) [%.2f, %.2f]",
+                media, getSemiAmplitudeIC95(), getDesvioPadrao(), minimo, maximo);
+    }
+}
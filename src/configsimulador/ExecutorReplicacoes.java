@@ -0,0 +1,132 @@
+package configsimulador;
+
+import eventos.TipoAgenda;
+import estacoes.DisciplinaFila;
+import zonas.PoliticaRoteamento;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Executa várias replicações independentes de uma mesma configuração da simulação
+ * (método de Monte Carlo) em paralelo e agrega os resultados em um {@link ResumoReplicacoes}.
+ * <p>
+ * Cada replicação é uma execução do {@link ExecutorSimulacao} com o seu próprio
+ * {@link ContextoSimulacao} e uma semente derivada da semente base e do índice da
+ * replicação. Como as replicações não compartilham estado, elas são distribuídas entre
+ * as threads de um {@link ForkJoinPool} sem sincronização. Os resultados são guardados
+ * na posição do seu índice, de modo que o resumo é o mesmo qualquer que seja o número
+ * de threads.
+ */
+public class ExecutorReplicacoes {
+
+    /** Constante de incremento do gerador SplitMix64 (parte fracionária da razão áurea). */
+    private static final long INCREMENTO_SEMENTE = 0x9E3779B97F4A7C15L;
+
+    /** O executor usado em cada replicação. */
+    private final ExecutorSimulacao executor;
+    /** O número de threads usadas para executar as replicações. */
+    private final int paralelismo;
+
+    /**
+     * Cria um executor de replicações com a agenda padrão e uma thread por processador disponível.
+     *
+     * @param params Os parâmetros da simulação.
+     * @throws IllegalArgumentException se os parâmetros forem nulos.
+     */
+    public ExecutorReplicacoes(ParametrosSimulacao params) {
+        this(params, TipoAgenda.HEAP, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Cria um executor de replicações.
+     *
+     * @param params      Os parâmetros da simulação.
+     * @param tipoAgenda  O tipo de estrutura usada pela agenda de eventos.
+     * @param paralelismo O número de threads usadas para executar as replicações.
+     * @throws IllegalArgumentException se os parâmetros ou o tipo de agenda forem nulos,
+     *                                  ou se o paralelismo não for positivo.
+     */
+    public ExecutorReplicacoes(ParametrosSimulacao params, TipoAgenda tipoAgenda, int paralelismo) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("O paralelismo deve ser pelo menos 1.");
+        }
+        this.executor = new ExecutorSimulacao(params, tipoAgenda);
+        this.paralelismo = paralelismo;
+    }
+
+    /**
+     * Executa as replicações e agrega os resultados.
+     *
+     * @param replicacoes O número de replicações.
+     * @param sementeBase A semente da qual são derivadas as sementes de cada replicação.
+     * @return O {@link ResumoReplicacoes} com os resultados e as estatísticas agregadas.
+     * @throws IllegalArgumentException se o número de replicações não for positivo.
+     */
+    public ResumoReplicacoes executar(int replicacoes, long sementeBase) {
+        if (replicacoes < 1) {
+            throw new IllegalArgumentException("O número de replicações deve ser pelo menos 1.");
+        }
+        ResultadoSimulacao[] resultados = new ResultadoSimulacao[replicacoes];
+        long inicio = System.nanoTime();
+
+        ForkJoinPool pool = new ForkJoinPool(paralelismo);
+        try {
+            pool.submit(() -> IntStream.range(0, replicacoes).parallel().forEach(
+                    i -> resultados[i] = executor.executar(sementeDaReplicacao(sementeBase, i)))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("A execução das replicações foi interrompida.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Falha ao executar as replicações.", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        return new ResumoReplicacoes(sementeBase, resultados, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Deriva a semente de uma replicação a partir da semente base e do seu índice,
+     * usando a função de mistura do SplitMix64. Sementes de índices vizinhos resultam
+     * em sequências aleatórias sem correlação aparente.
+     *
+     * @param sementeBase A semente base do conjunto de replicações.
+     * @param indice      O índice da replicação (a partir de 0).
+     * @return A semente da replicação.
+     */
+    public static long sementeDaReplicacao(long sementeBase, int indice) {
+        return FluxoAleatorio.misturar(sementeBase + (indice + 1L) * INCREMENTO_SEMENTE);
+    }
+
+    /**
+     * Define como os caminhões escolhem a estação de transferência nas próximas replicações.
+     *
+     * @param politicaRoteamento A política de roteamento; por padrão, {@link PoliticaRoteamento#FIXA}.
+     * @throws IllegalArgumentException se a política for nula.
+     */
+    public void setPoliticaRoteamento(PoliticaRoteamento politicaRoteamento) {
+        executor.setPoliticaRoteamento(politicaRoteamento);
+    }
+
+    /**
+     * Define a ordem em que os caminhões pequenos descarregam das filas das estações nas próximas replicações.
+     *
+     * @param disciplinaFila A disciplina das filas; por padrão, {@link DisciplinaFila#FIFO}.
+     * @throws IllegalArgumentException se a disciplina for nula.
+     */
+    public void setDisciplinaFila(DisciplinaFila disciplinaFila) {
+        executor.setDisciplinaFila(disciplinaFila);
+    }
+
+    /**
+     * @return O número de threads usadas para executar as replicações.
+     */
+    public int getParalelismo() {
+        return paralelismo;
+    }
+}
@@ -0,0 +1,374 @@
+package configsimulador;
+
+import estacoes.DisciplinaFila;
+import eventos.Evento;
+import eventos.GerenciadorAgenda;
+import eventos.ProcessadorLotes;
+import eventos.TipoAgenda;
+import registro.DestinoRegistro;
+import registro.GravadorAssincrono;
+import registro.NivelRegistro;
+import registro.Registrador;
+import tads.ListaArray;
+import zonas.PoliticaRoteamento;
+import zonas.Zonas;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Executa uma simulação completa sem interface gráfica e na velocidade máxima.
+ * <p>
+ * Diferente do loop da MainFX, que pausa a cada evento de acordo com a velocidade
+ * escolhida pelo usuário, o executor processa os eventos da agenda em sequência, sem
+ * pausas, até que a agenda se esgote ou até que o próximo evento ultrapasse o tempo
+ * definido por {@link ParametrosSimulacao#getHorasASimular()}. Ao final, devolve um
+ * {@link ResultadoSimulacao} com as estatísticas da execução.
+ * <p>
+ * Cada chamada a {@link #executar()} cria um {@link Simulador} e um {@link ContextoSimulacao}
+ * novos, de forma que o mesmo executor pode ser usado para várias execuções seguidas e
+ * executores diferentes podem rodar em paralelo (veja {@link ExecutorReplicacoes}).
+ * <p>
+ * Por padrão, a simulação usa a cidade do {@linkplain CenarioSimulacao#padrao() cenário padrão};
+ * outra cidade pode ser escolhida com {@link #setCenario(CenarioSimulacao)}.
+ * <p>
+ * Por padrão, a narrativa da simulação não é registrada. Ela pode ser habilitada com
+ * {@link #setRegistro(NivelRegistro, DestinoRegistro)}.
+ * <p>
+ * Com {@link #setParalelismo(int)} maior que 1, cada execução usa várias threads: a cidade é
+ * dividida em uma partição por estação de transferência (veja {@link SimuladorParticionado}).
+ * Com {@link #setSincronizacao(SincronizacaoParticoes)}, as partições podem executar de forma
+ * otimista, sem esperar o supervisor (veja {@link SimuladorOtimista}), ou a cidade pode ser
+ * simulada com uma única agenda cujos eventos simultâneos independentes são executados em
+ * paralelo (veja {@link ProcessadorLotes}).
+ */
+public class ExecutorSimulacao {
+
+    /** Os parâmetros usados em cada execução. */
+    private final ParametrosSimulacao params;
+    /** O tipo de agenda usado pelo contexto de cada execução. */
+    private final TipoAgenda tipoAgenda;
+    /** A cidade simulada em cada execução. */
+    private CenarioSimulacao cenario = CenarioSimulacao.padrao();
+    /** Como os caminhões escolhem a estação de transferência em cada execução. */
+    private PoliticaRoteamento politicaRoteamento = PoliticaRoteamento.FIXA;
+    /** A ordem de descarga das filas de espera das estações em cada execução. */
+    private DisciplinaFila disciplinaFila = DisciplinaFila.FIFO;
+    /** O nível do registro de cada execução. */
+    private NivelRegistro nivelRegistro = NivelRegistro.DESLIGADO;
+    /** O destino do registro de cada execução, ou {@code null} se o registro estiver desligado. */
+    private DestinoRegistro destinoRegistro;
+    /** O número de threads usadas dentro de cada execução; 1 para a execução sequencial. */
+    private int paralelismo = 1;
+    /** Como as partições se sincronizam quando o paralelismo é maior que 1. */
+    private SincronizacaoParticoes sincronizacao = SincronizacaoParticoes.CONSERVADORA;
+
+    /**
+     * Cria um executor que usa a implementação de agenda padrão.
+     *
+     * @param params Os parâmetros da simulação.
+     * @throws IllegalArgumentException se os parâmetros forem nulos.
+     */
+    public ExecutorSimulacao(ParametrosSimulacao params) {
+        this(params, TipoAgenda.HEAP);
+    }
+
+    /**
+     * Cria um executor que usa a implementação de agenda informada.
+     *
+     * @param params     Os parâmetros da simulação.
+     * @param tipoAgenda O tipo de estrutura usada pela agenda de eventos.
+     * @throws IllegalArgumentException se os parâmetros ou o tipo de agenda forem nulos.
+     */
+    public ExecutorSimulacao(ParametrosSimulacao params, TipoAgenda tipoAgenda) {
+        if (params == null) {
+            throw new IllegalArgumentException("Os parâmetros da simulação não podem ser nulos.");
+        }
+        if (tipoAgenda == null) {
+            throw new IllegalArgumentException("O tipo de agenda não pode ser nulo.");
+        }
+        this.params = params;
+        this.tipoAgenda = tipoAgenda;
+    }
+
+    /**
+     * Executa uma simulação completa, com uma semente aleatória, e retorna o seu resultado.
+     *
+     * @return O {@link ResultadoSimulacao} da execução.
+     */
+    public ResultadoSimulacao executar() {
+        return executar(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Executa uma simulação completa com a semente informada e retorna o seu resultado.
+     * Execuções com a mesma semente produzem o mesmo resultado.
+     *
+     * @param semente A semente do gerador de números aleatórios da simulação.
+     * @return O {@link ResultadoSimulacao} da execução.
+     */
+    public ResultadoSimulacao executar(long semente) {
+        if (paralelismo > 1 && sincronizacao != SincronizacaoParticoes.LOTES) {
+            return executarParticionado(semente);
+        }
+        long inicio = System.nanoTime();
+
+        Simulador simulador = new Simulador(new ContextoSimulacao(tipoAgenda, semente));
+        ContextoSimulacao contexto = simulador.getContexto();
+        GerenciadorAgenda agenda = contexto.getAgenda();
+        Registrador registro = criarRegistrador();
+        contexto.setRegistrador(registro);
+        contexto.setPoliticaRoteamento(politicaRoteamento);
+        contexto.setDisciplinaFila(disciplinaFila);
+
+        ListaArray<Zonas> zonas;
+        long eventosProcessados = 0;
+        try {
+            zonas = simulador.inicializar(params, cenario);
+            int tempoMaximoSimulacao = params.getHorasASimular() * 60;
+
+            if (paralelismo > 1) {
+                eventosProcessados = new ProcessadorLotes(paralelismo).processar(contexto, tempoMaximoSimulacao);
+            } else {
+                Evento proximoEvento = agenda.espiarProximoEvento();
+                while (proximoEvento != null && proximoEvento.getTempo() <= tempoMaximoSimulacao) {
+                    Evento eventoAtual = agenda.proximoEvento();
+                    eventoAtual.executar(contexto);
+                    agenda.notificarObservers(eventoAtual);
+                    eventosProcessados++;
+                    proximoEvento = agenda.espiarProximoEvento();
+                }
+            }
+        } finally {
+            registro.fechar();
+        }
+
+        return criarResultado(semente, zonas, contexto.getTempoAtual(), eventosProcessados,
+                contexto.getTotalCaminhoesGrandes(), contexto.getContadorCaminhoesExtra(),
+                contexto.getTotalCaminhoesNaFila(), contexto.getTempoTotalEspera(),
+                contexto.getToneladasDescarregadasFila(), inicio);
+    }
+
+    /**
+     * Executa uma simulação dividida em partições por estação de transferência, processadas
+     * em paralelo, e retorna o seu resultado.
+     */
+    private ResultadoSimulacao executarParticionado(long semente) {
+        if (nivelRegistro != NivelRegistro.DESLIGADO) {
+            throw new IllegalStateException("A execução com paralelismo maior que 1 não registra a narrativa.");
+        }
+        long inicio = System.nanoTime();
+
+        ContextoSimulacao coordenador = new ContextoSimulacao(tipoAgenda, semente);
+        coordenador.setPoliticaRoteamento(politicaRoteamento);
+        coordenador.setDisciplinaFila(disciplinaFila);
+        int tempoMaximoSimulacao = params.getHorasASimular() * 60;
+
+        if (sincronizacao == SincronizacaoParticoes.OTIMISTA) {
+            SimuladorOtimista simulador = new SimuladorOtimista(coordenador);
+            simulador.inicializar(params, cenario);
+            simulador.executar(tempoMaximoSimulacao, paralelismo);
+            return criarResultado(semente, simulador.getZonas(), simulador.getTempoAtual(),
+                    simulador.getEventosProcessados(), simulador.getTotalCaminhoesGrandes(),
+                    coordenador.getContadorCaminhoesExtra(), simulador.getTotalCaminhoesNaFila(),
+                    simulador.getTempoTotalEspera(), simulador.getToneladasDescarregadasFila(), inicio);
+        }
+
+        SimuladorParticionado simulador = new SimuladorParticionado(coordenador);
+        ListaArray<Zonas> zonas = simulador.inicializar(params, cenario);
+        simulador.executar(tempoMaximoSimulacao, paralelismo);
+        return criarResultado(semente, zonas, simulador.getTempoAtual(), simulador.getEventosProcessados(),
+                simulador.getTotalCaminhoesGrandes(), coordenador.getContadorCaminhoesExtra(),
+                simulador.getTotalCaminhoesNaFila(), simulador.getTempoTotalEspera(),
+                simulador.getToneladasDescarregadasFila(), inicio);
+    }
+
+    /**
+     * Monta o resultado de uma execução a partir do estado final das zonas e das estatísticas
+     * da simulação; a duração é medida desde {@code inicio} (em {@link System#nanoTime()}).
+     */
+    private static ResultadoSimulacao criarResultado(long semente, ListaArray<Zonas> zonas, int tempoFinal,
+                                                     long eventosProcessados, int caminhoesGrandes, int caminhoesExtra,
+                                                     int totalCaminhoesNaFila, long tempoTotalEspera,
+                                                     long toneladasDescarregadasFila, long inicio) {
+        String[] nomesZonas = new String[zonas.getTamanho()];
+        int[] lixoRestante = new int[zonas.getTamanho()];
+        for (int i = 0; i < zonas.getTamanho(); i++) {
+            Zonas zona = zonas.getValor(i);
+            nomesZonas[i] = zona.getNome();
+            lixoRestante[i] = zona.getLixoAcumulado();
+        }
+
+        return new ResultadoSimulacao(
+                semente,
+                tempoFinal,
+                eventosProcessados,
+                nomesZonas,
+                lixoRestante,
+                caminhoesGrandes,
+                caminhoesExtra,
+                totalCaminhoesNaFila,
+                tempoTotalEspera,
+                toneladasDescarregadasFila,
+                System.nanoTime() - inicio
+        );
+    }
+
+    /**
+     * Habilita o registro da narrativa nas próximas execuções. Cada execução usa o seu
+     * próprio {@link GravadorAssincrono}, fechado ao final da execução; o destino não é fechado.
+     * Como cada gravador escreve em uma thread própria, execuções simultâneas com o mesmo
+     * destino exigem um destino thread-safe.
+     *
+     * @param nivel   O menor nível de mensagem registrado ({@link NivelRegistro#DESLIGADO} para desligar).
+     * @param destino O destino dos registros; ignorado se o registro estiver desligado.
+     * @throws IllegalArgumentException se o nível for nulo, ou se o destino for nulo com o registro ligado.
+     */
+    public void setRegistro(NivelRegistro nivel, DestinoRegistro destino) {
+        if (nivel == null) {
+            throw new IllegalArgumentException("O nível do registro não pode ser nulo.");
+        }
+        if (nivel != NivelRegistro.DESLIGADO && destino == null) {
+            throw new IllegalArgumentException("O destino do registro não pode ser nulo.");
+        }
+        this.nivelRegistro = nivel;
+        this.destinoRegistro = destino;
+    }
+
+    /**
+     * Define a cidade simulada nas próximas execuções.
+     *
+     * @param cenario O cenário com as zonas e estações da cidade.
+     * @throws IllegalArgumentException se o cenário for nulo.
+     */
+    public void setCenario(CenarioSimulacao cenario) {
+        if (cenario == null) {
+            throw new IllegalArgumentException("O cenário da simulação não pode ser nulo.");
+        }
+        this.cenario = cenario;
+    }
+
+    /**
+     * Retorna a cidade simulada pelo executor.
+     *
+     * @return O {@link CenarioSimulacao} das execuções.
+     */
+    public CenarioSimulacao getCenario() {
+        return cenario;
+    }
+
+    /**
+     * Define como os caminhões escolhem a estação de transferência nas próximas execuções.
+     *
+     * @param politicaRoteamento A política de roteamento; por padrão, {@link PoliticaRoteamento#FIXA}.
+     * @throws IllegalArgumentException se a política for nula.
+     */
+    public void setPoliticaRoteamento(PoliticaRoteamento politicaRoteamento) {
+        if (politicaRoteamento == null) {
+            throw new IllegalArgumentException("A política de roteamento não pode ser nula.");
+        }
+        this.politicaRoteamento = politicaRoteamento;
+    }
+
+    /**
+     * @return A política de roteamento das execuções.
+     */
+    public PoliticaRoteamento getPoliticaRoteamento() {
+        return politicaRoteamento;
+    }
+
+    /**
+     * Define a ordem em que os caminhões pequenos descarregam das filas das estações nas próximas execuções.
+     *
+     * @param disciplinaFila A disciplina das filas; por padrão, {@link DisciplinaFila#FIFO}.
+     * @throws IllegalArgumentException se a disciplina for nula.
+     */
+    public void setDisciplinaFila(DisciplinaFila disciplinaFila) {
+        if (disciplinaFila == null) {
+            throw new IllegalArgumentException("A disciplina da fila não pode ser nula.");
+        }
+        this.disciplinaFila = disciplinaFila;
+    }
+
+    /**
+     * @return A disciplina das filas de espera das execuções.
+     */
+    public DisciplinaFila getDisciplinaFila() {
+        return disciplinaFila;
+    }
+
+    /**
+     * Define quantas threads cada execução usa. Com mais de uma thread, a cidade é dividida
+     * em uma partição por estação de transferência e as partições são processadas em paralelo
+     * (veja {@link SimuladorParticionado}), com o mesmo resultado da execução sequencial.
+     * A execução particionada exige a política de roteamento {@link PoliticaRoteamento#FIXA}
+     * e o registro desligado. Com a sincronização {@link SincronizacaoParticoes#OTIMISTA}, as
+     * partições executam sem esperar o supervisor e voltam atrás ao receber um reforço; com
+     * {@link SincronizacaoParticoes#LOTES}, as threads executam os eventos independentes de
+     * cada minuto. O resultado também é o mesmo da execução sequencial.
+     *
+     * @param paralelismo O número de threads de cada execução; por padrão, 1 (execução sequencial).
+     * @throws IllegalArgumentException se o paralelismo não for positivo.
+     */
+    public void setParalelismo(int paralelismo) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("O paralelismo deve ser pelo menos 1.");
+        }
+        this.paralelismo = paralelismo;
+    }
+
+    /**
+     * @return O número de threads usadas dentro de cada execução.
+     */
+    public int getParalelismo() {
+        return paralelismo;
+    }
+
+    /**
+     * Define como as execuções com paralelismo maior que 1 dividem o trabalho entre as threads
+     * (veja {@link SincronizacaoParticoes}).
+     *
+     * @param sincronizacao A forma de sincronização; por padrão, {@link SincronizacaoParticoes#CONSERVADORA}.
+     * @throws IllegalArgumentException se a sincronização for nula.
+     */
+    public void setSincronizacao(SincronizacaoParticoes sincronizacao) {
+        if (sincronizacao == null) {
+            throw new IllegalArgumentException("A sincronização das partições não pode ser nula.");
+        }
+        this.sincronizacao = sincronizacao;
+    }
+
+    /**
+     * @return Como as execuções com paralelismo maior que 1 dividem o trabalho entre as threads.
+     */
+    public SincronizacaoParticoes getSincronizacao() {
+        return sincronizacao;
+    }
+
+    /**
+     * Cria o registrador de uma execução, de acordo com a configuração de registro.
+     */
+    private Registrador criarRegistrador() {
+        if (nivelRegistro == NivelRegistro.DESLIGADO) {
+            return Registrador.desligado();
+        }
+        return new Registrador(nivelRegistro, new GravadorAssincrono(destinoRegistro));
+    }
+
+    /**
+     * Retorna os parâmetros usados pelo executor.
+     *
+     * @return Os {@link ParametrosSimulacao} das execuções.
+     */
+    public ParametrosSimulacao getParams() {
+        return params;
+    }
+
+    /**
+     * Retorna o tipo de agenda usado pelo executor.
+     *
+     * @return O {@link TipoAgenda} das execuções.
+     */
+    public TipoAgenda getTipoAgenda() {
+        return tipoAgenda;
+    }
+}
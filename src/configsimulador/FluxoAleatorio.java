@@ -0,0 +1,115 @@
+package configsimulador;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Fluxo de números pseudoaleatórios baseado no algoritmo SplitMix64, usado para tornar
+ * a simulação reproduzível.
+ * <p>
+ * Cada execução possui um fluxo raiz, criado a partir da sua semente. Os fluxos das zonas
+ * e dos caminhões são derivados da raiz por {@link #derivar(long)}, a partir de uma chave
+ * que identifica o componente (e não da ordem em que os fluxos são criados). Assim, cada
+ * componente recebe sempre a mesma sequência, independentemente da ordem de criação ou
+ * do número de threads usadas.
+ * <p>
+ * Todo o estado do fluxo cabe em um {@code long} ({@link #getEstado()} e
+ * {@link #setEstado(long)}), o que permite salvar e restaurar a sequência. Os sorteios não
+ * alocam objetos. A classe não é thread-safe: cada fluxo deve ser usado por uma única thread.
+ */
+public final class FluxoAleatorio implements RandomGenerator {
+
+    /** Incremento do SplitMix64 (parte fracionária da razão áurea). */
+    private static final long GAMA = 0x9E3779B97F4A7C15L;
+
+    /** A semente da qual o fluxo foi criado; base para derivar os fluxos filhos. */
+    private final long semente;
+    /** O estado atual do gerador. */
+    private long estado;
+
+    /**
+     * Cria um fluxo a partir da semente informada.
+     *
+     * @param semente A semente do fluxo.
+     */
+    public FluxoAleatorio(long semente) {
+        this.semente = semente;
+        this.estado = semente;
+    }
+
+    /**
+     * Cria um fluxo filho identificado pela chave informada. O fluxo filho depende apenas
+     * da semente deste fluxo e da chave: o estado atual deste fluxo não é alterado nem usado.
+     *
+     * @param chave Identificador do fluxo filho (por exemplo, o índice de uma zona).
+     * @return Um novo {@link FluxoAleatorio} independente deste.
+     */
+    public FluxoAleatorio derivar(long chave) {
+        return new FluxoAleatorio(misturar(semente ^ misturar(chave + GAMA)));
+    }
+
+    /**
+     * Gera o próximo valor de 64 bits da sequência.
+     *
+     * @return Um valor pseudoaleatório uniformemente distribuído.
+     */
+    @Override
+    public long nextLong() {
+        estado += GAMA;
+        return misturar(estado);
+    }
+
+    /**
+     * @return A semente da qual o fluxo foi criado.
+     */
+    public long getSemente() {
+        return semente;
+    }
+
+    /**
+     * Retorna o estado atual do fluxo, que pode ser restaurado com {@link #setEstado(long)}.
+     *
+     * @return O estado atual do gerador.
+     */
+    public long getEstado() {
+        return estado;
+    }
+
+    /**
+     * Restaura um estado obtido anteriormente com {@link #getEstado()}. Os sorteios seguintes
+     * repetem os que foram feitos a partir daquele ponto.
+     *
+     * @param estado O estado a ser restaurado.
+     */
+    public void setEstado(long estado) {
+        this.estado = estado;
+    }
+
+    /**
+     * Função de mistura do SplitMix64 (variante "Mix13" de Stafford). É uma bijeção de 64 bits:
+     * entradas próximas resultam em saídas sem correlação aparente.
+     *
+     * @param z O valor a ser misturado.
+     * @return O valor misturado.
+     */
+    public static long misturar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Calcula uma chave de 64 bits para um texto (FNV-1a), usada para derivar fluxos a partir
+     * de identificadores como o de um caminhão.
+     *
+     * @param texto O texto a ser convertido.
+     * @return A chave correspondente ao texto.
+     */
+    public static long chaveDe(String texto) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < texto.length(); i++) {
+            h ^= texto.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,135 @@
+package configsimulador;
+
+import java.util.SplittableRandom;
+
+/**
+ * Classe utilitária que gera cidades sintéticas de qualquer tamanho, para medir o
+ * comportamento da simulação em escala metropolitana.
+ * <p>
+ * As zonas recebem limites de geração de lixo sorteados dentro da faixa das zonas de
+ * Teresina e são divididas em blocos contíguos, um por estação. As zonas ficam em uma grade
+ * quadrada, com um pequeno deslocamento aleatório, na ordem das linhas; cada estação fica no
+ * centro das suas zonas. A frota é dividida
+ * igualmente entre as quatro capacidades de caminhão pequeno. O cenário gerado depende
+ * apenas dos tamanhos e da semente informados.
+ */
+public class GeradorCenario {
+
+    /** Quantidade de zonas da cidade padrão, que corresponde à escala 1. */
+    public static final int ZONAS_POR_ESCALA = 5;
+    /** Quantidade de caminhões pequenos por unidade de escala. */
+    public static final int CAMINHOES_POR_ESCALA = 8;
+    /** Quantidade de estações de transferência da cidade padrão, que corresponde à escala 1. */
+    public static final int ESTACOES_POR_ESCALA = 2;
+
+    /** Menor e maior geração diária mínima entre as zonas de Teresina, em toneladas. */
+    private static final int LIXO_MINIMO_INFERIOR = ConfiguracoesDoSimulador.LIXO_MIN_ZONA_CENTRO;
+    private static final int LIXO_MINIMO_SUPERIOR = ConfiguracoesDoSimulador.LIXO_MIN_ZONA_SUL;
+    /** Maior amplitude (máximo - mínimo) da geração diária entre as zonas de Teresina. */
+    private static final int AMPLITUDE_MAXIMA =
+            ConfiguracoesDoSimulador.LIXO_MAX_ZONA_SUL - ConfiguracoesDoSimulador.LIXO_MIN_ZONA_SUL;
+    /** Distância entre zonas vizinhas na grade, em quilômetros. */
+    private static final double ESPACAMENTO_ZONAS_KM = 2.0;
+    /** Misturada à semente para sortear as coordenadas sem alterar o sorteio dos limites de lixo. */
+    private static final long SEMENTE_COORDENADAS = 0x5DEECE66DL;
+
+    /**
+     * Construtor privado para impedir a instanciação da classe.
+     */
+    private GeradorCenario() {
+        // Previne instanciação
+    }
+
+    /**
+     * Gera uma cidade com a quantidade de zonas e de estações informadas.
+     *
+     * @param quantidadeZonas    A quantidade de zonas.
+     * @param quantidadeEstacoes A quantidade de estações de transferência (no máximo uma por zona).
+     * @param semente            A semente usada para sortear os limites de lixo e as coordenadas das zonas.
+     * @return O cenário gerado.
+     * @throws IllegalArgumentException se as quantidades forem menores que 1 ou houver mais estações que zonas.
+     */
+    public static CenarioSimulacao gerarCidade(int quantidadeZonas, int quantidadeEstacoes, long semente) {
+        if (quantidadeZonas < 1 || quantidadeEstacoes < 1) {
+            throw new IllegalArgumentException("A cidade precisa de pelo menos uma zona e uma estação.");
+        }
+        if (quantidadeEstacoes > quantidadeZonas) {
+            throw new IllegalArgumentException("A cidade não pode ter mais estações do que zonas.");
+        }
+        SplittableRandom random = new SplittableRandom(semente);
+        SplittableRandom randomCoordenadas = new SplittableRandom(semente ^ SEMENTE_COORDENADAS);
+        int colunas = (int) Math.ceil(Math.sqrt(quantidadeZonas));
+
+        String[] nomesZonas = new String[quantidadeZonas];
+        double[] coordenadasZonas = new double[2 * quantidadeZonas];
+        int[] lixoMinimo = new int[quantidadeZonas];
+        int[] lixoMaximo = new int[quantidadeZonas];
+        int[] estacaoDaZona = new int[quantidadeZonas];
+        for (int i = 0; i < quantidadeZonas; i++) {
+            nomesZonas[i] = "Zona " + (i + 1);
+            lixoMinimo[i] = random.nextInt(LIXO_MINIMO_INFERIOR, LIXO_MINIMO_SUPERIOR + 1);
+            lixoMaximo[i] = lixoMinimo[i] + random.nextInt(AMPLITUDE_MAXIMA + 1);
+            // Blocos contíguos de zonas por estação, como as regiões de uma cidade.
+            estacaoDaZona[i] = (int) ((long) i * quantidadeEstacoes / quantidadeZonas);
+            coordenadasZonas[2 * i] = (i % colunas + randomCoordenadas.nextDouble(-0.25, 0.25)) * ESPACAMENTO_ZONAS_KM;
+            coordenadasZonas[2 * i + 1] = (i / colunas + randomCoordenadas.nextDouble(-0.25, 0.25)) * ESPACAMENTO_ZONAS_KM;
+        }
+
+        String[] nomesEstacoes = new String[quantidadeEstacoes];
+        double[] coordenadasEstacoes = new double[2 * quantidadeEstacoes];
+        int[] zonasDaEstacao = new int[quantidadeEstacoes];
+        for (int i = 0; i < quantidadeZonas; i++) {
+            coordenadasEstacoes[2 * estacaoDaZona[i]] += coordenadasZonas[2 * i];
+            coordenadasEstacoes[2 * estacaoDaZona[i] + 1] += coordenadasZonas[2 * i + 1];
+            zonasDaEstacao[estacaoDaZona[i]]++;
+        }
+        for (int i = 0; i < quantidadeEstacoes; i++) {
+            nomesEstacoes[i] = "Estação " + (i + 1);
+            coordenadasEstacoes[2 * i] /= zonasDaEstacao[i];
+            coordenadasEstacoes[2 * i + 1] /= zonasDaEstacao[i];
+        }
+        return new CenarioSimulacao(nomesZonas, coordenadasZonas, lixoMinimo, lixoMaximo,
+                nomesEstacoes, coordenadasEstacoes, estacaoDaZona);
+    }
+
+    /**
+     * Gera uma cidade {@code escala} vezes maior que a cidade padrão, com
+     * {@value #ZONAS_POR_ESCALA} zonas e {@value #ESTACOES_POR_ESCALA} estações por unidade de escala.
+     *
+     * @param escala  O fator de escala (1 para o tamanho da cidade padrão).
+     * @param semente A semente usada para sortear os limites de lixo e as coordenadas das zonas.
+     * @return O cenário gerado.
+     * @throws IllegalArgumentException se a escala for menor que 1.
+     */
+    public static CenarioSimulacao gerarCidade(int escala, long semente) {
+        if (escala < 1) {
+            throw new IllegalArgumentException("A escala deve ser maior que zero.");
+        }
+        return gerarCidade(escala * ZONAS_POR_ESCALA, escala * ESTACOES_POR_ESCALA, semente);
+    }
+
+    /**
+     * Gera os parâmetros de uma frota mista, dividida igualmente entre os caminhões de
+     * 2, 4, 8 e 10 toneladas (os primeiros tipos recebem os caminhões que sobrarem), cada
+     * um com o máximo de viagens diárias.
+     *
+     * @param quantidadeCaminhoes A quantidade total de caminhões pequenos.
+     * @param horasASimular       A duração da simulação, em horas.
+     * @return Os parâmetros da simulação com a frota gerada.
+     * @throws IllegalArgumentException se a quantidade de caminhões for negativa.
+     */
+    public static ParametrosSimulacao gerarFrota(int quantidadeCaminhoes, int horasASimular) {
+        if (quantidadeCaminhoes < 0) {
+            throw new IllegalArgumentException("A quantidade de caminhões não pode ser negativa.");
+        }
+        int viagens = ConfiguracoesDoSimulador.MAX_VIAGENS_DIARIAS_PEQUENO;
+        int porTipo = quantidadeCaminhoes / 4;
+        int resto = quantidadeCaminhoes % 4;
+        return new ParametrosSimulacao(
+                porTipo + (resto > 0 ? 1 : 0), viagens,
+                porTipo + (resto > 1 ? 1 : 0), viagens,
+                porTipo + (resto > 2 ? 1 : 0), viagens,
+                porTipo, viagens,
+                horasASimular);
+    }
+}
@@ -0,0 +1,151 @@
+package configsimulador;
+
+import java.util.Arrays;
+
+/**
+ * Resultado estruturado de uma execução da simulação, produzido pelo {@link ExecutorSimulacao}.
+ * <p>
+ * Reúne as mesmas informações do relatório final do {@link Simulador} (lixo restante por
+ * zona, caminhões grandes utilizados, reforços acionados, tempo médio de espera e vazão
+ * das filas das estações), além de métricas da própria execução, como o número de eventos
+ * processados e o tempo de parede gasto.
+ */
+public class ResultadoSimulacao {
+
+    private final long semente;
+    private final int tempoFinal;
+    private final long eventosProcessados;
+    private final String[] nomesZonas;
+    private final int[] lixoRestantePorZona;
+    private final int caminhoesGrandesUtilizados;
+    private final int caminhoesExtraAcionados;
+    private final int totalCaminhoesNaFila;
+    private final long tempoTotalEspera;
+    private final long toneladasDescarregadasFila;
+    private final long duracaoExecucaoNs;
+
+    /**
+     * Construtor do resultado da simulação.
+     *
+     * @param semente                    Semente do gerador de números aleatórios da execução.
+     * @param tempoFinal                 Tempo simulado (em minutos) do último evento processado.
+     * @param eventosProcessados         Número de eventos executados.
+     * @param nomesZonas                 Nomes das zonas, na ordem da simulação.
+     * @param lixoRestantePorZona        Lixo restante (em toneladas) em cada zona, na mesma ordem de {@code nomesZonas}.
+     * @param caminhoesGrandesUtilizados Número de caminhões grandes utilizados.
+     * @param caminhoesExtraAcionados    Número de caminhões de reforço acionados pelo supervisor.
+     * @param totalCaminhoesNaFila       Número de caminhões pequenos que esperaram em uma fila de estação.
+     * @param tempoTotalEspera           Soma dos tempos de espera (em minutos) nas filas das estações.
+     * @param toneladasDescarregadasFila Toneladas descarregadas pelos caminhões que saíram das filas das estações.
+     * @param duracaoExecucaoNs          Tempo de parede gasto na execução, em nanossegundos.
+     */
+    public ResultadoSimulacao(long semente, int tempoFinal, long eventosProcessados, String[] nomesZonas, int[] lixoRestantePorZona,
+                              int caminhoesGrandesUtilizados, int caminhoesExtraAcionados,
+                              int totalCaminhoesNaFila, long tempoTotalEspera, long toneladasDescarregadasFila,
+                              long duracaoExecucaoNs) {
+        if (nomesZonas.length != lixoRestantePorZona.length) {
+            throw new IllegalArgumentException("Os vetores de nomes e de lixo restante das zonas devem ter o mesmo tamanho.");
+        }
+        this.semente = semente;
+        this.tempoFinal = tempoFinal;
+        this.eventosProcessados = eventosProcessados;
+        this.nomesZonas = nomesZonas.clone();
+        this.lixoRestantePorZona = lixoRestantePorZona.clone();
+        this.caminhoesGrandesUtilizados = caminhoesGrandesUtilizados;
+        this.caminhoesExtraAcionados = caminhoesExtraAcionados;
+        this.totalCaminhoesNaFila = totalCaminhoesNaFila;
+        this.tempoTotalEspera = tempoTotalEspera;
+        this.toneladasDescarregadasFila = toneladasDescarregadasFila;
+        this.duracaoExecucaoNs = duracaoExecucaoNs;
+    }
+
+    /**
+     * @return A semente do gerador de números aleatórios da execução.
+     */
+    public long getSemente() { return semente; }
+
+    /**
+     * @return O tempo simulado (em minutos) do último evento processado.
+     */
+    public int getTempoFinal() { return tempoFinal; }
+
+    /**
+     * @return O número de eventos executados.
+     */
+    public long getEventosProcessados() { return eventosProcessados; }
+
+    /**
+     * @return Uma cópia dos nomes das zonas, na ordem da simulação.
+     */
+    public String[] getNomesZonas() { return nomesZonas.clone(); }
+
+    /**
+     * @return Uma cópia do lixo restante (em toneladas) de cada zona.
+     */
+    public int[] getLixoRestantePorZona() { return lixoRestantePorZona.clone(); }
+
+    /**
+     * @return A soma do lixo restante em todas as zonas, em toneladas.
+     */
+    public int getLixoRestanteTotal() { return Arrays.stream(lixoRestantePorZona).sum(); }
+
+    /**
+     * @return O número de caminhões grandes utilizados.
+     */
+    public int getCaminhoesGrandesUtilizados() { return caminhoesGrandesUtilizados; }
+
+    /**
+     * @return O número de caminhões de reforço acionados pelo supervisor.
+     */
+    public int getCaminhoesExtraAcionados() { return caminhoesExtraAcionados; }
+
+    /**
+     * @return O número de caminhões pequenos que esperaram em uma fila de estação.
+     */
+    public int getTotalCaminhoesNaFila() { return totalCaminhoesNaFila; }
+
+    /**
+     * @return A soma dos tempos de espera (em minutos) nas filas das estações.
+     */
+    public long getTempoTotalEspera() { return tempoTotalEspera; }
+
+    /**
+     * @return O tempo médio de espera (em minutos) na fila das estações, ou 0 se nenhum caminhão esperou.
+     */
+    public double getTempoMedioEspera() {
+        return totalCaminhoesNaFila > 0 ? (double) tempoTotalEspera / totalCaminhoesNaFila : 0.0;
+    }
+
+    /**
+     * @return As toneladas descarregadas pelos caminhões que saíram das filas das estações.
+     */
+    public long getToneladasDescarregadasFila() { return toneladasDescarregadasFila; }
+
+    /**
+     * Retorna a vazão das filas das estações: as toneladas descarregadas a partir das filas
+     * por hora simulada.
+     *
+     * @return A vazão das filas, em toneladas por hora, ou 0 se nenhum tempo foi simulado.
+     */
+    public double getVazaoFilaToneladasHora() {
+        return tempoFinal > 0 ? toneladasDescarregadasFila * 60.0 / tempoFinal : 0.0;
+    }
+
+    /**
+     * @return O tempo de parede gasto na execução, em nanossegundos.
+     */
+    public long getDuracaoExecucaoNs() { return duracaoExecucaoNs; }
+
+    /**
+     * Retorna um resumo do resultado em uma linha.
+     *
+     * @return Uma string com as principais métricas da execução.
+     */
+    @Override
+    public String toString() {
+        return String.format("ResultadoSimulacao | Tempo final: %dmin | Eventos: %d | Lixo restante: %dt | "
+                        + "Caminhões grandes: %d | Reforços: %d | Espera média: %.1fmin | Execução: %.3fms",
+                tempoFinal, eventosProcessados, getLixoRestanteTotal(), caminhoesGrandesUtilizados,
+                caminhoesExtraAcionados, getTempoMedioEspera(), duracaoExecucaoNs / 1_000_000.0);
+    }
+}
@@ -0,0 +1,124 @@
+package configsimulador;
+
+/**
+ * Resultado agregado de um conjunto de replicações da simulação, produzido pelo
+ * {@link ExecutorReplicacoes}.
+ * <p>
+ * Guarda o {@link ResultadoSimulacao} de cada replicação, na ordem dos índices, e o
+ * {@link EstatisticaResumo} das métricas usadas para dimensionar a frota: lixo restante,
+ * caminhões grandes utilizados, caminhões de reforço, tempo médio de espera nas estações e
+ * vazão das filas das estações.
+ */
+public class ResumoReplicacoes {
+
+    private final long sementeBase;
+    private final ResultadoSimulacao[] resultados;
+    private final long duracaoExecucaoNs;
+
+    private final EstatisticaResumo lixoRestante;
+    private final EstatisticaResumo caminhoesGrandes;
+    private final EstatisticaResumo caminhoesExtra;
+    private final EstatisticaResumo tempoMedioEspera;
+    private final EstatisticaResumo vazaoFila;
+
+    /**
+     * Construtor do resumo das replicações.
+     *
+     * @param sementeBase       A semente da qual foram derivadas as sementes das replicações.
+     * @param resultados        O resultado de cada replicação, na ordem dos índices.
+     * @param duracaoExecucaoNs O tempo de parede gasto em todas as replicações, em nanossegundos.
+     * @throws IllegalArgumentException se não houver resultados.
+     */
+    public ResumoReplicacoes(long sementeBase, ResultadoSimulacao[] resultados, long duracaoExecucaoNs) {
+        if (resultados == null || resultados.length == 0) {
+            throw new IllegalArgumentException("O resumo precisa de pelo menos um resultado.");
+        }
+        this.sementeBase = sementeBase;
+        this.resultados = resultados.clone();
+        this.duracaoExecucaoNs = duracaoExecucaoNs;
+
+        int n = resultados.length;
+        double[] lixo = new double[n];
+        double[] grandes = new double[n];
+        double[] extras = new double[n];
+        double[] espera = new double[n];
+        double[] vazao = new double[n];
+        for (int i = 0; i < n; i++) {
+            lixo[i] = resultados[i].getLixoRestanteTotal();
+            grandes[i] = resultados[i].getCaminhoesGrandesUtilizados();
+            extras[i] = resultados[i].getCaminhoesExtraAcionados();
+            espera[i] = resultados[i].getTempoMedioEspera();
+            vazao[i] = resultados[i].getVazaoFilaToneladasHora();
+        }
+        this.lixoRestante = new EstatisticaResumo(lixo);
+        this.caminhoesGrandes = new EstatisticaResumo(grandes);
+        this.caminhoesExtra = new EstatisticaResumo(extras);
+        this.tempoMedioEspera = new EstatisticaResumo(espera);
+        this.vazaoFila = new EstatisticaResumo(vazao);
+    }
+
+    /**
+     * @return O número de replicações executadas.
+     */
+    public int getReplicacoes() { return resultados.length; }
+
+    /**
+     * @return A semente da qual foram derivadas as sementes das replicações.
+     */
+    public long getSementeBase() { return sementeBase; }
+
+    /**
+     * Retorna o resultado de uma replicação.
+     *
+     * @param indice O índice da replicação (a partir de 0).
+     * @return O {@link ResultadoSimulacao} da replicação.
+     */
+    public ResultadoSimulacao getResultado(int indice) { return resultados[indice]; }
+
+    /**
+     * @return O tempo de parede gasto em todas as replicações, em nanossegundos.
+     */
+    public long getDuracaoExecucaoNs() { return duracaoExecucaoNs; }
+
+    /**
+     * @return As estatísticas do lixo restante total (em toneladas) ao final de cada replicação.
+     */
+    public EstatisticaResumo getLixoRestante() { return lixoRestante; }
+
+    /**
+     * @return As estatísticas do número de caminhões grandes utilizados.
+     */
+    public EstatisticaResumo getCaminhoesGrandes() { return caminhoesGrandes; }
+
+    /**
+     * @return As estatísticas do número de caminhões de reforço acionados.
+     */
+    public EstatisticaResumo getCaminhoesExtra() { return caminhoesExtra; }
+
+    /**
+     * @return As estatísticas do tempo médio de espera (em minutos) na fila das estações.
+     */
+    public EstatisticaResumo getTempoMedioEspera() { return tempoMedioEspera; }
+
+    /**
+     * @return As estatísticas da vazão das filas das estações, em toneladas por hora simulada.
+     */
+    public EstatisticaResumo getVazaoFila() { return vazaoFila; }
+
+    /**
+     * Retorna o resumo em formato de tabela, com média ± IC 95% de cada métrica.
+     *
+     * @return Uma string com várias linhas descrevendo as replicações.
+     */
+    @Override
+    public String toString() {
+        double segundos = duracaoExecucaoNs / 1e9;
+        return String.format("Replicações: %d (semente base %d) em %.2fs (%.0f replicações/minuto)%n", getReplicacoes(),
+                sementeBase, segundos, getReplicacoes() * 60 / segundos)
+                + String.format("• Lixo restante (t):          %s%n", lixoRestante)
+                + String.format("• Caminhões grandes:          %s%n", caminhoesGrandes)
+                + String.format("• Caminhões de reforço:       %s%n", caminhoesExtra)
+                + String.format("• Espera média na fila (min): %s%n", tempoMedioEspera)
+                + String.format("• Vazão das filas (t/h):      %s", vazaoFila);
+    }
+}
@@ -1,64 +1,128 @@
 package configsimulador;
 
-import caminhoes.CaminhaoGrande;
-import caminhoes.CaminhaoPequeno;
+import caminhoes.Frota;
 import estacoes.EstacaoDeTransferencia;
 import eventos.ColetaLixo;
 import eventos.DistribuirRota;
+import eventos.Evento;
 import eventos.GerenciadorAgenda;
+import eventos.ISupervisionavel;
 import eventos.VerificarFimDeTurno;
-import tads.Lista;
+import registro.MensagemRegistro;
+import registro.Registrador;
+import tads.ListaArray;
 import timer.Timer;
-import zonas.DistanciaZonas;
+import zonas.FilaPrioridadeZonas;
 import zonas.Zonas;
 import zonas.ZonasParametradas;
 
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Classe principal que orquestra a simulação de coleta de lixo.
  * É responsável por inicializar todos os componentes do sistema,
  * como zonas, caminhões e estações, e por controlar o fluxo geral da simulação,
  * incluindo a geração de relatórios e estatísticas.
+ * <p>
+ * Todo o estado da execução fica no {@link ContextoSimulacao} do simulador, de forma
+ * que várias instâncias podem ser executadas ao mesmo tempo no mesmo processo.
  */
-public class Simulador {
+public class Simulador implements ISupervisionavel {
 
     // As listas agora são variáveis de instância para serem acessadas pelo supervisor
-    private Lista<Zonas> zonas;
-    private Lista<CaminhaoPequeno> caminhoes;
+    private ListaArray<Zonas> zonas;
+    private Frota caminhoes;
+    /**
+     * As zonas de cada estação ordenadas pelo lixo acumulado, atualizadas pelas próprias zonas.
+     * Uma fila por estação faz com que eventos de zonas de estações diferentes não alterem a
+     * mesma fila e possam ser executados em paralelo (veja {@link eventos.ProcessadorLotes}).
+     */
+    private FilaPrioridadeZonas[] filasZonas;
+
+    /** O contexto (agenda, estatísticas, contadores e roteamento) desta simulação. */
+    private final ContextoSimulacao contexto;
+
+    /**
+     * Cria um simulador com um contexto próprio, usando a implementação de agenda padrão.
+     */
+    public Simulador() {
+        this(new ContextoSimulacao());
+    }
+
+    /**
+     * Cria um simulador que utiliza o contexto informado.
+     *
+     * @param contexto O contexto da simulação.
+     * @throws IllegalArgumentException se o contexto for nulo.
+     */
+    public Simulador(ContextoSimulacao contexto) {
+        if (contexto == null) {
+            throw new IllegalArgumentException("O contexto da simulação não pode ser nulo.");
+        }
+        this.contexto = contexto;
+    }
 
-    private static long tempoTotalEspera = 0;
-    private static int totalCaminhoesNaFila = 0;
-    private static int contadorCaminhoesExtra = 0;
+    /**
+     * Retorna o contexto desta simulação.
+     *
+     * @return O {@link ContextoSimulacao} usado pelo simulador.
+     */
+    public ContextoSimulacao getContexto() {
+        return contexto;
+    }
 
     /**
-     * Inicializa o estado da simulação com base nos parâmetros fornecidos.
+     * Inicializa o estado da simulação com base nos parâmetros fornecidos, na cidade padrão.
      * Configura as zonas, estações de transferência, caminhões e agenda os eventos iniciais.
      *
      * @param params Os parâmetros de simulação, geralmente fornecidos pela interface do usuário.
      * @return A lista de zonas inicializadas para que a GUI possa observá-las.
      */
-    public Lista<Zonas> inicializar(ParametrosSimulacao params) {
-        System.out.println("=================== S I M U L A D O R ==================");
-        System.out.println("Inicializando estado da simulação com parâmetros da UI.");
+    public ListaArray<Zonas> inicializar(ParametrosSimulacao params) {
+        return inicializar(params, CenarioSimulacao.padrao());
+    }
 
-        GerenciadorAgenda.reset();
-        resetEstatisticas();
+    /**
+     * Inicializa o estado da simulação com base nos parâmetros fornecidos, na cidade descrita
+     * pelo cenário informado.
+     *
+     * @param params  Os parâmetros de simulação (frota e horas a simular).
+     * @param cenario O cenário com as zonas e estações da cidade.
+     * @return A lista de zonas inicializadas.
+     * @throws IllegalArgumentException se o cenário for nulo.
+     */
+    public ListaArray<Zonas> inicializar(ParametrosSimulacao params, CenarioSimulacao cenario) {
+        if (cenario == null) {
+            throw new IllegalArgumentException("O cenário da simulação não pode ser nulo.");
+        }
+        contexto.reiniciar();
+        Registrador registro = contexto.getRegistrador();
+        registro.registrar(MensagemRegistro.SIMULADOR_INICIO, 0);
 
-        EstacaoDeTransferencia estA = new EstacaoDeTransferencia("Estação A");
-        EstacaoDeTransferencia estB = new EstacaoDeTransferencia("Estação B");
-        DistanciaZonas.configurar(estA, estB);
+        EstacaoDeTransferencia[] estacoes = cenario.criarEstacoes(contexto);
+        this.zonas = cenario.criarZonas();
+        contexto.configurarRoteamento(cenario.criarRoteamento(this.zonas, estacoes));
 
-        this.zonas = inicializarZonas();
-        for (int i = 0; i < this.zonas.getTamanho(); i++) {
-            this.zonas.getValor(i).gerarLixoDiario();
+        this.filasZonas = new FilaPrioridadeZonas[estacoes.length];
+        for (int i = 0; i < estacoes.length; i++) {
+            filasZonas[i] = new FilaPrioridadeZonas(0);
+        }
+        for (Zonas zona : this.zonas) {
+            filasZonas[cenario.getEstacaoDaZona(zona.getId())].adicionar(zona);
+            zona.setGerador(contexto.criarFluxoZona(zona));
+            int lixoGerado = zona.gerarLixoDiario();
+            registro.registrar(MensagemRegistro.ZONA_LIXO_GERADO, 0, zona.getNome(), lixoGerado, zona.getLixoAcumulado());
         }
 
         // O método distribuir agora retorna a lista de caminhões criados
-        this.caminhoes = DistribuirRota.distribuir(this.zonas, params);
+        this.caminhoes = DistribuirRota.distribuir(this.zonas, params, contexto);
 
         // Agenda o primeiro evento de verificação do supervisor para o final de um turno de 8h
-        GerenciadorAgenda.adicionarEvento(new VerificarFimDeTurno(480, this));
+        contexto.getAgenda().adicionarEvento(new VerificarFimDeTurno(VerificarFimDeTurno.PRIMEIRA_VERIFICACAO, this));
 
-        System.out.println("Estado inicial configurado. A simulação irá rodar por " + params.getHorasASimular() + " horas simuladas.");
+        registro.registrar(MensagemRegistro.SIMULADOR_CONFIGURADO, 0, params.getHorasASimular());
         return this.zonas;
     }
 
@@ -67,84 +131,122 @@ public class Simulador {
      * @param tempoAtual O tempo atual para agendar a coleta.
      * @param zonaAlvo A zona com mais lixo que precisa de coleta.
      */
+    @Override
     public void adicionarCaminhaoExtra(int tempoAtual, Zonas zonaAlvo) {
-        contadorCaminhoesExtra++;
-        String id = "EXTRA-" + contadorCaminhoesExtra;
         // Cria um caminhão padrão de 4T com apenas 1 viagem
-        CaminhaoPequeno caminhaoExtra = new CaminhaoPequeno(id, 4, 1, zonaAlvo);
-        this.caminhoes.adicionar(this.caminhoes.getTamanho(), caminhaoExtra);
+        int caminhaoExtra = this.caminhoes.adicionarReforco(contexto.registrarCaminhaoExtra(), 4, 1, zonaAlvo.getId());
+        String id = this.caminhoes.getId(caminhaoExtra);
+        this.caminhoes.setGerador(caminhaoExtra, contexto.criarFluxoCaminhao(id));
 
         // Agenda a coleta para este caminhão
-        GerenciadorAgenda.adicionarEvento(new ColetaLixo(tempoAtual, caminhaoExtra, zonaAlvo));
-        System.out.printf("  • Caminhão de reforço %s (Cap: 4t) enviado para a zona %s.%n", id, zonaAlvo.getNome());
+        contexto.getAgenda().adicionarEvento(new ColetaLixo(tempoAtual, caminhaoExtra, zonaAlvo));
+        contexto.getRegistrador().registrar(MensagemRegistro.REFORCO_ENVIADO, tempoAtual, id, zonaAlvo.getNome(), 4);
     }
 
     /**
      * Verifica se algum caminhão na frota ainda tem viagens restantes.
+     * Consulta a contagem de caminhões ativos mantida pela {@link Frota}, em tempo constante.
      * @return true se pelo menos um caminhão está ativo, false caso contrário.
      */
+    @Override
     public boolean verificarCaminhoesAtivos() {
-        for (int i = 0; i < caminhoes.getTamanho(); i++) {
-            if (caminhoes.getValor(i).getViagensRestantes() > 0) {
-                return true; // Encontrou um caminhão ativo
-            }
-        }
-        return false; // Nenhum caminhão ativo
+        return caminhoes.temCaminhoesAtivos();
     }
 
     /**
-     * Encontra a zona que atualmente tem a maior quantidade de lixo acumulado.
+     * Retorna a frota de caminhões pequenos da simulação, incluindo os caminhões de reforço.
+     * @return A {@link Frota} da simulação, ou {@code null} antes da inicialização.
+     */
+    public Frota getFrota() {
+        return caminhoes;
+    }
+
+    /**
+     * Encontra a zona que atualmente tem a maior quantidade de lixo acumulado, comparando a
+     * zona mais suja de cada estação (tempo proporcional ao número de estações).
+     * Em caso de empate, retorna a primeira zona do cenário.
      * @return A instância da zona com mais lixo, ou null se todas estiverem limpas.
      */
+    @Override
     public Zonas getZonaComMaisLixo() {
         Zonas zonaMaisSucia = null;
-        int maxLixo = 0;
-        for (int i = 0; i < zonas.getTamanho(); i++) {
-            Zonas zonaAtual = zonas.getValor(i);
-            if (zonaAtual.getLixoAcumulado() > maxLixo) {
-                maxLixo = zonaAtual.getLixoAcumulado();
-                zonaMaisSucia = zonaAtual;
+        for (FilaPrioridadeZonas fila : filasZonas) {
+            Zonas candidata = fila.espiarMaisSuja();
+            if (candidata != null && candidata.temLixoRestante()
+                    && (zonaMaisSucia == null || Zonas.MAIS_SUJA_PRIMEIRO.compare(candidata, zonaMaisSucia) < 0)) {
+                zonaMaisSucia = candidata;
             }
         }
         return zonaMaisSucia;
     }
 
+    /**
+     * Retorna as zonas com mais lixo acumulado, da mais suja para a menos suja.
+     * Zonas limpas também podem aparecer, se houver menos de {@code k} zonas com lixo.
+     * @param k A quantidade de zonas desejada.
+     * @return Uma {@link ListaArray} com até {@code k} zonas.
+     */
+    public ListaArray<Zonas> getZonasComMaisLixo(int k) {
+        List<Zonas> candidatas = new ArrayList<>();
+        for (FilaPrioridadeZonas fila : filasZonas) {
+            for (Zonas zona : fila.getMaisSujas(k)) {
+                candidatas.add(zona);
+            }
+        }
+        candidatas.sort(Zonas.MAIS_SUJA_PRIMEIRO);
+        ListaArray<Zonas> resultado = new ListaArray<>(Math.min(k, candidatas.size()));
+        for (int i = 0; i < k && i < candidatas.size(); i++) {
+            resultado.adicionar(candidatas.get(i));
+        }
+        return resultado;
+    }
+
     /**
      * Exibe um relatório final no console com as estatísticas da simulação.
      * Inclui o tempo total, lixo restante por zona e métricas de desempenho.
      * @param zonas A lista de zonas para exibir o lixo restante.
      */
-    public void exibirRelatorioFinal(Lista<Zonas> zonas) {
-        int tempoFinal = GerenciadorAgenda.getTempoUltimoEvento();
-        System.out.println("\n[PROCESSAMENTO DE EVENTOS CONCLUÍDO]");
-        System.out.println("===========================================================");
-        System.out.println("Simulação finalizada!");
-        System.out.println("Tempo total de simulação: " + Timer.formatarDuracao(tempoFinal)
+    public void exibirRelatorioFinal(ListaArray<Zonas> zonas) {
+        exibirRelatorioFinal(zonas, System.out);
+    }
+
+    /**
+     * Escreve o relatório final da simulação na saída informada.
+     * @param zonas A lista de zonas para exibir o lixo restante.
+     * @param saida A saída que recebe o relatório.
+     */
+    public void exibirRelatorioFinal(ListaArray<Zonas> zonas, PrintStream saida) {
+        GerenciadorAgenda agenda = contexto.getAgenda();
+        int tempoFinal = agenda.getTempoUltimoEvento();
+        saida.println("\n[PROCESSAMENTO DE EVENTOS CONCLUÍDO]");
+        saida.println("===========================================================");
+        saida.println("Simulação finalizada!");
+        saida.println("Tempo total de simulação: " + Timer.formatarDuracao(tempoFinal)
                 + " (encerra às " + Timer.formatarHorarioSimulado(tempoFinal) + ")");
-        System.out.println("\n[LIXO RESTANTE NAS ZONAS]");
-        for (int i = 0; i < zonas.getTamanho(); i++) {
-            Zonas zona = zonas.getValor(i);
-            System.out.println("• " + zona.getNome() + ": " + zona.getLixoAcumulado() + "t");
+        saida.println("\n[LIXO RESTANTE NAS ZONAS]");
+        for (Zonas zona : zonas) {
+            saida.println("• " + zona.getNome() + ": " + zona.getLixoAcumulado() + "t");
         }
-        System.out.println("\n[ESTATÍSTICAS FINAIS]");
-        System.out.println("• Total de caminhões grandes de 20t utilizados: " + CaminhaoGrande.getContadorTotal());
-        System.out.println("• Caminhões de reforço acionados: " + contadorCaminhoesExtra);
-        if (totalCaminhoesNaFila > 0) {
-            double tempoMedioEspera = (double) tempoTotalEspera / totalCaminhoesNaFila;
-            System.out.println("• Tempo médio de espera na fila da estação: " + Timer.formatarDuracao((int) tempoMedioEspera));
+        saida.println("\n[ESTATÍSTICAS FINAIS]");
+        saida.println("• Total de caminhões grandes de 20t utilizados: " + contexto.getTotalCaminhoesGrandes());
+        saida.println("• Caminhões de reforço acionados: " + contexto.getContadorCaminhoesExtra());
+        if (contexto.getTotalCaminhoesNaFila() > 0) {
+            double tempoMedioEspera = (double) contexto.getTempoTotalEspera() / contexto.getTotalCaminhoesNaFila();
+            saida.println("• Tempo médio de espera na fila da estação: " + Timer.formatarDuracao((int) tempoMedioEspera));
         } else {
-            System.out.println("• Nenhum caminhão precisou esperar na fila da estação.");
+            saida.println("• Nenhum caminhão precisou esperar na fila da estação.");
         }
-        System.out.println("===========================================================");
-        System.out.println("Último evento processado: " + GerenciadorAgenda.getUltimoEvento());
+        saida.println("===========================================================");
+        Evento ultimoEvento = agenda.getUltimoEvento();
+        saida.println("Último evento processado: " + (ultimoEvento != null ? ultimoEvento.descrever(contexto.getFrota()) : null));
     }
 
     /**
      * Cria e retorna a lista de zonas da cidade com suas configurações padrão.
-     * @return Uma {@link Lista} de objetos {@link Zonas}.
+     * @return Uma {@link ListaArray} de objetos {@link Zonas}.
      */
-    public Lista<Zonas> inicializarZonas() {
-        Lista<Zonas> zonas = new Lista<>();
+    public ListaArray<Zonas> inicializarZonas() {
+        ListaArray<Zonas> zonas = new ListaArray<>();
         zonas.adicionar(0, ZonasParametradas.zonaSul());
         zonas.adicionar(1, ZonasParametradas.zonaSudeste());
         zonas.adicionar(2, ZonasParametradas.zonaCentro());
@@ -152,26 +254,4 @@ public class Simulador {
         zonas.adicionar(4, ZonasParametradas.zonaNorte());
         return zonas;
     }
-
-    /**
-     * Registra o tempo de espera de um caminhão na fila de uma estação
-     * para cálculo de estatísticas.
-     * @param tempoEspera O tempo (em minutos) que o caminhão esperou.
-     */
-    public static void registrarTempoEspera(int tempoEspera) {
-        if (tempoEspera > 0) {
-            tempoTotalEspera += tempoEspera;
-            totalCaminhoesNaFila++;
-        }
-    }
-
-    /**
-     * Reseta todas as variáveis estáticas de estatísticas para o início de uma nova simulação.
-     */
-    public static void resetEstatisticas() {
-        tempoTotalEspera = 0;
-        totalCaminhoesNaFila = 0;
-        contadorCaminhoesExtra = 0;
-        CaminhaoGrande.resetContador();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,752 @@
+package configsimulador;
+
+import caminhoes.Frota;
+import estacoes.EstacaoDeTransferencia;
+import eventos.AgendamentoEvento;
+import eventos.ColetaLixo;
+import eventos.DistribuirRota;
+import eventos.Evento;
+import eventos.GerenciadorAgenda;
+import eventos.ISupervisionavel;
+import eventos.VerificarFimDeTurno;
+import registro.MensagemRegistro;
+import registro.Registrador;
+import tads.ListaArray;
+import zonas.DistanciaZonas;
+import zonas.FilaPrioridadeZonas;
+import zonas.PoliticaRoteamento;
+import zonas.Zonas;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Simulação de coleta de lixo dividida em processos lógicos, um por estação de transferência,
+ * com sincronização otimista (Time Warp).
+ * <p>
+ * Os processos são as mesmas partições do {@link SimuladorParticionado}: uma estação, as suas
+ * zonas e os caminhões dessas zonas, com um {@link ContextoSimulacao} próprio. Aqui, porém, os
+ * processos não esperam o supervisor: cada um executa especulativamente, em paralelo com os
+ * demais, supondo que não receberá nenhum reforço, até {@value #JANELA_ESPECULACAO} verificações
+ * além da última verificação executada pelo supervisor.
+ * <p>
+ * Como no {@link SimuladorParticionado}, cada verificação do supervisor tem uma marca na agenda
+ * de cada processo, agendada logo depois dos reforços da verificação anterior, que ocupa a
+ * posição da verificação entre os eventos do mesmo minuto. Ao retirar a marca de uma
+ * verificação, o processo guarda um resumo do seu estado (caminhões ativos e zona mais suja)
+ * e salva o estado inteiro: agenda, frota, estação, zonas e estatísticas. A agenda e a frota
+ * não são copiadas; elas registram o que mudou desde o estado anterior (veja
+ * {@link ContextoSimulacao#salvarEstado()}). Depois, agenda os reforços que já recebeu para
+ * essa verificação e a marca da seguinte.
+ * <p>
+ * O supervisor executa as suas verificações em ordem, no contexto coordenador, usando os
+ * resumos. O reforço enviado a uma zona chega sempre atrasado, pois o processo da zona já
+ * passou da verificação. O processo é então revertido: volta ao estado salvo na marca da
+ * verificação, agenda o reforço e a marca seguinte e executa de novo a partir dali, dentro da
+ * janela de especulação. Os resumos posteriores à verificação são descartados.
+ * <p>
+ * Quando o supervisor encerra, as marcas especulativas das verificações seguintes são
+ * anuladas por antimensagens. Uma marca não altera o estado do processo; por isso, a
+ * antimensagem só cancela a marca pendente e descarta os resumos e estados salvos depois dela,
+ * sem reverter o processo. Nenhum reforço pode chegar antes da última verificação executada
+ * pelo supervisor, que faz o papel do tempo virtual global (GVT): os estados salvos até ela
+ * não podem mais ser restaurados e são descartados (coleta de fósseis), com o que a agenda e a
+ * frota registraram para restaurá-los. Como a especulação é limitada pela janela, cada
+ * processo guarda no máximo {@value #JANELA_ESPECULACAO} + 1 estados.
+ * <p>
+ * O resultado é o mesmo da execução sequencial ({@link Simulador}) com a mesma semente, para
+ * qualquer número de threads.
+ */
+public class SimuladorOtimista implements ISupervisionavel {
+
+    /** Capacidade, em toneladas, de um caminhão de reforço. */
+    private static final int CAPACIDADE_REFORCO = 4;
+
+    /**
+     * Quantas verificações, no máximo, um processo executa além da última verificação executada
+     * pelo supervisor. Limita a memória dos estados salvos e o trabalho perdido nas reversões.
+     */
+    private static final int JANELA_ESPECULACAO = 4;
+
+    /** O contexto do supervisor: a agenda das verificações, o registro e a contagem de reforços. */
+    private final ContextoSimulacao coordenador;
+
+    /** A cidade simulada. */
+    private CenarioSimulacao cenario;
+    /** Os processos lógicos, na ordem das estações do cenário. */
+    private ProcessoLogico[] processos;
+    /** O processo (a estação) de cada zona, indexado pelo identificador da zona. */
+    private int[] processoDaZona;
+    /** As zonas de cada processo, indexadas pelo identificador da zona. */
+    private Zonas[] zonasPorId;
+    /** A frota da distribuição inicial, da qual cada processo copia os seus caminhões. */
+    private Frota planejada;
+    /** O tempo máximo simulado da execução em andamento. */
+    private int tempoMaximo;
+    /** O número de verificações do supervisor até o tempo máximo, se ele não encerrar antes. */
+    private int quantidadeVerificacoes;
+    /** O índice da verificação do supervisor em execução. */
+    private int verificacaoAtual;
+    /** Número de eventos processados pelo coordenador (as verificações do supervisor). */
+    private long eventosCoordenador;
+    /** Número de eventos processados em execuções que foram revertidas. */
+    private long eventosDescartados;
+    /** Número de reversões de processos. */
+    private int reversoes;
+
+    /**
+     * Cria uma simulação otimista que usa o contexto informado como coordenador.
+     * A semente, o tipo de agenda e a disciplina das filas do coordenador valem para todos os processos.
+     *
+     * @param coordenador O contexto do supervisor.
+     * @throws IllegalArgumentException se o contexto for nulo.
+     */
+    public SimuladorOtimista(ContextoSimulacao coordenador) {
+        if (coordenador == null) {
+            throw new IllegalArgumentException("O contexto da simulação não pode ser nulo.");
+        }
+        this.coordenador = coordenador;
+    }
+
+    /**
+     * Retorna o contexto coordenador desta simulação.
+     *
+     * @return O {@link ContextoSimulacao} do supervisor.
+     */
+    public ContextoSimulacao getCoordenador() {
+        return coordenador;
+    }
+
+    /**
+     * Prepara os processos lógicos da cidade descrita pelo cenário: cria um processo por
+     * estação, distribui os caminhões entre as zonas e agenda a primeira verificação do
+     * supervisor no coordenador. As zonas e os caminhões de cada processo só são criados
+     * em {@link #executar(int, int)}.
+     *
+     * @param params  Os parâmetros de simulação (frota e horas a simular).
+     * @param cenario O cenário com as zonas e estações da cidade.
+     * @throws IllegalArgumentException se o cenário for nulo ou se a política de roteamento do
+     *                                  coordenador não for {@link PoliticaRoteamento#FIXA}.
+     */
+    public void inicializar(ParametrosSimulacao params, CenarioSimulacao cenario) {
+        if (cenario == null) {
+            throw new IllegalArgumentException("O cenário da simulação não pode ser nulo.");
+        }
+        if (coordenador.getPoliticaRoteamento() != PoliticaRoteamento.FIXA) {
+            throw new IllegalArgumentException("A simulação otimista exige a política de roteamento FIXA.");
+        }
+        coordenador.reiniciar();
+        eventosCoordenador = 0;
+        eventosDescartados = 0;
+        reversoes = 0;
+        Registrador registro = coordenador.getRegistrador();
+        registro.registrar(MensagemRegistro.SIMULADOR_INICIO, 0);
+
+        this.cenario = cenario;
+        int quantidadeEstacoes = cenario.getQuantidadeEstacoes();
+        processos = new ProcessoLogico[quantidadeEstacoes];
+        EstacaoDeTransferencia[] estacoes = new EstacaoDeTransferencia[quantidadeEstacoes];
+        for (int i = 0; i < quantidadeEstacoes; i++) {
+            ContextoSimulacao contexto = new ContextoSimulacao(coordenador.getAgenda().getTipoAgenda(), coordenador.getSemente());
+            contexto.setDisciplinaFila(coordenador.getDisciplinaFila());
+            estacoes[i] = new EstacaoDeTransferencia(i, cenario.getNomeEstacao(i), contexto);
+            processos[i] = new ProcessoLogico(contexto, estacoes[i]);
+        }
+
+        ListaArray<Zonas> zonasPlanejadas = cenario.criarZonas();
+        DistanciaZonas roteamento = cenario.criarRoteamento(zonasPlanejadas, estacoes);
+        coordenador.configurarRoteamento(roteamento);
+
+        zonasPorId = new Zonas[zonasPlanejadas.getTamanho()];
+        processoDaZona = new int[zonasPlanejadas.getTamanho()];
+        for (Zonas zona : zonasPlanejadas) {
+            processoDaZona[zona.getId()] = cenario.getEstacaoDaZona(zona.getId());
+            processos[processoDaZona[zona.getId()]].zonas.adicionar(zona.getId());
+        }
+
+        // A distribuição só define qual caminhão vai para qual zona; cada processo cria os
+        // seus caminhões, na mesma ordem, quando começa a executar.
+        planejada = DistribuirRota.distribuir(zonasPlanejadas, params, coordenador);
+        coordenador.getAgenda().reset();
+        for (int caminhao = 0; caminhao < planejada.getTamanho(); caminhao++) {
+            processos[processoDaZona[planejada.getZona(caminhao)]].caminhoesPlanejados.adicionar(caminhao);
+        }
+
+        coordenador.getAgenda().adicionarEvento(new VerificarFimDeTurno(VerificarFimDeTurno.PRIMEIRA_VERIFICACAO, this));
+        registro.registrar(MensagemRegistro.SIMULADOR_CONFIGURADO, 0, params.getHorasASimular());
+    }
+
+    /**
+     * Executa a simulação até o tempo máximo: as verificações do supervisor, em ordem, revertendo
+     * os processos que recebem reforços e avançando em paralelo, de forma especulativa e dentro
+     * da janela, os que ainda não chegaram à verificação; por fim, o restante dos processos.
+     *
+     * @param tempoMaximo O tempo máximo simulado, em minutos.
+     * @param paralelismo O número de threads usadas para executar os processos.
+     * @throws IllegalArgumentException se o paralelismo não for positivo.
+     */
+    public void executar(int tempoMaximo, int paralelismo) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("O paralelismo deve ser pelo menos 1.");
+        }
+        this.tempoMaximo = tempoMaximo;
+        quantidadeVerificacoes = tempoMaximo < VerificarFimDeTurno.PRIMEIRA_VERIFICACAO ? 0 : indiceDaVerificacao(tempoMaximo) + 1;
+        ForkJoinPool pool = new ForkJoinPool(paralelismo);
+        try {
+            executarEmParalelo(pool, processos, ProcessoLogico::preparar);
+
+            GerenciadorAgenda agendaCoordenador = coordenador.getAgenda();
+            Evento proximoEvento = agendaCoordenador.espiarProximoEvento();
+            while (proximoEvento != null && proximoEvento.getTempo() <= tempoMaximo) {
+                int verificacao = indiceDaVerificacao(proximoEvento.getTempo());
+                avancarAte(pool, verificacao + 1, verificacao + 1 + JANELA_ESPECULACAO);
+
+                Evento eventoAtual = agendaCoordenador.proximoEvento();
+                verificacaoAtual = verificacao;
+                eventoAtual.executar(coordenador);
+                agendaCoordenador.notificarObservers(eventoAtual);
+                eventosCoordenador++;
+
+                proximoEvento = agendaCoordenador.espiarProximoEvento();
+                for (ProcessoLogico processo : processos) {
+                    if (proximoEvento == null) {
+                        processo.anularMarcasDepois(verificacao);
+                    }
+                    processo.descartarEstadosAte(verificacao);
+                }
+            }
+            avancarAte(pool, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Garante que todos os processos retiraram a marca anterior à verificação {@code necessaria}
+     * ou chegaram ao tempo máximo. Se algum não chegou lá, avança em paralelo, até retirar a
+     * marca anterior à verificação {@code alvo} (ou até o tempo máximo, com
+     * {@link Integer#MAX_VALUE}), todos os processos que ainda não chegaram a ela.
+     */
+    private void avancarAte(ForkJoinPool pool, int necessaria, int alvo) {
+        boolean atrasado = false;
+        for (ProcessoLogico processo : processos) {
+            atrasado |= processo.precisaAvancar(necessaria);
+        }
+        if (!atrasado) {
+            return;
+        }
+        ListaArray<ProcessoLogico> atrasados = new ListaArray<>();
+        for (ProcessoLogico processo : processos) {
+            if (processo.precisaAvancar(alvo)) {
+                atrasados.adicionar(processo);
+            }
+        }
+        if (atrasados.getTamanho() == 1) {
+            atrasados.getValor(0).avancar(alvo);
+        } else if (!atrasados.estaVazia()) {
+            ProcessoLogico[] vetor = new ProcessoLogico[atrasados.getTamanho()];
+            for (int i = 0; i < vetor.length; i++) {
+                vetor[i] = atrasados.getValor(i);
+            }
+            executarEmParalelo(pool, vetor, processo -> processo.avancar(alvo));
+        }
+    }
+
+    /**
+     * Executa a ação em cada um dos processos, em paralelo, e espera todas terminarem.
+     */
+    private static void executarEmParalelo(ForkJoinPool pool, ProcessoLogico[] alvos, Consumer<ProcessoLogico> acao) {
+        try {
+            pool.submit(() -> Arrays.stream(alvos).parallel().forEach(acao)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("A execução dos processos foi interrompida.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Falha ao executar os processos.", e.getCause());
+        }
+    }
+
+    /**
+     * Retorna a posição de uma verificação do supervisor na sequência de verificações.
+     */
+    private static int indiceDaVerificacao(int tempo) {
+        return (tempo - VerificarFimDeTurno.PRIMEIRA_VERIFICACAO) / VerificarFimDeTurno.INTERVALO_VERIFICACAO;
+    }
+
+    /**
+     * Envia um caminhão de reforço ao processo da zona alvo e reverte esse processo, que já
+     * passou da verificação atual: ele volta ao estado salvo na marca da verificação e recebe
+     * o reforço no tempo informado.
+     *
+     * @param tempoAtual O tempo atual para agendar a coleta.
+     * @param zonaAlvo   A zona com mais lixo que precisa de coleta.
+     */
+    @Override
+    public void adicionarCaminhaoExtra(int tempoAtual, Zonas zonaAlvo) {
+        int numero = coordenador.registrarCaminhaoExtra();
+        ProcessoLogico processo = processos[processoDaZona[zonaAlvo.getId()]];
+        processo.reverter(verificacaoAtual, new Reforco(tempoAtual, numero, zonaAlvo.getId(), verificacaoAtual));
+        coordenador.getRegistrador().registrar(MensagemRegistro.REFORCO_ENVIADO, tempoAtual, "EXTRA-" + numero,
+                zonaAlvo.getNome(), CAPACIDADE_REFORCO);
+    }
+
+    /**
+     * Verifica, pelos resumos da verificação atual, se algum caminhão de algum processo ainda
+     * tinha viagens restantes.
+     *
+     * @return true se pelo menos um caminhão está ativo, false caso contrário.
+     */
+    @Override
+    public boolean verificarCaminhoesAtivos() {
+        for (ProcessoLogico processo : processos) {
+            if (processo.ativosNaVerificacao[verificacaoAtual] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Encontra, pelos resumos da verificação atual, a zona com mais lixo da cidade. Em caso de
+     * empate, retorna a primeira zona do cenário. Como o processo da zona pode já estar além da
+     * verificação, a zona devolvida é uma cópia, com o lixo acumulado no minuto da verificação.
+     *
+     * @return A zona com mais lixo, ou null se todas estiverem limpas.
+     */
+    @Override
+    public Zonas getZonaComMaisLixo() {
+        Zonas zonaMaisSuja = null;
+        for (ProcessoLogico processo : processos) {
+            int id = processo.zonaMaisSujaNaVerificacao[verificacaoAtual];
+            if (id < 0) {
+                continue;
+            }
+            Zonas candidata = copiarZona(id, processo.lixoMaisSujoNaVerificacao[verificacaoAtual]);
+            if (zonaMaisSuja == null || Zonas.MAIS_SUJA_PRIMEIRO.compare(candidata, zonaMaisSuja) < 0) {
+                zonaMaisSuja = candidata;
+            }
+        }
+        return zonaMaisSuja;
+    }
+
+    /**
+     * Cria uma cópia da zona, fora de qualquer fila de prioridade, com o lixo acumulado informado.
+     */
+    private Zonas copiarZona(int id, int lixoAcumulado) {
+        Zonas copia = new Zonas(id, cenario.getNomeZona(id), cenario.getLixoMinimo(id), cenario.getLixoMaximo(id));
+        copia.restaurarLixoAcumulado(lixoAcumulado);
+        return copia;
+    }
+
+    /**
+     * @return As zonas da cidade ao final da execução, na ordem do cenário.
+     */
+    public ListaArray<Zonas> getZonas() {
+        ListaArray<Zonas> zonas = new ListaArray<>(zonasPorId.length);
+        for (Zonas zona : zonasPorId) {
+            zonas.adicionar(zona);
+        }
+        return zonas;
+    }
+
+    /**
+     * @return O número de processos lógicos (um por estação de transferência).
+     */
+    public int getQuantidadeProcessos() {
+        return processos.length;
+    }
+
+    /**
+     * @return O número de vezes que um processo foi revertido por receber um reforço.
+     */
+    public int getReversoes() {
+        return reversoes;
+    }
+
+    /**
+     * @return O número de eventos processados em execuções especulativas que foram revertidas.
+     */
+    public long getEventosDescartados() {
+        return eventosDescartados;
+    }
+
+    /**
+     * @return O número de eventos processados, incluindo as verificações do supervisor e sem
+     * contar os eventos descartados nas reversões.
+     */
+    public long getEventosProcessados() {
+        long total = eventosCoordenador;
+        for (ProcessoLogico processo : processos) {
+            total += processo.eventosProcessados;
+        }
+        return total;
+    }
+
+    /**
+     * @return O tempo do último evento processado em qualquer processo ou no coordenador,
+     * sem contar as marcas das verificações.
+     */
+    public int getTempoAtual() {
+        int tempo = coordenador.getTempoAtual();
+        for (ProcessoLogico processo : processos) {
+            tempo = Math.max(tempo, processo.tempoUltimoEvento);
+        }
+        return tempo;
+    }
+
+    /**
+     * @return O número total de caminhões grandes criados em todos os processos.
+     */
+    public int getTotalCaminhoesGrandes() {
+        int total = 0;
+        for (ProcessoLogico processo : processos) {
+            total += processo.contexto.getTotalCaminhoesGrandes();
+        }
+        return total;
+    }
+
+    /**
+     * @return O número de caminhões pequenos que esperaram na fila de uma estação.
+     */
+    public int getTotalCaminhoesNaFila() {
+        int total = 0;
+        for (ProcessoLogico processo : processos) {
+            total += processo.contexto.getTotalCaminhoesNaFila();
+        }
+        return total;
+    }
+
+    /**
+     * @return A soma dos tempos de espera (em minutos) nas filas das estações.
+     */
+    public long getTempoTotalEspera() {
+        long total = 0;
+        for (ProcessoLogico processo : processos) {
+            total += processo.contexto.getTempoTotalEspera();
+        }
+        return total;
+    }
+
+    /**
+     * @return As toneladas descarregadas pelos caminhões pequenos que saíram da fila de uma estação.
+     */
+    public long getToneladasDescarregadasFila() {
+        long total = 0;
+        for (ProcessoLogico processo : processos) {
+            total += processo.contexto.getToneladasDescarregadasFila();
+        }
+        return total;
+    }
+
+    /**
+     * Um caminhão de reforço recebido por um processo: a única mensagem do supervisor aos processos.
+     */
+    private static final class Reforco {
+        private final int tempo;
+        private final int numero;
+        private final int zona;
+        /** A verificação que enviou o reforço; ele é agendado logo depois da marca dela. */
+        private final int verificacao;
+
+        private Reforco(int tempo, int numero, int zona, int verificacao) {
+            this.tempo = tempo;
+            this.numero = numero;
+            this.zona = zona;
+            this.verificacao = verificacao;
+        }
+    }
+
+    /**
+     * Marca, na agenda de um processo, a posição de uma verificação do supervisor entre os
+     * eventos do mesmo minuto. Não é executada: ao retirá-la, o processo guarda o resumo da
+     * verificação e salva o seu estado.
+     */
+    private static final class MarcaVerificacao extends Evento {
+        private final int verificacao;
+
+        private MarcaVerificacao(int tempo, int verificacao) {
+            super(tempo);
+            this.verificacao = verificacao;
+        }
+
+        @Override
+        public void executar(ContextoSimulacao contexto) {
+            throw new IllegalStateException("A marca de uma verificação não é executada.");
+        }
+    }
+
+    /**
+     * O estado de um processo salvo ao retirar a marca de uma verificação.
+     */
+    private static final class EstadoProcesso {
+        private final int verificacao;
+        private final ContextoSimulacao.Estado contexto;
+        private final EstacaoDeTransferencia.Estado estacao;
+        /** O lixo acumulado em cada zona do processo, na ordem das zonas do processo. */
+        private final int[] lixoZonas;
+        private final long eventosProcessados;
+        private final int tempoUltimoEvento;
+
+        private EstadoProcesso(int verificacao, ContextoSimulacao.Estado contexto, EstacaoDeTransferencia.Estado estacao,
+                               int[] lixoZonas, long eventosProcessados, int tempoUltimoEvento) {
+            this.verificacao = verificacao;
+            this.contexto = contexto;
+            this.estacao = estacao;
+            this.lixoZonas = lixoZonas;
+            this.eventosProcessados = eventosProcessados;
+            this.tempoUltimoEvento = tempoUltimoEvento;
+        }
+    }
+
+    /**
+     * Um processo lógico: uma estação, as suas zonas e os caminhões dessas zonas.
+     * <p>
+     * Os campos do processo só são alterados pela thread que o executa, e as threads do
+     * coordenador e dos processos se alternam pelas tarefas submetidas ao {@link ForkJoinPool}.
+     */
+    private final class ProcessoLogico {
+        private final ContextoSimulacao contexto;
+        private final EstacaoDeTransferencia estacao;
+        /** Os identificadores das zonas do processo, na ordem do cenário. */
+        private final ListaArray<Integer> zonas = new ListaArray<>();
+        /** As posições, na frota planejada, dos caminhões que atendem zonas do processo, na ordem da distribuição. */
+        private final ListaArray<Integer> caminhoesPlanejados = new ListaArray<>();
+        /** Os reforços recebidos, em ordem de verificação. */
+        private final ListaArray<Reforco> reforcos = new ListaArray<>();
+
+        /** Os caminhões do processo. */
+        private Frota frota;
+        /** As zonas do processo, ordenadas pelo lixo acumulado. */
+        private FilaPrioridadeZonas filaZonas;
+        /** Número de eventos processados, sem contar os descartados nas reversões nem as marcas. */
+        private long eventosProcessados;
+        /** O tempo do último evento processado, sem contar as marcas. */
+        private int tempoUltimoEvento;
+
+        /** Quantas marcas de verificação o processo já retirou (a próxima é a desse índice). */
+        private int verificacoesAlcancadas;
+        /** A última verificação cuja marca o processo agenda; diminui quando o supervisor encerra. */
+        private int ultimaVerificacao;
+        /** A marca agendada e ainda não retirada, ou {@code null}. */
+        private AgendamentoEvento marcaPendente;
+
+        /** Resumo de cada verificação do supervisor: caminhões ativos no momento da verificação. */
+        private int[] ativosNaVerificacao;
+        /** Resumo de cada verificação: a zona mais suja com lixo restante, ou -1 se não houver. */
+        private int[] zonaMaisSujaNaVerificacao;
+        /** Resumo de cada verificação: o lixo acumulado na zona mais suja. */
+        private int[] lixoMaisSujoNaVerificacao;
+        /**
+         * Os estados salvos nas marcas das verificações ainda não descartadas, o da verificação
+         * {@code v} na posição {@code v % estados.length}; cabem os da janela de especulação.
+         */
+        private EstadoProcesso[] estados;
+
+        private ProcessoLogico(ContextoSimulacao contexto, EstacaoDeTransferencia estacao) {
+            this.contexto = contexto;
+            this.estacao = estacao;
+        }
+
+        /**
+         * Devolve o contexto e a estação ao estado inicial, cria as zonas e os caminhões do
+         * processo e agenda a primeira coleta de cada caminhão e a marca da primeira verificação.
+         */
+        private void preparar() {
+            contexto.reiniciar();
+            contexto.configurarRoteamento(coordenador.getDistanciaZonas());
+            frota = new Frota(zonasPorId, caminhoesPlanejados.getTamanho());
+            contexto.setFrota(frota);
+            estacao.reiniciar();
+            reforcos.limpar();
+            eventosProcessados = 0;
+            tempoUltimoEvento = 0;
+            verificacoesAlcancadas = 0;
+            ultimaVerificacao = quantidadeVerificacoes - 1;
+            marcaPendente = null;
+            ativosNaVerificacao = new int[quantidadeVerificacoes];
+            zonaMaisSujaNaVerificacao = new int[quantidadeVerificacoes];
+            lixoMaisSujoNaVerificacao = new int[quantidadeVerificacoes];
+            estados = new EstadoProcesso[JANELA_ESPECULACAO + 1];
+
+            filaZonas = new FilaPrioridadeZonas(zonas.getTamanho());
+            for (int id : zonas) {
+                Zonas zona = new Zonas(id, cenario.getNomeZona(id), cenario.getLixoMinimo(id), cenario.getLixoMaximo(id));
+                filaZonas.adicionar(zona);
+                zona.setGerador(contexto.criarFluxoZona(zona));
+                zona.gerarLixoDiario();
+                zonasPorId[id] = zona;
+            }
+
+            List<ColetaLixo> coletas = new ArrayList<>(caminhoesPlanejados.getTamanho());
+            for (int planejado : caminhoesPlanejados) {
+                int caminhao = frota.adicionar(planejada.getNumero(planejado), planejada.getCapacidadeMaxima(planejado),
+                        planejada.getViagensRestantes(planejado), planejada.getZona(planejado));
+                frota.setGerador(caminhao, contexto.criarFluxoCaminhao(frota.getId(caminhao)));
+                coletas.add(new ColetaLixo(0, caminhao, frota.getDestinoZona(caminhao)));
+            }
+            contexto.getAgenda().adicionarEventos(coletas);
+            agendarMarca(0);
+        }
+
+        /**
+         * Indica se o processo ainda tem eventos até o tempo máximo e não retirou a marca
+         * anterior à verificação {@code alvo}.
+         */
+        private boolean precisaAvancar(int alvo) {
+            Evento proximoEvento = contexto.getAgenda().espiarProximoEvento();
+            return verificacoesAlcancadas < alvo && proximoEvento != null && proximoEvento.getTempo() <= tempoMaximo;
+        }
+
+        /**
+         * Processa, em ordem, os eventos do processo até o tempo máximo, parando depois de
+         * retirar a marca anterior à verificação {@code alvo}.
+         */
+        private void avancar(int alvo) {
+            GerenciadorAgenda agenda = contexto.getAgenda();
+            Evento proximoEvento = agenda.espiarProximoEvento();
+            while (verificacoesAlcancadas < alvo && proximoEvento != null && proximoEvento.getTempo() <= tempoMaximo) {
+                Evento eventoAtual = agenda.proximoEvento();
+                if (eventoAtual instanceof MarcaVerificacao) {
+                    retirarMarca(((MarcaVerificacao) eventoAtual).verificacao);
+                } else {
+                    eventoAtual.executar(contexto);
+                    agenda.notificarObservers(eventoAtual);
+                    eventosProcessados++;
+                    tempoUltimoEvento = eventoAtual.getTempo();
+                }
+                proximoEvento = agenda.espiarProximoEvento();
+            }
+        }
+
+        /**
+         * Guarda o resumo da verificação, salva o estado do processo e agenda os reforços já
+         * recebidos da verificação e a marca da seguinte.
+         */
+        private void retirarMarca(int verificacao) {
+            marcaPendente = null;
+            ativosNaVerificacao[verificacao] = frota.getCaminhoesAtivosRegistrados();
+            Zonas maisSuja = filaZonas.espiarMaisSuja();
+            boolean temLixo = maisSuja != null && maisSuja.temLixoRestante();
+            zonaMaisSujaNaVerificacao[verificacao] = temLixo ? maisSuja.getId() : -1;
+            lixoMaisSujoNaVerificacao[verificacao] = temLixo ? maisSuja.getLixoAcumulado() : 0;
+
+            int[] lixoZonas = new int[zonas.getTamanho()];
+            for (int i = 0; i < lixoZonas.length; i++) {
+                lixoZonas[i] = zonasPorId[zonas.getValor(i)].getLixoAcumulado();
+            }
+            int posicao = verificacao % estados.length;
+            if (estados[posicao] != null) {
+                throw new IllegalStateException("O processo da estação " + estacao.getNomeEstacao()
+                        + " passou da janela de especulação na verificação " + verificacao + ".");
+            }
+            estados[posicao] = new EstadoProcesso(verificacao, contexto.salvarEstado(), estacao.salvarEstado(), lixoZonas,
+                    eventosProcessados, tempoUltimoEvento);
+            verificacoesAlcancadas = verificacao + 1;
+            entregarMensagens(verificacao);
+        }
+
+        /**
+         * Agenda, logo depois da marca da verificação, os reforços enviados por ela e a marca
+         * da verificação seguinte, na ordem em que o {@link Simulador} os agendaria.
+         */
+        private void entregarMensagens(int verificacao) {
+            for (Reforco reforco : reforcos) {
+                if (reforco.verificacao == verificacao) {
+                    entregar(reforco);
+                }
+            }
+            agendarMarca(verificacao + 1);
+        }
+
+        /**
+         * Agenda a marca da verificação informada, se o supervisor ainda puder executá-la.
+         */
+        private void agendarMarca(int verificacao) {
+            if (verificacao <= ultimaVerificacao) {
+                int tempo = VerificarFimDeTurno.PRIMEIRA_VERIFICACAO + verificacao * VerificarFimDeTurno.INTERVALO_VERIFICACAO;
+                marcaPendente = contexto.getAgenda().adicionarEvento(new MarcaVerificacao(tempo, verificacao));
+            }
+        }
+
+        /**
+         * Adiciona um caminhão de reforço à frota do processo e agenda a sua coleta.
+         */
+        private void entregar(Reforco reforco) {
+            int caminhaoExtra = frota.adicionarReforco(reforco.numero, CAPACIDADE_REFORCO, 1, reforco.zona);
+            frota.setGerador(caminhaoExtra, contexto.criarFluxoCaminhao(frota.getId(caminhaoExtra)));
+            contexto.getAgenda().adicionarEvento(new ColetaLixo(reforco.tempo, caminhaoExtra, zonasPorId[reforco.zona]));
+        }
+
+        /**
+         * Recebe um reforço atrasado: volta ao estado salvo na marca da verificação que o enviou,
+         * descartando o que foi executado depois, e agenda o reforço e a marca seguinte.
+         */
+        private void reverter(int verificacao, Reforco reforco) {
+            EstadoProcesso estado = estados[verificacao % estados.length];
+            if (estado == null || estado.verificacao != verificacao || verificacoesAlcancadas <= verificacao) {
+                throw new IllegalStateException("O processo da estação " + estacao.getNomeEstacao()
+                        + " não tem o estado da verificação " + verificacao + ".");
+            }
+            reforcos.adicionar(reforco);
+            eventosDescartados += eventosProcessados - estado.eventosProcessados;
+            reversoes++;
+
+            contexto.restaurarEstado(estado.contexto);
+            estacao.restaurarEstado(estado.estacao);
+            for (int i = 0; i < estado.lixoZonas.length; i++) {
+                zonasPorId[zonas.getValor(i)].restaurarLixoAcumulado(estado.lixoZonas[i]);
+            }
+            eventosProcessados = estado.eventosProcessados;
+            tempoUltimoEvento = estado.tempoUltimoEvento;
+            for (int posterior = verificacao + 1; posterior < verificacoesAlcancadas; posterior++) {
+                estados[posterior % estados.length] = null;
+            }
+            verificacoesAlcancadas = verificacao + 1;
+            marcaPendente = null;
+            entregarMensagens(verificacao);
+        }
+
+        /**
+         * Antimensagem do supervisor, que encerrou na verificação informada: cancela a marca
+         * pendente da verificação seguinte e descarta os resumos e estados das marcas já
+         * retiradas depois dela. Como as marcas não alteram o estado, nada é revertido.
+         */
+        private void anularMarcasDepois(int verificacao) {
+            ultimaVerificacao = verificacao;
+            if (marcaPendente != null) {
+                marcaPendente.cancelar();
+                marcaPendente = null;
+            }
+            for (int posterior = verificacao + 1; posterior < verificacoesAlcancadas; posterior++) {
+                estados[posterior % estados.length] = null;
+            }
+            verificacoesAlcancadas = Math.min(verificacoesAlcancadas, verificacao + 1);
+        }
+
+        /**
+         * Coleta de fósseis: descarta os estados salvos até a verificação informada, que o
+         * supervisor já executou e para a qual nenhum reforço pode mais chegar, e o que o
+         * contexto registrou para restaurá-los.
+         */
+        private void descartarEstadosAte(int verificacao) {
+            for (int i = 0; i < estados.length; i++) {
+                if (estados[i] != null && estados[i].verificacao <= verificacao) {
+                    estados[i] = null;
+                }
+            }
+            EstadoProcesso seguinte = estados[(verificacao + 1) % estados.length];
+            if (seguinte != null) {
+                contexto.descartarEstadosAnteriores(seguinte.contexto);
+            } else {
+                contexto.descartarEstados();
+            }
+        }
+    }
+}
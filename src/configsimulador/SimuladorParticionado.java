@@ -0,0 +1,467 @@
+package configsimulador;
+
+import caminhoes.Frota;
+import estacoes.EstacaoDeTransferencia;
+import eventos.ColetaLixo;
+import eventos.DistribuirRota;
+import eventos.Evento;
+import eventos.GerenciadorAgenda;
+import eventos.ISupervisionavel;
+import eventos.VerificarFimDeTurno;
+import registro.MensagemRegistro;
+import registro.Registrador;
+import tads.ListaArray;
+import zonas.DistanciaZonas;
+import zonas.FilaPrioridadeZonas;
+import zonas.PoliticaRoteamento;
+import zonas.Zonas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Simulação de coleta de lixo dividida em partições, uma por estação de transferência,
+ * que são processadas em paralelo (simulação de eventos discretos conservadora).
+ * <p>
+ * Com a {@linkplain PoliticaRoteamento#FIXA rota fixa}, cada caminhão pequeno só visita a sua
+ * zona e a estação dessa zona. A partição de uma estação reúne a estação, as suas zonas e os
+ * caminhões dessas zonas, com um {@link ContextoSimulacao} (agenda, estatísticas e caminhões
+ * grandes) próprio. Nenhum evento de uma partição agenda eventos em outra.
+ * <p>
+ * O único acoplamento entre as partições é o supervisor ({@link VerificarFimDeTurno}), que
+ * consulta a frota inteira e a zona mais suja da cidade e pode enviar um reforço a qualquer
+ * partição. Os eventos do supervisor ficam na agenda de um contexto coordenador, e tudo o que
+ * ele envia a uma partição passa pela caixa de entrada dela, com o tempo de cada mensagem.
+ * <p>
+ * A simulação avança em janelas de tempo. Uma janela vai do menor tempo pendente em todas as
+ * partições até esse tempo mais a antecipação ({@link #ANTECIPACAO}, a viagem mais curta até
+ * uma estação), sem passar da próxima verificação: nenhuma mensagem gerada dentro da janela
+ * pode chegar a outra partição antes do seu fim. As partições processam a janela em paralelo
+ * e param na barreira seguinte.
+ * <p>
+ * Para que a verificação ocupe, entre os eventos do mesmo minuto, a posição que teria na agenda
+ * do {@link Simulador}, cada verificação agendada gera uma marca na caixa de entrada de cada
+ * partição, enviada depois dos reforços da verificação anterior. A marca entra na agenda da
+ * partição na mesma ordem de agendamento e não é executada: a partição processa os eventos do
+ * minuto da verificação até retirá-la, e só então o supervisor executa. Assim, o resultado é o
+ * mesmo da execução sequencial com a mesma semente.
+ * <p>
+ * O resultado não depende do número de threads: cada partição processa os seus eventos na
+ * mesma ordem em qualquer execução, e os fluxos aleatórios das zonas e dos caminhões são
+ * derivados do contexto coordenador, como no {@link Simulador}.
+ */
+public class SimuladorParticionado implements ISupervisionavel {
+
+    /**
+     * A antecipação (lookahead) das partições, em minutos: a duração mínima de uma viagem fora
+     * do horário de pico. Um caminhão só chega a uma estação, e portanto só poderia afetar outra
+     * partição, pelo menos esse tempo depois do evento que o despachou.
+     */
+    private static final int ANTECIPACAO = ConfiguracoesDoSimulador.VIAGEM_MIN_FORA_PICO;
+
+    /** O contexto do supervisor: a agenda das verificações, o registro e a contagem de reforços. */
+    private final ContextoSimulacao coordenador;
+
+    /** O contexto de cada partição, na ordem das estações do cenário. */
+    private ContextoSimulacao[] particoes;
+    /** As mensagens enviadas a cada partição e ainda não entregues à sua agenda. */
+    private CaixaDeEntrada[] caixasDeEntrada;
+    /** As zonas de cada partição, ordenadas pelo lixo acumulado. */
+    private FilaPrioridadeZonas[] filasZonas;
+    /** A estação (e, portanto, a partição) de cada zona, indexada pelo identificador da zona. */
+    private int[] particaoDaZona;
+    /** As zonas da cidade, na ordem do cenário. */
+    private ListaArray<Zonas> zonas;
+    /** A frota inteira, compartilhada pelas partições. */
+    private Frota caminhoes;
+    /** Número de eventos processados, incluindo as verificações do supervisor. */
+    private long eventosProcessados;
+
+    /**
+     * Cria uma simulação particionada que usa o contexto informado como coordenador.
+     * A semente, o tipo de agenda e a disciplina das filas do coordenador valem para todas as partições.
+     *
+     * @param coordenador O contexto do supervisor.
+     * @throws IllegalArgumentException se o contexto for nulo.
+     */
+    public SimuladorParticionado(ContextoSimulacao coordenador) {
+        if (coordenador == null) {
+            throw new IllegalArgumentException("O contexto da simulação não pode ser nulo.");
+        }
+        this.coordenador = coordenador;
+    }
+
+    /**
+     * Retorna o contexto coordenador desta simulação.
+     *
+     * @return O {@link ContextoSimulacao} do supervisor.
+     */
+    public ContextoSimulacao getCoordenador() {
+        return coordenador;
+    }
+
+    /**
+     * Inicializa as partições na cidade descrita pelo cenário: cria uma partição por estação,
+     * gera o lixo inicial das zonas, distribui os caminhões e agenda a primeira coleta de cada
+     * caminhão na partição da sua zona e a primeira verificação do supervisor no coordenador,
+     * com a sua marca em cada partição.
+     *
+     * @param params  Os parâmetros de simulação (frota e horas a simular).
+     * @param cenario O cenário com as zonas e estações da cidade.
+     * @return A lista de zonas inicializadas.
+     * @throws IllegalArgumentException se o cenário for nulo ou se a política de roteamento do
+     *                                  coordenador não for {@link PoliticaRoteamento#FIXA}.
+     */
+    public ListaArray<Zonas> inicializar(ParametrosSimulacao params, CenarioSimulacao cenario) {
+        if (cenario == null) {
+            throw new IllegalArgumentException("O cenário da simulação não pode ser nulo.");
+        }
+        if (coordenador.getPoliticaRoteamento() != PoliticaRoteamento.FIXA) {
+            throw new IllegalArgumentException("A simulação particionada exige a política de roteamento FIXA.");
+        }
+        coordenador.reiniciar();
+        eventosProcessados = 0;
+        Registrador registro = coordenador.getRegistrador();
+        registro.registrar(MensagemRegistro.SIMULADOR_INICIO, 0);
+
+        int quantidadeEstacoes = cenario.getQuantidadeEstacoes();
+        particoes = new ContextoSimulacao[quantidadeEstacoes];
+        filasZonas = new FilaPrioridadeZonas[quantidadeEstacoes];
+        caixasDeEntrada = new CaixaDeEntrada[quantidadeEstacoes];
+        EstacaoDeTransferencia[] estacoes = new EstacaoDeTransferencia[quantidadeEstacoes];
+        for (int i = 0; i < quantidadeEstacoes; i++) {
+            particoes[i] = new ContextoSimulacao(coordenador.getAgenda().getTipoAgenda(), coordenador.getSemente());
+            particoes[i].setDisciplinaFila(coordenador.getDisciplinaFila());
+            estacoes[i] = new EstacaoDeTransferencia(i, cenario.getNomeEstacao(i), particoes[i]);
+            filasZonas[i] = new FilaPrioridadeZonas(0);
+            caixasDeEntrada[i] = new CaixaDeEntrada();
+        }
+
+        this.zonas = cenario.criarZonas();
+        DistanciaZonas roteamento = cenario.criarRoteamento(zonas, estacoes);
+        coordenador.configurarRoteamento(roteamento);
+        for (ContextoSimulacao particao : particoes) {
+            particao.configurarRoteamento(roteamento);
+        }
+
+        particaoDaZona = new int[zonas.getTamanho()];
+        for (Zonas zona : zonas) {
+            particaoDaZona[zona.getId()] = cenario.getEstacaoDaZona(zona.getId());
+            filasZonas[particaoDaZona[zona.getId()]].adicionar(zona);
+            zona.setGerador(coordenador.criarFluxoZona(zona));
+            int lixoGerado = zona.gerarLixoDiario();
+            registro.registrar(MensagemRegistro.ZONA_LIXO_GERADO, 0, zona.getNome(), lixoGerado, zona.getLixoAcumulado());
+        }
+
+        // Os caminhões são criados no coordenador, na mesma ordem do Simulador, e a primeira
+        // coleta de cada um (o único evento agendado pela distribuição) vai para a sua partição.
+        // Todas as partições usam a frota do coordenador; cada uma só altera os seus caminhões
+        // e o contador de ativos do seu grupo de zonas.
+        this.caminhoes = DistribuirRota.distribuir(zonas, params, coordenador);
+        caminhoes.particionar(particaoDaZona, particoes.length);
+        for (ContextoSimulacao particao : particoes) {
+            particao.setFrota(caminhoes);
+        }
+        GerenciadorAgenda agendaCoordenador = coordenador.getAgenda();
+        List<List<ColetaLixo>> coletasPorParticao = new ArrayList<>(particoes.length);
+        for (int i = 0; i < particoes.length; i++) {
+            coletasPorParticao.add(new ArrayList<>());
+        }
+        while (!agendaCoordenador.estaVazia()) {
+            ColetaLixo coleta = (ColetaLixo) agendaCoordenador.proximoEvento();
+            coletasPorParticao.get(particaoDaZona[coleta.getZona().getId()]).add(coleta);
+        }
+        for (int i = 0; i < particoes.length; i++) {
+            particoes[i].getAgenda().adicionarEventos(coletasPorParticao.get(i));
+        }
+
+        agendaCoordenador.adicionarEvento(new VerificarFimDeTurno(VerificarFimDeTurno.PRIMEIRA_VERIFICACAO, this));
+        enviarMarcas(VerificarFimDeTurno.PRIMEIRA_VERIFICACAO);
+        registro.registrar(MensagemRegistro.SIMULADOR_CONFIGURADO, 0, params.getHorasASimular());
+        return zonas;
+    }
+
+    /**
+     * Executa a simulação até que não haja mais eventos ou até que o próximo evento ultrapasse
+     * o tempo máximo, processando as partições de cada janela de tempo em paralelo.
+     *
+     * @param tempoMaximo O tempo máximo simulado, em minutos.
+     * @param paralelismo O número de threads usadas para processar as partições.
+     * @throws IllegalArgumentException se o paralelismo não for positivo.
+     */
+    public void executar(int tempoMaximo, int paralelismo) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("O paralelismo deve ser pelo menos 1.");
+        }
+        GerenciadorAgenda agendaCoordenador = coordenador.getAgenda();
+        ForkJoinPool pool = new ForkJoinPool(paralelismo);
+        try {
+            while (true) {
+                Evento verificacao = agendaCoordenador.espiarProximoEvento();
+                boolean haVerificacao = verificacao != null && verificacao.getTempo() <= tempoMaximo;
+                int limite = haVerificacao ? verificacao.getTempo() : tempoMaximo + 1;
+                long menorTempo = getMenorTempoPendente();
+                if (!haVerificacao && menorTempo > tempoMaximo) {
+                    break;
+                }
+                int fimJanela = (int) Math.min(limite, menorTempo + ANTECIPACAO);
+                boolean ateVerificacao = haVerificacao && fimJanela == limite;
+
+                eventosProcessados += pool.submit(() -> IntStream.range(0, particoes.length).parallel()
+                        .mapToLong(p -> executarJanela(p, fimJanela, ateVerificacao)).sum()).get();
+
+                if (ateVerificacao) {
+                    Evento eventoAtual = agendaCoordenador.proximoEvento();
+                    eventoAtual.executar(coordenador);
+                    agendaCoordenador.notificarObservers(eventoAtual);
+                    eventosProcessados++;
+                    Evento proximaVerificacao = agendaCoordenador.espiarProximoEvento();
+                    if (proximaVerificacao != null) {
+                        enviarMarcas(proximaVerificacao.getTempo());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("A execução das partições foi interrompida.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Falha ao executar as partições.", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Entrega a uma partição as mensagens da sua caixa de entrada e processa, em ordem, os seus
+     * eventos anteriores ao fim da janela. Se a janela termina em uma verificação, processa
+     * também os eventos desse minuto agendados antes dela, até retirar a sua marca.
+     *
+     * @return O número de eventos processados, sem contar a marca.
+     */
+    private long executarJanela(int indice, int fimJanela, boolean ateVerificacao) {
+        ContextoSimulacao particao = particoes[indice];
+        GerenciadorAgenda agenda = particao.getAgenda();
+        caixasDeEntrada[indice].entregar(agenda);
+        long eventos = 0;
+        Evento proximoEvento = agenda.espiarProximoEvento();
+        while (proximoEvento != null && (proximoEvento.getTempo() < fimJanela
+                || (ateVerificacao && proximoEvento.getTempo() == fimJanela))) {
+            Evento eventoAtual = agenda.proximoEvento();
+            if (eventoAtual instanceof MarcaVerificacao) {
+                break;
+            }
+            eventoAtual.executar(particao);
+            agenda.notificarObservers(eventoAtual);
+            eventos++;
+            proximoEvento = agenda.espiarProximoEvento();
+        }
+        return eventos;
+    }
+
+    /**
+     * Retorna o menor tempo entre os eventos pendentes e as mensagens não entregues de todas as
+     * partições, ou {@link Long#MAX_VALUE} se não houver nenhum.
+     */
+    private long getMenorTempoPendente() {
+        long menor = Long.MAX_VALUE;
+        for (int i = 0; i < particoes.length; i++) {
+            Evento proximo = particoes[i].getAgenda().espiarProximoEvento();
+            if (proximo != null) {
+                menor = Math.min(menor, proximo.getTempo());
+            }
+            menor = Math.min(menor, caixasDeEntrada[i].getMenorTempo());
+        }
+        return menor;
+    }
+
+    /**
+     * Envia a cada partição a marca da verificação agendada para o tempo informado.
+     */
+    private void enviarMarcas(int tempoVerificacao) {
+        for (CaixaDeEntrada caixa : caixasDeEntrada) {
+            caixa.enviar(new MarcaVerificacao(tempoVerificacao));
+        }
+    }
+
+    /**
+     * Adiciona um caminhão de reforço à frota e envia a sua coleta à caixa de entrada da
+     * partição da zona alvo. Só é chamado pelo supervisor, entre as janelas, quando nenhuma
+     * partição está executando.
+     *
+     * @param tempoAtual O tempo atual para agendar a coleta.
+     * @param zonaAlvo   A zona com mais lixo que precisa de coleta.
+     */
+    @Override
+    public void adicionarCaminhaoExtra(int tempoAtual, Zonas zonaAlvo) {
+        int caminhaoExtra = caminhoes.adicionarReforco(coordenador.registrarCaminhaoExtra(), 4, 1, zonaAlvo.getId());
+        String id = caminhoes.getId(caminhaoExtra);
+        caminhoes.setGerador(caminhaoExtra, coordenador.criarFluxoCaminhao(id));
+
+        caixasDeEntrada[particaoDaZona[zonaAlvo.getId()]].enviar(new ColetaLixo(tempoAtual, caminhaoExtra, zonaAlvo));
+        coordenador.getRegistrador().registrar(MensagemRegistro.REFORCO_ENVIADO, tempoAtual, id, zonaAlvo.getNome(), 4);
+    }
+
+    /**
+     * Verifica se algum caminhão da frota, em qualquer partição, ainda tem viagens restantes.
+     * O supervisor executa entre as janelas de tempo, quando soma os contadores de ativos de
+     * todas as partições.
+     *
+     * @return true se pelo menos um caminhão está ativo, false caso contrário.
+     */
+    @Override
+    public boolean verificarCaminhoesAtivos() {
+        return caminhoes.temCaminhoesAtivos();
+    }
+
+    /**
+     * Encontra a zona com mais lixo da cidade comparando a zona mais suja de cada partição.
+     * Em caso de empate, retorna a primeira zona do cenário.
+     *
+     * @return A zona com mais lixo, ou null se todas estiverem limpas.
+     */
+    @Override
+    public Zonas getZonaComMaisLixo() {
+        Zonas zonaMaisSuja = null;
+        for (FilaPrioridadeZonas fila : filasZonas) {
+            Zonas candidata = fila.espiarMaisSuja();
+            if (candidata != null && candidata.temLixoRestante()
+                    && (zonaMaisSuja == null || Zonas.MAIS_SUJA_PRIMEIRO.compare(candidata, zonaMaisSuja) < 0)) {
+                zonaMaisSuja = candidata;
+            }
+        }
+        return zonaMaisSuja;
+    }
+
+    /**
+     * @return O número de partições (uma por estação de transferência).
+     */
+    public int getQuantidadeParticoes() {
+        return particoes.length;
+    }
+
+    /**
+     * @return A frota da simulação, incluindo os caminhões de reforço.
+     */
+    public Frota getFrota() {
+        return caminhoes;
+    }
+
+    /**
+     * @return O número de eventos processados, incluindo as verificações do supervisor.
+     */
+    public long getEventosProcessados() {
+        return eventosProcessados;
+    }
+
+    /**
+     * @return O tempo do último evento processado em qualquer partição ou no coordenador.
+     */
+    public int getTempoAtual() {
+        int tempo = coordenador.getTempoAtual();
+        for (ContextoSimulacao particao : particoes) {
+            tempo = Math.max(tempo, particao.getTempoAtual());
+        }
+        return tempo;
+    }
+
+    /**
+     * @return O número total de caminhões grandes criados em todas as partições.
+     */
+    public int getTotalCaminhoesGrandes() {
+        int total = 0;
+        for (ContextoSimulacao particao : particoes) {
+            total += particao.getTotalCaminhoesGrandes();
+        }
+        return total;
+    }
+
+    /**
+     * @return O número de caminhões pequenos que esperaram na fila de uma estação.
+     */
+    public int getTotalCaminhoesNaFila() {
+        int total = 0;
+        for (ContextoSimulacao particao : particoes) {
+            total += particao.getTotalCaminhoesNaFila();
+        }
+        return total;
+    }
+
+    /**
+     * @return A soma dos tempos de espera (em minutos) nas filas das estações.
+     */
+    public long getTempoTotalEspera() {
+        long total = 0;
+        for (ContextoSimulacao particao : particoes) {
+            total += particao.getTempoTotalEspera();
+        }
+        return total;
+    }
+
+    /**
+     * @return As toneladas descarregadas pelos caminhões pequenos que saíram da fila de uma estação.
+     */
+    public long getToneladasDescarregadasFila() {
+        long total = 0;
+        for (ContextoSimulacao particao : particoes) {
+            total += particao.getToneladasDescarregadasFila();
+        }
+        return total;
+    }
+
+    /**
+     * Marca, na agenda de uma partição, a posição de uma verificação do supervisor entre os
+     * eventos do mesmo minuto. Não é executada: a partição para ao retirá-la.
+     */
+    private static final class MarcaVerificacao extends Evento {
+
+        private MarcaVerificacao(int tempo) {
+            super(tempo);
+        }
+
+        @Override
+        public void executar(ContextoSimulacao contexto) {
+            throw new IllegalStateException("A marca de uma verificação não é executada.");
+        }
+    }
+
+    /**
+     * Caixa de entrada de uma partição: as mensagens (eventos com o seu tempo) enviadas pelo
+     * supervisor, entregues à agenda da partição, na ordem de envio, no início da janela seguinte.
+     */
+    private static final class CaixaDeEntrada {
+        private final ListaArray<Evento> mensagens = new ListaArray<>();
+        private int menorTempo = Integer.MAX_VALUE;
+
+        private void enviar(Evento mensagem) {
+            mensagens.adicionar(mensagem);
+            menorTempo = Math.min(menorTempo, mensagem.getTempo());
+        }
+
+        private long getMenorTempo() {
+            return mensagens.estaVazia() ? Long.MAX_VALUE : menorTempo;
+        }
+
+        /**
+         * Agenda as mensagens na ordem de envio.
+         *
+         * @throws IllegalStateException se uma mensagem for anterior ao último evento da partição.
+         */
+        private void entregar(GerenciadorAgenda agenda) {
+            for (Evento mensagem : mensagens) {
+                if (mensagem.getTempo() < agenda.getTempoUltimoEvento()) {
+                    throw new IllegalStateException("Mensagem para o minuto " + mensagem.getTempo()
+                            + " entregue a uma partição já no minuto " + agenda.getTempoUltimoEvento() + ".");
+                }
+                agenda.adicionarEvento(mensagem);
+            }
+            mensagens.limpar();
+            menorTempo = Integer.MAX_VALUE;
+        }
+    }
+}
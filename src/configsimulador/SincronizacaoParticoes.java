@@ -0,0 +1,34 @@
+package configsimulador;
+
+/**
+ * Como uma execução paralela divide a cidade entre as threads e as sincroniza com o supervisor
+ * de fim de turno.
+ * <p>
+ * As formas {@link #CONSERVADORA} e {@link #OTIMISTA} dividem a cidade em uma partição fixa por
+ * estação e exigem a política de roteamento FIXA; elas diferem em quanto as partições esperam
+ * umas pelas outras. A forma {@link #LOTES} forma os grupos a cada minuto. Todas as formas
+ * chegam ao mesmo resultado da execução sequencial.
+ */
+public enum SincronizacaoParticoes {
+
+    /**
+     * As partições avançam em janelas limitadas pela viagem mais curta e param a cada
+     * verificação do supervisor, só avançando depois dela (veja {@link SimuladorParticionado}).
+     */
+    CONSERVADORA,
+
+    /**
+     * As partições executam até o fim sem esperar o supervisor, salvando o estado a cada
+     * verificação, e voltam ao estado salvo quando recebem um reforço no passado (Time Warp;
+     * veja {@link SimuladorOtimista}).
+     */
+    OTIMISTA,
+
+    /**
+     * Uma única agenda para a cidade inteira: a cada minuto, os eventos simultâneos são
+     * divididos em grupos independentes pelos recursos que declaram, e os grupos são
+     * executados em paralelo (veja {@link eventos.ProcessadorLotes}). Aceita qualquer política
+     * de roteamento.
+     */
+    LOTES
+}
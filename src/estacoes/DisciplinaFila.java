@@ -0,0 +1,62 @@
+package estacoes;
+
+import caminhoes.Frota;
+import configsimulador.ConfiguracoesDoSimulador;
+import tads.FilaCircularInt;
+import tads.FilaDeEsperaInt;
+import tads.FilaPrioridadeInt;
+
+/**
+ * Define a ordem em que os caminhões pequenos da fila de espera de uma estação de
+ * transferência descarregam quando chega um novo caminhão grande.
+ * <p>
+ * As filas guardam a posição de cada caminhão na frota. Exceto {@link #FIFO}, que usa uma
+ * {@link FilaCircularInt}, as disciplinas usam uma {@link FilaPrioridadeInt}: a prioridade de cada
+ * caminhão é calculada uma única vez, quando ele entra na fila, e o caminhão de maior
+ * prioridade descarrega primeiro (empates saem por ordem de chegada).
+ */
+public enum DisciplinaFila {
+    /** Os caminhões descarregam na ordem de chegada. */
+    FIFO,
+    /** O caminhão com mais carga descarrega primeiro, enchendo o caminhão grande mais depressa. */
+    MAIOR_CARGA,
+    /** O caminhão com mais viagens restantes no dia descarrega primeiro, para voltar logo à coleta. */
+    MAIS_VIAGENS,
+    /**
+     * Como {@link #MAIS_VIAGENS}, mas a espera também conta: cada
+     * {@link ConfiguracoesDoSimulador#TEMPO_MAX_ESPERA_PEQUENO} minutos na fila valem uma viagem
+     * restante, de modo que nenhum caminhão espera indefinidamente.
+     */
+    ENVELHECIMENTO;
+
+    /**
+     * Calcula a prioridade de um caminhão que entra na fila (quanto maior, antes ele descarrega).
+     *
+     * @param frota      A frota da simulação.
+     * @param caminhao   A posição, na frota, do caminhão que entra na fila.
+     * @param tempoAtual O tempo de entrada na fila.
+     * @return A prioridade do caminhão; sempre 0 em {@link #FIFO}.
+     */
+    public int calcularPrioridade(Frota frota, int caminhao, int tempoAtual) {
+        switch (this) {
+            case MAIOR_CARGA:
+                return frota.getCargaAtual(caminhao);
+            case MAIS_VIAGENS:
+                return frota.getViagensRestantes(caminhao);
+            case ENVELHECIMENTO:
+                // Quem entrou antes tem prioridade maior; a diferença cresce com o tempo de espera.
+                return frota.getViagensRestantes(caminhao) * ConfiguracoesDoSimulador.TEMPO_MAX_ESPERA_PEQUENO - tempoAtual;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Cria uma fila de espera vazia que segue esta disciplina.
+     *
+     * @return Uma {@link FilaCircularInt} em {@link #FIFO}; uma {@link FilaPrioridadeInt} nas demais.
+     */
+    public FilaDeEsperaInt criarFila() {
+        return this == FIFO ? new FilaCircularInt() : new FilaPrioridadeInt();
+    }
+}
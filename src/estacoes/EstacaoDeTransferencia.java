@@ -1,35 +1,123 @@
 package estacoes;
 
-import caminhoes.CaminhaoPequeno;
 import caminhoes.CaminhaoGrande;
+import caminhoes.Frota;
 import configsimulador.ConfiguracoesDoSimulador;
-import configsimulador.Simulador;
+import configsimulador.ContextoSimulacao;
 import eventos.ColetaLixo;
 import eventos.GeracaoCaminhaoGrande;
-import eventos.GerenciadorAgenda;
-import tads.Fila;
-import timer.Timer;
+import eventos.RecursosEvento;
+import registro.MensagemRegistro;
+import registro.Registrador;
+import tads.FilaDeEsperaInt;
+import zonas.PoliticaRoteamento;
+import zonas.Zonas;
 
 /**
  * Representa uma estação de transferência no sistema de coleta de lixo.
  * Esta classe gerencia a chegada de caminhões pequenos, o descarregamento de sua carga
  * em um caminhão grande, a fila de espera e o despacho do caminhão grande para o aterro.
+ * Os caminhões pequenos são referenciados pela sua posição na frota da simulação
+ * ({@link ContextoSimulacao#getFrota()}).
  */
 public class EstacaoDeTransferencia {
 
+    /** Identificador das estações criadas sem um identificador. */
+    public static final int SEM_ID = -1;
+
+    private final int id;
     private String nomeEstacao;
-    private Fila<CaminhaoPequeno> filaCaminhoesPequeos;
+    /** As posições, na frota, dos caminhões pequenos que esperam para descarregar. */
+    private FilaDeEsperaInt filaCaminhoesPequeos;
     private CaminhaoGrande caminhaoGrandeReceber;
+    /** Soma das cargas (em toneladas) dos caminhões pequenos na fila de espera. */
+    private int cargaNaFila;
+    private final ContextoSimulacao contexto;
 
     /**
-     * Construtor da EstacaoDeTransferencia.
+     * Construtor da EstacaoDeTransferencia, sem identificador numérico.
      *
      * @param nomeEstacao O nome identificador da estação.
+     * @param contexto    O contexto da simulação à qual a estação pertence (agenda, estatísticas e IDs).
+     * @throws IllegalArgumentException se o contexto for nulo.
      */
-    public EstacaoDeTransferencia(String nomeEstacao) {
+    public EstacaoDeTransferencia(String nomeEstacao, ContextoSimulacao contexto) {
+        this(SEM_ID, nomeEstacao, contexto);
+    }
+
+    /**
+     * Construtor da EstacaoDeTransferencia com o seu identificador no cenário.
+     *
+     * @param id          O identificador da estação: a sua posição no cenário, a partir de 0.
+     * @param nomeEstacao O nome da estação.
+     * @param contexto    O contexto da simulação à qual a estação pertence (agenda, estatísticas e IDs).
+     * @throws IllegalArgumentException se o identificador for inválido ou o contexto for nulo.
+     */
+    public EstacaoDeTransferencia(int id, String nomeEstacao, ContextoSimulacao contexto) {
+        if (id < SEM_ID) {
+            throw new IllegalArgumentException("O identificador da estação não pode ser negativo: " + id);
+        }
+        if (contexto == null) {
+            throw new IllegalArgumentException("O contexto da simulação não pode ser nulo.");
+        }
+        this.id = id;
         this.nomeEstacao = nomeEstacao;
-        this.filaCaminhoesPequeos = new Fila<>();
-        this.caminhaoGrandeReceber = new CaminhaoGrande();
+        this.contexto = contexto;
+        this.filaCaminhoesPequeos = contexto.getDisciplinaFila().criarFila();
+        this.caminhaoGrandeReceber = contexto.criarCaminhaoGrande();
+    }
+
+    /**
+     * Devolve a estação ao estado de recém-criada: fila de espera vazia e um caminhão grande
+     * novo, obtido do contexto. Usado quando o contexto da estação é reiniciado para executar
+     * de novo a mesma simulação.
+     */
+    public void reiniciar() {
+        this.filaCaminhoesPequeos = contexto.getDisciplinaFila().criarFila();
+        this.cargaNaFila = 0;
+        this.caminhaoGrandeReceber = contexto.criarCaminhaoGrande();
+    }
+
+    /**
+     * Salva o estado da estação (fila de espera, carga na fila e caminhão grande atual), que
+     * pode ser restaurado com {@link #restaurarEstado(Estado)}.
+     *
+     * @return Uma cópia do estado atual da estação.
+     */
+    public Estado salvarEstado() {
+        return new Estado(this);
+    }
+
+    /**
+     * Volta a estação a um estado salvo com {@link #salvarEstado()}. O caminhão grande atual é
+     * recriado com o identificador e a carga salvos. O estado salvo não é alterado e pode ser
+     * restaurado de novo.
+     *
+     * @param estado O estado a ser restaurado.
+     * @throws IllegalArgumentException se o estado for nulo.
+     */
+    public void restaurarEstado(Estado estado) {
+        if (estado == null) {
+            throw new IllegalArgumentException("O estado da estação não pode ser nulo.");
+        }
+        this.filaCaminhoesPequeos = estado.fila.copiar();
+        this.cargaNaFila = estado.cargaNaFila;
+        if (estado.idCaminhaoGrande == SEM_ID) {
+            this.caminhaoGrandeReceber = null;
+        } else {
+            this.caminhaoGrandeReceber = new CaminhaoGrande(estado.idCaminhaoGrande);
+            this.caminhaoGrandeReceber.adicionarCarga(estado.cargaCaminhaoGrande);
+        }
+        atualizarRoteamento();
+    }
+
+    /**
+     * Retorna o identificador da estação, usado para indexar as tabelas de roteamento.
+     *
+     * @return A posição da estação no cenário, ou {@link #SEM_ID} se a estação não tiver identificador.
+     */
+    public int getId() {
+        return id;
     }
 
     /**
@@ -42,11 +130,13 @@ public class EstacaoDeTransferencia {
     }
 
     /**
-     * Retorna a fila de caminhões pequenos que estão esperando para descarregar.
+     * Retorna a fila de caminhões pequenos que estão esperando para descarregar, ordenada
+     * conforme a {@link DisciplinaFila} da simulação. A fila guarda a posição de cada caminhão
+     * na frota ({@link ContextoSimulacao#getFrota()}).
      *
      * @return A fila de caminhões pequenos.
      */
-    public Fila<CaminhaoPequeno> getFilaCaminhoesPequeos() {
+    public FilaDeEsperaInt getFilaCaminhoesPequeos() {
         return filaCaminhoesPequeos;
     }
 
@@ -59,6 +149,51 @@ public class EstacaoDeTransferencia {
         return caminhaoGrandeReceber;
     }
 
+    /**
+     * Estima quanto tempo um caminhão pequeno que chegasse agora esperaria para descarregar.
+     * <p>
+     * Sem um caminhão grande com espaço, o caminhão entraria na fila e esperaria até a
+     * tolerância ({@link ConfiguracoesDoSimulador#TEMPO_MAX_ESPERA_PEQUENO}). Além disso, a carga
+     * dos caminhões já na fila precisa ser descarregada antes, à taxa de
+     * {@link ConfiguracoesDoSimulador#TEMPO_DESCARGA_TONELADA} minutos por tonelada.
+     *
+     * @return A espera estimada, em minutos.
+     */
+    public int estimarEspera() {
+        int espera = cargaNaFila * ConfiguracoesDoSimulador.TEMPO_DESCARGA_TONELADA;
+        if (caminhaoGrandeReceber == null || caminhaoGrandeReceber.prontoParaPartida()) {
+            espera += ConfiguracoesDoSimulador.TEMPO_MAX_ESPERA_PEQUENO;
+        }
+        return espera;
+    }
+
+    /**
+     * Declara os recursos usados pelos eventos que a estação atende: a própria estação (com a
+     * sua fila de espera e os caminhões nela) e, com a política {@link PoliticaRoteamento#MENOR_CUSTO},
+     * o roteamento, que recebe a espera estimada da estação. As estatísticas e a numeração de
+     * caminhões grandes do contexto aceitam atualizações de várias threads e não são declaradas,
+     * para que os eventos de estações diferentes possam ser executados em paralelo.
+     *
+     * @param recursos O conjunto que recebe os recursos.
+     */
+    public void declararRecursos(RecursosEvento recursos) {
+        recursos.adicionar(this);
+        if (contexto.getPoliticaRoteamento() == PoliticaRoteamento.MENOR_CUSTO) {
+            recursos.adicionar(contexto.getDistanciaZonas());
+        }
+    }
+
+    /**
+     * Informa ao roteamento da simulação que a espera estimada da estação pode ter mudado.
+     * Só a política {@link PoliticaRoteamento#MENOR_CUSTO} consulta as esperas; com a rota fixa,
+     * o roteamento não é alterado e pode ser compartilhado entre estações de threads diferentes.
+     */
+    private void atualizarRoteamento() {
+        if (id != SEM_ID && contexto.getPoliticaRoteamento() == PoliticaRoteamento.MENOR_CUSTO) {
+            contexto.getDistanciaZonas().atualizarEspera(this);
+        }
+    }
+
     /**
      * Despacha o caminhão grande atual para o aterro sanitário.
      * Este método agenda um evento de partida, descarrega o caminhão (simulado),
@@ -68,12 +203,17 @@ public class EstacaoDeTransferencia {
      */
     public void despacharCaminhaoGrande(int tempoAtual) {
         if (this.caminhaoGrandeReceber != null) {
-            System.out.println("  • Despachando caminhão grande " + this.caminhaoGrandeReceber.getId() + " para o aterro.");
-            GerenciadorAgenda.adicionarEvento(new eventos.PartidaCaminhaoGrande(tempoAtual, this.caminhaoGrandeReceber, this));
+            Registrador registro = contexto.getRegistrador();
+            registro.registrar(MensagemRegistro.ESTACAO_DESPACHO, tempoAtual, this.caminhaoGrandeReceber.getId());
+            contexto.getAgenda().adicionarEvento(new eventos.PartidaCaminhaoGrande(tempoAtual, this.caminhaoGrandeReceber, this));
+            registro.registrar(MensagemRegistro.GRANDE_DESCARREGADO, tempoAtual,
+                    this.caminhaoGrandeReceber.getId(), this.caminhaoGrandeReceber.getCargaAtual());
             this.caminhaoGrandeReceber.descarregar();
             this.caminhaoGrandeReceber = null;
             if (!filaCaminhoesPequeos.estaVazia()) {
                 gerarNovoCaminhaoGrande(tempoAtual + 1);
+            } else {
+                atualizarRoteamento();
             }
         }
     }
@@ -83,46 +223,45 @@ public class EstacaoDeTransferencia {
      * Se o caminhão grande estiver disponível, o pequeno descarrega. Caso contrário,
      * o caminhão pequeno é enfileirado e um evento para gerar um novo caminhão grande é agendado.
      *
-     * @param caminhao   O caminhão pequeno que chegou.
+     * @param caminhao   A posição, na frota, do caminhão pequeno que chegou.
      * @param tempoAtual O tempo atual da simulação.
      */
-    public void receberCaminhaoPequeno(CaminhaoPequeno caminhao, int tempoAtual) {
-        System.out.println("== ESTAÇÃO ==");
-        System.out.printf("[%s]%n", Timer.formatarHorarioSimulado(tempoAtual));
-        System.out.printf("[%s | Caminhão %s]%n", nomeEstacao, caminhao.getId());
-        System.out.println("  → Chegada confirmada.");
+    public void receberCaminhaoPequeno(int caminhao, int tempoAtual) {
+        Registrador registro = contexto.getRegistrador();
+        Frota frota = contexto.getFrota();
+        String id = registro.isAtivo(MensagemRegistro.ESTACAO_CHEGADA) ? frota.getId(caminhao) : null;
+        registro.registrar(MensagemRegistro.ESTACAO_CHEGADA, tempoAtual, nomeEstacao, id);
 
         if (caminhaoGrandeReceber == null || caminhaoGrandeReceber.prontoParaPartida()) {
-            caminhao.setTempoEntradaFila(tempoAtual);
-            filaCaminhoesPequeos.enqueue(caminhao);
-            System.out.printf("  • Fila de espera de caminhões pequenos aumentou. Tamanho: %d%n", filaCaminhoesPequeos.getTamanho());
+            frota.setTempoEntradaFila(caminhao, tempoAtual);
+            filaCaminhoesPequeos.enqueue(caminhao, contexto.getDisciplinaFila().calcularPrioridade(frota, caminhao, tempoAtual));
+            cargaNaFila += frota.getCargaAtual(caminhao);
+            registro.registrar(MensagemRegistro.ESTACAO_FILA_AUMENTOU, tempoAtual, filaCaminhoesPequeos.getTamanho());
 
-            if (caminhao.getEventoAgendado() == null) {
+            if (frota.getEventoAgendado(caminhao) == null) {
                 int tempoLimite = tempoAtual + ConfiguracoesDoSimulador.TEMPO_MAX_ESPERA_PEQUENO;
                 GeracaoCaminhaoGrande eventoGeracao = new GeracaoCaminhaoGrande(tempoLimite, this);
-                GerenciadorAgenda.adicionarEvento(eventoGeracao);
-                caminhao.setEventoAgendado(eventoGeracao);
-                System.out.printf("  • Evento para gerar caminhão grande agendado para %s%n",
-                        Timer.formatarHorarioSimulado(tempoLimite));
+                frota.setEventoAgendado(caminhao, contexto.getAgenda().adicionarEvento(eventoGeracao));
+                registro.registrar(MensagemRegistro.ESTACAO_GERACAO_AGENDADA, tempoAtual, tempoLimite);
             }
         } else {
-            if (caminhao.getEventoAgendado() != null) {
-                GerenciadorAgenda.removerEvento(caminhao.getEventoAgendado());
-                caminhao.setEventoAgendado(null);
-                System.out.println("  • Evento anterior para geração de caminhão grande cancelado.");
+            if (frota.getEventoAgendado(caminhao) != null) {
+                frota.getEventoAgendado(caminhao).cancelar();
+                frota.setEventoAgendado(caminhao, null);
+                registro.registrar(MensagemRegistro.ESTACAO_GERACAO_CANCELADA, tempoAtual);
             }
 
-            int cargaDescarregada = caminhao.getCargaAtual();
+            int cargaDescarregada = frota.getCargaAtual(caminhao);
             int tempoDescarga = cargaDescarregada * ConfiguracoesDoSimulador.TEMPO_DESCARGA_TONELADA;
 
             caminhaoGrandeReceber.adicionarCarga(cargaDescarregada);
-            caminhao.descarregarCarga();
+            frota.descarregarCarga(caminhao);
+            registro.registrar(MensagemRegistro.CAMINHAO_DESCARREGADO, tempoAtual, id);
 
-            System.out.printf("  • Caminhão pequeno %s descarregou: %dt. Carga do Caminhão Grande %d: %d/%d t%n",
-                    caminhao.getId(), cargaDescarregada, caminhaoGrandeReceber.getId(),
+            registro.registrar(MensagemRegistro.ESTACAO_DESCARGA, tempoAtual, id, null, null,
+                    cargaDescarregada, caminhaoGrandeReceber.getId(),
                     caminhaoGrandeReceber.getCargaAtual(), caminhaoGrandeReceber.getCapacidadeMaxima());
-            System.out.printf("  • Horário previsto para fim da descarga: %s. Tempo de Descarga: %s%n",
-                    Timer.formatarHorarioSimulado(tempoAtual + tempoDescarga), Timer.formatarDuracao(tempoDescarga));
+            registro.registrar(MensagemRegistro.ESTACAO_FIM_DESCARGA, tempoAtual, tempoAtual + tempoDescarga, tempoDescarga);
 
             agendarProximaViagem(caminhao, tempoAtual + tempoDescarga);
 
@@ -130,7 +269,8 @@ public class EstacaoDeTransferencia {
                 despacharCaminhaoGrande(tempoAtual + tempoDescarga);
             }
         }
-        System.out.println();
+        atualizarRoteamento();
+        registro.registrar(MensagemRegistro.LINHA_EM_BRANCO, tempoAtual);
     }
 
     /**
@@ -140,35 +280,40 @@ public class EstacaoDeTransferencia {
      * @param tempoAtual O tempo atual da simulação.
      */
     private void descarregarFilaEspera(int tempoAtual) {
-        System.out.printf("[%s] [ESTAÇÃO %s] Tentando descarregar fila de espera...%n",
-                Timer.formatarHorarioSimulado(tempoAtual), nomeEstacao);
+        Registrador registro = contexto.getRegistrador();
+        registro.registrar(MensagemRegistro.ESTACAO_DESCARREGANDO_FILA, tempoAtual, nomeEstacao);
+        Frota frota = contexto.getFrota();
+        boolean registrarIds = registro.isAtivo(MensagemRegistro.ESTACAO_DESCARGA_FILA);
 
         while (!filaCaminhoesPequeos.estaVazia() && caminhaoGrandeReceber != null && !caminhaoGrandeReceber.prontoParaPartida()) {
-            CaminhaoPequeno caminhaoFila = filaCaminhoesPequeos.poll();
-            int tempoEspera = tempoAtual - caminhaoFila.getTempoEntradaFila();
-            Simulador.registrarTempoEspera(tempoEspera);
+            int caminhaoFila = filaCaminhoesPequeos.poll();
+            int tempoEspera = tempoAtual - frota.getTempoEntradaFila(caminhaoFila);
+            contexto.registrarTempoEspera(tempoEspera);
 
-            if (caminhaoFila.getEventoAgendado() != null) {
-                GerenciadorAgenda.removerEvento(caminhaoFila.getEventoAgendado());
-                caminhaoFila.setEventoAgendado(null);
+            if (frota.getEventoAgendado(caminhaoFila) != null) {
+                frota.getEventoAgendado(caminhaoFila).cancelar();
+                frota.setEventoAgendado(caminhaoFila, null);
             }
 
-            int carga = caminhaoFila.getCargaAtual();
+            int carga = frota.getCargaAtual(caminhaoFila);
+            cargaNaFila -= carga;
             caminhaoGrandeReceber.adicionarCarga(carga);
+            contexto.registrarDescargaFila(carga);
 
-            System.out.printf("[ESTAÇÃO %s] Caminhão pequeno %s da fila (esperou %s) descarregou %d toneladas. Carga do Grande: %d/%d t%n",
-                    nomeEstacao, caminhaoFila.getId(), Timer.formatarDuracao(tempoEspera), carga,
-                    caminhaoGrandeReceber.getCargaAtual(), caminhaoGrandeReceber.getCapacidadeMaxima());
+            String id = registrarIds ? frota.getId(caminhaoFila) : null;
+            registro.registrar(MensagemRegistro.ESTACAO_DESCARGA_FILA, tempoAtual, nomeEstacao, id, null,
+                    tempoEspera, carga, caminhaoGrandeReceber.getCargaAtual(), caminhaoGrandeReceber.getCapacidadeMaxima());
 
-            caminhaoFila.descarregarCarga();
+            frota.descarregarCarga(caminhaoFila);
+            registro.registrar(MensagemRegistro.CAMINHAO_DESCARREGADO, tempoAtual, id);
 
             agendarProximaViagem(caminhaoFila, tempoAtual);
         }
 
         if (filaCaminhoesPequeos.estaVazia()) {
-            System.out.println("  • Fila de espera de caminhões pequenos vazia.");
+            registro.registrar(MensagemRegistro.ESTACAO_FILA_VAZIA, tempoAtual);
         } else {
-            System.out.println("  • Caminhão grande ficou cheio ou indisponível. " + filaCaminhoesPequeos.getTamanho() + " caminhões ainda na fila.");
+            registro.registrar(MensagemRegistro.ESTACAO_FILA_RESTANTE, tempoAtual, filaCaminhoesPequeos.getTamanho());
         }
     }
 
@@ -178,26 +323,51 @@ public class EstacaoDeTransferencia {
      * @param tempoAtual O tempo atual da simulação.
      */
     public void gerarNovoCaminhaoGrande(int tempoAtual) {
-        this.caminhaoGrandeReceber = new CaminhaoGrande();
-        System.out.println("[ESTAÇÃO " + nomeEstacao + "] Novo caminhão grande " + caminhaoGrandeReceber.getId() + " gerado.");
+        this.caminhaoGrandeReceber = contexto.criarCaminhaoGrande();
+        contexto.getRegistrador().registrar(MensagemRegistro.ESTACAO_NOVO_GRANDE, tempoAtual, nomeEstacao, caminhaoGrandeReceber.getId());
         descarregarFilaEspera(tempoAtual);
+        atualizarRoteamento();
     }
 
     /**
      * Centraliza a lógica para enviar um caminhão de volta à sua rota.
      * Verifica se o caminhão ainda tem viagens, registra a viagem e agenda a próxima coleta.
      *
-     * @param caminhao O caminhão que terminou o descarregamento.
+     * @param caminhao     A posição, na frota, do caminhão que terminou o descarregamento.
      * @param tempoDeSaida O tempo de simulação em que o caminhão fica disponível para a próxima tarefa.
      */
-    private void agendarProximaViagem(CaminhaoPequeno caminhao, int tempoDeSaida) {
-        if (caminhao.podeViajarNovamente()) {
-            caminhao.registrarViagem(); // Gasta uma das viagens diárias
+    private void agendarProximaViagem(int caminhao, int tempoDeSaida) {
+        Registrador registro = contexto.getRegistrador();
+        Frota frota = contexto.getFrota();
+        String id = registro.isAtivo(MensagemRegistro.ESTACAO_VOLTA_ATIVIDADE) ? frota.getId(caminhao) : null;
+        if (frota.podeViajarNovamente(caminhao)) {
+            frota.registrarViagem(caminhao); // Gasta uma das viagens diárias
+            registro.registrar(MensagemRegistro.CAMINHAO_VIAGEM_REGISTRADA, tempoDeSaida, id, frota.getViagensRestantes(caminhao));
             int tempoDeVolta = ConfiguracoesDoSimulador.VIAGEM_MIN_FORA_PICO; // Simula o tempo de volta para a zona
-            System.out.printf("  → Caminhão %s volta para atividades. Agendando próxima coleta na zona %s.%n", caminhao.getId(), caminhao.getDestinoZona().getNome());
-            GerenciadorAgenda.adicionarEvento(new ColetaLixo(tempoDeSaida + tempoDeVolta, caminhao, caminhao.getDestinoZona()));
+            Zonas destino = frota.getDestinoZona(caminhao);
+            registro.registrar(MensagemRegistro.ESTACAO_VOLTA_ATIVIDADE, tempoDeSaida, id, destino.getNome());
+            contexto.getAgenda().adicionarEvento(new ColetaLixo(tempoDeSaida + tempoDeVolta, caminhao, destino));
         } else {
-            System.out.printf("  → Caminhão %s finalizou todas as suas viagens diárias.%n", caminhao.getId());
+            registro.registrar(MensagemRegistro.ESTACAO_FIM_VIAGENS, tempoDeSaida, id);
+        }
+    }
+
+    /**
+     * O estado salvo de uma estação ({@link #salvarEstado()}): uma cópia da fila de espera, a
+     * carga na fila e o identificador e a carga do caminhão grande atual.
+     */
+    public static final class Estado {
+        private final FilaDeEsperaInt fila;
+        private final int cargaNaFila;
+        private final int idCaminhaoGrande;
+        private final int cargaCaminhaoGrande;
+
+        private Estado(EstacaoDeTransferencia estacao) {
+            fila = estacao.filaCaminhoesPequeos.copiar();
+            cargaNaFila = estacao.cargaNaFila;
+            CaminhaoGrande caminhaoGrande = estacao.caminhaoGrandeReceber;
+            idCaminhaoGrande = caminhaoGrande == null ? SEM_ID : caminhaoGrande.getId();
+            cargaCaminhaoGrande = caminhaoGrande == null ? 0 : caminhaoGrande.getCargaAtual();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,264 @@
+package eventos;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementação de {@link IAgenda} no formato de fila-calendário (calendar queue),
+ * com um balde (bucket) por minuto simulado.
+ * <p>
+ * Como todos os tempos de evento são minutos inteiros e quase todos os eventos são
+ * agendados poucas horas à frente (viagens, descargas, a verificação do supervisor a
+ * cada 120 minutos), os eventos são guardados em uma janela circular de baldes que
+ * cobre os próximos {@code tamanhoJanela} minutos a partir do cursor. Inserção e remoção
+ * são O(1) amortizado e não exigem comparações entre eventos.
+ * <ul>
+ * <li>Dentro de um balde, os eventos saem na ordem em que foram agendados (FIFO).</li>
+ * <li>Eventos além da janela vão para um nível de excedente ({@link AgendaHeap}) e são
+ * transferidos para os baldes assim que o cursor avança o suficiente para cobri-los,
+ * antes de qualquer inserção direta naquele minuto, preservando a ordem FIFO.</li>
+ * <li>Eventos agendados antes do cursor (no "passado" da agenda) também são aceitos:
+ * ficam em um nível separado de atrasados e são devolvidos primeiro, mantendo a ordem cronológica.</li>
+ * </ul>
+ */
+public class AgendaCalendario implements IAgenda {
+
+    /** Tamanho padrão da janela, em minutos (potência de dois, pouco mais de 17 horas). */
+    public static final int TAMANHO_JANELA_PADRAO = 1024;
+    /** Capacidade inicial de cada balde. */
+    private static final int CAPACIDADE_BALDE = 4;
+
+    /** Máscara para converter um tempo no índice do seu balde ({@code tamanhoJanela - 1}). */
+    private final int mascara;
+    /** Vetores circulares de eventos, um por minuto da janela. Alocados sob demanda. */
+    private final Evento[][] baldes;
+    /** Posição do primeiro evento de cada balde dentro do seu vetor circular. */
+    private final int[] inicio;
+    /** Número de eventos em cada balde. */
+    private final int[] quantidade;
+    /** Eventos posteriores à janela atual. */
+    private final AgendaHeap excedente;
+    /** Eventos agendados antes do cursor; são sempre os próximos a sair. */
+    private final AgendaHeap atrasados;
+
+    /** Minuto correspondente ao cursor; a janela cobre [tempoBase, tempoBase + tamanhoJanela). */
+    private int tempoBase;
+    /** Número de eventos armazenados nos baldes. */
+    private int naJanela;
+
+    /**
+     * Constrói uma agenda-calendário com a janela padrão de {@value #TAMANHO_JANELA_PADRAO} minutos.
+     */
+    public AgendaCalendario() {
+        this(TAMANHO_JANELA_PADRAO);
+    }
+
+    /**
+     * Constrói uma agenda-calendário com uma janela de tamanho específico.
+     *
+     * @param tamanhoJanela Número de baldes (minutos) da janela. Deve ser uma potência de dois.
+     * @throws IllegalArgumentException se o tamanho não for uma potência de dois positiva.
+     */
+    public AgendaCalendario(int tamanhoJanela) {
+        if (tamanhoJanela <= 0 || Integer.bitCount(tamanhoJanela) != 1) {
+            throw new IllegalArgumentException("O tamanho da janela deve ser uma potência de dois positiva.");
+        }
+        this.mascara = tamanhoJanela - 1;
+        this.baldes = new Evento[tamanhoJanela][];
+        this.inicio = new int[tamanhoJanela];
+        this.quantidade = new int[tamanhoJanela];
+        this.excedente = new AgendaHeap();
+        this.atrasados = new AgendaHeap();
+        this.tempoBase = 0;
+        this.naJanela = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException se o evento for nulo.
+     */
+    @Override
+    public void adicionar(Evento evento) {
+        if (evento == null) {
+            throw new IllegalArgumentException("O evento a ser adicionado não pode ser nulo.");
+        }
+        int tempo = evento.getTempo();
+        if (tempo < tempoBase) {
+            atrasados.adicionar(evento);
+        } else if (estaNaJanela(tempo)) {
+            inserirNoBalde(evento);
+        } else {
+            excedente.adicionar(evento);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Os eventos da janela vão direto para os seus baldes, em O(1) cada; os demais são
+     * incluídos de uma só vez no nível de excedente (veja {@link AgendaHeap#adicionarTodos(Collection)}).
+     *
+     * @throws IllegalArgumentException se algum evento for nulo.
+     */
+    @Override
+    public void adicionarTodos(Collection<? extends Evento> eventos) {
+        List<Evento> alemDaJanela = new ArrayList<>();
+        for (Evento evento : eventos) {
+            if (evento == null) {
+                throw new IllegalArgumentException("O evento a ser adicionado não pode ser nulo.");
+            }
+        }
+        for (Evento evento : eventos) {
+            int tempo = evento.getTempo();
+            if (tempo < tempoBase) {
+                atrasados.adicionar(evento);
+            } else if (estaNaJanela(tempo)) {
+                inserirNoBalde(evento);
+            } else {
+                alemDaJanela.add(evento);
+            }
+        }
+        excedente.adicionarTodos(alemDaJanela);
+    }
+
+    @Override
+    public Evento removerProximo() {
+        if (!atrasados.estaVazia()) {
+            return atrasados.removerProximo();
+        }
+        Evento proximo = espiarProximo();
+        if (proximo == null) {
+            return null;
+        }
+        int balde = tempoBase & mascara;
+        Evento[] vetor = baldes[balde];
+        vetor[inicio[balde]] = null;
+        inicio[balde] = (inicio[balde] + 1) & (vetor.length - 1);
+        quantidade[balde]--;
+        naJanela--;
+        return proximo;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Pode avançar o cursor até o minuto do próximo evento, o que não altera a ordem
+     * dos eventos pendentes.
+     */
+    @Override
+    public Evento espiarProximo() {
+        if (!atrasados.estaVazia()) {
+            return atrasados.espiarProximo();
+        }
+        if (naJanela == 0) {
+            if (excedente.estaVazia()) {
+                return null;
+            }
+            // Janela vazia: salta o cursor diretamente para o menor evento do excedente
+            tempoBase = excedente.espiarProximo().getTempo();
+            migrarExcedente();
+        }
+        while (quantidade[tempoBase & mascara] == 0) {
+            tempoBase++;
+            migrarExcedente();
+        }
+        int balde = tempoBase & mascara;
+        return baldes[balde][inicio[balde]];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A busca se limita ao balde do minuto do evento (ou ao nível de atrasados ou de
+     * excedente, se o evento estiver fora da janela).
+     */
+    @Override
+    public boolean remover(Evento evento) {
+        if (evento == null) return false;
+        int tempo = evento.getTempo();
+        if (tempo < tempoBase) {
+            return atrasados.remover(evento);
+        }
+        if (!estaNaJanela(tempo)) {
+            return excedente.remover(evento);
+        }
+        int balde = tempo & mascara;
+        Evento[] vetor = baldes[balde];
+        int n = quantidade[balde];
+        int modulo = n == 0 ? 0 : vetor.length - 1;
+        for (int i = 0; i < n; i++) {
+            int pos = (inicio[balde] + i) & modulo;
+            if (vetor[pos].equals(evento)) {
+                // Desloca os eventos seguintes uma posição para trás, preservando a ordem FIFO
+                for (int j = i; j < n - 1; j++) {
+                    vetor[(inicio[balde] + j) & modulo] = vetor[(inicio[balde] + j + 1) & modulo];
+                }
+                vetor[(inicio[balde] + n - 1) & modulo] = null;
+                quantidade[balde]--;
+                naJanela--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int getTamanho() {
+        return naJanela + excedente.getTamanho() + atrasados.getTamanho();
+    }
+
+    @Override
+    public boolean estaVazia() {
+        return naJanela == 0 && excedente.estaVazia() && atrasados.estaVazia();
+    }
+
+    /**
+     * Verifica se um tempo está coberto pela janela atual de baldes.
+     *
+     * @param tempo O tempo em minutos.
+     * @return {@code true} se {@code tempoBase <= tempo < tempoBase + tamanhoJanela}.
+     */
+    private boolean estaNaJanela(int tempo) {
+        return tempo >= tempoBase && tempo - tempoBase <= mascara;
+    }
+
+    /**
+     * Acrescenta um evento ao final do balde do seu minuto, aumentando o vetor do balde se necessário.
+     *
+     * @param evento O evento a ser inserido.
+     */
+    private void inserirNoBalde(Evento evento) {
+        int balde = evento.getTempo() & mascara;
+        Evento[] vetor = baldes[balde];
+        int n = quantidade[balde];
+        if (vetor == null) {
+            vetor = new Evento[CAPACIDADE_BALDE];
+            baldes[balde] = vetor;
+            inicio[balde] = 0;
+        } else if (n == vetor.length) {
+            // Reorganiza o vetor circular a partir do início e dobra a capacidade
+            Evento[] novo = new Evento[vetor.length * 2];
+            int primeiro = inicio[balde];
+            System.arraycopy(vetor, primeiro, novo, 0, n - primeiro);
+            System.arraycopy(vetor, 0, novo, n - primeiro, primeiro);
+            vetor = novo;
+            baldes[balde] = vetor;
+            inicio[balde] = 0;
+        }
+        vetor[(inicio[balde] + n) & (vetor.length - 1)] = evento;
+        quantidade[balde] = n + 1;
+        naJanela++;
+    }
+
+    /**
+     * Transfere do excedente para os baldes os eventos que passaram a ser cobertos pela janela.
+     * Como o cursor só avança, todo evento do excedente tem tempo maior ou igual ao cursor.
+     */
+    private void migrarExcedente() {
+        while (!excedente.estaVazia() && estaNaJanela(excedente.espiarProximo().getTempo())) {
+            inserirNoBalde(excedente.removerProximo());
+        }
+    }
+}
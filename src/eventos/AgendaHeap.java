@@ -0,0 +1,238 @@
+package eventos;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Implementação de {@link IAgenda} baseada em um heap d-ário (d = 4) armazenado em vetor.
+ * <p>
+ * Inserção e remoção do próximo evento custam O(log n), ao contrário da lista ordenada,
+ * cuja inserção é O(n). Cada posição do heap guarda o evento e uma chave primitiva
+ * {@code long} formada pelo tempo do evento (32 bits mais significativos) e por um
+ * número de sequência de inserção (32 bits menos significativos). Assim, as comparações
+ * são feitas entre inteiros, sem chamar {@link Evento#compareTo(Evento)}, e eventos com o
+ * mesmo tempo saem na ordem em que foram agendados (FIFO).
+ * <p>
+ * Uma carga em lote ({@link #adicionarTodos(Collection)}) reconstrói o heap de uma só vez,
+ * em tempo linear, como na agenda inicial de uma simulação com muitos caminhões.
+ */
+public class AgendaHeap implements IAgenda {
+
+    /** Número de filhos de cada nó. Um heap 4-ário tem metade da altura de um binário. */
+    private static final int ARIDADE = 4;
+    /** Capacidade inicial dos vetores internos. */
+    private static final int CAPACIDADE_INICIAL = 64;
+
+    /** Eventos armazenados, organizados como heap. */
+    private Evento[] eventos;
+    /** Chave de ordenação de cada posição: (tempo << 32) | sequência. */
+    private long[] chaves;
+    /** Número de eventos atualmente no heap. */
+    private int tamanho;
+    /** Contador de inserções, usado para desempatar eventos com o mesmo tempo. */
+    private long sequencia;
+
+    /**
+     * Constrói uma agenda vazia com a capacidade inicial padrão.
+     */
+    public AgendaHeap() {
+        this.eventos = new Evento[CAPACIDADE_INICIAL];
+        this.chaves = new long[CAPACIDADE_INICIAL];
+        this.tamanho = 0;
+        this.sequencia = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException se o evento for nulo.
+     */
+    @Override
+    public void adicionar(Evento evento) {
+        if (evento == null) {
+            throw new IllegalArgumentException("O evento a ser adicionado não pode ser nulo.");
+        }
+        if (tamanho == eventos.length) {
+            crescer(tamanho + 1);
+        }
+        subir(tamanho++, evento, proximaChave(evento));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Os eventos são acrescentados ao final do vetor. Se forem pelo menos tantos quanto os que
+     * já estavam na agenda, o heap inteiro é reconstruído de baixo para cima, em O(n + k), em vez
+     * das k inserções de O(log n); caso contrário, cada novo evento sobe até a sua posição.
+     *
+     * @throws IllegalArgumentException se algum evento for nulo.
+     */
+    @Override
+    public void adicionarTodos(Collection<? extends Evento> novos) {
+        for (Evento evento : novos) {
+            if (evento == null) {
+                throw new IllegalArgumentException("O evento a ser adicionado não pode ser nulo.");
+            }
+        }
+        if (novos.isEmpty()) {
+            return;
+        }
+        int anteriores = tamanho;
+        if (tamanho + novos.size() > eventos.length) {
+            crescer(tamanho + novos.size());
+        }
+        for (Evento evento : novos) {
+            eventos[tamanho] = evento;
+            chaves[tamanho] = proximaChave(evento);
+            tamanho++;
+        }
+        if (tamanho - anteriores < anteriores) {
+            for (int pos = anteriores; pos < tamanho; pos++) {
+                subir(pos, eventos[pos], chaves[pos]);
+            }
+        } else {
+            for (int pos = (tamanho - 2) / ARIDADE; pos >= 0; pos--) {
+                descer(pos, eventos[pos], chaves[pos]);
+            }
+        }
+    }
+
+    @Override
+    public Evento removerProximo() {
+        if (tamanho == 0) {
+            return null;
+        }
+        Evento proximo = eventos[0];
+        removerNaPosicao(0);
+        return proximo;
+    }
+
+    @Override
+    public Evento espiarProximo() {
+        return tamanho == 0 ? null : eventos[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A busca pelo evento é linear (O(n)); a reorganização do heap após a remoção é O(log n).
+     */
+    @Override
+    public boolean remover(Evento evento) {
+        if (evento == null) return false;
+        for (int i = 0; i < tamanho; i++) {
+            if (eventos[i].equals(evento)) {
+                removerNaPosicao(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    @Override
+    public boolean estaVazia() {
+        return tamanho == 0;
+    }
+
+    /**
+     * Remove o elemento da posição informada, movendo o último elemento do heap
+     * para o seu lugar e restaurando a propriedade de heap.
+     *
+     * @param pos A posição a ser removida.
+     */
+    private void removerNaPosicao(int pos) {
+        int ultimo = --tamanho;
+        Evento eventoMovido = eventos[ultimo];
+        long chaveMovida = chaves[ultimo];
+        eventos[ultimo] = null; // Libera a referência para o coletor de lixo
+        if (pos == ultimo) {
+            return;
+        }
+        if (pos > 0 && chaveMovida < chaves[(pos - 1) / ARIDADE]) {
+            subir(pos, eventoMovido, chaveMovida);
+        } else {
+            descer(pos, eventoMovido, chaveMovida);
+        }
+    }
+
+    /**
+     * Sobe um elemento em direção à raiz até que o pai tenha chave menor.
+     *
+     * @param pos    A posição inicial (vaga) do elemento.
+     * @param evento O evento a ser posicionado.
+     * @param chave  A chave do evento.
+     */
+    private void subir(int pos, Evento evento, long chave) {
+        while (pos > 0) {
+            int pai = (pos - 1) / ARIDADE;
+            if (chaves[pai] <= chave) {
+                break;
+            }
+            eventos[pos] = eventos[pai];
+            chaves[pos] = chaves[pai];
+            pos = pai;
+        }
+        eventos[pos] = evento;
+        chaves[pos] = chave;
+    }
+
+    /**
+     * Desce um elemento em direção às folhas, trocando-o com o menor filho enquanto necessário.
+     *
+     * @param pos    A posição inicial (vaga) do elemento.
+     * @param evento O evento a ser posicionado.
+     * @param chave  A chave do evento.
+     */
+    private void descer(int pos, Evento evento, long chave) {
+        while (true) {
+            int primeiroFilho = pos * ARIDADE + 1;
+            if (primeiroFilho >= tamanho) {
+                break;
+            }
+            int ultimoFilho = Math.min(primeiroFilho + ARIDADE, tamanho);
+            int menor = primeiroFilho;
+            for (int filho = primeiroFilho + 1; filho < ultimoFilho; filho++) {
+                if (chaves[filho] < chaves[menor]) {
+                    menor = filho;
+                }
+            }
+            if (chave <= chaves[menor]) {
+                break;
+            }
+            eventos[pos] = eventos[menor];
+            chaves[pos] = chaves[menor];
+            pos = menor;
+        }
+        eventos[pos] = evento;
+        chaves[pos] = chave;
+    }
+
+    /**
+     * Calcula a chave de um evento que está sendo agendado, consumindo um número de sequência.
+     *
+     * @param evento O evento a ser agendado.
+     * @return A chave {@code (tempo << 32) | sequência} do evento.
+     */
+    private long proximaChave(Evento evento) {
+        return ((long) evento.getTempo() << 32) | (sequencia++ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Dobra a capacidade dos vetores internos até que comportem a quantidade informada.
+     *
+     * @param minimo O número de eventos que os vetores devem comportar.
+     */
+    private void crescer(int minimo) {
+        int novaCapacidade = eventos.length * 2;
+        while (novaCapacidade < minimo) {
+            novaCapacidade *= 2;
+        }
+        eventos = Arrays.copyOf(eventos, novaCapacidade);
+        chaves = Arrays.copyOf(chaves, novaCapacidade);
+    }
+}
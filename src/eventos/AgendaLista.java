@@ -0,0 +1,67 @@
+package eventos;
+
+import tads.Lista;
+
+import java.util.Comparator;
+
+/**
+ * Implementação de {@link IAgenda} baseada na lista duplamente ligada {@link Lista}.
+ * <p>
+ * Cada inserção percorre a lista até encontrar a posição correta (O(n)), enquanto a
+ * remoção do próximo evento é O(1). Foi a estrutura original da agenda e é mantida
+ * como referência para comparações de desempenho com {@link AgendaHeap}.
+ * <p>
+ * Eventos do mesmo minuto saem na ordem em que foram agendados (FIFO), como nas demais
+ * agendas; assim, as três produzem exatamente os mesmos resultados para a mesma semente.
+ * A versão original não garantia essa ordem: um evento agendado para o mesmo minuto do
+ * primeiro evento da lista era inserido antes dele.
+ */
+public class AgendaLista implements IAgenda {
+
+    /**
+     * Ordem de inserção: o novo evento (sempre o primeiro argumento em
+     * {@link Lista#adicionarOrdenado}) só fica antes de eventos com tempo estritamente maior,
+     * ou seja, depois de todos os eventos do mesmo minuto já agendados.
+     */
+    private static final Comparator<Evento> DEPOIS_DOS_EMPATADOS =
+            (novo, existente) -> novo.getTempo() < existente.getTempo() ? -1 : 1;
+
+    /** A lista ordenada de eventos a serem processados. */
+    private final Lista<Evento> eventos = new Lista<>();
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException se o evento for nulo.
+     */
+    @Override
+    public void adicionar(Evento evento) {
+        eventos.adicionarOrdenado(evento, DEPOIS_DOS_EMPATADOS);
+    }
+
+    @Override
+    public Evento removerProximo() {
+        return eventos.removerHead();
+    }
+
+    @Override
+    public Evento espiarProximo() {
+        if (eventos.estaVazia()) return null;
+        return eventos.espiarPrimeiro().getValor();
+    }
+
+    @Override
+    public boolean remover(Evento evento) {
+        return eventos.removerProcurado(evento);
+    }
+
+    @Override
+    public int getTamanho() {
+        return eventos.getTamanho();
+    }
+
+    @Override
+    public boolean estaVazia() {
+        return eventos.estaVazia();
+    }
+}
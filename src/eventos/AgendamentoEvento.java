@@ -0,0 +1,56 @@
+package eventos;
+
+/**
+ * Referência para um evento agendado, devolvida por {@link GerenciadorAgenda#adicionarEvento(Evento)}.
+ * <p>
+ * Permite cancelar o evento em tempo O(1), sem percorrer a agenda: o evento é apenas
+ * marcado como cancelado, pela {@link GerenciadorAgenda#removerEvento(Evento)} da agenda em
+ * que foi agendado, e descartado quando chegar a sua vez.
+ * É usado, por exemplo, para cancelar o timeout de geração de caminhão grande quando
+ * um caminhão pequeno consegue descarregar na estação.
+ */
+public final class AgendamentoEvento {
+
+    /** A agenda em que o evento foi agendado. */
+    private final GerenciadorAgenda agenda;
+    /** O evento agendado ao qual esta referência se refere. */
+    private final Evento evento;
+
+    /**
+     * Cria a referência para um evento recém-agendado.
+     *
+     * @param agenda A agenda em que o evento foi agendado.
+     * @param evento O evento agendado.
+     */
+    AgendamentoEvento(GerenciadorAgenda agenda, Evento evento) {
+        this.agenda = agenda;
+        this.evento = evento;
+    }
+
+    /**
+     * Cancela o evento, caso ele ainda não tenha sido executado nem cancelado.
+     *
+     * @return {@code true} se o evento estava pendente e foi cancelado, {@code false} caso contrário.
+     */
+    public boolean cancelar() {
+        return agenda.removerEvento(evento);
+    }
+
+    /**
+     * Verifica se o evento ainda aguarda execução na agenda.
+     *
+     * @return {@code true} se o evento está pendente.
+     */
+    public boolean isPendente() {
+        return evento.isPendente();
+    }
+
+    /**
+     * Retorna o evento ao qual esta referência se refere.
+     *
+     * @return O evento agendado.
+     */
+    public Evento getEvento() {
+        return evento;
+    }
+}
@@ -1,7 +1,11 @@
 package eventos;
 
-import caminhoes.CaminhaoPequeno;
+import caminhoes.Frota;
+import configsimulador.ContextoSimulacao;
 import configsimulador.ConfiguracoesDoSimulador;
+import configsimulador.FluxoAleatorio;
+import registro.MensagemRegistro;
+import registro.Registrador;
 import timer.Timer;
 import zonas.Zonas;
 import timer.TimerDetalhado;
@@ -19,13 +23,14 @@ import timer.TimerDetalhado;
  * <li>Caso contrário, o caminhão continua coletando na mesma zona ou, no futuro, poderia
  * mudar para outra zona se sua rota envolver múltiplas coletas pequenas.</li>
  * </ul>
+ * O caminhão é referenciado pela sua posição na frota da simulação ({@link ContextoSimulacao#getFrota()}).
  */
 public class ColetaLixo extends Evento {
 
     /**
-     * O caminhão pequeno responsável por realizar a coleta neste evento.
+     * A posição, na frota, do caminhão pequeno responsável por realizar a coleta neste evento.
      */
-    private CaminhaoPequeno caminhao;
+    private int caminhao;
 
     /**
      * A zona atual onde a coleta de lixo será realizada.
@@ -36,14 +41,14 @@ public class ColetaLixo extends Evento {
      * Construtor do evento de coleta de lixo.
      *
      * @param tempo     Tempo simulado (em minutos) no qual o evento será executado.
-     * @param caminhao  O {@link CaminhaoPequeno} designado para realizar a coleta.
+     * @param caminhao  A posição, na frota, do caminhão designado para realizar a coleta.
      * @param zonaAtual A {@link Zonas} onde ocorrerá a coleta de lixo.
-     * @throws IllegalArgumentException se o tempo for negativo, o caminhão ou a zona forem nulos.
+     * @throws IllegalArgumentException se o tempo for negativo, a posição do caminhão for negativa ou a zona for nula.
      */
-    public ColetaLixo(int tempo, CaminhaoPequeno caminhao, Zonas zonaAtual) {
+    public ColetaLixo(int tempo, int caminhao, Zonas zonaAtual) {
         super(tempo);
-        if (caminhao == null) {
-            throw new IllegalArgumentException("Caminhão não pode ser nulo para um evento de coleta.");
+        if (caminhao < 0) {
+            throw new IllegalArgumentException("Caminhão inválido para um evento de coleta: " + caminhao);
         }
         if (zonaAtual == null) {
             throw new IllegalArgumentException("Zona não pode ser nula para um evento de coleta.");
@@ -53,15 +58,30 @@ public class ColetaLixo extends Evento {
     }
 
     /**
-     * Retorna uma descrição textual do evento de coleta, incluindo o ID do caminhão,
+     * Retorna uma descrição textual do evento de coleta, incluindo a posição do caminhão na frota,
      * o nome da zona e o horário simulado em que o evento ocorre.
      *
      * @return Uma representação em string do evento.
      */
     @Override
     public String toString() {
+        return formatar("#" + caminhao);
+    }
+
+    /**
+     * Retorna a descrição do evento de coleta com o identificador do caminhão.
+     *
+     * @param frota A frota da simulação à qual o evento pertence.
+     * @return Uma representação em string do evento.
+     */
+    @Override
+    public String descrever(Frota frota) {
+        return formatar(frota.getId(caminhao));
+    }
+
+    private String formatar(String caminhao) {
         return String.format("EventoColeta | Caminhão %s | Zona %s | Horário: %s",
-                caminhao.getId(),
+                caminhao,
                 zonaAtual.getNome(),
                 Timer.formatarHorarioSimulado(getTempo()));
     }
@@ -69,9 +89,9 @@ public class ColetaLixo extends Evento {
     /**
      * Retorna o caminhão associado a este evento de coleta.
      *
-     * @return O objeto {@link CaminhaoPequeno} que está realizando a coleta.
+     * @return A posição, na frota da simulação, do caminhão que está realizando a coleta.
      */
-    public CaminhaoPequeno getCaminhao() {
+    public int getCaminhao() {
         return this.caminhao;
     }
 
@@ -90,33 +110,33 @@ public class ColetaLixo extends Evento {
      * O caminhão tenta coletar lixo da zona até que sua capacidade seja atingida
      * ou não haja mais lixo na zona. Com base no resultado da coleta e na
      * disponibilidade do caminhão, um novo evento é agendado (próxima coleta ou transferência).
+     * O identificador do caminhão só é montado se o registro estiver ligado.
      */
     @Override
-    public void executar() {
-        System.out.println("== C O L E T A ==");
-        String horarioAtual = Timer.formatarHorarioSimulado(getTempo());
-        System.out.printf("[%s] %n", horarioAtual);
-        System.out.printf("[COLETA] Caminhão %s → Zona %s | Viagens restantes: %d%n",
-                caminhao.getId(), zonaAtual.getNome(), caminhao.getViagensRestantes());
+    public void executar(ContextoSimulacao contexto) {
+        Registrador registro = contexto.getRegistrador();
+        Frota frota = contexto.getFrota();
+        String id = registro.isAtivo(MensagemRegistro.COLETA_INICIO) ? frota.getId(caminhao) : null;
+        registro.registrar(MensagemRegistro.COLETA_INICIO, getTempo(),
+                id, zonaAtual.getNome(), frota.getViagensRestantes(caminhao));
 
         // Verifica se a zona tem lixo disponível para coleta
         if (zonaAtual.getLixoAcumulado() == 0) {
-            System.out.println("  • Zona está limpa. Nenhuma coleta realizada.");
-            caminhao.registrarViagem(); // Mesmo que não tenha coletado, a visita conta como viagem.
+            registro.registrar(MensagemRegistro.COLETA_ZONA_LIMPA, getTempo());
+            registrarViagem(registro, frota, id); // Mesmo que não tenha coletado, a visita conta como viagem.
 
             // Se o caminhão ainda pode fazer mais viagens, ele tenta ir para a próxima zona
-            if (caminhao.podeViajarNovamente()) {
+            if (frota.podeViajarNovamente(caminhao)) {
                 // Assume um tempo de espera ou deslocamento mínimo para a próxima tentativa
                 // ou deslocamento para a próxima zona na rota.
                 int tempoDeEsperaOuDeslocamento = ConfiguracoesDoSimulador.VIAGEM_MIN_FORA_PICO; // Exemplo
-                System.out.printf("  • Caminhão %s procurando próxima zona ou aguardando. Tempo de espera: %s%n",
-                        caminhao.getId(), Timer.formatarDuracao(tempoDeEsperaOuDeslocamento));
-                GerenciadorAgenda.adicionarEvento(
-                        new ColetaLixo(getTempo() + tempoDeEsperaOuDeslocamento, caminhao, caminhao.getDestinoZona()));
+                registro.registrar(MensagemRegistro.COLETA_AGUARDANDO, getTempo(), id, tempoDeEsperaOuDeslocamento);
+                contexto.getAgenda().adicionarEvento(
+                        new ColetaLixo(getTempo() + tempoDeEsperaOuDeslocamento, caminhao, frota.getDestinoZona(caminhao)));
             } else {
                 // Se não pode mais viajar para coleta, o caminhão vai para a estação de transferência
-                System.out.printf("  • Caminhão %s não pode mais coletar. Indo para estação de transferência.%n", caminhao.getId());
-                GerenciadorAgenda.adicionarEvento(
+                registro.registrar(MensagemRegistro.COLETA_SEM_VIAGENS, getTempo(), id);
+                contexto.getAgenda().adicionarEvento(
                         new TransferenciaParaEstacao(getTempo(), caminhao, zonaAtual));
             }
             return; // Encerra a execução deste evento de coleta
@@ -126,26 +146,30 @@ public class ColetaLixo extends Evento {
         int totalColetadoNestaOperacao = 0; // Total coletado antes de decidir a próxima ação
 
         // Loop para coletar lixo até a capacidade do caminhão ou o esgotamento da zona
-        while (caminhao.getCargaAtual() < caminhao.getCapacidadeMaxima() &&
+        while (frota.getCargaAtual(caminhao) < frota.getCapacidadeMaxima(caminhao) &&
                 zonaAtual.getLixoAcumulado() > 0) {
 
             int qtdDisponivelZona = zonaAtual.getLixoAcumulado();
-            int espacoRestanteCaminhao = caminhao.getCapacidadeMaxima() - caminhao.getCargaAtual();
+            int espacoRestanteCaminhao = frota.getCapacidadeMaxima(caminhao) - frota.getCargaAtual(caminhao);
             // A quantidade real a ser coletada é o mínimo entre o disponível e o espaço restante
             int qtdParaColetar = Math.min(qtdDisponivelZona, espacoRestanteCaminhao);
 
             // Tenta coletar a carga
-            boolean sucessoColeta = caminhao.coletarCarga(qtdParaColetar);
+            boolean sucessoColeta = frota.coletarCarga(caminhao, qtdParaColetar);
 
             if (sucessoColeta) {
-                zonaAtual.coletarLixo(qtdParaColetar); // Remove o lixo da zona
+                registro.registrar(MensagemRegistro.CAMINHAO_COLETOU, getTempo(), id, qtdParaColetar);
+                int coletado = zonaAtual.coletarLixo(qtdParaColetar); // Remove o lixo da zona
+                registro.registrar(MensagemRegistro.ZONA_LIXO_COLETADO, getTempo(),
+                        zonaAtual.getNome(), coletado, zonaAtual.getLixoAcumulado());
                 totalColetadoNestaOperacao += qtdParaColetar;
                 coletouNestaIteracao = true;
-                System.out.printf("  • Coletou: %dt    Carga atual: %d/%d t%n",
-                        qtdParaColetar, caminhao.getCargaAtual(), caminhao.getCapacidadeMaxima());
+                registro.registrar(MensagemRegistro.COLETA_CARGA, getTempo(),
+                        qtdParaColetar, frota.getCargaAtual(caminhao), frota.getCapacidadeMaxima(caminhao));
             } else {
                 // Se a coleta falhou (ex: capacidade máxima atingida), sai do loop de coleta
-                System.out.println("  • Caminhão " + caminhao.getId() + " atingiu sua carga máxima.");
+                registro.registrar(MensagemRegistro.CAMINHAO_CARGA_MAXIMA, getTempo(), id);
+                registro.registrar(MensagemRegistro.COLETA_CARGA_MAXIMA, getTempo(), id);
                 break;
             }
         }
@@ -153,28 +177,29 @@ public class ColetaLixo extends Evento {
         // Determina a próxima ação após a tentativa de coleta
         if (coletouNestaIteracao) { // Se algo foi coletado nesta operação
             // Calcula os tempos detalhados para o movimento do caminhão
-            TimerDetalhado tempoDetalhado = Timer.calcularTimerDetalhado(getTempo(), totalColetadoNestaOperacao, false); // 'false' pois está em coleta
+            FluxoAleatorio gerador = frota.getGerador(caminhao);
+            TimerDetalhado tempoDetalhado = Timer.calcularTimerDetalhado(getTempo(), totalColetadoNestaOperacao, false, gerador); // 'false' pois está em coleta
+            frota.salvarGerador(caminhao, gerador);
 
-            System.out.printf("  • Tempo gasto na coleta: %s%n", Timer.formatarDuracao(tempoDetalhado.tempoColeta));
-            System.out.printf("  • Tempo de trajeto para coleta: %s%n", Timer.formatarDuracao(tempoDetalhado.tempoDeslocamento));
+            registro.registrar(MensagemRegistro.COLETA_TEMPOS, getTempo(),
+                    tempoDetalhado.tempoColeta, tempoDetalhado.tempoDeslocamento);
             if (tempoDetalhado.tempoExtraCarregado > 0) {
-                System.out.printf("  • Tempo extra por carga cheia (se aplicável): +%s%n", Timer.formatarDuracao(tempoDetalhado.tempoExtraCarregado));
+                registro.registrar(MensagemRegistro.COLETA_TEMPO_EXTRA, getTempo(), tempoDetalhado.tempoExtraCarregado);
             }
-            System.out.printf("  • Próximo Horário de Ação: %s    Tempo total da operação: %s%n",
-                    Timer.formatarHorarioSimulado(getTempo() + tempoDetalhado.tempoTotal),
-                    Timer.formatarDuracao(tempoDetalhado.tempoTotal));
-            System.out.println();
+            registro.registrar(MensagemRegistro.COLETA_PROXIMA_ACAO, getTempo(),
+                    getTempo() + tempoDetalhado.tempoTotal, tempoDetalhado.tempoTotal);
 
             // Se o caminhão ainda pode viajar e não está cheio ou a zona ainda tem lixo, agenda próxima coleta.
             // Esta lógica pode precisar de refinamento se o caminhão muda de zona.
-            if (caminhao.podeViajarNovamente() && !zonaAtual.estaLimpa() && caminhao.getCargaAtual() < caminhao.getCapacidadeMaxima()) {
+            if (frota.podeViajarNovamente(caminhao) && !zonaAtual.estaLimpa()
+                    && frota.getCargaAtual(caminhao) < frota.getCapacidadeMaxima(caminhao)) {
                 // Continua coletando na mesma zona ou vai para a próxima da rota
-                GerenciadorAgenda.adicionarEvento(
+                contexto.getAgenda().adicionarEvento(
                         new ColetaLixo(getTempo() + tempoDetalhado.tempoTotal, caminhao, zonaAtual)); // Mantém na mesma zona por enquanto
             } else {
                 // Caso contrário (caminhão cheio, zona limpa, ou limite de viagens), vai para a estação.
-                System.out.printf("  • Caminhão %s completou a coleta ou está cheio. Enviando para estação de transferência.%n", caminhao.getId());
-                GerenciadorAgenda.adicionarEvento(
+                registro.registrar(MensagemRegistro.COLETA_PARA_ESTACAO, getTempo(), id);
+                contexto.getAgenda().adicionarEvento(
                         new TransferenciaParaEstacao(getTempo() + tempoDetalhado.tempoTotal, caminhao, zonaAtual));
             }
         } else {
@@ -182,13 +207,43 @@ public class ColetaLixo extends Evento {
             // ou se o caminhão já estava cheio.
             // A decisão para onde o caminhão vai já foi tomada no início do método para zonas vazias.
             // Se o caminhão já estava cheio, ele deve ir para a estação.
-            if (caminhao.getCargaAtual() >= caminhao.getCapacidadeMaxima()) {
-                System.out.printf("  • Caminhão %s já estava cheio ou atingiu capacidade máxima. Enviando para estação de transferência.%n", caminhao.getId());
-                GerenciadorAgenda.adicionarEvento(
+            if (frota.getCargaAtual(caminhao) >= frota.getCapacidadeMaxima(caminhao)) {
+                registro.registrar(MensagemRegistro.COLETA_JA_CHEIO, getTempo(), id);
+                contexto.getAgenda().adicionarEvento(
                         new TransferenciaParaEstacao(getTempo(), caminhao, zonaAtual));
             }
             // Se não coletou e não estava cheio, significa que não havia lixo suficiente ou outra condição impediu.
             // Neste caso, a lógica acima para "zona limpa" já deve ter direcionado o caminhão.
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Registra uma viagem do caminhão e a anota no registro da simulação.
+     *
+     * @param registro O registro da simulação.
+     * @param frota    A frota da simulação.
+     * @param id       O identificador do caminhão, ou {@code null} se o registro estiver desligado.
+     */
+    private void registrarViagem(Registrador registro, Frota frota, String id) {
+        boolean tinhaViagens = frota.podeViajarNovamente(caminhao);
+        frota.registrarViagem(caminhao);
+        if (tinhaViagens) {
+            registro.registrar(MensagemRegistro.CAMINHAO_VIAGEM_REGISTRADA, getTempo(), id, frota.getViagensRestantes(caminhao));
+        } else {
+            registro.registrar(MensagemRegistro.CAMINHAO_LIMITE_VIAGENS, getTempo(), id);
+        }
+    }
+
+    /**
+     * Declara o caminhão, a zona e a fila de prioridade da zona, que é atualizada quando o lixo é coletado.
+     *
+     * @param contexto O contexto da simulação à qual o evento pertence.
+     * @param recursos O conjunto que recebe os recursos do evento.
+     */
+    @Override
+    public void declararRecursos(ContextoSimulacao contexto, RecursosEvento recursos) {
+        recursos.adicionar(contexto.getFrota(), caminhao);
+        recursos.adicionar(zonaAtual);
+        recursos.adicionar(zonaAtual.getFilaPrioridade());
+    }
+}
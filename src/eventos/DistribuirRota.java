@@ -1,11 +1,16 @@
 package eventos;
 
-import caminhoes.CaminhaoPequeno;
+import caminhoes.Frota;
 import configsimulador.ConfiguracoesDoSimulador;
+import configsimulador.ContextoSimulacao;
 import configsimulador.ParametrosSimulacao;
-import tads.Lista;
+import registro.MensagemRegistro;
+import tads.ListaArray;
 import zonas.Zonas;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Classe responsável por distribuir as rotas entre os caminhões,
  * agora configurada para aceitar uma frota mista de caminhões.
@@ -24,80 +29,104 @@ public class DistribuirRota {
     /**
      * Distribui zonas para os caminhões com base nos parâmetros da simulação.
      * Cria instâncias de caminhões de diferentes capacidades e os atribui a zonas
-     * iniciais, agendando o primeiro evento de coleta para cada um.
+     * iniciais, agendando o primeiro evento de coleta para cada um. As coletas iniciais de
+     * toda a frota são incluídas na agenda de uma só vez
+     * (veja {@link GerenciadorAgenda#adicionarEventos(java.util.Collection)}), e a frota passa a
+     * ser a do contexto ({@link ContextoSimulacao#setFrota(Frota)}).
      *
-     * @param zonas  Uma {@link Lista} de {@link Zonas} da cidade.
+     * @param zonas  Uma {@link ListaArray} de {@link Zonas} da cidade.
      * @param params Objeto com os parâmetros de configuração da UI, definindo a frota de caminhões.
-     * @return Uma {@link Lista} de {@link CaminhaoPequeno} configurados e prontos para a simulação.
-     * @throws IllegalArgumentException se a lista de zonas for nula ou vazia.
+     * @param contexto O contexto da simulação em cuja agenda os eventos de coleta serão incluídos.
+     * @return A {@link Frota} com os caminhões configurados e prontos para a simulação.
+     * @throws IllegalArgumentException se a lista de zonas for nula ou vazia, ou se alguma zona não tiver
+     *                                  como identificador a sua posição na lista.
      */
-    public static Lista<CaminhaoPequeno> distribuir(Lista<Zonas> zonas, ParametrosSimulacao params) {
+    public static Frota distribuir(ListaArray<Zonas> zonas, ParametrosSimulacao params, ContextoSimulacao contexto) {
         if (zonas == null || zonas.estaVazia()) {
             throw new IllegalArgumentException("A lista de zonas não pode ser nula ou vazia.");
         }
 
-        Lista<CaminhaoPequeno> caminhoes = new Lista<>();
-        System.out.println("\n[DISTRIBUIÇÃO DE ROTAS]");
+        // A frota guarda a zona de cada caminhão pelo identificador, que deve ser a posição da zona na lista
+        Zonas[] zonasPorId = new Zonas[zonas.getTamanho()];
+        for (int i = 0; i < zonasPorId.length; i++) {
+            zonasPorId[i] = zonas.getValor(i);
+            if (zonasPorId[i].getId() != i) {
+                throw new IllegalArgumentException("A zona " + zonasPorId[i].getNome()
+                        + " não tem o identificador da sua posição (" + i + "): " + zonasPorId[i].getId());
+            }
+        }
+
+        int totalCaminhoes = params.getNumCaminhoes2t() + params.getNumCaminhoes4t()
+                + params.getNumCaminhoes8t() + params.getNumCaminhoes10t();
+        Frota caminhoes = new Frota(zonasPorId, totalCaminhoes);
+        contexto.setFrota(caminhoes);
+        contexto.getRegistrador().registrar(MensagemRegistro.ROTAS_INICIO, 0);
 
         int caminhaoIndex = 0;
+        List<ColetaLixo> coletas = new ArrayList<>(totalCaminhoes);
 
         // Distribui caminhões de 2 toneladas
         for (int i = 0; i < params.getNumCaminhoes2t(); i++) {
-            criarEAgendarCaminhao(caminhoes, zonas, caminhaoIndex++, "C2-" + (i + 1),
-                    ConfiguracoesDoSimulador.CAPACIDADE_CAMINHAO_2T, params.getViagensCaminhoes2t());
+            criarCaminhao(caminhoes, coletas, zonas, caminhaoIndex++, i + 1,
+                    ConfiguracoesDoSimulador.CAPACIDADE_CAMINHAO_2T, params.getViagensCaminhoes2t(), contexto);
         }
 
         // Distribui caminhões de 4 toneladas
         for (int i = 0; i < params.getNumCaminhoes4t(); i++) {
-            criarEAgendarCaminhao(caminhoes, zonas, caminhaoIndex++, "C4-" + (i + 1),
-                    ConfiguracoesDoSimulador.CAPACIDADE_CAMINHAO_4T, params.getViagensCaminhoes4t());
+            criarCaminhao(caminhoes, coletas, zonas, caminhaoIndex++, i + 1,
+                    ConfiguracoesDoSimulador.CAPACIDADE_CAMINHAO_4T, params.getViagensCaminhoes4t(), contexto);
         }
 
         // Distribui caminhões de 8 toneladas
         for (int i = 0; i < params.getNumCaminhoes8t(); i++) {
-            criarEAgendarCaminhao(caminhoes, zonas, caminhaoIndex++, "C8-" + (i + 1),
-                    ConfiguracoesDoSimulador.CAPACIDADE_CAMINHAO_8T, params.getViagensCaminhoes8t());
+            criarCaminhao(caminhoes, coletas, zonas, caminhaoIndex++, i + 1,
+                    ConfiguracoesDoSimulador.CAPACIDADE_CAMINHAO_8T, params.getViagensCaminhoes8t(), contexto);
         }
 
         // Distribui caminhões de 10 toneladas
         for (int i = 0; i < params.getNumCaminhoes10t(); i++) {
-            criarEAgendarCaminhao(caminhoes, zonas, caminhaoIndex++, "C10-" + (i + 1),
-                    ConfiguracoesDoSimulador.CAPACIDADE_CAMINHAO_10T, params.getViagensCaminhoes10t());
+            criarCaminhao(caminhoes, coletas, zonas, caminhaoIndex++, i + 1,
+                    ConfiguracoesDoSimulador.CAPACIDADE_CAMINHAO_10T, params.getViagensCaminhoes10t(), contexto);
         }
 
+        // Agenda as coletas iniciais de toda a frota de uma só vez
+        contexto.getAgenda().adicionarEventos(coletas);
 
-        System.out.println("Distribuição de rotas concluída. Total de caminhões: " + caminhoes.getTamanho());
+        contexto.getRegistrador().registrar(MensagemRegistro.ROTAS_CONCLUIDA, 0, caminhoes.getTamanho());
         return caminhoes;
     }
 
     /**
-     * Método auxiliar para criar um caminhão, configurá-lo e agendar seu primeiro evento de coleta.
+     * Método auxiliar para criar um caminhão, configurá-lo e preparar seu primeiro evento de coleta.
      * Atribui uma zona inicial de forma balanceada (round-robin).
      *
-     * @param caminhoes     A lista de caminhões da simulação para adicionar o novo caminhão.
+     * @param caminhoes     A frota da simulação à qual o novo caminhão é adicionado.
+     * @param coletas       As coletas iniciais da frota, que recebem a coleta do novo caminhão.
      * @param zonas         A lista de zonas disponíveis para atribuição.
      * @param caminhaoIndex O índice do caminhão atual, usado para a distribuição round-robin.
-     * @param id            O identificador único para o novo caminhão.
+     * @param numero        O número do novo caminhão entre os da sua capacidade (o identificador é "C{capacidade}-{numero}").
      * @param capacidade    A capacidade de carga do novo caminhão.
      * @param viagens       O número de viagens que o novo caminhão pode realizar.
+     * @param contexto      O contexto da simulação à qual o caminhão pertence.
      */
-    private static void criarEAgendarCaminhao(Lista<CaminhaoPequeno> caminhoes, Lista<Zonas> zonas, int caminhaoIndex,
-                                              String id, int capacidade, int viagens) {
+    private static void criarCaminhao(Frota caminhoes, List<ColetaLixo> coletas, ListaArray<Zonas> zonas, int caminhaoIndex,
+                                      int numero, int capacidade, int viagens, ContextoSimulacao contexto) {
         if (viagens <= 0) return;
 
         // Atribui uma zona inicial usando round-robin para distribuir o trabalho
         Zonas zonaInicial = zonas.getValor(caminhaoIndex % zonas.getTamanho());
         if (zonaInicial == null) {
-            System.err.println("Erro: Não foi possível atribuir zona inicial para o caminhão " + id);
+            contexto.getRegistrador().registrar(MensagemRegistro.ROTAS_SEM_ZONA, 0, "C" + capacidade + "-" + numero);
             return;
         }
 
-        CaminhaoPequeno caminhao = new CaminhaoPequeno(id, capacidade, viagens, zonaInicial);
-        caminhoes.adicionar(caminhoes.getTamanho(), caminhao);
+        int caminhao = caminhoes.adicionar(numero, capacidade, viagens, zonaInicial.getId());
+        String id = caminhoes.getId(caminhao);
+        caminhoes.setGerador(caminhao, contexto.criarFluxoCaminhao(id));
 
-        // Agenda o primeiro evento de coleta para este caminhão no tempo 0
-        GerenciadorAgenda.adicionarEvento(new ColetaLixo(0, caminhao, zonaInicial));
-        System.out.printf("  • Caminhão %s (Cap: %dt, Viagens: %d) atribuído à zona %s. Evento de coleta agendado.%n",
-                id, capacidade, viagens, zonaInicial.getNome());
+        // Prepara o primeiro evento de coleta para este caminhão no tempo 0
+        coletas.add(new ColetaLixo(0, caminhao, zonaInicial));
+        contexto.getRegistrador().registrar(MensagemRegistro.ROTAS_CAMINHAO_ATRIBUIDO, 0,
+                id, zonaInicial.getNome(), null, capacidade, viagens, 0, 0);
     }
 }
\ No newline at end of file
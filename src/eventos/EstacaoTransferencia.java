@@ -1,13 +1,15 @@
 package eventos;
 
-import caminhoes.CaminhaoPequeno;
+import caminhoes.Frota;
+import configsimulador.ContextoSimulacao;
 import estacoes.EstacaoDeTransferencia;
 import timer.Timer;
 
 /**
  * Representa um evento de chegada de um caminhão pequeno a uma estação de transferência.
  * Este evento é responsável por acionar o processo de descarregamento de lixo
- * do caminhão pequeno para o sistema da estação de transferência.
+ * do caminhão pequeno para o sistema da estação de transferência. O caminhão é referenciado
+ * pela sua posição na frota da simulação ({@link ContextoSimulacao#getFrota()}).
  */
 public class EstacaoTransferencia extends Evento {
 
@@ -17,25 +19,25 @@ public class EstacaoTransferencia extends Evento {
     private EstacaoDeTransferencia estacao;
 
     /**
-     * O {@link CaminhaoPequeno} que está chegando à estação de transferência.
+     * A posição, na frota, do caminhão pequeno que está chegando à estação de transferência.
      */
-    private CaminhaoPequeno caminhao;
+    private int caminhao;
 
     /**
      * Construtor do evento de chegada de caminhão a uma estação de transferência.
      *
      * @param tempo    Tempo simulado (em minutos) em que o evento ocorrerá.
      * @param estacao  Instância da estação de transferência que receberá o caminhão.
-     * @param caminhao O caminhão pequeno que será processado pela estação.
-     * @throws IllegalArgumentException se o tempo for negativo, ou se a estação ou o caminhão forem nulos.
+     * @param caminhao A posição, na frota, do caminhão pequeno que será processado pela estação.
+     * @throws IllegalArgumentException se o tempo for negativo, se a estação for nula ou a posição do caminhão negativa.
      */
-    public EstacaoTransferencia(int tempo, EstacaoDeTransferencia estacao, CaminhaoPequeno caminhao) {
+    public EstacaoTransferencia(int tempo, EstacaoDeTransferencia estacao, int caminhao) {
         super(tempo);
         if (estacao == null) {
             throw new IllegalArgumentException("A estação de transferência não pode ser nula.");
         }
-        if (caminhao == null) {
-            throw new IllegalArgumentException("O caminhão não pode ser nulo.");
+        if (caminhao < 0) {
+            throw new IllegalArgumentException("Caminhão inválido: " + caminhao);
         }
         this.estacao = estacao;
         this.caminhao = caminhao;
@@ -43,9 +45,9 @@ public class EstacaoTransferencia extends Evento {
 
     /**
      * Retorna o caminhão associado a este evento.
-     * @return O caminhão pequeno.
+     * @return A posição do caminhão pequeno na frota da simulação.
      */
-    public CaminhaoPequeno getCaminhao() {
+    public int getCaminhao() {
         return this.caminhao;
     }
 
@@ -59,15 +61,30 @@ public class EstacaoTransferencia extends Evento {
 
 
     /**
-     * Retorna uma representação textual do evento, contendo o ID do caminhão,
+     * Retorna uma representação textual do evento, contendo a posição do caminhão na frota,
      * o nome da estação de destino e o horário simulado do evento formatado.
      *
      * @return Uma {@code String} com a descrição detalhada do evento.
      */
     @Override
     public String toString() {
+        return formatar("#" + caminhao);
+    }
+
+    /**
+     * Retorna a descrição do evento com o identificador do caminhão.
+     *
+     * @param frota A frota da simulação à qual o evento pertence.
+     * @return Uma {@code String} com a descrição detalhada do evento.
+     */
+    @Override
+    public String descrever(Frota frota) {
+        return formatar(frota.getId(caminhao));
+    }
+
+    private String formatar(String caminhao) {
         return String.format("EventoEstacaoTransferencia | Caminhão %s | Estação %s | Horário: %s",
-                caminhao.getId(),
+                caminhao,
                 estacao.getNomeEstacao(),
                 Timer.formatarHorarioSimulado(getTempo()));
     }
@@ -80,7 +97,20 @@ public class EstacaoTransferencia extends Evento {
      * ou coloca o caminhão pequeno na fila de espera.
      */
     @Override
-    public void executar() {
+    public void executar(ContextoSimulacao contexto) {
         estacao.receberCaminhaoPequeno(caminhao, getTempo());
     }
-}
\ No newline at end of file
+
+    /**
+     * Declara o caminhão que chega e os recursos da estação (veja
+     * {@link EstacaoDeTransferencia#declararRecursos(RecursosEvento)}).
+     *
+     * @param contexto O contexto da simulação à qual o evento pertence.
+     * @param recursos O conjunto que recebe os recursos do evento.
+     */
+    @Override
+    public void declararRecursos(ContextoSimulacao contexto, RecursosEvento recursos) {
+        recursos.adicionar(contexto.getFrota(), caminhao);
+        estacao.declararRecursos(recursos);
+    }
+}
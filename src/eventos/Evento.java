@@ -1,5 +1,8 @@
 package eventos;
 
+import caminhoes.Frota;
+import configsimulador.ContextoSimulacao;
+
 /**
  * Classe abstrata que representa um evento genérico no simulador.
  * <p>
@@ -20,6 +23,23 @@ public abstract class Evento implements Comparable<Evento> {
      */
     protected int tempo;
 
+    /**
+     * Indica se o evento está na agenda aguardando execução.
+     */
+    private boolean pendente;
+
+    /**
+     * Indica se o evento foi cancelado enquanto estava na agenda. Eventos cancelados
+     * permanecem na estrutura da agenda, mas são descartados sem execução.
+     */
+    private boolean cancelado;
+
+    /**
+     * A ordem em que o evento entrou na estrutura da agenda (veja {@link GerenciadorAgenda}).
+     * Entre eventos com o mesmo tempo, é a ordem em que são processados.
+     */
+    private long ordemAgendamento;
+
     /**
      * Constrói um novo Evento com o tempo especificado para sua ocorrência.
      *
@@ -42,6 +62,62 @@ public abstract class Evento implements Comparable<Evento> {
         return tempo;
     }
 
+    /**
+     * Verifica se o evento foi cancelado depois de agendado.
+     *
+     * @return {@code true} se o evento foi cancelado, {@code false} caso contrário.
+     */
+    public boolean isCancelado() {
+        return cancelado;
+    }
+
+    /**
+     * Verifica se o evento está agendado e ainda não foi executado nem cancelado.
+     *
+     * @return {@code true} se o evento está pendente na agenda.
+     */
+    public boolean isPendente() {
+        return pendente;
+    }
+
+    /**
+     * Marca o evento como pendente na agenda. Chamado pelo {@link GerenciadorAgenda} ao agendá-lo.
+     */
+    void marcarAgendado() {
+        this.pendente = true;
+        this.cancelado = false;
+    }
+
+    long getOrdemAgendamento() {
+        return ordemAgendamento;
+    }
+
+    void setOrdemAgendamento(long ordemAgendamento) {
+        this.ordemAgendamento = ordemAgendamento;
+    }
+
+    /**
+     * Marca o evento como retirado da agenda para execução.
+     */
+    void marcarRetirado() {
+        this.pendente = false;
+    }
+
+    /**
+     * Cancela o evento, caso ainda esteja pendente. A operação é O(1): o evento não é
+     * procurado na agenda, apenas marcado para ser descartado quando chegar a sua vez.
+     *
+     * @return {@code true} se o evento estava pendente e foi cancelado, {@code false} caso contrário.
+     */
+    boolean cancelar() {
+        if (!pendente) {
+            return false;
+        }
+        this.pendente = false;
+        this.cancelado = true;
+        return true;
+    }
+
     /**
      * Método abstrato que contém a lógica específica de execução do evento.
      * <p>
@@ -49,8 +125,26 @@ public abstract class Evento implements Comparable<Evento> {
      * o comportamento particular que ocorre quando o evento é processado.
      * Por exemplo, um evento de coleta de lixo implementaria a lógica de um caminhão
      * coletando lixo de uma zona.
+     *
+     * @param contexto O contexto da simulação à qual o evento pertence (agenda, estatísticas e roteamento).
+     */
+    public abstract void executar(ContextoSimulacao contexto);
+
+    /**
+     * Declara os objetos do modelo que o evento lê ou altera ao executar (veja {@link RecursosEvento}).
+     * <p>
+     * Eventos do mesmo minuto sem recursos em comum podem ser executados em paralelo pelo
+     * {@link ProcessadorLotes}. Os eventos agendados, a contagem de caminhões ativos da frota e
+     * as estatísticas e a numeração de caminhões grandes do contexto não precisam ser declarados.
+     * Por padrão, o evento declara-se global e é executado sozinho; subclasses que só usam parte
+     * do modelo devem sobrescrever este método.
+     *
+     * @param contexto O contexto da simulação à qual o evento pertence.
+     * @param recursos O conjunto que recebe os recursos do evento.
      */
-    public abstract void executar();
+    public void declararRecursos(ContextoSimulacao contexto, RecursosEvento recursos) {
+        recursos.declararGlobal();
+    }
 
     /**
      * Compara este evento com outro evento baseado em seus tempos de ocorrência.
@@ -75,7 +169,7 @@ public abstract class Evento implements Comparable<Evento> {
     /**
      * Retorna uma representação em string do evento.
      * Subclasses devem sobrescrever este método para fornecer uma descrição mais detalhada
-     * e específica do evento (ex: "EventoColeta | Caminhão C1 | Zona Sul | Horário: 08:00").
+     * e específica do evento (ex: "EventoColeta | Caminhão #0 | Zona Sul | Horário: 08:00").
      *
      * @return Uma representação textual genérica do evento.
      */
@@ -83,4 +177,16 @@ public abstract class Evento implements Comparable<Evento> {
     public String toString() {
         return "Evento @ Tempo: " + tempo;
     }
+
+    /**
+     * Retorna uma descrição do evento para relatórios e telas. Os eventos referenciam os caminhões
+     * pequenos pela posição na frota; aqui a posição é trocada pelo identificador do caminhão
+     * (ex: "EventoColeta | Caminhão C2-1 | Zona Sul | Horário: 08:00").
+     *
+     * @param frota A frota da simulação à qual o evento pertence.
+     * @return A descrição do evento. Por padrão, a mesma de {@link #toString()}.
+     */
+    public String descrever(Frota frota) {
+        return toString();
+    }
 }
\ No newline at end of file
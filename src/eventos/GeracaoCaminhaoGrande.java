@@ -1,7 +1,10 @@
 package eventos;
 
 import caminhoes.CaminhaoGrande;
+import configsimulador.ContextoSimulacao;
 import estacoes.EstacaoDeTransferencia;
+import registro.MensagemRegistro;
+import registro.Registrador;
 import timer.Timer;
 
 /**
@@ -66,30 +69,41 @@ public class GeracaoCaminhaoGrande extends Evento {
      * </ul>
      */
     @Override
-    public void executar() {
-        System.out.println("== GERAÇÃO DE CAMINHÃO GRANDE ==");
-        System.out.printf("[%s] [Estação %s]%n", Timer.formatarHorarioSimulado(getTempo()), estacao.getNomeEstacao());
+    public void executar(ContextoSimulacao contexto) {
+        Registrador registro = contexto.getRegistrador();
+        registro.registrar(MensagemRegistro.GERACAO_GRANDE_INICIO, getTempo(), estacao.getNomeEstacao());
 
         if (estacao.getFilaCaminhoesPequeos().estaVazia()) {
-            System.out.println("  • Fila de espera está vazia. Geração de caminhão grande cancelada.");
+            registro.registrar(MensagemRegistro.GERACAO_GRANDE_FILA_VAZIA, getTempo());
             return;
         }
 
         CaminhaoGrande caminhaoGrandeAtual = estacao.getCaminhaoGrande();
 
         if (caminhaoGrandeAtual != null && caminhaoGrandeAtual.getCargaAtual() > 0) {
-            System.out.println("  • Tolerância de espera do caminhão grande " + caminhaoGrandeAtual.getId() + " atingida. Partindo para o aterro.");
+            registro.registrar(MensagemRegistro.GERACAO_GRANDE_TOLERANCIA, getTempo(), caminhaoGrandeAtual.getId());
             estacao.despacharCaminhaoGrande(getTempo());
             return;
         }
 
         if (caminhaoGrandeAtual != null && caminhaoGrandeAtual.getCargaAtual() == 0) {
-            System.out.println("  • Caminhão grande " + caminhaoGrandeAtual.getId() + " está vazio e continua aguardando.");
+            registro.registrar(MensagemRegistro.GERACAO_GRANDE_AGUARDANDO, getTempo(), caminhaoGrandeAtual.getId());
             return;
         }
 
-        System.out.println("  • Tempo máximo de espera atingido para caminhão na fila. Gerando novo caminhão grande para a estação.");
+        registro.registrar(MensagemRegistro.GERACAO_GRANDE_NOVO, getTempo());
         estacao.gerarNovoCaminhaoGrande(getTempo());
-        System.out.println();
+        registro.registrar(MensagemRegistro.LINHA_EM_BRANCO, getTempo());
     }
-}
\ No newline at end of file
+
+    /**
+     * Declara os recursos da estação (veja {@link EstacaoDeTransferencia#declararRecursos(RecursosEvento)}).
+     *
+     * @param contexto O contexto da simulação à qual o evento pertence.
+     * @param recursos O conjunto que recebe os recursos do evento.
+     */
+    @Override
+    public void declararRecursos(ContextoSimulacao contexto, RecursosEvento recursos) {
+        estacao.declararRecursos(recursos);
+    }
+}
@@ -1,5 +1,8 @@
 package eventos;
 
+import configsimulador.ContextoSimulacao;
+import registro.MensagemRegistro;
+import registro.Registrador;
 import zonas.Zonas;
 import timer.Timer; // Importe a classe Timer para formatar o horário, se necessário em logs.
 
@@ -51,11 +54,12 @@ public class GeracaoDeLixo extends Evento {
      * </ul>
      */
     @Override
-    public void executar() {
-        System.out.println("== GERAÇÃO DE LIXO ==");
-        System.out.printf("[%s] %n", Timer.formatarHorarioSimulado(getTempo()));
-        zona.gerarLixoDiario(); // Chama o método da zona para gerar e acumular lixo
-        System.out.println(); // Linha em branco para melhor legibilidade
+    public void executar(ContextoSimulacao contexto) {
+        Registrador registro = contexto.getRegistrador();
+        registro.registrar(MensagemRegistro.GERACAO_LIXO_INICIO, getTempo());
+        int lixoGerado = zona.gerarLixoDiario(); // Chama o método da zona para gerar e acumular lixo
+        registro.registrar(MensagemRegistro.ZONA_LIXO_GERADO, getTempo(), zona.getNome(), lixoGerado, zona.getLixoAcumulado());
+        registro.registrar(MensagemRegistro.LINHA_EM_BRANCO, getTempo()); // Linha em branco para melhor legibilidade
     }
 
     /**
@@ -66,4 +70,16 @@ public class GeracaoDeLixo extends Evento {
     public Zonas getZona() {
         return zona;
     }
-}
\ No newline at end of file
+
+    /**
+     * Declara a zona e a fila de prioridade da zona, que é atualizada quando o lixo é gerado.
+     *
+     * @param contexto O contexto da simulação à qual o evento pertence.
+     * @param recursos O conjunto que recebe os recursos do evento.
+     */
+    @Override
+    public void declararRecursos(ContextoSimulacao contexto, RecursosEvento recursos) {
+        recursos.adicionar(zona);
+        recursos.adicionar(zona.getFilaPrioridade());
+    }
+}
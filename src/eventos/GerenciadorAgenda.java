@@ -1,32 +1,70 @@
 package eventos;
 
-import tads.Lista;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 
 /**
- * Gerencia a agenda de eventos da simulação. Esta é uma classe utilitária estática
- * que mantém uma lista cronologicamente ordenada de eventos a serem executados.
+ * Gerencia a agenda de eventos de uma simulação. Mantém os eventos a serem executados
+ * em ordem cronológica, armazenados em uma {@link IAgenda} (por padrão, um
+ * {@link AgendaHeap}; veja {@link #setTipoAgenda(TipoAgenda)}).
  * Também implementa o padrão Observer para notificar outras partes do sistema
- * sobre eventos processados. O loop de processamento de eventos foi movido
- * para a classe MainFX para melhor controle da interface e da simulação.
+ * sobre eventos processados. O loop de processamento de eventos não fica aqui: ele está
+ * no {@code ExecutorSimulacao}, que executa a simulação sem interface gráfica, e na
+ * MainFX, que pausa entre os eventos para animar a interface.
+ * <p>
+ * Cada simulação possui a sua própria agenda, criada e mantida pelo seu
+ * {@code ContextoSimulacao}, de forma que várias simulações independentes podem ser
+ * executadas no mesmo processo.
  */
 public class GerenciadorAgenda {
 
-    /** A lista ordenada de eventos a serem processados. */
-    private static Lista<Evento> eventos = new Lista<>();
+    /** O tipo de estrutura usada para armazenar os eventos. */
+    private TipoAgenda tipoAgenda;
+    /** A estrutura que armazena, em ordem cronológica, os eventos a serem processados. */
+    private IAgenda eventos;
     /** O tempo de simulação do último evento que foi processado. */
-    private static int tempoUltimoEvento = 0;
+    private int tempoUltimoEvento = 0;
     /** A referência para o último evento que foi processado. */
-    private static Evento ultimoEvento = null;
+    private Evento ultimoEvento = null;
     /** A lista de observadores a serem notificados quando um evento é processado. */
-    private static final List<IEventoObserver> observers = new ArrayList<>();
+    private final List<IEventoObserver> observers = new ArrayList<>();
+    /** Indica se um lote de eventos está sendo executado em paralelo (veja {@link ProcessadorLotes}). */
+    private boolean loteParalelo;
+    /**
+     * Os eventos agendados por cada thread durante um lote paralelo; eles só entram na agenda
+     * depois do lote, na ordem dos eventos que os agendaram.
+     */
+    private final ThreadLocal<List<Evento>> agendamentosDoLote = new ThreadLocal<>();
+    /** Quantos eventos já entraram na estrutura da agenda; dá a ordem de agendamento do próximo. */
+    private long agendamentos;
+    /**
+     * Os eventos retirados e cancelados desde o estado salvo mais antigo ainda guardado, ou
+     * {@code null} se nenhum estado está guardado (veja {@link #salvarEstado()}).
+     */
+    private Diario diario;
+
+    /**
+     * Constrói uma agenda vazia usando a implementação padrão ({@link TipoAgenda#HEAP}).
+     */
+    public GerenciadorAgenda() {
+        this(TipoAgenda.HEAP);
+    }
 
     /**
-     * Construtor privado para impedir a instanciação da classe.
+     * Constrói uma agenda vazia usando a implementação informada.
+     *
+     * @param tipoAgenda O tipo de estrutura usada para armazenar os eventos.
+     * @throws IllegalArgumentException se o tipo for nulo.
      */
-    private GerenciadorAgenda() {
-        // Previne instanciação
+    public GerenciadorAgenda(TipoAgenda tipoAgenda) {
+        if (tipoAgenda == null) {
+            throw new IllegalArgumentException("O tipo de agenda não pode ser nulo.");
+        }
+        this.tipoAgenda = tipoAgenda;
+        this.eventos = tipoAgenda.criar();
     }
 
     /**
@@ -34,7 +72,7 @@ public class GerenciadorAgenda {
      *
      * @param observer O observador a ser adicionado.
      */
-    public static void adicionarObserver(IEventoObserver observer) {
+    public void adicionarObserver(IEventoObserver observer) {
         if (!observers.contains(observer)) {
             observers.add(observer);
         }
@@ -45,7 +83,7 @@ public class GerenciadorAgenda {
      *
      * @param observer O observador a ser removido.
      */
-    public static void removerObserver(IEventoObserver observer) {
+    public void removerObserver(IEventoObserver observer) {
         observers.remove(observer);
     }
 
@@ -54,7 +92,7 @@ public class GerenciadorAgenda {
      *
      * @param evento O evento que será passado para os observadores.
      */
-    public static void notificarObservers(Evento evento) {
+    public void notificarObservers(Evento evento) {
         for (IEventoObserver observer : observers) {
             observer.onEvento(evento);
         }
@@ -62,16 +100,19 @@ public class GerenciadorAgenda {
 
     /**
      * Retorna e remove o próximo evento da agenda (o evento com o menor tempo).
+     * Eventos cancelados são descartados sem serem retornados.
      * Atualiza o estado do último evento processado.
      *
      * @return O próximo evento, ou null se a agenda estiver vazia.
      */
-    public static Evento proximoEvento() {
+    public Evento proximoEvento() {
         if (estaVazia()) {
             return null;
         }
-        Evento proximo = eventos.removerHead();
+        Evento proximo = eventos.removerProximo();
         if (proximo != null) {
+            registrarRetirada(proximo);
+            proximo.marcarRetirado();
             ultimoEvento = proximo;
             tempoUltimoEvento = proximo.getTempo();
         }
@@ -82,37 +123,314 @@ public class GerenciadorAgenda {
      * Adiciona um novo evento à agenda, mantendo a ordem cronológica baseada no tempo do evento.
      *
      * @param evento O evento a ser agendado.
+     * @return Um {@link AgendamentoEvento} que permite cancelar o evento em O(1).
      * @throws IllegalArgumentException se o evento for nulo.
      */
-    public static void adicionarEvento(Evento evento) {
+    public AgendamentoEvento adicionarEvento(Evento evento) {
         if (evento == null) {
             throw new IllegalArgumentException("O evento a ser adicionado não pode ser nulo.");
         }
-        eventos.adicionarOrdenado(evento, (e1, e2) -> Integer.compare(e1.getTempo(), e2.getTempo()));
+        evento.marcarAgendado();
+        if (loteParalelo) {
+            List<Evento> destino = agendamentosDoLote.get();
+            if (destino != null) {
+                destino.add(evento);
+                return new AgendamentoEvento(this, evento);
+            }
+        }
+        evento.setOrdemAgendamento(agendamentos++);
+        eventos.adicionar(evento);
+        return new AgendamentoEvento(this, evento);
+    }
+
+    /**
+     * Adiciona vários eventos à agenda de uma só vez, como a primeira coleta de cada caminhão
+     * no início da simulação. A ordem dos eventos é a mesma de agendá-los um a um com
+     * {@link #adicionarEvento(Evento)}, na ordem da coleção, mas a estrutura da agenda é
+     * organizada de uma só vez (em tempo linear no {@link AgendaHeap}).
+     * <p>
+     * Nenhum evento é agendado se algum deles for nulo. Como nenhum {@link AgendamentoEvento} é
+     * devolvido, eventos que possam precisar ser cancelados devem ser agendados individualmente.
+     *
+     * @param novosEventos Os eventos a serem agendados.
+     * @throws IllegalArgumentException se a coleção ou algum dos eventos for nulo.
+     */
+    public void adicionarEventos(Collection<? extends Evento> novosEventos) {
+        if (novosEventos == null) {
+            throw new IllegalArgumentException("A coleção de eventos não pode ser nula.");
+        }
+        for (Evento evento : novosEventos) {
+            if (evento == null) {
+                throw new IllegalArgumentException("O evento a ser adicionado não pode ser nulo.");
+            }
+        }
+        for (Evento evento : novosEventos) {
+            evento.marcarAgendado();
+        }
+        if (loteParalelo) {
+            List<Evento> destino = agendamentosDoLote.get();
+            if (destino != null) {
+                destino.addAll(novosEventos);
+                return;
+            }
+        }
+        for (Evento evento : novosEventos) {
+            evento.setOrdemAgendamento(agendamentos++);
+        }
+        eventos.adicionarTodos(novosEventos);
+    }
+
+    /**
+     * Retira da agenda todos os eventos do próximo minuto, na ordem em que seriam processados,
+     * e avança o tempo da agenda para esse minuto. Os eventos continuam pendentes (e, portanto,
+     * canceláveis) até que {@link ProcessadorLotes} os execute. Os eventos agendados para o
+     * mesmo minuto durante a execução do lote ficam para o lote seguinte.
+     *
+     * @param lote A lista que recebe os eventos retirados.
+     */
+    void retirarLote(List<Evento> lote) {
+        Evento proximo = espiarProximoEvento();
+        if (proximo == null) {
+            return;
+        }
+        int tempoLote = proximo.getTempo();
+        while (proximo != null && proximo.getTempo() == tempoLote) {
+            registrarRetirada(proximo);
+            lote.add(eventos.removerProximo());
+            proximo = espiarProximoEvento();
+        }
+        tempoUltimoEvento = tempoLote;
+    }
+
+    /**
+     * Registra o último evento executado de um lote.
+     */
+    void concluirLote(Evento ultimo) {
+        if (ultimo != null) {
+            ultimoEvento = ultimo;
+        }
+    }
+
+    /**
+     * Liga ou desliga o desvio dos agendamentos feitos durante a execução paralela de um lote.
+     * Deve ser chamado pela thread que coordena o lote, antes e depois da execução.
+     */
+    void setLoteParalelo(boolean loteParalelo) {
+        this.loteParalelo = loteParalelo;
+    }
+
+    /**
+     * Define a lista que recebe os eventos agendados pela thread atual enquanto um lote
+     * paralelo executa, ou {@code null} para agendar diretamente na agenda.
+     */
+    void desviarAgendamentos(List<Evento> destino) {
+        if (destino == null) {
+            agendamentosDoLote.remove();
+        } else {
+            agendamentosDoLote.set(destino);
+        }
+    }
+
+    /**
+     * Inclui na agenda, na ordem da lista, eventos já marcados como agendados durante um lote paralelo.
+     */
+    void incorporarAgendamentos(List<Evento> agendados) {
+        for (Evento evento : agendados) {
+            evento.setOrdemAgendamento(agendamentos++);
+        }
+        eventos.adicionarTodos(agendados);
     }
 
     /**
-     * Remove um evento específico da agenda.
-     * Útil para cancelar eventos agendados, como timeouts.
+     * Cancela um evento específico da agenda.
+     * Útil para cancelar eventos agendados, como timeouts. O evento não é procurado na
+     * agenda: ele é marcado como cancelado e descartado quando chegar a sua vez (O(1)).
      *
      * @param evento O evento a ser removido.
-     * @return {@code true} se o evento foi encontrado e removido, {@code false} caso contrário.
+     * @return {@code true} se o evento estava pendente e foi cancelado, {@code false} caso contrário.
+     * @see AgendamentoEvento#cancelar()
      */
-    public static boolean removerEvento(Evento evento) {
+    public boolean removerEvento(Evento evento) {
         if (evento == null) return false;
-        return eventos.removerProcurado(evento);
+        if (!evento.cancelar()) {
+            return false;
+        }
+        if (diario != null) {
+            diario.cancelados.adicionar(evento);
+        }
+        return true;
+    }
+
+    /**
+     * Descarta do início da agenda os eventos que foram cancelados, de forma que o
+     * próximo evento da estrutura seja sempre um evento válido.
+     */
+    private void descartarCancelados() {
+        Evento proximo = eventos.espiarProximo();
+        while (proximo != null && proximo.isCancelado()) {
+            registrarRetirada(proximo);
+            eventos.removerProximo();
+            proximo = eventos.espiarProximo();
+        }
     }
 
+    /**
+     * Registra no diário, se algum estado estiver guardado, um evento que sai da estrutura da agenda.
+     */
+    private void registrarRetirada(Evento evento) {
+        if (diario != null) {
+            diario.retirados.adicionar(evento);
+        }
+    }
 
     /**
      * Reseta a agenda, limpando todos os eventos pendentes e reiniciando
      * as variáveis de estado. Usado para iniciar uma nova simulação.
      */
-    public static void reset() {
-        eventos = new Lista<>();
+    public void reset() {
+        eventos = tipoAgenda.criar();
         tempoUltimoEvento = 0;
         ultimoEvento = null;
-        System.out.println("[AGENDA] A agenda de eventos foi resetada.");
+        diario = null;
+    }
+
+    /**
+     * Salva o estado da agenda: os eventos pendentes e o último evento processado. Nada é
+     * copiado: a partir do primeiro estado salvo, a agenda passa a registrar, em um diário, os
+     * eventos que saem da sua estrutura (executados, descartados ou retirados em lote) e os
+     * eventos cancelados, e o estado guarda apenas as posições no diário e a ordem de
+     * agendamento do próximo evento, em tempo O(1). O estado pode ser restaurado com
+     * {@link #restaurarEstado(Estado)} desde que os eventos não sejam alterados (os eventos da
+     * simulação só guardam os dados com que foram criados e os calculados ao executar).
+     * <p>
+     * O diário cresce até que os estados mais antigos sejam descartados com
+     * {@link #descartarEstadosAnteriores(Estado)} ou {@link #descartarEstados()}. Ele não é
+     * seguro para uso concorrente: estados não devem ser salvos durante um lote paralelo.
+     *
+     * @return O estado atual da agenda.
+     */
+    public Estado salvarEstado() {
+        if (diario == null) {
+            diario = new Diario();
+        }
+        return new Estado(diario, agendamentos, diario.retirados.getFim(), diario.cancelados.getFim(),
+                tempoUltimoEvento, ultimoEvento);
+    }
+
+    /**
+     * Volta a agenda a um estado salvo com {@link #salvarEstado()}: os eventos agendados depois
+     * são descartados e os eventos pendentes no estado voltam à agenda, na mesma ordem, mesmo
+     * que tenham sido executados ou cancelados depois. As referências
+     * ({@link AgendamentoEvento}) obtidas ao agendá-los continuam válidas. O estado restaurado
+     * continua válido, mas os estados salvos depois dele são invalidados.
+     * <p>
+     * Os eventos que continuam na estrutura e os retirados desde o estado são reorganizados
+     * pelo tempo e pela ordem de agendamento, em tempo O(n log n).
+     *
+     * @param estado O estado a ser restaurado.
+     * @throws IllegalArgumentException se o estado for nulo, tiver sido invalidado ou descartado.
+     */
+    public void restaurarEstado(Estado estado) {
+        validar(estado);
+        RegistroEventos cancelados = diario.cancelados;
+        for (long posicao = cancelados.getFim() - 1; posicao >= estado.posicaoCancelados; posicao--) {
+            Evento evento = cancelados.get(posicao);
+            if (evento.getOrdemAgendamento() < estado.ordem) {
+                evento.marcarAgendado();
+            }
+        }
+        cancelados.truncar(estado.posicaoCancelados);
+
+        RegistroEventos retirados = diario.retirados;
+        List<Evento> pendentes = new ArrayList<>(eventos.getTamanho() + (int) (retirados.getFim() - estado.posicaoRetirados));
+        for (long posicao = estado.posicaoRetirados; posicao < retirados.getFim(); posicao++) {
+            Evento evento = retirados.get(posicao);
+            if (evento.getOrdemAgendamento() < estado.ordem) {
+                pendentes.add(evento);
+            }
+        }
+        retirados.truncar(estado.posicaoRetirados);
+        // Os eventos cancelados antes do estado continuam na estrutura, ainda cancelados, para que
+        // um estado mais antigo, salvo antes do cancelamento, também os encontre.
+        while (!eventos.estaVazia()) {
+            Evento evento = eventos.removerProximo();
+            if (evento.getOrdemAgendamento() < estado.ordem) {
+                pendentes.add(evento);
+            } else if (evento.isPendente()) {
+                evento.marcarRetirado();
+            }
+        }
+        pendentes.sort(ORDEM_DA_AGENDA);
+        for (Evento evento : pendentes) {
+            if (!evento.isCancelado()) {
+                evento.marcarAgendado();
+            }
+        }
+        eventos = tipoAgenda.criar();
+        eventos.adicionarTodos(pendentes);
+        tempoUltimoEvento = estado.tempoUltimoEvento;
+        ultimoEvento = estado.ultimoEvento;
+    }
+
+    /**
+     * Descarta do diário o que só era necessário para restaurar estados salvos antes do estado
+     * informado, que continua válido. Os estados anteriores deixam de poder ser restaurados.
+     *
+     * @param estado O estado salvo mais antigo que ainda pode ser restaurado.
+     * @throws IllegalArgumentException se o estado for nulo, tiver sido invalidado ou descartado.
+     */
+    public void descartarEstadosAnteriores(Estado estado) {
+        validar(estado);
+        diario.retirados.descartarAte(estado.posicaoRetirados);
+        diario.cancelados.descartarAte(estado.posicaoCancelados);
+    }
+
+    /**
+     * Descarta todos os estados salvos e deixa de registrar o diário até o próximo
+     * {@link #salvarEstado()}.
+     */
+    public void descartarEstados() {
+        diario = null;
+    }
+
+    /**
+     * Verifica se um estado salvo ainda pode ser restaurado.
+     */
+    private void validar(Estado estado) {
+        if (estado == null) {
+            throw new IllegalArgumentException("O estado da agenda não pode ser nulo.");
+        }
+        if (estado.diario != diario
+                || !diario.retirados.contem(estado.posicaoRetirados)
+                || !diario.cancelados.contem(estado.posicaoCancelados)) {
+            throw new IllegalArgumentException("O estado da agenda foi invalidado ou descartado.");
+        }
+    }
+
+    /**
+     * Define a implementação de agenda usada a partir do próximo {@link #reset()}.
+     * Se a agenda atual estiver vazia, ela é substituída imediatamente.
+     *
+     * @param tipo O tipo de agenda desejado.
+     * @throws IllegalArgumentException se o tipo for nulo.
+     */
+    public void setTipoAgenda(TipoAgenda tipo) {
+        if (tipo == null) {
+            throw new IllegalArgumentException("O tipo de agenda não pode ser nulo.");
+        }
+        tipoAgenda = tipo;
+        if (eventos.estaVazia()) {
+            eventos = tipo.criar();
+        }
+    }
+
+    /**
+     * Retorna o tipo de agenda atualmente configurado.
+     *
+     * @return O {@link TipoAgenda} em uso.
+     */
+    public TipoAgenda getTipoAgenda() {
+        return tipoAgenda;
     }
 
     /**
@@ -120,7 +438,7 @@ public class GerenciadorAgenda {
      *
      * @return O tempo do último evento.
      */
-    public static int getTempoUltimoEvento() {
+    public int getTempoUltimoEvento() {
         return tempoUltimoEvento;
     }
 
@@ -129,7 +447,7 @@ public class GerenciadorAgenda {
      *
      * @return O último objeto {@link Evento} processado.
      */
-    public static Evento getUltimoEvento() {
+    public Evento getUltimoEvento() {
         return ultimoEvento;
     }
 
@@ -138,7 +456,8 @@ public class GerenciadorAgenda {
      *
      * @return {@code true} se não houver eventos na agenda, {@code false} caso contrário.
      */
-    public static boolean estaVazia() {
+    public boolean estaVazia() {
+        descartarCancelados();
         return eventos.estaVazia();
     }
 
@@ -147,8 +466,91 @@ public class GerenciadorAgenda {
      *
      * @return O próximo evento a ser processado, ou {@code null} se a agenda estiver vazia.
      */
-    public static Evento espiarProximoEvento() {
-        if (estaVazia()) return null;
-        return eventos.espiarPrimeiro().getValor();
+    public Evento espiarProximoEvento() {
+        descartarCancelados();
+        return eventos.espiarProximo();
+    }
+
+    /** A ordem em que os eventos são processados: pelo tempo e, no mesmo tempo, pela ordem de agendamento. */
+    private static final Comparator<Evento> ORDEM_DA_AGENDA =
+            Comparator.comparingInt(Evento::getTempo).thenComparingLong(Evento::getOrdemAgendamento);
+
+    /**
+     * O estado salvo de uma agenda ({@link #salvarEstado()}): a ordem de agendamento do próximo
+     * evento, as posições no diário e o último evento processado.
+     */
+    public static final class Estado {
+        private final Diario diario;
+        private final long ordem;
+        private final long posicaoRetirados;
+        private final long posicaoCancelados;
+        private final int tempoUltimoEvento;
+        private final Evento ultimoEvento;
+
+        private Estado(Diario diario, long ordem, long posicaoRetirados, long posicaoCancelados,
+                       int tempoUltimoEvento, Evento ultimoEvento) {
+            this.diario = diario;
+            this.ordem = ordem;
+            this.posicaoRetirados = posicaoRetirados;
+            this.posicaoCancelados = posicaoCancelados;
+            this.tempoUltimoEvento = tempoUltimoEvento;
+            this.ultimoEvento = ultimoEvento;
+        }
+    }
+
+    /**
+     * Os eventos que saíram da estrutura da agenda e os eventos cancelados desde o estado salvo
+     * mais antigo ainda guardado.
+     */
+    private static final class Diario {
+        private final RegistroEventos retirados = new RegistroEventos();
+        private final RegistroEventos cancelados = new RegistroEventos();
+    }
+
+    /**
+     * Uma sequência de eventos endereçada por posições absolutas, que não mudam quando o início
+     * da sequência é descartado.
+     */
+    private static final class RegistroEventos {
+        private Evento[] eventos = new Evento[16];
+        private int tamanho;
+        /** A posição absoluta do primeiro evento guardado. */
+        private long inicio;
+
+        void adicionar(Evento evento) {
+            if (tamanho == eventos.length) {
+                eventos = Arrays.copyOf(eventos, tamanho * 2);
+            }
+            eventos[tamanho++] = evento;
+        }
+
+        /** A posição absoluta do próximo evento a ser registrado. */
+        long getFim() {
+            return inicio + tamanho;
+        }
+
+        boolean contem(long posicao) {
+            return posicao >= inicio && posicao <= getFim();
+        }
+
+        Evento get(long posicao) {
+            return eventos[(int) (posicao - inicio)];
+        }
+
+        /** Descarta os eventos registrados a partir da posição. */
+        void truncar(long posicao) {
+            int novoTamanho = (int) (posicao - inicio);
+            Arrays.fill(eventos, novoTamanho, tamanho, null);
+            tamanho = novoTamanho;
+        }
+
+        /** Descarta os eventos registrados antes da posição. */
+        void descartarAte(long posicao) {
+            int descartados = (int) (posicao - inicio);
+            System.arraycopy(eventos, descartados, eventos, 0, tamanho - descartados);
+            Arrays.fill(eventos, tamanho - descartados, tamanho, null);
+            tamanho -= descartados;
+            inicio = posicao;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package eventos;
+
+import java.util.Collection;
+
+/**
+ * Contrato da estrutura de dados que armazena os eventos pendentes da simulação.
+ * <p>
+ * O {@link GerenciadorAgenda} delega a esta interface o armazenamento dos eventos,
+ * permitindo trocar a estrutura (lista ordenada, heap, etc.) sem alterar o restante
+ * do simulador. Toda implementação deve devolver os eventos em ordem crescente de
+ * {@link Evento#getTempo()}.
+ */
+public interface IAgenda {
+
+    /**
+     * Insere um evento na agenda, respeitando a ordem cronológica.
+     *
+     * @param evento O evento a ser agendado. Não pode ser nulo.
+     */
+    void adicionar(Evento evento);
+
+    /**
+     * Insere vários eventos na agenda de uma só vez. O resultado é o mesmo de chamar
+     * {@link #adicionar(Evento)} para cada evento, na ordem da coleção (inclusive o desempate
+     * entre eventos do mesmo tempo); implementações podem aproveitar a carga em lote para
+     * organizar a estrutura de uma só vez.
+     *
+     * @param eventos Os eventos a serem agendados. Nenhum pode ser nulo.
+     */
+    default void adicionarTodos(Collection<? extends Evento> eventos) {
+        for (Evento evento : eventos) {
+            adicionar(evento);
+        }
+    }
+
+    /**
+     * Remove e retorna o evento com o menor tempo.
+     *
+     * @return O próximo evento, ou {@code null} se a agenda estiver vazia.
+     */
+    Evento removerProximo();
+
+    /**
+     * Retorna o evento com o menor tempo sem removê-lo.
+     *
+     * @return O próximo evento, ou {@code null} se a agenda estiver vazia.
+     */
+    Evento espiarProximo();
+
+    /**
+     * Remove um evento específico da agenda, caso ele esteja presente.
+     *
+     * @param evento O evento a ser removido.
+     * @return {@code true} se o evento foi encontrado e removido, {@code false} caso contrário.
+     */
+    boolean remover(Evento evento);
+
+    /**
+     * Retorna o número de eventos pendentes na agenda.
+     *
+     * @return A quantidade de eventos armazenados.
+     */
+    int getTamanho();
+
+    /**
+     * Verifica se a agenda está vazia.
+     *
+     * @return {@code true} se não houver eventos pendentes, {@code false} caso contrário.
+     */
+    boolean estaVazia();
+}
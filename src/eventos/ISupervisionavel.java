@@ -0,0 +1,36 @@
+package eventos;
+
+import zonas.Zonas;
+
+/**
+ * Contrato da simulação consultada pelo supervisor de fim de turno ({@link VerificarFimDeTurno}).
+ * <p>
+ * O supervisor precisa apenas saber se a frota ainda está trabalhando, qual zona tem mais lixo
+ * e como enviar um caminhão de reforço. Separar esse contrato permite que simulações com
+ * estruturas diferentes (uma única agenda ou uma agenda por estação de transferência)
+ * usem o mesmo evento supervisor.
+ */
+public interface ISupervisionavel {
+
+    /**
+     * Verifica se algum caminhão da frota ainda tem viagens restantes.
+     *
+     * @return {@code true} se pelo menos um caminhão está ativo, {@code false} caso contrário.
+     */
+    boolean verificarCaminhoesAtivos();
+
+    /**
+     * Retorna a zona com mais lixo acumulado; em caso de empate, a primeira zona do cenário.
+     *
+     * @return A zona com mais lixo, ou {@code null} se todas estiverem limpas.
+     */
+    Zonas getZonaComMaisLixo();
+
+    /**
+     * Adiciona um caminhão de reforço à simulação e agenda a sua coleta na zona informada.
+     *
+     * @param tempoAtual O tempo atual, em que a coleta é agendada.
+     * @param zonaAlvo   A zona que o caminhão deve atender.
+     */
+    void adicionarCaminhaoExtra(int tempoAtual, Zonas zonaAlvo);
+}
@@ -1,7 +1,9 @@
 package eventos;
 
 import caminhoes.CaminhaoGrande;
+import configsimulador.ContextoSimulacao;
 import estacoes.EstacaoDeTransferencia;
+import registro.MensagemRegistro;
 import timer.Timer;
 
 /**
@@ -56,10 +58,11 @@ public class PartidaCaminhaoGrande extends Evento {
      * simulada anteriormente, e a animação visual é tratada na classe MainFX.
      */
     @Override
-    public void executar() {
+    public void executar(ContextoSimulacao contexto) {
         // A lógica principal é a visual, tratada na MainFX.
         // O descarregamento da carga já foi simulado no momento da criação do evento.
-        System.out.println("Caminhão grande " + caminhaoGrande.getId() + " partiu da " + estacaoOrigem.getNomeEstacao() + " para o aterro.");
+        contexto.getRegistrador().registrar(MensagemRegistro.PARTIDA_GRANDE, getTempo(),
+                estacaoOrigem.getNomeEstacao(), caminhaoGrande.getId());
     }
 
     /**
@@ -75,4 +78,15 @@ public class PartidaCaminhaoGrande extends Evento {
                 estacaoOrigem.getNomeEstacao(),
                 Timer.formatarHorarioSimulado(getTempo()));
     }
-}
\ No newline at end of file
+
+    /**
+     * Declara a estação de origem; o evento apenas registra a partida.
+     *
+     * @param contexto O contexto da simulação à qual o evento pertence.
+     * @param recursos O conjunto que recebe os recursos do evento.
+     */
+    @Override
+    public void declararRecursos(ContextoSimulacao contexto, RecursosEvento recursos) {
+        recursos.adicionar(estacaoOrigem);
+    }
+}
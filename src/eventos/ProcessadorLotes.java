@@ -0,0 +1,308 @@
+package eventos;
+
+import configsimulador.ContextoSimulacao;
+import registro.Registrador;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Processa a agenda de uma simulação em lotes de eventos do mesmo minuto, executando em
+ * paralelo os eventos independentes de cada lote.
+ * <p>
+ * A cada passo, todos os eventos do próximo minuto são retirados da agenda. Cada evento
+ * declara os objetos do modelo que usa ({@link Evento#declararRecursos(ContextoSimulacao, RecursosEvento)}),
+ * e os eventos que compartilham algum recurso, direta ou indiretamente, formam um grupo. Cada
+ * grupo é executado por uma thread, na ordem da agenda; grupos diferentes não têm estado em comum.
+ * <p>
+ * Os eventos agendados durante o lote não entram na agenda imediatamente: cada evento do lote
+ * guarda os seus, e eles são incluídos ao final do lote na ordem da agenda, como se os eventos
+ * do lote tivessem sido executados um a um. Assim, a ordem dos eventos (inclusive o desempate
+ * entre eventos do mesmo minuto) e o resultado da simulação são os mesmos da execução
+ * sequencial, para qualquer número de threads.
+ * <p>
+ * Lotes pequenos, lotes com um único grupo e lotes com um evento {@linkplain RecursosEvento#declararGlobal() global}
+ * são executados sequencialmente, sem custo de coordenação. Como os eventos de threads
+ * diferentes registrariam a narrativa fora de ordem, o processamento em lotes exige o registro desligado.
+ */
+public class ProcessadorLotes {
+
+    /** Tamanho mínimo de um lote para que os seus grupos sejam executados em paralelo. */
+    public static final int LOTE_MINIMO_PARALELO = 16;
+
+    /** O número de threads usadas para executar os grupos de um lote. */
+    private final int paralelismo;
+
+    /** Número de lotes processados na última execução. */
+    private long lotes;
+    /** Número de lotes executados em paralelo na última execução. */
+    private long lotesParalelos;
+    /** Maior número de grupos independentes em um lote da última execução. */
+    private int maiorQuantidadeGrupos;
+
+    /**
+     * Cria um processador que executa os grupos de cada lote com o número de threads informado.
+     *
+     * @param paralelismo O número de threads; com 1, os lotes são executados sequencialmente.
+     * @throws IllegalArgumentException se o paralelismo não for positivo.
+     */
+    public ProcessadorLotes(int paralelismo) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("O paralelismo deve ser pelo menos 1.");
+        }
+        this.paralelismo = paralelismo;
+    }
+
+    /**
+     * Processa os eventos da agenda do contexto até que não haja mais eventos ou até que o
+     * próximo evento ultrapasse o tempo máximo.
+     *
+     * @param contexto    O contexto da simulação, já inicializada.
+     * @param tempoMaximo O tempo máximo simulado, em minutos.
+     * @return O número de eventos executados.
+     * @throws IllegalStateException se o registro da simulação estiver ligado.
+     */
+    public long processar(ContextoSimulacao contexto, int tempoMaximo) {
+        if (contexto.getRegistrador() != Registrador.desligado()) {
+            throw new IllegalStateException("O processamento em lotes não registra a narrativa.");
+        }
+        lotes = 0;
+        lotesParalelos = 0;
+        maiorQuantidadeGrupos = 0;
+
+        GerenciadorAgenda agenda = contexto.getAgenda();
+        List<Evento> lote = new ArrayList<>();
+        RecursosEvento recursos = new RecursosEvento();
+        IdentityHashMap<Object, Integer> donoDoRecurso = new IdentityHashMap<>();
+        HashMap<Long, Integer> donoDoIndexado = new HashMap<>();
+        ForkJoinPool pool = paralelismo > 1 ? new ForkJoinPool(paralelismo) : null;
+        long eventosProcessados = 0;
+        try {
+            Evento proximoEvento = agenda.espiarProximoEvento();
+            while (proximoEvento != null && proximoEvento.getTempo() <= tempoMaximo) {
+                lote.clear();
+                agenda.retirarLote(lote);
+                lotes++;
+
+                int[][] grupos = pool != null && lote.size() >= LOTE_MINIMO_PARALELO
+                        ? agrupar(contexto, lote, recursos, donoDoRecurso, donoDoIndexado) : null;
+                if (grupos == null || grupos.length == 1) {
+                    eventosProcessados += executarEmSequencia(contexto, lote);
+                } else {
+                    eventosProcessados += executarEmParalelo(contexto, lote, grupos, pool);
+                }
+                proximoEvento = agenda.espiarProximoEvento();
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+        return eventosProcessados;
+    }
+
+    /**
+     * Divide o lote em grupos de eventos que compartilham recursos, com os índices de cada
+     * grupo em ordem crescente. Os recursos indexados são identificados pelo código de identidade
+     * da coleção e pela posição; duas coleções com o mesmo código apenas unem grupos a mais, sem
+     * afetar o resultado.
+     *
+     * @return Os grupos, ou {@code null} se algum evento do lote for global.
+     */
+    private int[][] agrupar(ContextoSimulacao contexto, List<Evento> lote, RecursosEvento recursos,
+                            IdentityHashMap<Object, Integer> donoDoRecurso, HashMap<Long, Integer> donoDoIndexado) {
+        int n = lote.size();
+        int[] pai = new int[n];
+        donoDoRecurso.clear();
+        donoDoIndexado.clear();
+        for (int i = 0; i < n; i++) {
+            pai[i] = i;
+            recursos.limpar();
+            lote.get(i).declararRecursos(contexto, recursos);
+            if (recursos.isGlobal()) {
+                return null;
+            }
+            for (int r = 0; r < recursos.getQuantidade(); r++) {
+                Integer dono = donoDoRecurso.putIfAbsent(recursos.getRecurso(r), i);
+                if (dono != null) {
+                    unir(pai, dono, i);
+                }
+            }
+            for (int r = 0; r < recursos.getQuantidadeIndexados(); r++) {
+                long chave = (long) System.identityHashCode(recursos.getColecao(r)) << 32
+                        | (recursos.getIndice(r) & 0xFFFFFFFFL);
+                Integer dono = donoDoIndexado.putIfAbsent(chave, i);
+                if (dono != null) {
+                    unir(pai, dono, i);
+                }
+            }
+        }
+        recursos.limpar();
+
+        // Numera os grupos na ordem do primeiro evento de cada um e conta os seus eventos.
+        int[] grupoDaRaiz = new int[n];
+        int[] tamanhos = new int[n];
+        int quantidadeGrupos = 0;
+        for (int i = 0; i < n; i++) {
+            int raiz = raiz(pai, i);
+            if (raiz == i) {
+                grupoDaRaiz[i] = quantidadeGrupos++;
+            }
+            tamanhos[grupoDaRaiz[raiz]]++;
+        }
+        int[][] grupos = new int[quantidadeGrupos][];
+        int[] preenchidos = new int[quantidadeGrupos];
+        for (int g = 0; g < quantidadeGrupos; g++) {
+            grupos[g] = new int[tamanhos[g]];
+        }
+        for (int i = 0; i < n; i++) {
+            int g = grupoDaRaiz[raiz(pai, i)];
+            grupos[g][preenchidos[g]++] = i;
+        }
+        return grupos;
+    }
+
+    /**
+     * Une os grupos de dois eventos, mantendo como raiz o de menor índice.
+     */
+    private static void unir(int[] pai, int a, int b) {
+        int raizA = raiz(pai, a);
+        int raizB = raiz(pai, b);
+        if (raizA < raizB) {
+            pai[raizB] = raizA;
+        } else if (raizB < raizA) {
+            pai[raizA] = raizB;
+        }
+    }
+
+    /**
+     * Encontra a raiz do grupo de um evento, encurtando o caminho percorrido.
+     */
+    private static int raiz(int[] pai, int i) {
+        while (pai[i] != i) {
+            pai[i] = pai[pai[i]];
+            i = pai[i];
+        }
+        return i;
+    }
+
+    /**
+     * Executa os eventos do lote um a um, na ordem da agenda.
+     *
+     * @return O número de eventos executados.
+     */
+    private long executarEmSequencia(ContextoSimulacao contexto, List<Evento> lote) {
+        GerenciadorAgenda agenda = contexto.getAgenda();
+        long executados = 0;
+        Evento ultimo = null;
+        for (Evento evento : lote) {
+            if (evento.isCancelado()) {
+                continue;
+            }
+            evento.marcarRetirado();
+            evento.executar(contexto);
+            agenda.notificarObservers(evento);
+            ultimo = evento;
+            executados++;
+        }
+        agenda.concluirLote(ultimo);
+        return executados;
+    }
+
+    /**
+     * Executa os grupos do lote em paralelo e, em seguida, inclui na agenda os eventos
+     * agendados e notifica os observadores, na ordem da agenda.
+     *
+     * @return O número de eventos executados.
+     */
+    private long executarEmParalelo(ContextoSimulacao contexto, List<Evento> lote, int[][] grupos, ForkJoinPool pool) {
+        GerenciadorAgenda agenda = contexto.getAgenda();
+        int n = lote.size();
+        // Cada posição é escrita por uma única thread, a do grupo do evento.
+        List<List<Evento>> agendados = new ArrayList<>(Collections.nCopies(n, null));
+        boolean[] executado = new boolean[n];
+
+        agenda.setLoteParalelo(true);
+        try {
+            pool.submit(() -> IntStream.range(0, grupos.length).parallel().forEach(g -> {
+                for (int i : grupos[g]) {
+                    Evento evento = lote.get(i);
+                    if (evento.isCancelado()) {
+                        continue;
+                    }
+                    evento.marcarRetirado();
+                    List<Evento> destino = new ArrayList<>(2);
+                    agendados.set(i, destino);
+                    agenda.desviarAgendamentos(destino);
+                    try {
+                        evento.executar(contexto);
+                    } finally {
+                        agenda.desviarAgendamentos(null);
+                    }
+                    executado[i] = true;
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("A execução do lote foi interrompida.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Falha ao executar o lote.", e.getCause());
+        } finally {
+            agenda.setLoteParalelo(false);
+        }
+
+        long executados = 0;
+        Evento ultimo = null;
+        for (int i = 0; i < n; i++) {
+            if (agendados.get(i) != null) {
+                agenda.incorporarAgendamentos(agendados.get(i));
+            }
+            if (executado[i]) {
+                agenda.notificarObservers(lote.get(i));
+                ultimo = lote.get(i);
+                executados++;
+            }
+        }
+        agenda.concluirLote(ultimo);
+        lotesParalelos++;
+        maiorQuantidadeGrupos = Math.max(maiorQuantidadeGrupos, grupos.length);
+        return executados;
+    }
+
+    /**
+     * @return O número de threads usadas para executar os grupos de um lote.
+     */
+    public int getParalelismo() {
+        return paralelismo;
+    }
+
+    /**
+     * @return O número de lotes (minutos com eventos) processados na última execução.
+     */
+    public long getLotes() {
+        return lotes;
+    }
+
+    /**
+     * @return O número de lotes executados em paralelo na última execução.
+     */
+    public long getLotesParalelos() {
+        return lotesParalelos;
+    }
+
+    /**
+     * @return O maior número de grupos independentes em um lote executado em paralelo na última execução.
+     */
+    public int getMaiorQuantidadeGrupos() {
+        return maiorQuantidadeGrupos;
+    }
+}
@@ -0,0 +1,117 @@
+package eventos;
+
+import java.util.Arrays;
+
+/**
+ * Os recursos de um evento: os objetos do modelo (zonas, caminhões, estações, filas de
+ * prioridade...) que o evento lê ou altera ao executar, declarados por
+ * {@link Evento#declararRecursos(configsimulador.ContextoSimulacao, RecursosEvento)}.
+ * <p>
+ * Dois eventos do mesmo minuto que não declaram nenhum recurso em comum são independentes: o
+ * resultado é o mesmo em qualquer ordem de execução, e o {@link ProcessadorLotes} pode
+ * executá-los em paralelo. Um evento que pode afetar qualquer parte do modelo declara-se
+ * {@linkplain #declararGlobal() global} e é executado sozinho, na sua vez.
+ * <p>
+ * Os recursos são comparados por identidade. Um recurso guardado em uma posição de uma coleção,
+ * como um caminhão da {@link caminhoes.Frota}, é declarado pelo par (coleção, posição) com
+ * {@link #adicionar(Object, int)}. O mesmo objeto é reutilizado para todos os eventos de um
+ * lote, de forma que declarar recursos não aloca memória.
+ */
+public final class RecursosEvento {
+
+    /** Os recursos declarados pelo evento atual. */
+    private Object[] recursos = new Object[4];
+    /** Número de recursos declarados pelo evento atual. */
+    private int quantidade;
+    /** As coleções dos recursos indexados declarados pelo evento atual. */
+    private Object[] colecoes = new Object[2];
+    /** As posições dos recursos indexados, em paralelo com {@link #colecoes}. */
+    private int[] indices = new int[2];
+    /** Número de recursos indexados declarados pelo evento atual. */
+    private int quantidadeIndexados;
+    /** Indica se o evento atual se declarou global. */
+    private boolean global;
+
+    /**
+     * Cria um conjunto de recursos vazio. Usado por {@link ProcessadorLotes}.
+     */
+    RecursosEvento() {
+    }
+
+    /**
+     * Declara um recurso lido ou alterado pelo evento. Recursos nulos são ignorados.
+     *
+     * @param recurso O objeto do modelo usado pelo evento.
+     */
+    public void adicionar(Object recurso) {
+        if (recurso == null) {
+            return;
+        }
+        if (quantidade == recursos.length) {
+            recursos = Arrays.copyOf(recursos, quantidade * 2);
+        }
+        recursos[quantidade++] = recurso;
+    }
+
+    /**
+     * Declara um recurso guardado em uma posição de uma coleção, como um caminhão da frota.
+     * Dois recursos indexados são o mesmo se tiverem a mesma coleção (por identidade) e a mesma
+     * posição. Coleções nulas são ignoradas.
+     *
+     * @param colecao A coleção que guarda o recurso.
+     * @param indice  A posição do recurso na coleção.
+     */
+    public void adicionar(Object colecao, int indice) {
+        if (colecao == null) {
+            return;
+        }
+        if (quantidadeIndexados == colecoes.length) {
+            colecoes = Arrays.copyOf(colecoes, quantidadeIndexados * 2);
+            indices = Arrays.copyOf(indices, quantidadeIndexados * 2);
+        }
+        colecoes[quantidadeIndexados] = colecao;
+        indices[quantidadeIndexados++] = indice;
+    }
+
+    /**
+     * Declara que o evento pode ler ou alterar qualquer parte do modelo.
+     */
+    public void declararGlobal() {
+        global = true;
+    }
+
+    /**
+     * Esvazia o conjunto para receber os recursos do próximo evento.
+     */
+    void limpar() {
+        Arrays.fill(recursos, 0, quantidade, null);
+        quantidade = 0;
+        Arrays.fill(colecoes, 0, quantidadeIndexados, null);
+        quantidadeIndexados = 0;
+        global = false;
+    }
+
+    boolean isGlobal() {
+        return global;
+    }
+
+    int getQuantidade() {
+        return quantidade;
+    }
+
+    Object getRecurso(int indice) {
+        return recursos[indice];
+    }
+
+    int getQuantidadeIndexados() {
+        return quantidadeIndexados;
+    }
+
+    Object getColecao(int indice) {
+        return colecoes[indice];
+    }
+
+    int getIndice(int indice) {
+        return indices[indice];
+    }
+}
@@ -0,0 +1,36 @@
+package eventos;
+
+/**
+ * Implementações de {@link IAgenda} disponíveis para o {@link GerenciadorAgenda}.
+ * <p>
+ * Todas devolvem os eventos em ordem cronológica e garantem ordem FIFO entre eventos do
+ * mesmo minuto; portanto, a mesma semente produz o mesmo resultado com qualquer agenda.
+ */
+public enum TipoAgenda {
+
+    /** Lista duplamente ligada ordenada ({@link AgendaLista}). Inserção O(n). */
+    LISTA,
+
+    /** Heap 4-ário em vetor ({@link AgendaHeap}). Inserção e remoção O(log n). */
+    HEAP,
+
+    /** Fila-calendário com um balde por minuto ({@link AgendaCalendario}). Inserção e remoção O(1) amortizado. */
+    CALENDARIO;
+
+    /**
+     * Cria uma nova agenda vazia do tipo correspondente.
+     *
+     * @return Uma nova instância de {@link IAgenda}.
+     */
+    public IAgenda criar() {
+        switch (this) {
+            case LISTA:
+                return new AgendaLista();
+            case CALENDARIO:
+                return new AgendaCalendario();
+            case HEAP:
+            default:
+                return new AgendaHeap();
+        }
+    }
+}
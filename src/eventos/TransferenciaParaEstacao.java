@@ -1,27 +1,37 @@
 package eventos;
 
-import caminhoes.CaminhaoPequeno;
+import caminhoes.Frota;
+import configsimulador.ContextoSimulacao;
+import configsimulador.FluxoAleatorio;
 import estacoes.EstacaoDeTransferencia;
+import registro.MensagemRegistro;
+import registro.Registrador;
 import timer.Timer;
 import timer.TimerDetalhado;
-import zonas.Zonas;
 import zonas.DistanciaZonas;
+import zonas.PoliticaRoteamento;
+import zonas.Zonas;
 
 /**
  * Representa um evento de um caminhão pequeno se deslocando de uma zona de coleta
  * para uma estação de transferência. Este evento calcula o tempo de viagem
- * e agenda o evento de chegada correspondente.
+ * e agenda o evento de chegada correspondente. O caminhão é referenciado pela sua
+ * posição na frota da simulação ({@link ContextoSimulacao#getFrota()}).
  */
 public class TransferenciaParaEstacao extends Evento {
 
     /**
-     * O caminhão pequeno que está realizando a viagem.
+     * A posição, na frota, do caminhão pequeno que está realizando a viagem.
      */
-    private CaminhaoPequeno caminhaoPequeno;
+    private int caminhaoPequeno;
     /**
      * A zona de onde o caminhão está partindo.
      */
     private Zonas zonaInicial;
+    /**
+     * A estação de destino, definida na execução.
+     */
+    private EstacaoDeTransferencia estacaoDestino;
     /**
      * A duração total da viagem até a estação, em minutos.
      */
@@ -31,10 +41,10 @@ public class TransferenciaParaEstacao extends Evento {
      * Construtor para o evento de transferência para a estação.
      *
      * @param tempo           O tempo de simulação em que a viagem se inicia.
-     * @param caminhaoPequeno O caminhão que está se transferindo.
+     * @param caminhaoPequeno A posição, na frota, do caminhão que está se transferindo.
      * @param zonaInicial     A zona de origem da viagem.
      */
-    public TransferenciaParaEstacao(int tempo, CaminhaoPequeno caminhaoPequeno, Zonas zonaInicial) {
+    public TransferenciaParaEstacao(int tempo, int caminhaoPequeno, Zonas zonaInicial) {
         super(tempo);
         this.caminhaoPequeno = caminhaoPequeno;
         this.zonaInicial = zonaInicial;
@@ -44,9 +54,9 @@ public class TransferenciaParaEstacao extends Evento {
     /**
      * Retorna o caminhão pequeno associado a este evento.
      *
-     * @return A instância do {@link CaminhaoPequeno}.
+     * @return A posição do caminhão na frota da simulação.
      */
-    public CaminhaoPequeno getCaminhao() {
+    public int getCaminhao() {
         return this.caminhaoPequeno;
     }
 
@@ -59,6 +69,15 @@ public class TransferenciaParaEstacao extends Evento {
         return duracaoViagem;
     }
 
+    /**
+     * Retorna a estação de transferência para onde o caminhão está indo.
+     *
+     * @return A estação de destino, ou {@code null} se o evento ainda não foi executado.
+     */
+    public EstacaoDeTransferencia getEstacaoDestino() {
+        return estacaoDestino;
+    }
+
     /**
      * Retorna a zona inicial de onde o caminhão partiu.
      *
@@ -77,8 +96,23 @@ public class TransferenciaParaEstacao extends Evento {
      */
     @Override
     public String toString() {
+        return formatar("#" + caminhaoPequeno);
+    }
+
+    /**
+     * Retorna a descrição do evento com o identificador do caminhão.
+     *
+     * @param frota A frota da simulação à qual o evento pertence.
+     * @return Uma string formatada que descreve o evento.
+     */
+    @Override
+    public String descrever(Frota frota) {
+        return formatar(frota.getId(caminhaoPequeno));
+    }
+
+    private String formatar(String caminhao) {
         return String.format("EventoTransferencia | Caminhão %s | Zona %s | Horário: %s",
-                caminhaoPequeno.getId(),
+                caminhao,
                 zonaInicial.getNome(),
                 Timer.formatarHorarioSimulado(getTempo()));
     }
@@ -86,33 +120,60 @@ public class TransferenciaParaEstacao extends Evento {
     /**
      * Executa a lógica do evento de transferência.
      * <p>
-     * Este método determina a estação de destino com base na zona de origem,
-     * calcula o tempo total de viagem (incluindo tempo de deslocamento e tempo extra por carga),
+     * Este método escolhe a estação de destino conforme a política de roteamento do contexto
+     * (a estação da zona ou a de menor custo estimado), calcula o tempo total de viagem
+     * (incluindo tempo de deslocamento, tempo extra por carga e o desvio, se a estação não for
+     * a da zona),
      * imprime os detalhes da viagem no console e, o mais importante, agenda um novo
      * evento {@link EstacaoTransferencia} para simular a chegada do caminhão no destino.
+     * O identificador do caminhão só é montado se o registro estiver ligado.
      */
     @Override
-    public void executar() {
+    public void executar(ContextoSimulacao contexto) {
 
-        EstacaoDeTransferencia estacaoDestino = DistanciaZonas.getEstacaoPara(zonaInicial);
+        DistanciaZonas roteamento = contexto.getDistanciaZonas();
+        this.estacaoDestino = roteamento.escolherEstacao(zonaInicial, contexto.getPoliticaRoteamento());
         int tempoAtual = getTempo();
-        int cargaAtual = caminhaoPequeno.getCargaAtual();
-        TimerDetalhado timerDetalhado = Timer.calcularTimerDetalhado(tempoAtual, cargaAtual, true);
+        Frota frota = contexto.getFrota();
+        int cargaAtual = frota.getCargaAtual(caminhaoPequeno);
+        FluxoAleatorio gerador = frota.getGerador(caminhaoPequeno);
+        TimerDetalhado timerDetalhado = Timer.calcularTimerDetalhado(tempoAtual, cargaAtual, true, gerador);
+        frota.salvarGerador(caminhaoPequeno, gerador);
 
-        this.duracaoViagem = timerDetalhado.tempoTotal;
+        int desvio = roteamento.getDesvio(zonaInicial, estacaoDestino);
+        this.duracaoViagem = Math.max(1, timerDetalhado.tempoTotal + desvio);
 
-        System.out.println("== TRANSFERÊNCIA ==");
-        System.out.printf("[%s] \n", Timer.formatarHorarioSimulado(tempoAtual));
-        System.out.printf("Caminhão %s → Estação %s%n", caminhaoPequeno.getId(), estacaoDestino.getNomeEstacao());
-        System.out.printf("  • Tempo de trajeto: %s%n", Timer.formatarDuracao(timerDetalhado.tempoDeslocamento));
+        Registrador registro = contexto.getRegistrador();
+        String id = registro.isAtivo(MensagemRegistro.TRANSFERENCIA) ? frota.getId(caminhaoPequeno) : null;
+        registro.registrar(MensagemRegistro.TRANSFERENCIA, tempoAtual,
+                id, estacaoDestino.getNomeEstacao(), timerDetalhado.tempoDeslocamento);
+        EstacaoDeTransferencia daZona = roteamento.getEstacaoPara(zonaInicial);
+        if (estacaoDestino != daZona) {
+            registro.registrar(MensagemRegistro.TRANSFERENCIA_REDIRECIONADA, tempoAtual,
+                    daZona.getNomeEstacao(), estacaoDestino.getNomeEstacao(),
+                    roteamento.getEsperaEstimada(daZona.getId()), roteamento.getEsperaEstimada(estacaoDestino.getId()), desvio);
+        }
         if (timerDetalhado.tempoExtraCarregado > 0) {
-            System.out.printf("  • Tempo extra por carga: +%s%n", Timer.formatarDuracao(timerDetalhado.tempoExtraCarregado));
+            registro.registrar(MensagemRegistro.TRANSFERENCIA_TEMPO_EXTRA, tempoAtual, timerDetalhado.tempoExtraCarregado);
         }
-        System.out.printf("  • Tempo total da viagem: %s%n", Timer.formatarDuracao(this.duracaoViagem));
-        System.out.printf("  • Horário previsto de chegada: %s%n", Timer.formatarHorarioSimulado(tempoAtual + this.duracaoViagem));
-        System.out.println();
+        registro.registrar(MensagemRegistro.TRANSFERENCIA_CHEGADA, tempoAtual, this.duracaoViagem, tempoAtual + this.duracaoViagem);
 
-        GerenciadorAgenda.adicionarEvento(
+        contexto.getAgenda().adicionarEvento(
                 new EstacaoTransferencia((tempoAtual + this.duracaoViagem), estacaoDestino, caminhaoPequeno));
     }
-}
\ No newline at end of file
+
+    /**
+     * Declara o caminhão. Com a política {@link PoliticaRoteamento#MENOR_CUSTO}, declara também
+     * o roteamento, cujas esperas estimadas são consultadas na escolha da estação.
+     *
+     * @param contexto O contexto da simulação à qual o evento pertence.
+     * @param recursos O conjunto que recebe os recursos do evento.
+     */
+    @Override
+    public void declararRecursos(ContextoSimulacao contexto, RecursosEvento recursos) {
+        recursos.adicionar(contexto.getFrota(), caminhaoPequeno);
+        if (contexto.getPoliticaRoteamento() == PoliticaRoteamento.MENOR_CUSTO) {
+            recursos.adicionar(contexto.getDistanciaZonas());
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package eventos;
 
-import configsimulador.Simulador;
+import configsimulador.ContextoSimulacao;
+import registro.MensagemRegistro;
+import registro.Registrador;
 import timer.Timer;
 
 /**
@@ -10,18 +12,23 @@ import timer.Timer;
  */
 public class VerificarFimDeTurno extends Evento {
 
+    /** Tempo (em minutos) da primeira verificação: o fim do primeiro turno de 8 horas. */
+    public static final int PRIMEIRA_VERIFICACAO = 480;
+    /** Intervalo (em minutos) entre duas verificações: 2 horas simuladas. */
+    public static final int INTERVALO_VERIFICACAO = 120;
+
     /**
-     * Referência à instância principal do simulador para consulta do estado do sistema.
+     * Referência à simulação supervisionada, para consulta do estado do sistema.
      */
-    private final Simulador simulador;
+    private final ISupervisionavel simulador;
 
     /**
      * Construtor do evento supervisor de fim de turno.
      *
      * @param tempo     O tempo de simulação em que a verificação ocorrerá.
-     * @param simulador A instância do simulador a ser verificada.
+     * @param simulador A simulação a ser verificada.
      */
-    public VerificarFimDeTurno(int tempo, Simulador simulador) {
+    public VerificarFimDeTurno(int tempo, ISupervisionavel simulador) {
         super(tempo);
         this.simulador = simulador;
     }
@@ -36,46 +43,48 @@ public class VerificarFimDeTurno extends Evento {
      * Em todos os casos, exceto no encerramento, uma nova verificação é agendada.
      */
     @Override
-    public void executar() {
-        System.out.printf("== SUPERVISOR ==%n[%s] Verificando estado da simulação...%n", Timer.formatarHorarioSimulado(getTempo()));
+    public void executar(ContextoSimulacao contexto) {
+        Registrador registro = contexto.getRegistrador();
+        registro.registrar(MensagemRegistro.SUPERVISOR_INICIO, getTempo());
 
         boolean algumCaminhaoTrabalhando = simulador.verificarCaminhoesAtivos();
 
         // Se ainda há caminhões com viagens a fazer, não faz nada e agenda a próxima verificação.
         if (algumCaminhaoTrabalhando) {
-            System.out.println("  • Ainda há caminhões em atividade. Próxima verificação agendada.");
-            agendarProximaVerificacao();
+            registro.registrar(MensagemRegistro.SUPERVISOR_CAMINHOES_ATIVOS, getTempo());
+            agendarProximaVerificacao(contexto);
             return;
         }
 
-        System.out.println("  • Todos os caminhões finalizaram suas rotas.");
+        registro.registrar(MensagemRegistro.SUPERVISOR_ROTAS_FINALIZADAS, getTempo());
 
         // Se não há caminhões trabalhando, verifica se há lixo restante.
         zonas.Zonas zonaMaisSucia = simulador.getZonaComMaisLixo();
 
         if (zonaMaisSucia != null) {
-            System.out.printf("  • Lixo encontrado na Zona %s (%d T). Solicitando caminhão de reforço!%n",
+            registro.registrar(MensagemRegistro.SUPERVISOR_LIXO_RESTANTE, getTempo(),
                     zonaMaisSucia.getNome(), zonaMaisSucia.getLixoAcumulado());
 
             // Pede ao simulador para adicionar um caminhão extra
             simulador.adicionarCaminhaoExtra(getTempo(), zonaMaisSucia);
         } else {
-            System.out.println("  • Não há mais lixo nas zonas. Operação do dia encerrada.");
+            registro.registrar(MensagemRegistro.SUPERVISOR_ENCERRADO, getTempo());
             // Não agenda a próxima verificação, permitindo que a simulação termine.
             return;
         }
 
         // Agenda a próxima verificação para continuar monitorando.
-        agendarProximaVerificacao();
+        agendarProximaVerificacao(contexto);
     }
 
     /**
      * Agenda a próxima execução deste evento supervisor para um momento futuro.
      * A verificação ocorre a cada 2 horas simuladas (120 minutos).
+     *
+     * @param contexto O contexto da simulação em cuja agenda a verificação será incluída.
      */
-    private void agendarProximaVerificacao() {
-        // Verifica novamente a cada 2 horas simuladas (120 minutos)
-        GerenciadorAgenda.adicionarEvento(new VerificarFimDeTurno(getTempo() + 120, simulador));
+    private void agendarProximaVerificacao(ContextoSimulacao contexto) {
+        contexto.getAgenda().adicionarEvento(new VerificarFimDeTurno(getTempo() + INTERVALO_VERIFICACAO, simulador));
     }
 
     /**
@@ -0,0 +1,113 @@
+package registro;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Destino que grava os registros em formato binário compacto, sem formatá-los como texto.
+ * <p>
+ * Cada registro ocupa: o tempo ({@code int}), o código da mensagem ({@code short}), os
+ * campos de texto usados pelo modelo (UTF modificado, com um marcador de nulo) e os
+ * campos numéricos usados pelo modelo (inteiros de tamanho variável, em zigue-zague).
+ * O arquivo pode ser lido de volta com {@link #ler(DataInput, Registro)} e convertido em
+ * texto com {@link Registro#formatar(StringBuilder)}.
+ */
+public class DestinoBinario implements DestinoRegistro {
+
+    private final DataOutputStream saida;
+
+    /**
+     * Cria um destino que grava na saída informada.
+     *
+     * @param saida A saída binária. Não é fechada pelo destino.
+     * @throws IllegalArgumentException se a saída for nula.
+     */
+    public DestinoBinario(OutputStream saida) {
+        if (saida == null) {
+            throw new IllegalArgumentException("A saída binária não pode ser nula.");
+        }
+        this.saida = new DataOutputStream(new BufferedOutputStream(saida, 64 * 1024));
+    }
+
+    @Override
+    public void escrever(Registro registro) {
+        MensagemRegistro mensagem = registro.getMensagem();
+        try {
+            saida.writeInt(registro.getTempo());
+            saida.writeShort(mensagem.ordinal());
+            for (int i = 0; i < mensagem.getQuantidadeTextos(); i++) {
+                String texto = registro.getTexto(i);
+                saida.writeBoolean(texto != null);
+                if (texto != null) {
+                    saida.writeUTF(texto);
+                }
+            }
+            for (int i = 0; i < mensagem.getQuantidadeNumeros(); i++) {
+                escreverVarLong(registro.getNumero(i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void descarregar() {
+        try {
+            saida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Escreve um {@code long} em zigue-zague, com 7 bits por byte.
+     */
+    private void escreverVarLong(long valor) throws IOException {
+        long v = (valor << 1) ^ (valor >> 63);
+        while ((v & ~0x7FL) != 0) {
+            saida.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        saida.writeByte((int) v);
+    }
+
+    /**
+     * Lê o próximo registro gravado por um {@code DestinoBinario}.
+     *
+     * @param entrada  A entrada binária.
+     * @param registro O registro que recebe os valores lidos.
+     * @return {@code true} se um registro foi lido, {@code false} no fim da entrada.
+     * @throws IOException se a entrada estiver corrompida ou não puder ser lida.
+     */
+    public static boolean ler(DataInput entrada, Registro registro) throws IOException {
+        int tempo;
+        try {
+            tempo = entrada.readInt();
+        } catch (EOFException e) {
+            return false;
+        }
+        MensagemRegistro mensagem = MensagemRegistro.values()[entrada.readShort()];
+        registro.limpar();
+        registro.preencher(tempo, mensagem);
+        for (int i = 0; i < mensagem.getQuantidadeTextos(); i++) {
+            registro.textos()[i] = entrada.readBoolean() ? entrada.readUTF() : null;
+        }
+        for (int i = 0; i < mensagem.getQuantidadeNumeros(); i++) {
+            long v = 0;
+            int deslocamento = 0;
+            int b;
+            do {
+                b = entrada.readUnsignedByte();
+                v |= (long) (b & 0x7F) << deslocamento;
+                deslocamento += 7;
+            } while ((b & 0x80) != 0);
+            registro.numeros()[i] = (v >>> 1) ^ -(v & 1);
+        }
+        return true;
+    }
+}
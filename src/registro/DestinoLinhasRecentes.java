@@ -0,0 +1,185 @@
+package registro;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Destino que mantém em memória apenas as últimas linhas do registro, em um buffer
+ * circular de tamanho fixo, para serem exibidas incrementalmente por uma interface.
+ * <p>
+ * Quando o buffer está cheio, a linha mais antiga é removida para dar lugar à nova e,
+ * se um arquivo de excedente foi informado, é gravada nele. Assim, o consumo de memória
+ * não depende da duração da simulação: o arquivo de excedente seguido das linhas do
+ * buffer formam o registro completo.
+ * <p>
+ * As linhas são recebidas pela thread do {@link GravadorAssincrono} e lidas pela thread
+ * da interface com {@link #copiarNovas(List)}; os métodos públicos são sincronizados.
+ */
+public class DestinoLinhasRecentes implements DestinoRegistro, AutoCloseable {
+
+    private final String[] linhas;
+    private final Path arquivoExcedente;
+    private BufferedWriter escritorExcedente;
+    /** Indica que o arquivo de excedente foi fechado e não recebe mais linhas. */
+    private boolean fechado;
+
+    /** Posição da linha mais antiga no buffer. */
+    private int inicio;
+    /** Quantidade de linhas no buffer. */
+    private int quantidade;
+    /** Total de linhas recebidas desde a criação. */
+    private long totalLinhas;
+    /** Total de linhas já entregues por {@link #copiarNovas(List)}. */
+    private long linhasEntregues;
+    /** Total de linhas gravadas no arquivo de excedente. */
+    private long linhasExcedentes;
+
+    /** Buffer reutilizado na formatação dos registros. */
+    private final StringBuilder texto = new StringBuilder(256);
+
+    /**
+     * Cria um destino que mantém as últimas linhas informadas.
+     *
+     * @param capacidade       A quantidade máxima de linhas mantidas em memória.
+     * @param arquivoExcedente O arquivo que recebe as linhas removidas do buffer,
+     *                         ou {@code null} para descartá-las.
+     * @throws IllegalArgumentException se a capacidade for menor que 1.
+     */
+    public DestinoLinhasRecentes(int capacidade, Path arquivoExcedente) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("A capacidade de linhas deve ser maior que zero.");
+        }
+        this.linhas = new String[capacidade];
+        this.arquivoExcedente = arquivoExcedente;
+    }
+
+    @Override
+    public void escrever(Registro registro) {
+        texto.setLength(0);
+        registro.formatar(texto);
+        // Modelos com quebras de linha geram uma linha por trecho.
+        int inicioLinha = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == '\n') {
+                adicionarLinha(texto.substring(inicioLinha, i));
+                inicioLinha = i + 1;
+            }
+        }
+        adicionarLinha(texto.substring(inicioLinha));
+    }
+
+    /**
+     * Adiciona uma linha ao buffer, movendo a mais antiga para o arquivo de excedente
+     * se o buffer estiver cheio.
+     *
+     * @param linha A linha a ser adicionada.
+     */
+    public synchronized void adicionarLinha(String linha) {
+        int capacidade = linhas.length;
+        if (quantidade == capacidade) {
+            gravarExcedente(linhas[inicio]);
+            linhas[inicio] = linha;
+            inicio = (inicio + 1) % capacidade;
+        } else {
+            linhas[(inicio + quantidade) % capacidade] = linha;
+            quantidade++;
+        }
+        totalLinhas++;
+    }
+
+    /**
+     * Copia para a lista as linhas recebidas desde a chamada anterior. Se mais linhas
+     * foram recebidas do que cabem no buffer, apenas as que ainda estão nele são copiadas.
+     *
+     * @param destino A lista que recebe as linhas, em ordem de chegada.
+     * @return A quantidade de linhas copiadas.
+     */
+    public synchronized int copiarNovas(List<String> destino) {
+        long pendentes = Math.min(totalLinhas - linhasEntregues, quantidade);
+        for (int i = quantidade - (int) pendentes; i < quantidade; i++) {
+            destino.add(linhas[(inicio + i) % linhas.length]);
+        }
+        linhasEntregues = totalLinhas;
+        return (int) pendentes;
+    }
+
+    private void gravarExcedente(String linha) {
+        if (arquivoExcedente == null || fechado) {
+            return;
+        }
+        try {
+            if (escritorExcedente == null) {
+                escritorExcedente = Files.newBufferedWriter(arquivoExcedente, StandardCharsets.UTF_8);
+            }
+            escritorExcedente.write(linha);
+            escritorExcedente.newLine();
+            linhasExcedentes++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void descarregar() {
+        if (escritorExcedente == null) {
+            return;
+        }
+        try {
+            escritorExcedente.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Fecha o arquivo de excedente, se ele foi aberto. As linhas do buffer continuam
+     * disponíveis; as removidas depois do fechamento são descartadas.
+     */
+    @Override
+    public synchronized void close() {
+        fechado = true;
+        if (escritorExcedente == null) {
+            return;
+        }
+        try {
+            escritorExcedente.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            escritorExcedente = null;
+        }
+    }
+
+    /**
+     * @return A quantidade máxima de linhas mantidas em memória.
+     */
+    public int getCapacidade() {
+        return linhas.length;
+    }
+
+    /**
+     * @return O total de linhas recebidas desde a criação.
+     */
+    public synchronized long getTotalLinhas() {
+        return totalLinhas;
+    }
+
+    /**
+     * @return O total de linhas gravadas no arquivo de excedente.
+     */
+    public synchronized long getLinhasExcedentes() {
+        return linhasExcedentes;
+    }
+
+    /**
+     * @return O arquivo de excedente, ou {@code null} se as linhas antigas são descartadas.
+     */
+    public Path getArquivoExcedente() {
+        return arquivoExcedente;
+    }
+}
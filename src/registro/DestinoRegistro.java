@@ -0,0 +1,24 @@
+package registro;
+
+/**
+ * Destino dos registros da simulação, como o console, um arquivo ou a interface gráfica.
+ * <p>
+ * Os métodos são chamados apenas pela thread do {@link GravadorAssincrono}, nunca pela
+ * thread da simulação.
+ */
+public interface DestinoRegistro {
+
+    /**
+     * Recebe um registro. A instância é reutilizada pelo gravador após o retorno.
+     *
+     * @param registro O registro a ser escrito.
+     */
+    void escrever(Registro registro);
+
+    /**
+     * Chamado quando o gravador esvazia a sua fila, para que o destino descarregue
+     * os dados que mantém em buffer.
+     */
+    default void descarregar() {
+    }
+}
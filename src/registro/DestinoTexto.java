@@ -0,0 +1,41 @@
+package registro;
+
+import java.io.PrintStream;
+
+/**
+ * Destino que escreve cada registro como texto em um {@link PrintStream}, como o console.
+ * O texto segue o modelo da mensagem, o mesmo formato da narrativa original da simulação.
+ */
+public class DestinoTexto implements DestinoRegistro {
+
+    private final PrintStream saida;
+    /** Buffer reutilizado na formatação dos registros. */
+    private final StringBuilder linha = new StringBuilder(256);
+    private final String separadorLinha = System.lineSeparator();
+
+    /**
+     * Cria um destino que escreve na saída informada.
+     *
+     * @param saida A saída de texto.
+     * @throws IllegalArgumentException se a saída for nula.
+     */
+    public DestinoTexto(PrintStream saida) {
+        if (saida == null) {
+            throw new IllegalArgumentException("A saída de texto não pode ser nula.");
+        }
+        this.saida = saida;
+    }
+
+    @Override
+    public void escrever(Registro registro) {
+        linha.setLength(0);
+        registro.formatar(linha);
+        linha.append(separadorLinha);
+        saida.append(linha);
+    }
+
+    @Override
+    public void descarregar() {
+        saida.flush();
+    }
+}
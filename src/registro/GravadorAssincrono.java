@@ -0,0 +1,215 @@
+package registro;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Entrega os registros da simulação a um {@link DestinoRegistro} em uma thread própria,
+ * de forma que a formatação e a escrita não ocorram na thread da simulação.
+ * <p>
+ * Os registros são guardados em um buffer circular de tamanho fixo, organizado em vetores
+ * paralelos de tipos primitivos: publicar um registro não aloca objetos, apenas copia o
+ * tempo, a mensagem, as referências aos textos e os números para a próxima posição livre.
+ * Se o buffer estiver cheio, a thread da simulação espera a thread do gravador liberar
+ * espaço, para que nenhum registro seja perdido.
+ * <p>
+ * O buffer admite um único produtor: todos os registros de um gravador devem ser
+ * publicados pela mesma thread (a que executa a simulação).
+ */
+public final class GravadorAssincrono implements AutoCloseable {
+
+    /** Capacidade padrão do buffer, em registros. */
+    public static final int CAPACIDADE_PADRAO = 8192;
+    /** Tempo máximo (em nanossegundos) que a thread do gravador dorme quando o buffer está vazio. */
+    private static final long ESPERA_OCIOSA_NS = 1_000_000L;
+
+    private final DestinoRegistro destino;
+    private final int capacidade;
+    private final int mascara;
+
+    private final int[] tempos;
+    private final MensagemRegistro[] mensagens;
+    private final String[] textos;
+    private final long[] numeros;
+
+    /** Número de registros publicados pelo produtor. */
+    private volatile long publicados;
+    /** Número de registros já entregues ao destino. */
+    private volatile long consumidos;
+    /** Cópia local de {@link #consumidos} mantida pelo produtor, para evitar leituras voláteis. */
+    private long consumidosVistos;
+    /** Indica que o gravador foi fechado. */
+    private volatile boolean encerrado;
+
+    private final Thread consumidor;
+
+    /**
+     * Cria um gravador com a capacidade padrão e inicia a sua thread.
+     *
+     * @param destino O destino dos registros.
+     * @throws IllegalArgumentException se o destino for nulo.
+     */
+    public GravadorAssincrono(DestinoRegistro destino) {
+        this(destino, CAPACIDADE_PADRAO);
+    }
+
+    /**
+     * Cria um gravador e inicia a sua thread.
+     *
+     * @param destino    O destino dos registros.
+     * @param capacidade A capacidade do buffer, em registros (potência de dois).
+     * @throws IllegalArgumentException se o destino for nulo ou a capacidade não for uma potência de dois.
+     */
+    public GravadorAssincrono(DestinoRegistro destino, int capacidade) {
+        if (destino == null) {
+            throw new IllegalArgumentException("O destino dos registros não pode ser nulo.");
+        }
+        if (capacidade < 2 || Integer.bitCount(capacidade) != 1) {
+            throw new IllegalArgumentException("A capacidade do buffer deve ser uma potência de dois maior que 1.");
+        }
+        this.destino = destino;
+        this.capacidade = capacidade;
+        this.mascara = capacidade - 1;
+        this.tempos = new int[capacidade];
+        this.mensagens = new MensagemRegistro[capacidade];
+        this.textos = new String[capacidade * MensagemRegistro.MAX_TEXTOS];
+        this.numeros = new long[capacidade * MensagemRegistro.MAX_NUMEROS];
+
+        this.consumidor = new Thread(this::consumir, "gravador-registro");
+        this.consumidor.setDaemon(true);
+        this.consumidor.start();
+    }
+
+    /**
+     * Publica um registro no buffer. Chamado pelo {@link Registrador} apenas quando o nível
+     * da mensagem está habilitado.
+     */
+    void publicar(int tempo, MensagemRegistro mensagem, String s0, String s1, String s2,
+                  long n0, long n1, long n2, long n3) {
+        if (encerrado) {
+            throw new IllegalStateException("O gravador de registros já foi fechado.");
+        }
+        long posicao = publicados;
+        if (posicao - consumidosVistos >= capacidade) {
+            aguardarEspaco(posicao);
+        }
+        int i = (int) (posicao & mascara);
+        tempos[i] = tempo;
+        mensagens[i] = mensagem;
+        int t = i * MensagemRegistro.MAX_TEXTOS;
+        textos[t] = s0;
+        textos[t + 1] = s1;
+        textos[t + 2] = s2;
+        int n = i * MensagemRegistro.MAX_NUMEROS;
+        numeros[n] = n0;
+        numeros[n + 1] = n1;
+        numeros[n + 2] = n2;
+        numeros[n + 3] = n3;
+        publicados = posicao + 1; // Escrita volátil: torna o registro visível para o consumidor.
+    }
+
+    /**
+     * Espera a thread do gravador liberar pelo menos uma posição do buffer.
+     */
+    private void aguardarEspaco(long posicao) {
+        int tentativas = 0;
+        while (posicao - (consumidosVistos = consumidos) >= capacidade) {
+            LockSupport.unpark(consumidor);
+            if (++tentativas < 100) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Laço da thread do gravador: entrega os registros publicados ao destino até o
+     * gravador ser fechado e o buffer esvaziar.
+     */
+    private void consumir() {
+        Registro registro = new Registro();
+        long proximo = consumidos;
+        while (true) {
+            long limite = publicados;
+            if (proximo == limite) {
+                descarregarDestino();
+                if (encerrado && proximo == publicados) {
+                    return;
+                }
+                LockSupport.parkNanos(this, ESPERA_OCIOSA_NS);
+                continue;
+            }
+            while (proximo < limite) {
+                int i = (int) (proximo & mascara);
+                int t = i * MensagemRegistro.MAX_TEXTOS;
+                int n = i * MensagemRegistro.MAX_NUMEROS;
+                registro.preencher(tempos[i], mensagens[i]);
+                System.arraycopy(textos, t, registro.textos(), 0, MensagemRegistro.MAX_TEXTOS);
+                System.arraycopy(numeros, n, registro.numeros(), 0, MensagemRegistro.MAX_NUMEROS);
+                // Libera as referências do buffer antes de devolver a posição ao produtor.
+                mensagens[i] = null;
+                textos[t] = null;
+                textos[t + 1] = null;
+                textos[t + 2] = null;
+                proximo++;
+                consumidos = proximo;
+                try {
+                    destino.escrever(registro);
+                } catch (RuntimeException e) {
+                    System.err.println("[REGISTRO] Falha ao escrever registro: " + e);
+                }
+                registro.limpar();
+            }
+        }
+    }
+
+    /**
+     * Descarrega o destino, ignorando falhas para não interromper a thread do gravador.
+     */
+    private void descarregarDestino() {
+        try {
+            destino.descarregar();
+        } catch (RuntimeException e) {
+            System.err.println("[REGISTRO] Falha ao descarregar destino: " + e);
+        }
+    }
+
+    /**
+     * Fecha o gravador: espera todos os registros publicados serem entregues ao destino
+     * e encerra a thread. O destino em si não é fechado, pois pode ser compartilhado.
+     * Chamadas repetidas não têm efeito.
+     */
+    @Override
+    public void close() {
+        if (encerrado) {
+            return;
+        }
+        encerrado = true;
+        LockSupport.unpark(consumidor);
+        boolean interrompido = false;
+        while (consumidor.isAlive()) {
+            try {
+                consumidor.join();
+            } catch (InterruptedException e) {
+                interrompido = true;
+            }
+        }
+        if (interrompido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return O número de registros publicados até o momento.
+     */
+    public long getPublicados() {
+        return publicados;
+    }
+
+    /**
+     * @return O destino dos registros.
+     */
+    public DestinoRegistro getDestino() {
+        return destino;
+    }
+}
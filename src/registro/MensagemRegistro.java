@@ -0,0 +1,274 @@
+package registro;
+
+import timer.Timer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Catálogo das mensagens do registro da simulação.
+ * <p>
+ * Cada mensagem tem um nível e um modelo de texto. Os valores variáveis não são
+ * formatados por quem registra a mensagem: eles são guardados como campos do registro
+ * (até {@value #MAX_TEXTOS} textos e {@value #MAX_NUMEROS} números) e só são convertidos
+ * em texto pelo destino, fora da thread da simulação. No modelo, os campos são indicados por:
+ * <ul>
+ * <li>{@code {t}}: o tempo do registro, como horário simulado ("HH:mm");</li>
+ * <li>{@code {s0}} a {@code {s2}}: um campo de texto;</li>
+ * <li>{@code {n0}} a {@code {n3}}: um campo numérico;</li>
+ * <li>{@code {h0}} a {@code {h3}}: um campo numérico, como horário simulado;</li>
+ * <li>{@code {d0}} a {@code {d3}}: um campo numérico, como duração ("1h 30min").</li>
+ * </ul>
+ */
+public enum MensagemRegistro {
+
+    /** Linha em branco, usada para separar os blocos da narrativa. */
+    LINHA_EM_BRANCO(NivelRegistro.INFO, ""),
+
+    // Simulador e agenda
+    SIMULADOR_INICIO(NivelRegistro.INFO,
+            "=================== S I M U L A D O R ==================\nInicializando estado da simulação com parâmetros da UI."),
+    SIMULADOR_CONFIGURADO(NivelRegistro.INFO,
+            "Estado inicial configurado. A simulação irá rodar por {n0} horas simuladas."),
+    AGENDA_RESETADA(NivelRegistro.INFO, "[AGENDA] A agenda de eventos foi resetada."),
+    REFORCO_ENVIADO(NivelRegistro.INFO, "  • Caminhão de reforço {s0} (Cap: {n0}t) enviado para a zona {s1}."),
+
+    // Distribuição de rotas
+    ROTAS_INICIO(NivelRegistro.INFO, "\n[DISTRIBUIÇÃO DE ROTAS]"),
+    ROTAS_CAMINHAO_ATRIBUIDO(NivelRegistro.INFO,
+            "  • Caminhão {s0} (Cap: {n0}t, Viagens: {n1}) atribuído à zona {s1}. Evento de coleta agendado."),
+    ROTAS_SEM_ZONA(NivelRegistro.ERRO, "Erro: Não foi possível atribuir zona inicial para o caminhão {s0}"),
+    ROTAS_CONCLUIDA(NivelRegistro.INFO, "Distribuição de rotas concluída. Total de caminhões: {n0}"),
+
+    // Zonas
+    GERACAO_LIXO_INICIO(NivelRegistro.INFO, "== GERAÇÃO DE LIXO ==\n[{t}] "),
+    ZONA_LIXO_GERADO(NivelRegistro.INFO, "[Zona] {s0} gerou {n0} toneladas de lixo. Total acumulado: {n1}t."),
+    ZONA_LIXO_COLETADO(NivelRegistro.DEPURACAO, "[Zona] {s0} coletou {n0} toneladas de lixo. Lixo restante: {n1}t."),
+
+    // Coleta
+    COLETA_INICIO(NivelRegistro.INFO, "== C O L E T A ==\n[{t}] \n[COLETA] Caminhão {s0} → Zona {s1} | Viagens restantes: {n0}"),
+    COLETA_ZONA_LIMPA(NivelRegistro.INFO, "  • Zona está limpa. Nenhuma coleta realizada."),
+    COLETA_AGUARDANDO(NivelRegistro.INFO, "  • Caminhão {s0} procurando próxima zona ou aguardando. Tempo de espera: {d0}"),
+    COLETA_SEM_VIAGENS(NivelRegistro.INFO, "  • Caminhão {s0} não pode mais coletar. Indo para estação de transferência."),
+    COLETA_CARGA(NivelRegistro.INFO, "  • Coletou: {n0}t    Carga atual: {n1}/{n2} t"),
+    COLETA_CARGA_MAXIMA(NivelRegistro.INFO, "  • Caminhão {s0} atingiu sua carga máxima."),
+    COLETA_TEMPOS(NivelRegistro.INFO, "  • Tempo gasto na coleta: {d0}\n  • Tempo de trajeto para coleta: {d1}"),
+    COLETA_TEMPO_EXTRA(NivelRegistro.INFO, "  • Tempo extra por carga cheia (se aplicável): +{d0}"),
+    COLETA_PROXIMA_ACAO(NivelRegistro.INFO, "  • Próximo Horário de Ação: {h0}    Tempo total da operação: {d1}\n"),
+    COLETA_PARA_ESTACAO(NivelRegistro.INFO,
+            "  • Caminhão {s0} completou a coleta ou está cheio. Enviando para estação de transferência."),
+    COLETA_JA_CHEIO(NivelRegistro.INFO,
+            "  • Caminhão {s0} já estava cheio ou atingiu capacidade máxima. Enviando para estação de transferência."),
+
+    // Caminhões pequenos
+    CAMINHAO_COLETOU(NivelRegistro.DEPURACAO, "[CAMINHÃO {s0}] Coletou {n0} toneladas."),
+    CAMINHAO_CARGA_MAXIMA(NivelRegistro.DEPURACAO, "[CAMINHÃO {s0}] Carga máxima atingida. Não é possível coletar mais."),
+    CAMINHAO_DESCARREGADO(NivelRegistro.DEPURACAO, "[CAMINHÃO {s0}] Carga descarregada. Caminhão vazio."),
+    CAMINHAO_VIAGEM_REGISTRADA(NivelRegistro.DEPURACAO, "[CAMINHÃO {s0}] Viagem registrada. {n0} viagens restantes."),
+    CAMINHAO_LIMITE_VIAGENS(NivelRegistro.DEPURACAO, "[CAMINHÃO {s0}] Limite de viagens diárias atingido."),
+
+    // Transferência para a estação
+    TRANSFERENCIA(NivelRegistro.INFO,
+            "== TRANSFERÊNCIA ==\n[{t}] \nCaminhão {s0} → Estação {s1}\n  • Tempo de trajeto: {d0}"),
+    TRANSFERENCIA_TEMPO_EXTRA(NivelRegistro.INFO, "  • Tempo extra por carga: +{d0}"),
+    TRANSFERENCIA_REDIRECIONADA(NivelRegistro.INFO,
+            "  • Estação {s0} com espera estimada de {d0}; redirecionado para {s1} (espera estimada de {d1}, desvio de {n2} min)"),
+    TRANSFERENCIA_CHEGADA(NivelRegistro.INFO,
+            "  • Tempo total da viagem: {d0}\n  • Horário previsto de chegada: {h1}\n"),
+
+    // Estação de transferência
+    ESTACAO_CHEGADA(NivelRegistro.INFO, "== ESTAÇÃO ==\n[{t}]\n[{s0} | Caminhão {s1}]\n  → Chegada confirmada."),
+    ESTACAO_FILA_AUMENTOU(NivelRegistro.INFO, "  • Fila de espera de caminhões pequenos aumentou. Tamanho: {n0}"),
+    ESTACAO_GERACAO_AGENDADA(NivelRegistro.INFO, "  • Evento para gerar caminhão grande agendado para {h0}"),
+    ESTACAO_GERACAO_CANCELADA(NivelRegistro.INFO, "  • Evento anterior para geração de caminhão grande cancelado."),
+    ESTACAO_DESCARGA(NivelRegistro.INFO,
+            "  • Caminhão pequeno {s0} descarregou: {n0}t. Carga do Caminhão Grande {n1}: {n2}/{n3} t"),
+    ESTACAO_FIM_DESCARGA(NivelRegistro.INFO, "  • Horário previsto para fim da descarga: {h0}. Tempo de Descarga: {d1}"),
+    ESTACAO_DESCARREGANDO_FILA(NivelRegistro.INFO, "[{t}] [ESTAÇÃO {s0}] Tentando descarregar fila de espera..."),
+    ESTACAO_DESCARGA_FILA(NivelRegistro.INFO,
+            "[ESTAÇÃO {s0}] Caminhão pequeno {s1} da fila (esperou {d0}) descarregou {n1} toneladas. Carga do Grande: {n2}/{n3} t"),
+    ESTACAO_FILA_VAZIA(NivelRegistro.INFO, "  • Fila de espera de caminhões pequenos vazia."),
+    ESTACAO_FILA_RESTANTE(NivelRegistro.INFO, "  • Caminhão grande ficou cheio ou indisponível. {n0} caminhões ainda na fila."),
+    ESTACAO_NOVO_GRANDE(NivelRegistro.INFO, "[ESTAÇÃO {s0}] Novo caminhão grande {n0} gerado."),
+    ESTACAO_DESPACHO(NivelRegistro.INFO, "  • Despachando caminhão grande {n0} para o aterro."),
+    ESTACAO_VOLTA_ATIVIDADE(NivelRegistro.INFO,
+            "  → Caminhão {s0} volta para atividades. Agendando próxima coleta na zona {s1}."),
+    ESTACAO_FIM_VIAGENS(NivelRegistro.INFO, "  → Caminhão {s0} finalizou todas as suas viagens diárias."),
+
+    // Caminhões grandes
+    GRANDE_DESCARREGADO(NivelRegistro.DEPURACAO, "Caminhão grande {n0} partiu para o aterro com {n1}t."),
+    GERACAO_GRANDE_INICIO(NivelRegistro.INFO, "== GERAÇÃO DE CAMINHÃO GRANDE ==\n[{t}] [Estação {s0}]"),
+    GERACAO_GRANDE_FILA_VAZIA(NivelRegistro.INFO, "  • Fila de espera está vazia. Geração de caminhão grande cancelada."),
+    GERACAO_GRANDE_TOLERANCIA(NivelRegistro.INFO,
+            "  • Tolerância de espera do caminhão grande {n0} atingida. Partindo para o aterro."),
+    GERACAO_GRANDE_AGUARDANDO(NivelRegistro.INFO, "  • Caminhão grande {n0} está vazio e continua aguardando."),
+    GERACAO_GRANDE_NOVO(NivelRegistro.INFO,
+            "  • Tempo máximo de espera atingido para caminhão na fila. Gerando novo caminhão grande para a estação."),
+    PARTIDA_GRANDE(NivelRegistro.INFO, "Caminhão grande {n0} partiu da {s0} para o aterro."),
+
+    // Supervisor
+    SUPERVISOR_INICIO(NivelRegistro.INFO, "== SUPERVISOR ==\n[{t}] Verificando estado da simulação..."),
+    SUPERVISOR_CAMINHOES_ATIVOS(NivelRegistro.INFO, "  • Ainda há caminhões em atividade. Próxima verificação agendada."),
+    SUPERVISOR_ROTAS_FINALIZADAS(NivelRegistro.INFO, "  • Todos os caminhões finalizaram suas rotas."),
+    SUPERVISOR_LIXO_RESTANTE(NivelRegistro.INFO,
+            "  • Lixo encontrado na Zona {s0} ({n0} T). Solicitando caminhão de reforço!"),
+    SUPERVISOR_ENCERRADO(NivelRegistro.INFO, "  • Não há mais lixo nas zonas. Operação do dia encerrada."),
+
+    // Laço de eventos
+    TEMPO_LIMITE_ATINGIDO(NivelRegistro.INFO, "[SIMULAÇÃO] Tempo limite de {n0} minutos atingido.");
+
+    /** Número máximo de campos de texto de um registro. */
+    public static final int MAX_TEXTOS = 3;
+    /** Número máximo de campos numéricos de um registro. */
+    public static final int MAX_NUMEROS = 4;
+
+    /** Tipo de segmento: texto literal do modelo. */
+    private static final char LITERAL = 'L';
+
+    private final NivelRegistro nivel;
+    private final String modelo;
+
+    /** Segmentos do modelo já analisado: tipo, índice do campo e texto literal. */
+    private final char[] tiposSegmento;
+    private final int[] indicesSegmento;
+    private final String[] literaisSegmento;
+    /** Quantidade de campos de texto e numéricos usados pelo modelo. */
+    private final int quantidadeTextos;
+    private final int quantidadeNumeros;
+
+    MensagemRegistro(NivelRegistro nivel, String modelo) {
+        this.nivel = nivel;
+        this.modelo = modelo;
+
+        List<String> literais = new ArrayList<>();
+        StringBuilder tipos = new StringBuilder();
+        List<Integer> indices = new ArrayList<>();
+        int i = 0;
+        int inicioLiteral = 0;
+        while (i < modelo.length()) {
+            int fim = modelo.indexOf('}', i);
+            if (modelo.charAt(i) == '{' && fim > i && ehCampo(modelo.substring(i + 1, fim))) {
+                if (i > inicioLiteral) {
+                    tipos.append(LITERAL);
+                    indices.add(-1);
+                    literais.add(modelo.substring(inicioLiteral, i));
+                }
+                String campo = modelo.substring(i + 1, fim);
+                tipos.append(campo.charAt(0));
+                indices.add(campo.length() > 1 ? campo.charAt(1) - '0' : -1);
+                literais.add(null);
+                i = fim + 1;
+                inicioLiteral = i;
+            } else {
+                i++;
+            }
+        }
+        if (inicioLiteral < modelo.length()) {
+            tipos.append(LITERAL);
+            indices.add(-1);
+            literais.add(modelo.substring(inicioLiteral));
+        }
+        this.tiposSegmento = tipos.toString().toCharArray();
+        this.indicesSegmento = indices.stream().mapToInt(Integer::intValue).toArray();
+        this.literaisSegmento = literais.toArray(new String[0]);
+
+        int textos = 0;
+        int numeros = 0;
+        for (int k = 0; k < tiposSegmento.length; k++) {
+            if (tiposSegmento[k] == 's') {
+                textos = Math.max(textos, indicesSegmento[k] + 1);
+            } else if (tiposSegmento[k] != LITERAL && tiposSegmento[k] != 't') {
+                numeros = Math.max(numeros, indicesSegmento[k] + 1);
+            }
+        }
+        this.quantidadeTextos = textos;
+        this.quantidadeNumeros = numeros;
+    }
+
+    /**
+     * Verifica se o conteúdo entre chaves é um campo válido do modelo.
+     */
+    private static boolean ehCampo(String campo) {
+        if (campo.equals("t")) {
+            return true;
+        }
+        if (campo.length() != 2 || !Character.isDigit(campo.charAt(1))) {
+            return false;
+        }
+        int indice = campo.charAt(1) - '0';
+        switch (campo.charAt(0)) {
+            case 's':
+                return indice < MAX_TEXTOS;
+            case 'n':
+            case 'h':
+            case 'd':
+                return indice < MAX_NUMEROS;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return O nível da mensagem.
+     */
+    public NivelRegistro getNivel() {
+        return nivel;
+    }
+
+    /**
+     * @return O modelo de texto da mensagem.
+     */
+    public String getModelo() {
+        return modelo;
+    }
+
+    /**
+     * @return O número de campos de texto usados pelo modelo (o maior índice mais um).
+     */
+    public int getQuantidadeTextos() {
+        return quantidadeTextos;
+    }
+
+    /**
+     * @return O número de campos numéricos usados pelo modelo (o maior índice mais um).
+     */
+    public int getQuantidadeNumeros() {
+        return quantidadeNumeros;
+    }
+
+    /**
+     * Escreve o texto da mensagem, substituindo os campos do modelo pelos valores informados.
+     *
+     * @param destino O {@link StringBuilder} que recebe o texto.
+     * @param tempo   O tempo do registro, em minutos desde o início da simulação.
+     * @param textos  Os campos de texto do registro.
+     * @param numeros Os campos numéricos do registro.
+     */
+    public void formatar(StringBuilder destino, int tempo, String[] textos, long[] numeros) {
+        for (int i = 0; i < tiposSegmento.length; i++) {
+            int indice = indicesSegmento[i];
+            switch (tiposSegmento[i]) {
+                case LITERAL:
+                    destino.append(literaisSegmento[i]);
+                    break;
+                case 't':
+                    destino.append(Timer.formatarHorarioSimulado(tempo));
+                    break;
+                case 's':
+                    destino.append(textos[indice]);
+                    break;
+                case 'n':
+                    destino.append(numeros[indice]);
+                    break;
+                case 'h':
+                    destino.append(Timer.formatarHorarioSimulado((int) numeros[indice]));
+                    break;
+                case 'd':
+                    destino.append(Timer.formatarDuracao((int) numeros[indice]));
+                    break;
+                default:
+                    throw new IllegalStateException("Campo de modelo desconhecido: " + tiposSegmento[i]);
+            }
+        }
+    }
+}
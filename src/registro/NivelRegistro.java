@@ -0,0 +1,23 @@
+package registro;
+
+/**
+ * Níveis de severidade das mensagens do registro da simulação, do mais detalhado ao mais grave.
+ * Um {@link Registrador} configurado com um nível descarta as mensagens dos níveis anteriores.
+ */
+public enum NivelRegistro {
+
+    /** Detalhes internos das operações (cargas, viagens, lixo coletado por zona). */
+    DEPURACAO,
+
+    /** A narrativa da simulação: eventos processados e suas consequências. */
+    INFO,
+
+    /** Situações anormais que não impedem a simulação de continuar. */
+    AVISO,
+
+    /** Erros de configuração ou de estado da simulação. */
+    ERRO,
+
+    /** Nenhuma mensagem é registrada. */
+    DESLIGADO
+}
@@ -0,0 +1,242 @@
+package registro;
+
+/**
+ * Fachada de registro usada pela simulação no lugar de {@code System.out}.
+ * <p>
+ * Cada {@code ContextoSimulacao} possui o seu registrador, que por padrão é
+ * {@linkplain #desligado() desligado}. Os métodos {@code registrar} recebem a mensagem,
+ * o tempo simulado e os valores dos campos como {@code String} e {@code long}; quando o
+ * nível da mensagem está desabilitado, eles retornam imediatamente, sem formatar texto,
+ * converter números em objetos ou alocar memória. Quando está habilitado, o registro
+ * é repassado ao {@link GravadorAssincrono}, que o formata e escreve em outra thread.
+ * <p>
+ * Trechos que precisam calcular valores apenas para o registro podem ser protegidos com
+ * {@link #isAtivo(MensagemRegistro)}.
+ */
+public final class Registrador {
+
+    /** Registrador que descarta todas as mensagens. */
+    private static final Registrador DESLIGADO = new Registrador();
+
+    /** Ordem do menor nível registrado (veja {@link NivelRegistro}). */
+    private final int nivelMinimo;
+    /** O gravador que recebe os registros, ou {@code null} se o registrador estiver desligado. */
+    private final GravadorAssincrono gravador;
+
+    /**
+     * Construtor do registrador desligado.
+     */
+    private Registrador() {
+        this.nivelMinimo = NivelRegistro.DESLIGADO.ordinal();
+        this.gravador = null;
+    }
+
+    /**
+     * Cria um registrador que repassa ao gravador as mensagens do nível informado ou mais graves.
+     *
+     * @param nivel    O menor nível de mensagem registrado.
+     * @param gravador O gravador que recebe os registros.
+     * @throws IllegalArgumentException se o nível ou o gravador forem nulos.
+     */
+    public Registrador(NivelRegistro nivel, GravadorAssincrono gravador) {
+        if (nivel == null) {
+            throw new IllegalArgumentException("O nível do registro não pode ser nulo.");
+        }
+        if (gravador == null) {
+            throw new IllegalArgumentException("O gravador de registros não pode ser nulo.");
+        }
+        this.nivelMinimo = nivel.ordinal();
+        this.gravador = gravador;
+    }
+
+    /**
+     * Retorna o registrador desligado, que descarta todas as mensagens.
+     *
+     * @return A instância compartilhada do registrador desligado.
+     */
+    public static Registrador desligado() {
+        return DESLIGADO;
+    }
+
+    /**
+     * Verifica se a mensagem informada seria registrada.
+     *
+     * @param mensagem A mensagem a ser verificada.
+     * @return {@code true} se o nível da mensagem estiver habilitado.
+     */
+    public boolean isAtivo(MensagemRegistro mensagem) {
+        return mensagem.getNivel().ordinal() >= nivelMinimo;
+    }
+
+    /**
+     * Registra uma mensagem sem campos.
+     *
+     * @param mensagem A mensagem.
+     * @param tempo    O tempo simulado, em minutos.
+     */
+    public void registrar(MensagemRegistro mensagem, int tempo) {
+        if (isAtivo(mensagem)) {
+            gravador.publicar(tempo, mensagem, null, null, null, 0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Registra uma mensagem com um campo de texto.
+     *
+     * @param mensagem A mensagem.
+     * @param tempo    O tempo simulado, em minutos.
+     * @param s0       O campo {@code s0}.
+     */
+    public void registrar(MensagemRegistro mensagem, int tempo, String s0) {
+        if (isAtivo(mensagem)) {
+            gravador.publicar(tempo, mensagem, s0, null, null, 0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Registra uma mensagem com dois campos de texto.
+     *
+     * @param mensagem A mensagem.
+     * @param tempo    O tempo simulado, em minutos.
+     * @param s0       O campo {@code s0}.
+     * @param s1       O campo {@code s1}.
+     */
+    public void registrar(MensagemRegistro mensagem, int tempo, String s0, String s1) {
+        if (isAtivo(mensagem)) {
+            gravador.publicar(tempo, mensagem, s0, s1, null, 0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Registra uma mensagem com um campo numérico.
+     *
+     * @param mensagem A mensagem.
+     * @param tempo    O tempo simulado, em minutos.
+     * @param n0       O campo {@code n0}.
+     */
+    public void registrar(MensagemRegistro mensagem, int tempo, long n0) {
+        if (isAtivo(mensagem)) {
+            gravador.publicar(tempo, mensagem, null, null, null, n0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Registra uma mensagem com dois campos numéricos.
+     *
+     * @param mensagem A mensagem.
+     * @param tempo    O tempo simulado, em minutos.
+     * @param n0       O campo {@code n0}.
+     * @param n1       O campo {@code n1}.
+     */
+    public void registrar(MensagemRegistro mensagem, int tempo, long n0, long n1) {
+        if (isAtivo(mensagem)) {
+            gravador.publicar(tempo, mensagem, null, null, null, n0, n1, 0, 0);
+        }
+    }
+
+    /**
+     * Registra uma mensagem com três campos numéricos.
+     *
+     * @param mensagem A mensagem.
+     * @param tempo    O tempo simulado, em minutos.
+     * @param n0       O campo {@code n0}.
+     * @param n1       O campo {@code n1}.
+     * @param n2       O campo {@code n2}.
+     */
+    public void registrar(MensagemRegistro mensagem, int tempo, long n0, long n1, long n2) {
+        if (isAtivo(mensagem)) {
+            gravador.publicar(tempo, mensagem, null, null, null, n0, n1, n2, 0);
+        }
+    }
+
+    /**
+     * Registra uma mensagem com um campo de texto e um numérico.
+     *
+     * @param mensagem A mensagem.
+     * @param tempo    O tempo simulado, em minutos.
+     * @param s0       O campo {@code s0}.
+     * @param n0       O campo {@code n0}.
+     */
+    public void registrar(MensagemRegistro mensagem, int tempo, String s0, long n0) {
+        if (isAtivo(mensagem)) {
+            gravador.publicar(tempo, mensagem, s0, null, null, n0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Registra uma mensagem com um campo de texto e dois numéricos.
+     *
+     * @param mensagem A mensagem.
+     * @param tempo    O tempo simulado, em minutos.
+     * @param s0       O campo {@code s0}.
+     * @param n0       O campo {@code n0}.
+     * @param n1       O campo {@code n1}.
+     */
+    public void registrar(MensagemRegistro mensagem, int tempo, String s0, long n0, long n1) {
+        if (isAtivo(mensagem)) {
+            gravador.publicar(tempo, mensagem, s0, null, null, n0, n1, 0, 0);
+        }
+    }
+
+    /**
+     * Registra uma mensagem com dois campos de texto e um numérico.
+     *
+     * @param mensagem A mensagem.
+     * @param tempo    O tempo simulado, em minutos.
+     * @param s0       O campo {@code s0}.
+     * @param s1       O campo {@code s1}.
+     * @param n0       O campo {@code n0}.
+     */
+    public void registrar(MensagemRegistro mensagem, int tempo, String s0, String s1, long n0) {
+        if (isAtivo(mensagem)) {
+            gravador.publicar(tempo, mensagem, s0, s1, null, n0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Registra uma mensagem com dois campos de texto e três numéricos.
+     *
+     * @param mensagem A mensagem.
+     * @param tempo    O tempo simulado, em minutos.
+     * @param s0       O campo {@code s0}.
+     * @param s1       O campo {@code s1}.
+     * @param n0       O campo {@code n0}.
+     * @param n1       O campo {@code n1}.
+     * @param n2       O campo {@code n2}.
+     */
+    public void registrar(MensagemRegistro mensagem, int tempo, String s0, String s1, long n0, long n1, long n2) {
+        if (isAtivo(mensagem)) {
+            gravador.publicar(tempo, mensagem, s0, s1, null, n0, n1, n2, 0);
+        }
+    }
+
+    /**
+     * Registra uma mensagem com até três campos de texto e quatro numéricos.
+     *
+     * @param mensagem A mensagem.
+     * @param tempo    O tempo simulado, em minutos.
+     * @param s0       O campo {@code s0}.
+     * @param s1       O campo {@code s1}.
+     * @param s2       O campo {@code s2}.
+     * @param n0       O campo {@code n0}.
+     * @param n1       O campo {@code n1}.
+     * @param n2       O campo {@code n2}.
+     * @param n3       O campo {@code n3}.
+     */
+    public void registrar(MensagemRegistro mensagem, int tempo, String s0, String s1, String s2,
+                          long n0, long n1, long n2, long n3) {
+        if (isAtivo(mensagem)) {
+            gravador.publicar(tempo, mensagem, s0, s1, s2, n0, n1, n2, n3);
+        }
+    }
+
+    /**
+     * Fecha o gravador do registrador, esperando os registros pendentes serem escritos.
+     * Não tem efeito no registrador desligado.
+     */
+    public void fechar() {
+        if (gravador != null) {
+            gravador.close();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package registro;
+
+import java.util.Arrays;
+
+/**
+ * Um registro da simulação: a mensagem, o tempo simulado em que ocorreu e os valores dos
+ * seus campos.
+ * <p>
+ * As instâncias entregues a um {@link DestinoRegistro} são reutilizadas pelo
+ * {@link GravadorAssincrono} a cada registro, para não alocar objetos. O destino deve
+ * copiar os valores que quiser guardar antes de retornar.
+ */
+public final class Registro {
+
+    private int tempo;
+    private MensagemRegistro mensagem;
+    private final String[] textos = new String[MensagemRegistro.MAX_TEXTOS];
+    private final long[] numeros = new long[MensagemRegistro.MAX_NUMEROS];
+
+    /**
+     * Cria um registro vazio, a ser preenchido pelo gravador ou pela leitura de um arquivo.
+     */
+    public Registro() {
+    }
+
+    /**
+     * Preenche o registro com novos valores.
+     */
+    void preencher(int tempo, MensagemRegistro mensagem) {
+        this.tempo = tempo;
+        this.mensagem = mensagem;
+    }
+
+    /**
+     * @return O vetor interno de campos de texto, para preenchimento pelo gravador.
+     */
+    String[] textos() {
+        return textos;
+    }
+
+    /**
+     * @return O vetor interno de campos numéricos, para preenchimento pelo gravador.
+     */
+    long[] numeros() {
+        return numeros;
+    }
+
+    /**
+     * @return O tempo simulado do registro, em minutos desde o início da simulação.
+     */
+    public int getTempo() {
+        return tempo;
+    }
+
+    /**
+     * @return A mensagem registrada.
+     */
+    public MensagemRegistro getMensagem() {
+        return mensagem;
+    }
+
+    /**
+     * @return O nível da mensagem registrada.
+     */
+    public NivelRegistro getNivel() {
+        return mensagem.getNivel();
+    }
+
+    /**
+     * Retorna um campo de texto do registro.
+     *
+     * @param indice O índice do campo (de 0 a {@value MensagemRegistro#MAX_TEXTOS} - 1).
+     * @return O valor do campo, ou {@code null} se não foi informado.
+     */
+    public String getTexto(int indice) {
+        return textos[indice];
+    }
+
+    /**
+     * Retorna um campo numérico do registro.
+     *
+     * @param indice O índice do campo (de 0 a {@value MensagemRegistro#MAX_NUMEROS} - 1).
+     * @return O valor do campo, ou 0 se não foi informado.
+     */
+    public long getNumero(int indice) {
+        return numeros[indice];
+    }
+
+    /**
+     * Escreve o texto do registro, de acordo com o modelo da mensagem.
+     *
+     * @param destino O {@link StringBuilder} que recebe o texto.
+     */
+    public void formatar(StringBuilder destino) {
+        mensagem.formatar(destino, tempo, textos, numeros);
+    }
+
+    /**
+     * Limpa os campos do registro, liberando as referências aos textos.
+     */
+    void limpar() {
+        Arrays.fill(textos, null);
+        Arrays.fill(numeros, 0L);
+    }
+
+    /**
+     * @return O texto do registro, de acordo com o modelo da mensagem.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        formatar(sb);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,168 @@
+package tads;
+
+import java.util.Arrays;
+
+/**
+ * Classe que representa uma fila genérica armazenada em um vetor circular que cresce conforme necessário.
+ * <p>
+ * Tem o mesmo contrato de {@link Fila} (FIFO, com {@code enqueue}, {@code poll}, {@code peek}
+ * e {@code getTamanho}), mas não cria um nó por elemento: os elementos ficam em um vetor e o
+ * início e o fim da fila andam em círculo. Depois que o vetor atinge o tamanho máximo da fila,
+ * enfileirar e desenfileirar não alocam memória. É indicada para filas com muito movimento,
+ * como as filas de espera das estações de transferência.
+ *
+ * @param <T> O tipo de elemento armazenado na fila.
+ */
+public class FilaCircular<T> {
+
+    /** Capacidade inicial do vetor, usada quando nenhuma é informada. */
+    private static final int CAPACIDADE_INICIAL = 8;
+
+    /**
+     * Vetor que armazena os elementos. O tamanho é sempre uma potência de 2, de forma que a
+     * posição circular é obtida com uma máscara.
+     */
+    private Object[] elementos;
+    /**
+     * Posição do primeiro elemento da fila (o próximo a ser removido).
+     */
+    private int inicio;
+    /**
+     * Número de elementos atualmente na fila.
+     */
+    private int tamanho;
+
+    /**
+     * Construtor da fila.
+     * Inicializa uma fila vazia, sem elementos.
+     */
+    public FilaCircular() {
+        this(CAPACIDADE_INICIAL);
+    }
+
+    /**
+     * Cria uma fila vazia com espaço reservado para a quantidade de elementos informada.
+     *
+     * @param capacidadeInicial A quantidade de elementos que cabem na fila antes de o vetor crescer.
+     * @throws IllegalArgumentException Se a capacidade for negativa.
+     */
+    public FilaCircular(int capacidadeInicial) {
+        if (capacidadeInicial < 0) {
+            throw new IllegalArgumentException("A capacidade inicial não pode ser negativa: " + capacidadeInicial);
+        }
+        elementos = new Object[capacidadePotenciaDe2(capacidadeInicial)];
+    }
+
+    /**
+     * Retorna a menor potência de 2 maior ou igual à capacidade (pelo menos 1).
+     */
+    static int capacidadePotenciaDe2(int capacidade) {
+        return capacidade <= 1 ? 1 : Integer.highestOneBit(capacidade - 1) << 1;
+    }
+
+    /**
+     * Adiciona um novo elemento ao final da fila (operação de enfileirar).
+     *
+     * @param valor O valor a ser inserido na fila.
+     */
+    public void enqueue(T valor) {
+        if (tamanho == elementos.length) {
+            crescer();
+        }
+        elementos[(inicio + tamanho) & (elementos.length - 1)] = valor;
+        tamanho++;
+    }
+
+    /**
+     * Dobra a capacidade do vetor, desfazendo a volta do círculo.
+     */
+    private void crescer() {
+        Object[] novos = new Object[elementos.length * 2];
+        int ateOFim = elementos.length - inicio;
+        System.arraycopy(elementos, inicio, novos, 0, ateOFim);
+        System.arraycopy(elementos, 0, novos, ateOFim, inicio);
+        elementos = novos;
+        inicio = 0;
+    }
+
+    /**
+     * Remove e retorna o primeiro elemento da fila (operação de desenfileirar), seguindo o modelo FIFO.
+     *
+     * @return O valor do elemento removido ou {@code null} se a fila estiver vazia.
+     */
+    public T poll() {
+        if (estaVazia()) {
+            return null;
+        }
+        T valor = elemento(inicio);
+        elementos[inicio] = null; // Libera a referência para o coletor de lixo
+        inicio = (inicio + 1) & (elementos.length - 1);
+        tamanho--;
+        return valor;
+    }
+
+    /**
+     * Retorna o primeiro elemento da fila sem removê-lo (operação "espiar").
+     *
+     * @return O valor do primeiro elemento da fila ou {@code null} se a fila estiver vazia.
+     */
+    public T peek() {
+        if (estaVazia()) {
+            return null;
+        }
+        return elemento(inicio);
+    }
+
+    /**
+     * Imprime os elementos da fila na ordem de inserção, do início ao fim.
+     * <p>
+     * A impressão segue o formato "element1 -> element2 -> ... -> elementN".
+     * Se a fila estiver vazia, imprime "Fila vazia".
+     */
+    public void imprimir() {
+        if (estaVazia()) {
+            System.out.println("Fila vazia.");
+            return;
+        }
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < tamanho; i++) {
+            if (i > 0) {
+                texto.append(" -> ");
+            }
+            texto.append(elemento((inicio + i) & (elementos.length - 1)));
+        }
+        System.out.println(texto);
+    }
+
+    /**
+     * Remove todos os elementos da fila, mantendo a capacidade do vetor.
+     */
+    public void limpar() {
+        Arrays.fill(elementos, null);
+        inicio = 0;
+        tamanho = 0;
+    }
+
+    /**
+     * Retorna o tamanho atual da fila, ou seja, o número de elementos nela.
+     *
+     * @return O número de elementos atualmente na fila.
+     */
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Verifica se a fila está vazia.
+     *
+     * @return {@code true} se a fila não contiver elementos, {@code false} caso contrário.
+     */
+    public boolean estaVazia() {
+        return tamanho == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elemento(int pos) {
+        return (T) elementos[pos];
+    }
+}
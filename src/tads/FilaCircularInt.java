@@ -0,0 +1,159 @@
+package tads;
+
+/**
+ * Fila de números inteiros armazenada em um vetor circular de {@code int} que cresce conforme necessário.
+ * <p>
+ * É a versão primitiva de {@link FilaCircular}: os valores não são encapsulados em {@link Integer},
+ * de forma que enfileirar e desenfileirar não alocam memória depois que o vetor atinge o tamanho
+ * máximo da fila. Serve para enfileirar índices, como a posição de um caminhão na fila de espera
+ * de uma estação com a disciplina FIFO. Como {@code int} não tem um valor nulo, {@link #poll()}
+ * e {@link #peek()} exigem uma fila não vazia.
+ */
+public class FilaCircularInt implements FilaDeEsperaInt {
+
+    /** Capacidade inicial do vetor, usada quando nenhuma é informada. */
+    private static final int CAPACIDADE_INICIAL = 8;
+
+    /**
+     * Vetor que armazena os valores; o tamanho é sempre uma potência de 2.
+     */
+    private int[] valores;
+    /**
+     * Posição do primeiro valor da fila (o próximo a ser removido).
+     */
+    private int inicio;
+    /**
+     * Número de valores atualmente na fila.
+     */
+    private int tamanho;
+
+    /**
+     * Construtor da fila.
+     * Inicializa uma fila vazia, sem valores.
+     */
+    public FilaCircularInt() {
+        this(CAPACIDADE_INICIAL);
+    }
+
+    /**
+     * Cria uma fila vazia com espaço reservado para a quantidade de valores informada.
+     *
+     * @param capacidadeInicial A quantidade de valores que cabem na fila antes de o vetor crescer.
+     * @throws IllegalArgumentException Se a capacidade for negativa.
+     */
+    public FilaCircularInt(int capacidadeInicial) {
+        if (capacidadeInicial < 0) {
+            throw new IllegalArgumentException("A capacidade inicial não pode ser negativa: " + capacidadeInicial);
+        }
+        valores = new int[FilaCircular.capacidadePotenciaDe2(capacidadeInicial)];
+    }
+
+    /**
+     * Adiciona um valor ao final da fila (operação de enfileirar).
+     *
+     * @param valor O valor a ser inserido na fila.
+     */
+    public void enqueue(int valor) {
+        if (tamanho == valores.length) {
+            crescer();
+        }
+        valores[(inicio + tamanho) & (valores.length - 1)] = valor;
+        tamanho++;
+    }
+
+    /**
+     * Adiciona um valor ao final da fila. A prioridade é ignorada: a fila é sempre FIFO.
+     *
+     * @param valor      O valor a ser inserido na fila.
+     * @param prioridade Ignorada.
+     */
+    @Override
+    public void enqueue(int valor, int prioridade) {
+        enqueue(valor);
+    }
+
+    /**
+     * Dobra a capacidade do vetor, desfazendo a volta do círculo.
+     */
+    private void crescer() {
+        int[] novos = new int[valores.length * 2];
+        int ateOFim = valores.length - inicio;
+        System.arraycopy(valores, inicio, novos, 0, ateOFim);
+        System.arraycopy(valores, 0, novos, ateOFim, inicio);
+        valores = novos;
+        inicio = 0;
+    }
+
+    /**
+     * Remove e retorna o primeiro valor da fila, seguindo o modelo FIFO.
+     *
+     * @return O valor removido.
+     * @throws IllegalStateException se a fila estiver vazia.
+     */
+    @Override
+    public int poll() {
+        if (estaVazia()) {
+            throw new IllegalStateException("A fila está vazia.");
+        }
+        int valor = valores[inicio];
+        inicio = (inicio + 1) & (valores.length - 1);
+        tamanho--;
+        return valor;
+    }
+
+    /**
+     * Retorna o primeiro valor da fila sem removê-lo.
+     *
+     * @return O primeiro valor da fila.
+     * @throws IllegalStateException se a fila estiver vazia.
+     */
+    @Override
+    public int peek() {
+        if (estaVazia()) {
+            throw new IllegalStateException("A fila está vazia.");
+        }
+        return valores[inicio];
+    }
+
+    /**
+     * Cria uma cópia independente da fila, com os mesmos valores na mesma ordem.
+     *
+     * @return A cópia da fila.
+     */
+    @Override
+    public FilaCircularInt copiar() {
+        FilaCircularInt copia = new FilaCircularInt(0);
+        copia.valores = valores.clone();
+        copia.inicio = inicio;
+        copia.tamanho = tamanho;
+        return copia;
+    }
+
+    /**
+     * Remove todos os valores da fila, mantendo a capacidade do vetor.
+     */
+    public void limpar() {
+        inicio = 0;
+        tamanho = 0;
+    }
+
+    /**
+     * Retorna o tamanho atual da fila, ou seja, o número de valores nela.
+     *
+     * @return O número de valores atualmente na fila.
+     */
+    @Override
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Verifica se a fila está vazia.
+     *
+     * @return {@code true} se a fila não contiver valores, {@code false} caso contrário.
+     */
+    @Override
+    public boolean estaVazia() {
+        return tamanho == 0;
+    }
+}
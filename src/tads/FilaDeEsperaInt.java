@@ -0,0 +1,54 @@
+package tads;
+
+/**
+ * Contrato comum das filas de espera de números inteiros que podem ordenar os valores por prioridade.
+ * <p>
+ * Os valores não são encapsulados em {@link Integer}. Serve para enfileirar índices, como a posição de um caminhão na frota. A prioridade segue a
+ * convenção de {@link NoFila}: quanto maior o valor, maior a prioridade. Filas que atendem apenas
+ * por ordem de chegada, como {@link FilaCircularInt}, ignoram a prioridade. Como {@code int} não
+ * tem um valor nulo, {@link #poll()} e {@link #peek()} exigem uma fila não vazia.
+ */
+public interface FilaDeEsperaInt {
+
+    /**
+     * Adiciona um valor à fila com a prioridade informada.
+     *
+     * @param valor      O valor a ser inserido na fila.
+     * @param prioridade A prioridade do valor (quanto maior, antes ele sai da fila).
+     */
+    void enqueue(int valor, int prioridade);
+
+    /**
+     * Remove e retorna o próximo valor a ser atendido.
+     *
+     * @return O valor removido.
+     * @throws IllegalStateException se a fila estiver vazia.
+     */
+    int poll();
+
+    /**
+     * Retorna o próximo valor a ser atendido, sem removê-lo.
+     *
+     * @return O próximo valor.
+     * @throws IllegalStateException se a fila estiver vazia.
+     */
+    int peek();
+
+    /**
+     * @return O número de valores atualmente na fila.
+     */
+    int getTamanho();
+
+    /**
+     * @return {@code true} se a fila não contiver valores, {@code false} caso contrário.
+     */
+    boolean estaVazia();
+
+    /**
+     * Cria uma cópia independente da fila, com os mesmos valores, que saem na mesma ordem.
+     * Alterar a cópia não altera esta fila, e vice-versa.
+     *
+     * @return A cópia da fila.
+     */
+    FilaDeEsperaInt copiar();
+}
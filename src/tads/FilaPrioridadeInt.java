@@ -0,0 +1,205 @@
+package tads;
+
+import java.util.Arrays;
+
+/**
+ * Fila de prioridade de números inteiros implementada como um heap binário de máximo armazenado em vetores.
+ * <p>
+ * O valor, a prioridade e a ordem de chegada de cada elemento ficam em vetores paralelos de
+ * primitivos, sem encapsular os valores em {@link Integer}.
+ * Enfileirar e desenfileirar custam O(log n) e não alocam memória depois que os vetores atingem o
+ * tamanho máximo da fila. Elementos com a mesma prioridade saem na ordem de chegada.
+ */
+public class FilaPrioridadeInt implements FilaDeEsperaInt {
+
+    /** Capacidade inicial dos vetores, usada quando nenhuma é informada. */
+    private static final int CAPACIDADE_INICIAL = 8;
+
+    /** Valores armazenados, na ordem do heap. */
+    private int[] valores;
+    /** Prioridade de cada posição do heap. */
+    private int[] prioridades;
+    /** Ordem de chegada de cada posição do heap, usada para desempatar prioridades iguais. */
+    private long[] chegadas;
+    /** Número de elementos atualmente na fila. */
+    private int tamanho;
+    /** Contador de inserções, que define a ordem de chegada do próximo elemento. */
+    private long proximaChegada;
+
+    /**
+     * Construtor da fila.
+     * Inicializa uma fila vazia, sem elementos.
+     */
+    public FilaPrioridadeInt() {
+        this(CAPACIDADE_INICIAL);
+    }
+
+    /**
+     * Cria uma fila vazia com espaço reservado para a quantidade de elementos informada.
+     *
+     * @param capacidadeInicial A quantidade de elementos que cabem na fila antes de os vetores crescerem.
+     * @throws IllegalArgumentException Se a capacidade for negativa.
+     */
+    public FilaPrioridadeInt(int capacidadeInicial) {
+        if (capacidadeInicial < 0) {
+            throw new IllegalArgumentException("A capacidade inicial não pode ser negativa: " + capacidadeInicial);
+        }
+        int capacidade = Math.max(1, capacidadeInicial);
+        valores = new int[capacidade];
+        prioridades = new int[capacidade];
+        chegadas = new long[capacidade];
+    }
+
+    /**
+     * Adiciona um valor à fila com a prioridade informada.
+     *
+     * @param valor      O valor a ser inserido na fila.
+     * @param prioridade A prioridade do valor (quanto maior, antes ele sai da fila).
+     */
+    @Override
+    public void enqueue(int valor, int prioridade) {
+        if (tamanho == valores.length) {
+            crescer();
+        }
+        subir(tamanho, valor, prioridade, proximaChegada++);
+        tamanho++;
+    }
+
+    /**
+     * Remove e retorna o valor de maior prioridade; em caso de empate, o que chegou primeiro.
+     *
+     * @return O valor removido.
+     * @throws IllegalStateException se a fila estiver vazia.
+     */
+    @Override
+    public int poll() {
+        int valor = peek();
+        tamanho--;
+        if (tamanho > 0) {
+            descer(0, valores[tamanho], prioridades[tamanho], chegadas[tamanho]);
+        }
+        return valor;
+    }
+
+    /**
+     * Retorna o valor de maior prioridade sem removê-lo.
+     *
+     * @return O próximo valor a sair da fila.
+     * @throws IllegalStateException se a fila estiver vazia.
+     */
+    @Override
+    public int peek() {
+        if (estaVazia()) {
+            throw new IllegalStateException("A fila está vazia.");
+        }
+        return valores[0];
+    }
+
+    /**
+     * Cria uma cópia independente da fila, com os mesmos elementos, que saem na mesma ordem.
+     *
+     * @return A cópia da fila.
+     */
+    @Override
+    public FilaPrioridadeInt copiar() {
+        FilaPrioridadeInt copia = new FilaPrioridadeInt(0);
+        copia.valores = valores.clone();
+        copia.prioridades = prioridades.clone();
+        copia.chegadas = chegadas.clone();
+        copia.tamanho = tamanho;
+        copia.proximaChegada = proximaChegada;
+        return copia;
+    }
+
+    /**
+     * Remove todos os elementos da fila, mantendo a capacidade dos vetores.
+     */
+    public void limpar() {
+        tamanho = 0;
+    }
+
+    /**
+     * Retorna o tamanho atual da fila, ou seja, o número de elementos nela.
+     *
+     * @return O número de elementos atualmente na fila.
+     */
+    @Override
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Verifica se a fila está vazia.
+     *
+     * @return {@code true} se a fila não contiver elementos, {@code false} caso contrário.
+     */
+    @Override
+    public boolean estaVazia() {
+        return tamanho == 0;
+    }
+
+    /**
+     * Verifica se o elemento (prioridade {@code pa}, chegada {@code ca}) deve sair antes do
+     * elemento (prioridade {@code pb}, chegada {@code cb}).
+     */
+    private static boolean antes(int pa, long ca, int pb, long cb) {
+        return pa > pb || (pa == pb && ca < cb);
+    }
+
+    /**
+     * Coloca o elemento na posição {@code pos} e o sobe no heap até a posição correta.
+     */
+    private void subir(int pos, int valor, int prioridade, long chegada) {
+        while (pos > 0) {
+            int pai = (pos - 1) >>> 1;
+            if (!antes(prioridade, chegada, prioridades[pai], chegadas[pai])) {
+                break;
+            }
+            mover(pai, pos);
+            pos = pai;
+        }
+        colocar(pos, valor, prioridade, chegada);
+    }
+
+    /**
+     * Coloca o elemento na posição {@code pos} e o desce no heap até a posição correta.
+     */
+    private void descer(int pos, int valor, int prioridade, long chegada) {
+        int metade = tamanho >>> 1;
+        while (pos < metade) {
+            int filho = 2 * pos + 1;
+            int direito = filho + 1;
+            if (direito < tamanho && antes(prioridades[direito], chegadas[direito], prioridades[filho], chegadas[filho])) {
+                filho = direito;
+            }
+            if (!antes(prioridades[filho], chegadas[filho], prioridade, chegada)) {
+                break;
+            }
+            mover(filho, pos);
+            pos = filho;
+        }
+        colocar(pos, valor, prioridade, chegada);
+    }
+
+    private void mover(int de, int para) {
+        valores[para] = valores[de];
+        prioridades[para] = prioridades[de];
+        chegadas[para] = chegadas[de];
+    }
+
+    private void colocar(int pos, int valor, int prioridade, long chegada) {
+        valores[pos] = valor;
+        prioridades[pos] = prioridade;
+        chegadas[pos] = chegada;
+    }
+
+    /**
+     * Dobra a capacidade dos vetores.
+     */
+    private void crescer() {
+        int capacidade = valores.length * 2;
+        valores = Arrays.copyOf(valores, capacidade);
+        prioridades = Arrays.copyOf(prioridades, capacidade);
+        chegadas = Arrays.copyOf(chegadas, capacidade);
+    }
+}
@@ -0,0 +1,142 @@
+package tads;
+
+import java.util.Arrays;
+
+/**
+ * Heap binário de mínimo sobre um conjunto fixo de itens numerados de {@code 0} a {@code n - 1},
+ * cada um com uma chave inteira.
+ * <p>
+ * Diferente de uma fila de prioridade comum, todos os itens ficam sempre no heap e a chave de
+ * qualquer item pode ser alterada, com {@link #atualizar(int, int)}, em O(log n): o heap guarda
+ * a posição de cada item. O item de menor chave é obtido em O(1). Itens com a mesma chave são
+ * ordenados pelo número, o menor primeiro.
+ */
+public class HeapIndexado {
+
+    /** Os itens, na ordem do heap: o de menor chave fica na posição 0. */
+    private final int[] heap;
+    /** A posição de cada item em {@link #heap}. */
+    private final int[] posicao;
+    /** A chave de cada item. */
+    private final int[] chaves;
+
+    /**
+     * Cria um heap com os itens {@code 0} a {@code quantidade - 1}, todos com chave 0.
+     *
+     * @param quantidade A quantidade de itens.
+     * @throws IllegalArgumentException se a quantidade for negativa.
+     */
+    public HeapIndexado(int quantidade) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("A quantidade de itens não pode ser negativa: " + quantidade);
+        }
+        this.heap = new int[quantidade];
+        this.posicao = new int[quantidade];
+        this.chaves = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            heap[i] = i;
+            posicao[i] = i;
+        }
+    }
+
+    /**
+     * Altera a chave de um item e o reposiciona no heap.
+     *
+     * @param item  O número do item.
+     * @param chave A nova chave.
+     * @throws IndexOutOfBoundsException se o item não existir.
+     */
+    public void atualizar(int item, int chave) {
+        verificarItem(item);
+        int anterior = chaves[item];
+        chaves[item] = chave;
+        if (chave < anterior) {
+            subir(posicao[item]);
+        } else if (chave > anterior) {
+            descer(posicao[item]);
+        }
+    }
+
+    /**
+     * Retorna o item de menor chave, em tempo constante.
+     *
+     * @return O número do item de menor chave, ou -1 se o heap estiver vazio.
+     */
+    public int getMinimo() {
+        return heap.length > 0 ? heap[0] : -1;
+    }
+
+    /**
+     * Retorna a chave atual de um item.
+     *
+     * @param item O número do item.
+     * @return A chave do item.
+     * @throws IndexOutOfBoundsException se o item não existir.
+     */
+    public int getChave(int item) {
+        verificarItem(item);
+        return chaves[item];
+    }
+
+    /**
+     * @return A quantidade de itens do heap.
+     */
+    public int getTamanho() {
+        return heap.length;
+    }
+
+    /**
+     * @return As chaves dos itens, na ordem dos números dos itens.
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(chaves);
+    }
+
+    private boolean antes(int a, int b) {
+        return chaves[a] < chaves[b] || (chaves[a] == chaves[b] && a < b);
+    }
+
+    private void subir(int pos) {
+        int item = heap[pos];
+        while (pos > 0) {
+            int pai = (pos - 1) / 2;
+            if (!antes(item, heap[pai])) {
+                break;
+            }
+            colocar(heap[pai], pos);
+            pos = pai;
+        }
+        colocar(item, pos);
+    }
+
+    private void descer(int pos) {
+        int item = heap[pos];
+        while (true) {
+            int filho = 2 * pos + 1;
+            if (filho >= heap.length) {
+                break;
+            }
+            if (filho + 1 < heap.length && antes(heap[filho + 1], heap[filho])) {
+                filho++;
+            }
+            if (!antes(heap[filho], item)) {
+                break;
+            }
+            colocar(heap[filho], pos);
+            pos = filho;
+        }
+        colocar(item, pos);
+    }
+
+    private void colocar(int item, int pos) {
+        heap[pos] = item;
+        posicao[item] = pos;
+    }
+
+    private void verificarItem(int item) {
+        if (item < 0 || item >= heap.length) {
+            throw new IndexOutOfBoundsException("Item inválido: " + item + ", Tamanho: " + heap.length);
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package tads;
 
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Classe que representa uma lista duplamente ligada genérica.
  * <p>
  * Esta lista suporta as operações básicas de manipulação, como adicionar elementos, remover,
  * acessar elementos em posições específicas e imprimir os dados na ordem direta e reversa.
+ * <p>
+ * O acesso por posição ({@link #getValor(int)}) percorre os nós e custa O(n); para percorrer
+ * todos os elementos, use {@code for-each} ou {@link #stream()}, que custam O(n) no total.
+ * Para acesso frequente por posição, prefira {@link ListaArray}.
  *
  * @param <T> O tipo de elemento armazenado na lista.
  */
-public class Lista<T> {
+public class Lista<T> implements Iterable<T> {
     /**
      * Nó inicial da lista (cabeça).
      */
@@ -296,4 +306,56 @@ public class Lista<T> {
         NoLista<T> no = getNo(pos);
         return no != null ? no.getValor() : null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retorna um iterador que percorre a lista do head para o tail, seguindo os nós.
+     *
+     * @return Um {@link Iterator} sobre os elementos da lista.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private NoLista<T> atual = head;
+
+            @Override
+            public boolean hasNext() {
+                return atual != null;
+            }
+
+            @Override
+            public T next() {
+                if (atual == null) {
+                    throw new NoSuchElementException();
+                }
+                T valor = atual.getValor();
+                atual = atual.getProx();
+                return valor;
+            }
+        };
+    }
+
+    /**
+     * Retorna um {@link Spliterator} de tamanho conhecido sobre os elementos da lista.
+     * Em percursos paralelos, os elementos são repassados em blocos às outras threads.
+     *
+     * @return Um {@link Spliterator} sobre os elementos da lista.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), tamanho, Spliterator.ORDERED);
+    }
+
+    /**
+     * @return Um {@link Stream} sequencial sobre os elementos da lista.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * @return Um {@link Stream} paralelo sobre os elementos da lista.
+     */
+    public Stream<T> streamParalelo() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+}
@@ -0,0 +1,363 @@
+package tads;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Classe que representa uma lista genérica armazenada em um vetor que cresce conforme necessário.
+ * <p>
+ * Diferente de {@link Lista}, o acesso por posição ({@link #getValor(int)}) é feito em tempo
+ * constante, e os elementos ficam contíguos na memória. Inserções e remoções no final
+ * também são O(1) (amortizado); no meio da lista, deslocam os elementos seguintes.
+ * É indicada para coleções percorridas com frequência, como as zonas e os caminhões da simulação.
+ * <p>
+ * A lista pode ser percorrida com {@code for-each} e convertida em {@link Stream}, inclusive
+ * paralelo, com {@link #stream()} e {@link #streamParalelo()}. Alterar a lista durante um
+ * percurso lança {@link ConcurrentModificationException}.
+ *
+ * @param <T> O tipo de elemento armazenado na lista.
+ */
+public class ListaArray<T> implements Iterable<T> {
+
+    /** Capacidade inicial do vetor, usada quando nenhuma é informada. */
+    private static final int CAPACIDADE_INICIAL = 10;
+
+    /**
+     * Vetor que armazena os elementos nas posições [0, tamanho).
+     */
+    private Object[] elementos;
+    /**
+     * Tamanho atual da lista (número de elementos).
+     */
+    private int tamanho;
+    /**
+     * Número de alterações estruturais, usado para detectar alterações durante um percurso.
+     */
+    private int modificacoes;
+
+    /**
+     * Construtor da classe que inicializa a lista como vazia.
+     */
+    public ListaArray() {
+        this(CAPACIDADE_INICIAL);
+    }
+
+    /**
+     * Cria uma lista vazia com espaço reservado para a quantidade de elementos informada.
+     *
+     * @param capacidadeInicial A quantidade de elementos que cabem na lista antes de o vetor crescer.
+     * @throws IllegalArgumentException Se a capacidade for negativa.
+     */
+    public ListaArray(int capacidadeInicial) {
+        if (capacidadeInicial < 0) {
+            throw new IllegalArgumentException("A capacidade inicial não pode ser negativa: " + capacidadeInicial);
+        }
+        elementos = new Object[capacidadeInicial];
+    }
+
+    /**
+     * Adiciona um elemento no final da lista.
+     *
+     * @param valor O valor do elemento a ser inserido.
+     */
+    public void adicionar(T valor) {
+        if (tamanho == elementos.length) {
+            crescer();
+        }
+        elementos[tamanho++] = valor;
+        modificacoes++;
+    }
+
+    /**
+     * Adiciona um elemento na posição especificada na lista.
+     *
+     * @param pos   A posição onde o elemento será inserido.
+     * Deve estar no intervalo [0, tamanho].
+     * @param valor O valor do elemento a ser inserido.
+     * @return {@code true} se o elemento foi inserido com sucesso.
+     * @throws IndexOutOfBoundsException Se a posição for inválida.
+     */
+    public boolean adicionar(int pos, T valor) {
+        if (pos < 0 || pos > tamanho) {
+            throw new IndexOutOfBoundsException("Posição inválida: " + pos + ", Tamanho atual: " + tamanho);
+        }
+        if (tamanho == elementos.length) {
+            crescer();
+        }
+        System.arraycopy(elementos, pos, elementos, pos + 1, tamanho - pos);
+        elementos[pos] = valor;
+        tamanho++;
+        modificacoes++;
+        return true;
+    }
+
+    /**
+     * Dobra a capacidade do vetor (ou o inicia, se estiver vazio).
+     */
+    private void crescer() {
+        int novaCapacidade = Math.max(CAPACIDADE_INICIAL, elementos.length * 2);
+        elementos = Arrays.copyOf(elementos, novaCapacidade);
+    }
+
+    /**
+     * Remove o elemento na posição especificada.
+     *
+     * @param pos A posição do elemento a ser removido.
+     * @return O valor removido.
+     * @throws IndexOutOfBoundsException Se a posição for inválida.
+     */
+    public T remover(int pos) {
+        verificarPosicao(pos);
+        T valor = elemento(pos);
+        System.arraycopy(elementos, pos + 1, elementos, pos, tamanho - pos - 1);
+        elementos[--tamanho] = null; // Libera a referência para o coletor de lixo
+        modificacoes++;
+        return valor;
+    }
+
+    /**
+     * Remove a primeira ocorrência do elemento especificado, procurando-o na lista.
+     *
+     * @param elemento O elemento a ser removido.
+     * @return {@code true} se o elemento foi encontrado e removido; {@code false} caso contrário.
+     */
+    public boolean removerProcurado(T elemento) {
+        if (elemento == null) {
+            return false;
+        }
+        for (int i = 0; i < tamanho; i++) {
+            if (elemento.equals(elementos[i])) {
+                remover(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retorna o valor armazenado em uma posição específica, em tempo constante.
+     *
+     * @param pos A posição do elemento desejado.
+     * @return O valor do elemento na posição ou {@code null} se a posição for inválida.
+     */
+    public T getValor(int pos) {
+        if (pos < 0 || pos >= tamanho) {
+            return null; // Posição fora dos limites
+        }
+        return elemento(pos);
+    }
+
+    /**
+     * Substitui o valor armazenado em uma posição específica.
+     *
+     * @param pos   A posição do elemento.
+     * @param valor O novo valor.
+     * @return O valor anterior.
+     * @throws IndexOutOfBoundsException Se a posição for inválida.
+     */
+    public T setValor(int pos, T valor) {
+        verificarPosicao(pos);
+        T anterior = elemento(pos);
+        elementos[pos] = valor;
+        return anterior;
+    }
+
+    /**
+     * Retorna o tamanho da lista.
+     *
+     * @return O número total de elementos na lista.
+     */
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Verifica se a lista está vazia.
+     *
+     * @return {@code true} se a lista estiver vazia, {@code false} caso contrário.
+     */
+    public boolean estaVazia() {
+        return tamanho == 0;
+    }
+
+    /**
+     * Remove todos os elementos da lista, mantendo a capacidade do vetor.
+     */
+    public void limpar() {
+        Arrays.fill(elementos, 0, tamanho, null);
+        tamanho = 0;
+        modificacoes++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elemento(int pos) {
+        return (T) elementos[pos];
+    }
+
+    private void verificarPosicao(int pos) {
+        if (pos < 0 || pos >= tamanho) {
+            throw new IndexOutOfBoundsException("Posição inválida: " + pos + ", Tamanho atual: " + tamanho);
+        }
+    }
+
+    /**
+     * Retorna um iterador que percorre a lista do primeiro ao último elemento.
+     *
+     * @return Um {@link Iterator} sobre os elementos da lista.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int proximo;
+            private final int modificacoesEsperadas = modificacoes;
+
+            @Override
+            public boolean hasNext() {
+                return proximo < tamanho;
+            }
+
+            @Override
+            public T next() {
+                if (modificacoes != modificacoesEsperadas) {
+                    throw new ConcurrentModificationException();
+                }
+                if (proximo >= tamanho) {
+                    throw new NoSuchElementException();
+                }
+                return elemento(proximo++);
+            }
+        };
+    }
+
+    /**
+     * Aplica a ação a cada elemento da lista, em ordem, sem criar um iterador.
+     *
+     * @param acao A ação a ser aplicada.
+     */
+    @Override
+    public void forEach(Consumer<? super T> acao) {
+        int modificacoesEsperadas = modificacoes;
+        for (int i = 0; i < tamanho && modificacoes == modificacoesEsperadas; i++) {
+            acao.accept(elemento(i));
+        }
+        if (modificacoes != modificacoesEsperadas) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Retorna um {@link Spliterator} que divide a lista ao meio, por posição, permitindo
+     * percursos paralelos equilibrados. O intervalo percorrido é fixado no primeiro uso, e
+     * alterações estruturais feitas depois disso lançam {@link ConcurrentModificationException}
+     * ao fim do percurso, como no iterador.
+     *
+     * @return Um {@link Spliterator} de tamanho conhecido sobre os elementos da lista.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new Divisor(0, -1, 0);
+    }
+
+    /**
+     * @return Um {@link Stream} sequencial sobre os elementos da lista.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * @return Um {@link Stream} paralelo sobre os elementos da lista.
+     */
+    public Stream<T> streamParalelo() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * {@link Spliterator} sobre um intervalo de posições da lista. O fim do intervalo e o número
+     * de alterações esperado são lidos da lista no primeiro uso (enquanto {@code fim} é negativo);
+     * as metades criadas por {@link #trySplit()} herdam os dois valores.
+     */
+    private final class Divisor implements Spliterator<T> {
+        /** A próxima posição a ser percorrida. */
+        private int posicao;
+        /** A posição seguinte à última do intervalo, ou -1 se ainda não foi fixada. */
+        private int fim;
+        /** O número de alterações da lista quando o intervalo foi fixado. */
+        private int modificacoesEsperadas;
+
+        private Divisor(int posicao, int fim, int modificacoesEsperadas) {
+            this.posicao = posicao;
+            this.fim = fim;
+            this.modificacoesEsperadas = modificacoesEsperadas;
+        }
+
+        private int getFim() {
+            if (fim < 0) {
+                modificacoesEsperadas = modificacoes;
+                fim = tamanho;
+            }
+            return fim;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int limite = getFim();
+            int meio = (posicao + limite) >>> 1;
+            if (posicao >= meio) {
+                return null;
+            }
+            Divisor primeiraMetade = new Divisor(posicao, meio, modificacoesEsperadas);
+            posicao = meio;
+            return primeiraMetade;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> acao) {
+            if (acao == null) {
+                throw new NullPointerException();
+            }
+            if (posicao >= getFim()) {
+                return false;
+            }
+            acao.accept(elemento(posicao++));
+            if (modificacoes != modificacoesEsperadas) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> acao) {
+            if (acao == null) {
+                throw new NullPointerException();
+            }
+            int limite = getFim();
+            if (limite > elementos.length) {
+                throw new ConcurrentModificationException();
+            }
+            for (int i = posicao; i < limite; i++) {
+                acao.accept(elemento(i));
+            }
+            posicao = limite;
+            if (modificacoes != modificacoesEsperadas) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFim() - posicao;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+}
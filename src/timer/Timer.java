@@ -2,6 +2,7 @@ package timer;
 
 import configsimulador.ConfiguracoesDoSimulador;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Classe utilitária para manipulação e cálculo de tempo na simulação de coleta de lixo.
@@ -10,6 +11,16 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class Timer {
 
+    /** Hora do dia em que a simulação começa. */
+    private static final int HORA_INICIAL_SIMULACAO = 7;
+    private static final int MINUTOS_POR_DIA = 24 * 60;
+
+    /**
+     * Tempo real acumulado ao percorrer os primeiros {@code m} minutos do dia da simulação
+     * (a partir das 07:00), na posição {@code m}. A última posição é o tempo real de um dia inteiro.
+     */
+    private static final int[] MINUTOS_EFETIVOS_ACUMULADOS = construirTabelaMinutosEfetivos();
+
     /**
      * Construtor privado para evitar instanciação.
      * Esta é uma classe utilitária e todos os seus métodos são estáticos.
@@ -60,8 +71,11 @@ public class Timer {
 
     /**
      * Calcula a duração real de uma viagem (em minutos), ajustada pelos horários de pico.
-     * O tempo de viagem é incrementado minuto a minuto, e a cada minuto, verifica-se
-     * se o período atual está em horário de pico para aplicar o multiplicador de tempo correspondente.
+     * Cada minuto base da viagem custa o multiplicador (arredondado) do horário em que ocorre.
+     * <p>
+     * O custo é obtido em tempo constante a partir de {@link #MINUTOS_EFETIVOS_ACUMULADOS}:
+     * a duração real é a diferença entre o tempo efetivo acumulado no fim e no início da viagem.
+     * Tempos além do primeiro dia são tratados como a mesma hora do dia nos dias seguintes.
      *
      * @param tempoAtual  Tempo atual da simulação (em minutos desde 07:00), no início da viagem.
      * @param duracaoBase Duração base da viagem (sem ajuste de pico), em minutos.
@@ -72,6 +86,24 @@ public class Timer {
         if (tempoAtual < 0 || duracaoBase < 0) {
             throw new IllegalArgumentException("Parâmetros de tempo não podem ser negativos.");
         }
+        long fim = (long) tempoAtual + duracaoBase;
+        return (int) (minutosEfetivosAte(fim) - minutosEfetivosAte(tempoAtual));
+    }
+
+    /**
+     * Calcula a duração real de uma viagem como em {@link #calcularTempoRealDeViagem(int, int)},
+     * percorrendo a viagem minuto a minuto. É a implementação de referência da tabela de
+     * tempos efetivos, mantida para comparação de resultados e desempenho.
+     *
+     * @param tempoAtual  Tempo atual da simulação (em minutos desde 07:00), no início da viagem.
+     * @param duracaoBase Duração base da viagem (sem ajuste de pico), em minutos.
+     * @return A duração ajustada da viagem em minutos.
+     * @throws IllegalArgumentException se {@code tempoAtual} ou {@code duracaoBase} forem negativos.
+     */
+    public static int calcularTempoRealDeViagemPorMinuto(int tempoAtual, int duracaoBase) {
+        if (tempoAtual < 0 || duracaoBase < 0) {
+            throw new IllegalArgumentException("Parâmetros de tempo não podem ser negativos.");
+        }
 
         int tempoRestanteParaSimular = duracaoBase;
         int tempoSimuladoNoLoop = tempoAtual;
@@ -79,17 +111,7 @@ public class Timer {
 
         // Itera por cada "minuto base" da viagem, ajustando-o se for horário de pico
         while (tempoRestanteParaSimular > 0) {
-            // Calcula a hora do dia para o minuto simulado atual
-            int horaSimuladaDoDia = 7 + (tempoSimuladoNoLoop / 60);
-
-            // Determina o multiplicador com base no horário de pico
-            double multiplicador = ConfiguracoesDoSimulador.isHorarioDePico(horaSimuladaDoDia)
-                    ? ConfiguracoesDoSimulador.MULTIPLICADOR_TEMPO_PICO
-                    : ConfiguracoesDoSimulador.MULTIPLICADOR_TEMPO_FORA_PICO;
-
-            // Adiciona o tempo real ajustado (arredondado) para este minuto
-            tempoRealTotal += (int) Math.round(multiplicador);
-
+            tempoRealTotal += custoDoMinuto(tempoSimuladoNoLoop);
             tempoSimuladoNoLoop++; // Avança um minuto no tempo simulado
             tempoRestanteParaSimular--; // Decrementa um minuto da duração base
         }
@@ -97,6 +119,46 @@ public class Timer {
         return tempoRealTotal;
     }
 
+    /**
+     * Retorna a hora do dia (0-23) correspondente a um tempo da simulação.
+     *
+     * @param minutosDecorridos Minutos desde o início da simulação (07:00).
+     * @return A hora do dia, considerando a virada para os dias seguintes.
+     */
+    public static int horaDoDia(int minutosDecorridos) {
+        return (HORA_INICIAL_SIMULACAO + (minutosDecorridos % MINUTOS_POR_DIA) / 60) % 24;
+    }
+
+    /**
+     * Custo real (arredondado) de um minuto base de viagem iniciado no tempo informado.
+     */
+    private static int custoDoMinuto(int minutosDecorridos) {
+        double multiplicador = ConfiguracoesDoSimulador.isHorarioDePico(horaDoDia(minutosDecorridos))
+                ? ConfiguracoesDoSimulador.MULTIPLICADOR_TEMPO_PICO
+                : ConfiguracoesDoSimulador.MULTIPLICADOR_TEMPO_FORA_PICO;
+        return (int) Math.round(multiplicador);
+    }
+
+    /**
+     * Tempo efetivo acumulado desde o início da simulação até o tempo informado (exclusivo).
+     */
+    private static long minutosEfetivosAte(long minutosDecorridos) {
+        long dias = minutosDecorridos / MINUTOS_POR_DIA;
+        int minutoDoDia = (int) (minutosDecorridos % MINUTOS_POR_DIA);
+        return dias * MINUTOS_EFETIVOS_ACUMULADOS[MINUTOS_POR_DIA] + MINUTOS_EFETIVOS_ACUMULADOS[minutoDoDia];
+    }
+
+    /**
+     * Monta a tabela de tempos efetivos acumulados de um dia de simulação.
+     */
+    private static int[] construirTabelaMinutosEfetivos() {
+        int[] tabela = new int[MINUTOS_POR_DIA + 1];
+        for (int minuto = 0; minuto < MINUTOS_POR_DIA; minuto++) {
+            tabela[minuto + 1] = tabela[minuto] + custoDoMinuto(minuto);
+        }
+        return tabela;
+    }
+
     /**
      * Calcula um {@link TimerDetalhado} que contém o tempo total de uma operação de caminhão,
      * considerando tempo de coleta, tempo de deslocamento e tempo extra por estar carregado.
@@ -110,20 +172,35 @@ public class Timer {
      * @throws IllegalArgumentException se {@code tempoAtual} ou {@code cargaToneladas} forem negativos.
      */
     public static TimerDetalhado calcularTimerDetalhado(int tempoAtual, int cargaToneladas, boolean carregado) {
+        return calcularTimerDetalhado(tempoAtual, cargaToneladas, carregado, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Calcula um {@link TimerDetalhado} como em {@link #calcularTimerDetalhado(int, int, boolean)},
+     * sorteando o tempo base de deslocamento com o gerador informado.
+     *
+     * @param tempoAtual     Tempo atual da simulação (em minutos desde 07:00), no início da operação.
+     * @param cargaToneladas Quantidade de carga envolvida na operação (em toneladas).
+     * @param carregado      {@code true} se o caminhão está realizando um deslocamento carregado.
+     * @param gerador        O gerador de números aleatórios a ser usado.
+     * @return Uma instância de {@link TimerDetalhado} com os tempos discriminados (coleta, deslocamento, extra, total).
+     * @throws IllegalArgumentException se {@code tempoAtual} ou {@code cargaToneladas} forem negativos.
+     */
+    public static TimerDetalhado calcularTimerDetalhado(int tempoAtual, int cargaToneladas, boolean carregado,
+                                                        RandomGenerator gerador) {
         if (tempoAtual < 0 || cargaToneladas < 0) {
             throw new IllegalArgumentException("Parâmetros de tempo e carga não podem ser negativos.");
         }
 
         // Determina se o tempo atual está dentro do horário de pico
-        int horaAtualDoDia = 7 + (tempoAtual / 60);
-        boolean emPico = ConfiguracoesDoSimulador.isHorarioDePico(horaAtualDoDia);
+        boolean emPico = ConfiguracoesDoSimulador.isHorarioDePico(horaDoDia(tempoAtual));
 
         // Define os limites de tempo base de viagem (sem multiplicador) com base no horário de pico/fora de pico
         int tempoMinBase = emPico ? ConfiguracoesDoSimulador.VIAGEM_MIN_PICO : ConfiguracoesDoSimulador.VIAGEM_MIN_FORA_PICO;
         int tempoMaxBase = emPico ? ConfiguracoesDoSimulador.VIAGEM_MAX_PICO : ConfiguracoesDoSimulador.VIAGEM_MAX_FORA_PICO;
 
         // Gera um tempo base de deslocamento aleatório dentro do intervalo definido
-        int tempoBaseDeslocamento = ThreadLocalRandom.current().nextInt(tempoMinBase, tempoMaxBase + 1);
+        int tempoBaseDeslocamento = gerador.nextInt(tempoMinBase, tempoMaxBase + 1);
 
         // Calcula o tempo de deslocamento real, ajustado pelos horários de pico
         int tempoDeslocamentoReal = calcularTempoRealDeViagem(tempoAtual, tempoBaseDeslocamento);
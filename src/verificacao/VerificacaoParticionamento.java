@@ -0,0 +1,106 @@
+package verificacao;
+
+import configsimulador.ExecutorSimulacao;
+import configsimulador.GeradorCenario;
+import configsimulador.ParametrosSimulacao;
+import configsimulador.ResultadoSimulacao;
+import configsimulador.SincronizacaoParticoes;
+
+import java.util.Arrays;
+
+/**
+ * Verifica que as execuções paralelas ({@link ExecutorSimulacao#setParalelismo(int)}) chegam,
+ * semente a semente, ao mesmo resultado da execução sequencial, com todas as sincronizações
+ * ({@link SincronizacaoParticoes}).
+ * <p>
+ * As cidades verificadas são a do cenário padrão, com 8 e 24 horas simuladas, e cidades geradas
+ * de 10 e 100 vezes o seu tamanho. Lança {@link IllegalStateException} na primeira semente cujo
+ * resultado diverge.
+ * <p>
+ * Uso: {@code java verificacao.VerificacaoParticionamento [threads]}
+ */
+public class VerificacaoParticionamento {
+
+    /** Sementes verificadas na cidade do cenário padrão, para cada duração. */
+    private static final int SEMENTES_CENARIO_PADRAO = 500;
+    /** Sementes verificadas na cidade de escala 10. */
+    private static final int SEMENTES_ESCALA_10 = 20;
+    /** Sementes verificadas na cidade de escala 100. */
+    private static final int SEMENTES_ESCALA_100 = 3;
+
+    /**
+     * Construtor privado para impedir a instanciação da classe.
+     */
+    private VerificacaoParticionamento() {
+        // Previne instanciação
+    }
+
+    /**
+     * Executa as verificações e imprime um resumo.
+     *
+     * @param args Opcionalmente, o número de threads das execuções paralelas (padrão: 4).
+     */
+    public static void main(String[] args) {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        if (threads < 2) {
+            throw new IllegalArgumentException("As execuções paralelas precisam de pelo menos 2 threads.");
+        }
+        for (SincronizacaoParticoes sincronizacao : SincronizacaoParticoes.values()) {
+            verificar("cenário padrão, 8h", new ExecutorSimulacao(criarParametrosPadrao(8)),
+                    sincronizacao, threads, SEMENTES_CENARIO_PADRAO);
+            verificar("cenário padrão, 24h", new ExecutorSimulacao(criarParametrosPadrao(24)),
+                    sincronizacao, threads, SEMENTES_CENARIO_PADRAO);
+            verificar("escala 10, 24h", criarCidadeGerada(10), sincronizacao, threads, SEMENTES_ESCALA_10);
+            verificar("escala 100, 24h", criarCidadeGerada(100), sincronizacao, threads, SEMENTES_ESCALA_100);
+        }
+        System.out.println("Execuções paralelas: todas as verificações passaram.");
+    }
+
+    /**
+     * Compara, para cada semente, a execução sequencial com a execução paralela da mesma cidade.
+     */
+    private static void verificar(String descricao, ExecutorSimulacao sequencial, SincronizacaoParticoes sincronizacao,
+                                  int threads, int sementes) {
+        ExecutorSimulacao paralelo = new ExecutorSimulacao(sequencial.getParams());
+        paralelo.setCenario(sequencial.getCenario());
+        paralelo.setParalelismo(threads);
+        paralelo.setSincronizacao(sincronizacao);
+        for (int semente = 1; semente <= sementes; semente++) {
+            ResultadoSimulacao esperado = sequencial.executar(semente);
+            ResultadoSimulacao obtido = paralelo.executar(semente);
+            if (!mesmoResultado(esperado, obtido)) {
+                throw new IllegalStateException(sincronizacao + " (" + descricao + ") divergiu na semente " + semente
+                        + ":\n  sequencial: " + esperado + "\n  paralela:   " + obtido);
+            }
+        }
+        System.out.printf("%-12s %-20s %4d sementes iguais à execução sequencial%n", sincronizacao, descricao, sementes);
+    }
+
+    /**
+     * Verifica se duas execuções chegaram às mesmas métricas.
+     */
+    private static boolean mesmoResultado(ResultadoSimulacao a, ResultadoSimulacao b) {
+        return a.getTempoFinal() == b.getTempoFinal()
+                && a.getEventosProcessados() == b.getEventosProcessados()
+                && Arrays.equals(a.getLixoRestantePorZona(), b.getLixoRestantePorZona())
+                && a.getCaminhoesGrandesUtilizados() == b.getCaminhoesGrandesUtilizados()
+                && a.getCaminhoesExtraAcionados() == b.getCaminhoesExtraAcionados()
+                && a.getTempoTotalEspera() == b.getTempoTotalEspera()
+                && a.getToneladasDescarregadasFila() == b.getToneladasDescarregadasFila();
+    }
+
+    private static ExecutorSimulacao criarCidadeGerada(int escala) {
+        ExecutorSimulacao executor = new ExecutorSimulacao(
+                GeradorCenario.gerarFrota(escala * GeradorCenario.CAMINHOES_POR_ESCALA, 24));
+        executor.setCenario(GeradorCenario.gerarCidade(escala, 2024L));
+        return executor;
+    }
+
+    /**
+     * A frota do modo console ({@code Main}): dois caminhões de 2t e um de cada outra capacidade,
+     * com três viagens cada.
+     */
+    private static ParametrosSimulacao criarParametrosPadrao(int horasASimular) {
+        return new ParametrosSimulacao(2, 3, 1, 3, 1, 3, 1, 3, horasASimular);
+    }
+}
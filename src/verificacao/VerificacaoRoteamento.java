@@ -0,0 +1,155 @@
+package verificacao;
+
+import configsimulador.ContextoSimulacao;
+import estacoes.EstacaoDeTransferencia;
+import zonas.DistanciaZonas;
+import zonas.PoliticaRoteamento;
+import zonas.Zonas;
+
+import java.util.Random;
+
+/**
+ * Verifica a escolha da estação de menor custo ({@link DistanciaZonas#escolherEstacao(Zonas, PoliticaRoteamento)})
+ * em cidades com várias estações.
+ * <p>
+ * Uma estação "ocupada" é a que acabou de despachar o seu caminhão grande: a sua espera estimada
+ * é {@code TEMPO_MAX_ESPERA_PEQUENO}; as demais têm espera zero. Os tempos de viagem valem 2 minutos
+ * por quilômetro (30 km/h). Lança {@link IllegalStateException} na primeira verificação que falhar.
+ * <p>
+ * Uso: {@code java verificacao.VerificacaoRoteamento}
+ */
+public class VerificacaoRoteamento {
+
+    /** Quantidade de cidades aleatórias comparadas com a busca exaustiva. */
+    private static final int CIDADES_ALEATORIAS = 200;
+
+    /**
+     * Construtor privado para impedir a instanciação da classe.
+     */
+    private VerificacaoRoteamento() {
+        // Previne instanciação
+    }
+
+    /**
+     * Executa as verificações e imprime um resumo.
+     *
+     * @param args Não utilizado.
+     */
+    public static void main(String[] args) {
+        verificarEstacaoProximaOciosa();
+        verificarCidadesAleatorias();
+        System.out.println("Roteamento por menor custo: todas as verificações passaram.");
+    }
+
+    /**
+     * Uma zona com quatro estações: a sua (a 1 km, ocupada), uma ociosa a 15 km (a de menor
+     * identificador entre as ociosas), uma ociosa a 3 km e outra a 5 km. A mais próxima das
+     * ociosas deve vencer; se ela também estiver ocupada, a seguinte; se a estação da zona
+     * estiver livre, ela mesma.
+     */
+    private static void verificarEstacaoProximaOciosa() {
+        Cidade cidade = new Cidade(new double[]{0, 0}, new double[]{1, 0, 0, 15, -3, 0, 0, -5}, new int[]{0});
+        Zonas zona = cidade.zonas[0];
+
+        verificar(cidade.escolher(zona) == 0, "Com todas as estações livres, a estação da zona deve ser escolhida.");
+
+        cidade.ocupar(0);
+        verificar(cidade.escolher(zona) == 2, "A estação ociosa mais próxima (a 3 km) deve vencer a estação ocupada da zona.");
+
+        cidade.ocupar(2);
+        verificar(cidade.escolher(zona) == 3, "Com a estação a 3 km ocupada, a estação ociosa a 5 km deve vencer.");
+    }
+
+    /**
+     * Compara a escolha com uma busca exaustiva em cidades aleatórias: o custo escolhido deve ser o
+     * menor; em caso de empate, a estação da zona, e, sem ela, a mais próxima.
+     */
+    private static void verificarCidadesAleatorias() {
+        Random random = new Random(2024L);
+        for (int c = 0; c < CIDADES_ALEATORIAS; c++) {
+            int quantidadeZonas = 1 + random.nextInt(10);
+            int quantidadeEstacoes = 3 + random.nextInt(40);
+            double[] coordenadasZonas = coordenadasAleatorias(random, quantidadeZonas);
+            double[] coordenadasEstacoes = coordenadasAleatorias(random, quantidadeEstacoes);
+            int[] estacaoDaZona = new int[quantidadeZonas];
+            for (int z = 0; z < quantidadeZonas; z++) {
+                estacaoDaZona[z] = random.nextInt(quantidadeEstacoes);
+            }
+            Cidade cidade = new Cidade(coordenadasZonas, coordenadasEstacoes, estacaoDaZona);
+            for (int e = 0; e < quantidadeEstacoes; e++) {
+                if (random.nextInt(3) > 0) {
+                    cidade.ocupar(e);
+                }
+            }
+
+            DistanciaZonas roteamento = cidade.roteamento;
+            for (int z = 0; z < quantidadeZonas; z++) {
+                int casa = estacaoDaZona[z];
+                int esperado = casa;
+                int menorCusto = custo(roteamento, z, casa);
+                for (int e = 0; e < quantidadeEstacoes; e++) {
+                    int custo = custo(roteamento, z, e);
+                    if (custo < menorCusto || (custo == menorCusto && esperado != casa
+                            && roteamento.getTempoViagem(z, e) < roteamento.getTempoViagem(z, esperado))) {
+                        esperado = e;
+                        menorCusto = custo;
+                    }
+                }
+                int escolhida = cidade.escolher(cidade.zonas[z]);
+                verificar(escolhida == esperado, "Cidade " + c + ", zona " + z + ": escolhida a estação " + escolhida
+                        + " (custo " + custo(roteamento, z, escolhida) + "), esperada a " + esperado + " (custo " + menorCusto + ").");
+            }
+        }
+    }
+
+    private static int custo(DistanciaZonas roteamento, int zona, int estacao) {
+        return roteamento.getTempoViagem(zona, estacao) + roteamento.getEsperaEstimada(estacao);
+    }
+
+    private static double[] coordenadasAleatorias(Random random, int quantidade) {
+        double[] coordenadas = new double[2 * quantidade];
+        for (int i = 0; i < coordenadas.length; i++) {
+            coordenadas[i] = random.nextInt(41) - 20;
+        }
+        return coordenadas;
+    }
+
+    private static void verificar(boolean condicao, String mensagem) {
+        if (!condicao) {
+            throw new IllegalStateException(mensagem);
+        }
+    }
+
+    /**
+     * Uma cidade mínima: um contexto com a política de menor custo, as suas estações e zonas.
+     */
+    private static final class Cidade {
+        private final EstacaoDeTransferencia[] estacoes;
+        private final Zonas[] zonas;
+        private final DistanciaZonas roteamento;
+
+        private Cidade(double[] coordenadasZonas, double[] coordenadasEstacoes, int[] estacaoDaZona) {
+            ContextoSimulacao contexto = new ContextoSimulacao();
+            contexto.setPoliticaRoteamento(PoliticaRoteamento.MENOR_CUSTO);
+            estacoes = new EstacaoDeTransferencia[coordenadasEstacoes.length / 2];
+            for (int e = 0; e < estacoes.length; e++) {
+                estacoes[e] = new EstacaoDeTransferencia(e, "Estação " + e, contexto);
+            }
+            zonas = new Zonas[estacaoDaZona.length];
+            for (int z = 0; z < zonas.length; z++) {
+                zonas[z] = new Zonas(z, "Zona " + z, 0, 0);
+            }
+            roteamento = new DistanciaZonas(estacoes, estacaoDaZona, coordenadasZonas, coordenadasEstacoes);
+            contexto.configurarRoteamento(roteamento);
+        }
+
+        /** Despacha o caminhão grande da estação, que passa a ter a espera de uma estação ocupada. */
+        private void ocupar(int estacao) {
+            estacoes[estacao].despacharCaminhaoGrande(0);
+        }
+
+        private int escolher(Zonas zona) {
+            return roteamento.escolherEstacao(zona, PoliticaRoteamento.MENOR_CUSTO).getId();
+        }
+    }
+}
@@ -1,71 +1,352 @@
 package zonas;
 
+import configsimulador.ConfiguracoesDoSimulador;
 import estacoes.EstacaoDeTransferencia;
+import tads.HeapIndexado;
+
+import java.util.Arrays;
 
 /**
- * Classe utilitária responsável por determinar a estação de transferência associada a uma determinada zona.
+ * Classe responsável por determinar a estação de transferência associada a uma determinada zona.
+ * <p>
+ * Zonas e estações são identificadas por números inteiros (veja {@link Zonas#getId()} e
+ * {@link EstacaoDeTransferencia#getId()}). O roteamento é uma tabela pré-calculada com o
+ * identificador da estação de cada zona, de forma que encontrar a estação de uma zona é uma
+ * leitura de vetor, sem comparar nomes. Para cenários com várias estações, a classe também
+ * oferece o tempo de viagem sem trânsito de cada zona a cada estação, calculado a partir das
+ * coordenadas do cenário. Cada simulação possui a sua própria instância, criada pelo contexto
+ * da simulação com as suas estações.
+ * <p>
+ * A espera estimada de cada estação ({@link EstacaoDeTransferencia#estimarEspera()}) é mantida
+ * em um {@link HeapIndexado}, atualizado pelas próprias estações quando a fila ou o caminhão
+ * grande mudam. Com a política {@link PoliticaRoteamento#MENOR_CUSTO}, a escolha da estação
+ * percorre as estações da zona em ordem crescente de tempo de viagem e para assim que o tempo
+ * de viagem mais a menor espera da cidade (o topo do heap) já não pode vencer o melhor custo
+ * encontrado; em geral, só as estações mais próximas são examinadas.
  * <p>
- * Essa classe mapeia zonas específicas a estações de transferência predefinidas (Estação A e Estação B),
- * simulando a proximidade ou designação de rotas. Todos os seus métodos são estáticos.
+ * O mapeamento antigo, criado com {@link #DistanciaZonas(EstacaoDeTransferencia, EstacaoDeTransferencia)},
+ * continua disponível para zonas sem identificador: Norte e Centro vão para a Estação A; Sul,
+ * Sudeste e Leste, para a Estação B.
  */
 public class DistanciaZonas {
 
-    /** Referência para a primeira estação de transferência (Estação A). */
-    private static EstacaoDeTransferencia estacaoA;
+    /**
+     * Maior quantidade de pares (zona, estação) para a qual a matriz de tempos de viagem é
+     * guardada; acima disso, os tempos são calculados a cada consulta, sem guardar a matriz.
+     */
+    private static final long LIMITE_MATRIZ_TEMPOS = 1 << 22;
+
+    /**
+     * Quantas estações, as mais próximas primeiro, ficam guardadas na ordem de cada zona; a
+     * quantidade de pares guardados respeita o mesmo limite da matriz de tempos.
+     */
+    private final int estacoesOrdenadasPorZona;
+
+    /** As estações de transferência, na posição do seu identificador. */
+    private final EstacaoDeTransferencia[] estacoes;
+
+    /** O identificador da estação de cada zona, na posição do identificador da zona. */
+    private final int[] estacaoDaZona;
+
+    /** Coordenadas das zonas e das estações, intercaladas ({@code x0, y0, x1, y1, ...}), em km. */
+    private final double[] coordenadasZonas;
+    private final double[] coordenadasEstacoes;
 
-    /** Referência para a segunda estação de transferência (Estação B). */
-    private static EstacaoDeTransferencia estacaoB;
+    /**
+     * Tempo de viagem sem trânsito, em minutos, da zona {@code z} à estação {@code e}, na
+     * posição {@code z * estacoes.length + e}; {@code null} se a cidade for grande demais.
+     */
+    private final int[] tempoViagem;
+
+    /**
+     * A espera estimada de cada estação, com a menor no topo; {@code null} no mapeamento por nome.
+     */
+    private final HeapIndexado esperaEstacoes;
 
     /**
-     * Construtor privado para evitar a instanciação, pois esta é uma classe utilitária.
+     * As estações mais próximas de cada zona, em ordem crescente de tempo de viagem (empates pelo
+     * identificador), calculadas na primeira escolha por custo feita para a zona.
      */
-    private DistanciaZonas() {
-        // Previne instanciação
+    private final int[][] estacoesPorTempo;
+
+    /**
+     * Cria o roteamento de um cenário com zonas e estações numeradas.
+     *
+     * @param estacoes            As estações, na ordem dos seus identificadores.
+     * @param estacaoDaZona       O identificador da estação de cada zona, na ordem dos identificadores das zonas.
+     * @param coordenadasZonas    As coordenadas das zonas, intercaladas, em quilômetros.
+     * @param coordenadasEstacoes As coordenadas das estações, intercaladas, em quilômetros.
+     * @throws IllegalArgumentException se algum vetor for nulo ou vazio, se os tamanhos não forem
+     *                                  compatíveis, se alguma estação for nula ou não estiver na
+     *                                  posição do seu identificador, ou se alguma zona apontar para
+     *                                  uma estação inexistente.
+     */
+    public DistanciaZonas(EstacaoDeTransferencia[] estacoes, int[] estacaoDaZona,
+                          double[] coordenadasZonas, double[] coordenadasEstacoes) {
+        if (estacoes == null || estacoes.length == 0 || estacaoDaZona == null || estacaoDaZona.length == 0) {
+            throw new IllegalArgumentException("O roteamento precisa de pelo menos uma zona e uma estação de transferência.");
+        }
+        if (coordenadasZonas == null || coordenadasZonas.length != 2 * estacaoDaZona.length
+                || coordenadasEstacoes == null || coordenadasEstacoes.length != 2 * estacoes.length) {
+            throw new IllegalArgumentException("As coordenadas devem ter um par (x, y) para cada zona e cada estação.");
+        }
+        for (int i = 0; i < estacoes.length; i++) {
+            if (estacoes[i] == null || estacoes[i].getId() != i) {
+                throw new IllegalArgumentException("A estação da posição " + i + " deve ter o identificador " + i + ".");
+            }
+        }
+        for (int i = 0; i < estacaoDaZona.length; i++) {
+            if (estacaoDaZona[i] < 0 || estacaoDaZona[i] >= estacoes.length) {
+                throw new IllegalArgumentException("A zona " + i + " aponta para uma estação inexistente.");
+            }
+        }
+        this.estacoes = estacoes.clone();
+        this.estacaoDaZona = estacaoDaZona.clone();
+        this.coordenadasZonas = coordenadasZonas.clone();
+        this.coordenadasEstacoes = coordenadasEstacoes.clone();
+        this.tempoViagem = (long) estacaoDaZona.length * estacoes.length <= LIMITE_MATRIZ_TEMPOS
+                ? calcularMatrizTempos() : null;
+        this.esperaEstacoes = new HeapIndexado(estacoes.length);
+        this.estacoesOrdenadasPorZona = (int) Math.max(1, Math.min(estacoes.length, LIMITE_MATRIZ_TEMPOS / estacaoDaZona.length));
+        this.estacoesPorTempo = new int[estacaoDaZona.length][];
+        for (EstacaoDeTransferencia estacao : estacoes) {
+            atualizarEspera(estacao);
+        }
     }
 
     /**
-     * Configura as instâncias das estações de transferência que serão utilizadas para mapear as zonas.
-     * <p>
-     * Este método **deve ser chamado** antes de qualquer tentativa de usar
-     * o método {@link #getEstacaoPara(Zonas)}, para garantir que as estações estejam definidas.
+     * Configura as instâncias das estações de transferência que serão utilizadas para mapear as zonas
+     * pelo nome, como no simulador original.
      *
      * @param a A primeira estação de transferência a ser configurada (geralmente Estação A).
      * @param b A segunda estação de transferência a ser configurada (geralmente Estação B).
+     * @throws IllegalArgumentException se alguma das estações for nula.
+     */
+    public DistanciaZonas(EstacaoDeTransferencia a, EstacaoDeTransferencia b) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("As estações de transferência não podem ser nulas.");
+        }
+        this.estacoes = new EstacaoDeTransferencia[]{a, b};
+        this.estacaoDaZona = new int[0];
+        this.coordenadasZonas = new double[0];
+        this.coordenadasEstacoes = new double[4];
+        this.tempoViagem = null;
+        this.esperaEstacoes = null;
+        this.estacoesOrdenadasPorZona = 0;
+        this.estacoesPorTempo = new int[0][];
+    }
+
+    private int[] calcularMatrizTempos() {
+        int[] tempos = new int[estacaoDaZona.length * estacoes.length];
+        for (int z = 0; z < estacaoDaZona.length; z++) {
+            for (int e = 0; e < estacoes.length; e++) {
+                tempos[z * estacoes.length + e] = calcularTempoViagem(z, e);
+            }
+        }
+        return tempos;
+    }
+
+    /**
+     * Calcula o tempo de viagem em linha reta, na velocidade média urbana, arredondado para
+     * minutos inteiros (pelo menos 1).
      */
-    public static void configurar(EstacaoDeTransferencia a, EstacaoDeTransferencia b) {
-        estacaoA = a;
-        estacaoB = b;
+    private int calcularTempoViagem(int zona, int estacao) {
+        double dx = coordenadasZonas[2 * zona] - coordenadasEstacoes[2 * estacao];
+        double dy = coordenadasZonas[2 * zona + 1] - coordenadasEstacoes[2 * estacao + 1];
+        double minutos = Math.sqrt(dx * dx + dy * dy) / ConfiguracoesDoSimulador.VELOCIDADE_MEDIA_URBANA_KMH * 60;
+        return Math.max(1, (int) Math.round(minutos));
     }
 
     /**
      * Retorna a estação de transferência correspondente a uma zona específica.
      * <p>
-     * A associação entre zona e estação é baseada nos seguintes critérios:
+     * Para zonas com identificador, a estação vem da tabela pré-calculada. Zonas sem
+     * identificador usam a regra por nome do simulador original:
      * <ul>
-     * <li>As zonas "Norte" e "Centro" retornam a estação definida como {@code estacaoA}.</li>
-     * <li>As zonas "Sul", "Sudeste" e "Leste" retornam a estação definida como {@code estacaoB}.</li>
+     * <li>As zonas "Norte" e "Centro" retornam a primeira estação (Estação A).</li>
+     * <li>As zonas "Sul", "Sudeste" e "Leste" retornam a segunda estação (Estação B).</li>
      * </ul>
-     * O nome da zona é convertido para minúsculas para garantir que a comparação não seja sensível a maiúsculas/minúsculas.
+     * A comparação dos nomes não é sensível a maiúsculas/minúsculas.
      *
      * @param zona A {@link Zonas} para a qual se deseja obter a estação de transferência.
      * @return A {@link EstacaoDeTransferencia} associada à zona.
      * @throws IllegalArgumentException Se a zona fornecida não for reconhecida ou não tiver uma estação associada.
-     * @throws IllegalStateException Se as estações A ou B não tiverem sido configuradas previamente com {@link #configurar(EstacaoDeTransferencia, EstacaoDeTransferencia)}.
      */
-    public static EstacaoDeTransferencia getEstacaoPara(Zonas zona) {
-        if (estacaoA == null || estacaoB == null) {
-            throw new IllegalStateException("As estações de transferência não foram configuradas. Chame DistanciaZonas.configurar() primeiro.");
+    public EstacaoDeTransferencia getEstacaoPara(Zonas zona) {
+        int id = zona.getId();
+        if (id >= 0 && id < estacaoDaZona.length) {
+            return estacoes[estacaoDaZona[id]];
+        }
+        if (id == Zonas.SEM_ID && estacaoDaZona.length == 0) {
+            String nome = zona.getNome();
+            if (nome.equalsIgnoreCase("norte") || nome.equalsIgnoreCase("centro")) {
+                return estacoes[0];
+            }
+            if (nome.equalsIgnoreCase("sul") || nome.equalsIgnoreCase("sudeste") || nome.equalsIgnoreCase("leste")) {
+                return estacoes[1];
+            }
+        }
+        // Lança exceção se a zona não corresponder a nenhuma regra definida
+        throw new IllegalArgumentException("Zona desconhecida: " + zona.getNome() + ". Não há estação de transferência associada.");
+    }
+
+    /**
+     * Retorna o identificador da estação que atende uma zona, em tempo constante.
+     *
+     * @param idZona O identificador da zona.
+     * @return O identificador da estação da zona.
+     * @throws ArrayIndexOutOfBoundsException se não houver zona com esse identificador.
+     */
+    public int getIdEstacaoPara(int idZona) {
+        return estacaoDaZona[idZona];
+    }
+
+    /**
+     * Retorna uma estação pelo seu identificador.
+     *
+     * @param idEstacao O identificador da estação.
+     * @return A estação de transferência.
+     * @throws ArrayIndexOutOfBoundsException se não houver estação com esse identificador.
+     */
+    public EstacaoDeTransferencia getEstacao(int idEstacao) {
+        return estacoes[idEstacao];
+    }
+
+    /**
+     * @return A quantidade de estações de transferência do roteamento.
+     */
+    public int getQuantidadeEstacoes() {
+        return estacoes.length;
+    }
+
+    /**
+     * Retorna o tempo de viagem sem trânsito, em minutos, de uma zona a uma estação, calculado
+     * pela distância em linha reta na velocidade média urbana
+     * ({@link ConfiguracoesDoSimulador#VELOCIDADE_MEDIA_URBANA_KMH}).
+     *
+     * @param idZona    O identificador da zona.
+     * @param idEstacao O identificador da estação.
+     * @return O tempo de viagem, em minutos (pelo menos 1).
+     * @throws ArrayIndexOutOfBoundsException se a zona ou a estação não existirem no roteamento.
+     */
+    public int getTempoViagem(int idZona, int idEstacao) {
+        if (idZona < 0 || idZona >= estacaoDaZona.length || idEstacao < 0 || idEstacao >= estacoes.length) {
+            throw new ArrayIndexOutOfBoundsException("Zona " + idZona + " ou estação " + idEstacao + " inexistente.");
+        }
+        return tempoViagem != null ? tempoViagem[idZona * estacoes.length + idEstacao] : calcularTempoViagem(idZona, idEstacao);
+    }
+
+    /**
+     * Atualiza a espera estimada de uma estação. Chamado pela própria estação quando a sua fila
+     * ou o seu caminhão grande mudam; custa O(log K), sendo K a quantidade de estações.
+     *
+     * @param estacao A estação cuja situação mudou.
+     */
+    public void atualizarEspera(EstacaoDeTransferencia estacao) {
+        if (esperaEstacoes != null) {
+            esperaEstacoes.atualizar(estacao.getId(), estacao.estimarEspera());
+        }
+    }
+
+    /**
+     * Retorna a espera estimada de uma estação, conforme a última atualização.
+     *
+     * @param idEstacao O identificador da estação.
+     * @return A espera estimada, em minutos (0 no mapeamento por nome).
+     */
+    public int getEsperaEstimada(int idEstacao) {
+        return esperaEstacoes != null ? esperaEstacoes.getChave(idEstacao) : 0;
+    }
+
+    /**
+     * Escolhe a estação de transferência para um caminhão que sai de uma zona.
+     * <p>
+     * Com {@link PoliticaRoteamento#FIXA}, ou para zonas sem identificador, retorna a estação
+     * da zona ({@link #getEstacaoPara(Zonas)}). Com {@link PoliticaRoteamento#MENOR_CUSTO},
+     * retorna a estação de menor custo (tempo de viagem mais espera estimada). Em caso de
+     * empate, fica com a estação da zona e, entre as demais, com a mais próxima.
+     * <p>
+     * As estações são examinadas da mais próxima para a mais distante; como nenhuma espera é
+     * menor que a do topo do heap de esperas, a busca termina na primeira estação cujo tempo de
+     * viagem somado a essa espera mínima não seja menor que o melhor custo encontrado.
+     *
+     * @param zona     A zona de onde o caminhão sai.
+     * @param politica A política de roteamento.
+     * @return A estação escolhida.
+     */
+    public EstacaoDeTransferencia escolherEstacao(Zonas zona, PoliticaRoteamento politica) {
+        EstacaoDeTransferencia daZona = getEstacaoPara(zona);
+        if (politica != PoliticaRoteamento.MENOR_CUSTO || esperaEstacoes == null) {
+            return daZona;
         }
+        int idZona = zona.getId();
+        int melhor = daZona.getId();
+        int melhorCusto = getTempoViagem(idZona, melhor) + esperaEstacoes.getChave(melhor);
+        int esperaMinima = esperaEstacoes.getChave(esperaEstacoes.getMinimo());
 
-        String nome = zona.getNome().toLowerCase(); // Converte para minúsculas para comparação flexível
+        int[] ordem = getEstacoesPorTempo(idZona);
+        for (int idEstacao : ordem) {
+            int viagem = getTempoViagem(idZona, idEstacao);
+            if (viagem + esperaMinima >= melhorCusto) {
+                return estacoes[melhor];
+            }
+            int custo = viagem + esperaEstacoes.getChave(idEstacao);
+            if (custo < melhorCusto) {
+                melhor = idEstacao;
+                melhorCusto = custo;
+            }
+        }
+        if (ordem.length < estacoes.length) {
+            // As estações guardadas não bastaram para descartar as demais: percorre todas.
+            int casa = daZona.getId();
+            for (int idEstacao = 0; idEstacao < estacoes.length; idEstacao++) {
+                int viagem = getTempoViagem(idZona, idEstacao);
+                int custo = viagem + esperaEstacoes.getChave(idEstacao);
+                if (custo < melhorCusto || (custo == melhorCusto && melhor != casa
+                        && viagem < getTempoViagem(idZona, melhor))) {
+                    melhor = idEstacao;
+                    melhorCusto = custo;
+                }
+            }
+        }
+        return estacoes[melhor];
+    }
 
-        if (nome.equals("norte") || nome.equals("centro")) {
-            return estacaoA;
+    /**
+     * Retorna as estações mais próximas de uma zona, em ordem crescente de tempo de viagem,
+     * calculando-as na primeira consulta.
+     */
+    private int[] getEstacoesPorTempo(int idZona) {
+        int[] ordem = estacoesPorTempo[idZona];
+        if (ordem == null) {
+            // Chave (tempo << 32) | estação: a ordenação dos longs desempata pelo identificador.
+            long[] chaves = new long[estacoes.length];
+            for (int e = 0; e < estacoes.length; e++) {
+                chaves[e] = ((long) getTempoViagem(idZona, e) << 32) | e;
+            }
+            Arrays.sort(chaves);
+            ordem = new int[estacoesOrdenadasPorZona];
+            for (int i = 0; i < ordem.length; i++) {
+                ordem[i] = (int) chaves[i];
+            }
+            estacoesPorTempo[idZona] = ordem;
         }
-        if (nome.equals("sul") || nome.equals("sudeste") || nome.equals("leste")) {
-            return estacaoB;
+        return ordem;
+    }
+
+    /**
+     * Retorna quanto a viagem de uma zona a uma estação demora a mais (ou a menos, se negativo)
+     * do que a viagem à estação da própria zona, sem trânsito.
+     *
+     * @param zona    A zona de origem.
+     * @param estacao A estação de destino.
+     * @return A diferença, em minutos; 0 se a estação for a da zona ou se não houver identificadores.
+     */
+    public int getDesvio(Zonas zona, EstacaoDeTransferencia estacao) {
+        int idZona = zona.getId();
+        if (idZona < 0 || idZona >= estacaoDaZona.length || estacao.getId() == estacaoDaZona[idZona]) {
+            return 0;
         }
-        // Lança exceção se a zona não corresponder a nenhuma regra definida
-        throw new IllegalArgumentException("Zona desconhecida: " + zona.getNome() + ". Não há estação de transferência associada.");
+        return getTempoViagem(idZona, estacao.getId()) - getTempoViagem(idZona, estacaoDaZona[idZona]);
     }
-}
\ No newline at end of file
+}
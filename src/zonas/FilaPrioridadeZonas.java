@@ -0,0 +1,177 @@
+package zonas;
+
+import tads.ListaArray;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Fila de prioridade indexada das zonas, ordenada pelo lixo acumulado (a zona mais suja primeiro).
+ * <p>
+ * É um heap binário de máximo em que cada zona guarda a sua posição no heap. Quando o lixo
+ * de uma zona muda ({@link Zonas#gerarLixoDiario(java.util.random.RandomGenerator)} ou {@link Zonas#coletarLixo(int)}), a
+ * própria zona avisa a fila, que a reposiciona em O(log n). Assim, a zona mais suja é obtida
+ * em O(1) e as {@code k} mais sujas em O(k log k), sem percorrer todas as zonas.
+ * <p>
+ * Zonas com a mesma quantidade de lixo são ordenadas pela ordem em que foram adicionadas
+ * à fila, de forma que o resultado é o mesmo de uma busca linear pela primeira zona com
+ * mais lixo.
+ */
+public class FilaPrioridadeZonas {
+
+    /**
+     * O heap: a zona mais suja fica na posição 0 e os filhos da posição {@code i}
+     * ficam nas posições {@code 2i + 1} e {@code 2i + 2}.
+     */
+    private Zonas[] heap;
+    /**
+     * Quantidade de zonas na fila.
+     */
+    private int tamanho;
+
+    /**
+     * Cria uma fila vazia com espaço reservado para a quantidade de zonas informada.
+     *
+     * @param capacidadeInicial A quantidade de zonas que cabem na fila antes de o vetor crescer.
+     * @throws IllegalArgumentException se a capacidade for negativa.
+     */
+    public FilaPrioridadeZonas(int capacidadeInicial) {
+        if (capacidadeInicial < 0) {
+            throw new IllegalArgumentException("A capacidade inicial não pode ser negativa: " + capacidadeInicial);
+        }
+        this.heap = new Zonas[Math.max(1, capacidadeInicial)];
+    }
+
+    /**
+     * Adiciona uma zona à fila. A partir daí, a zona mantém a fila atualizada sozinha.
+     *
+     * @param zona A zona a ser adicionada.
+     * @throws IllegalArgumentException se a zona for nula ou já pertencer a uma fila.
+     */
+    public void adicionar(Zonas zona) {
+        if (zona == null) {
+            throw new IllegalArgumentException("A zona não pode ser nula.");
+        }
+        if (zona.getFilaPrioridade() != null) {
+            throw new IllegalArgumentException("A zona " + zona.getNome() + " já pertence a uma fila de prioridade.");
+        }
+        if (tamanho == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        zona.entrarNaFila(this, tamanho);
+        heap[tamanho] = zona;
+        subir(tamanho++);
+    }
+
+    /**
+     * Retorna a zona com mais lixo acumulado, sem removê-la, em tempo constante.
+     *
+     * @return A zona mais suja, ou {@code null} se a fila estiver vazia.
+     */
+    public Zonas espiarMaisSuja() {
+        return tamanho > 0 ? heap[0] : null;
+    }
+
+    /**
+     * Retorna as {@code k} zonas com mais lixo acumulado, da mais suja para a menos suja.
+     * Percorre apenas o topo do heap, em O(k log k).
+     *
+     * @param k A quantidade de zonas desejada.
+     * @return Uma {@link ListaArray} com até {@code k} zonas.
+     * @throws IllegalArgumentException se {@code k} for negativo.
+     */
+    public ListaArray<Zonas> getMaisSujas(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("A quantidade de zonas não pode ser negativa: " + k);
+        }
+        int quantidade = Math.min(k, tamanho);
+        ListaArray<Zonas> resultado = new ListaArray<>(quantidade);
+        if (quantidade == 0) {
+            return resultado;
+        }
+        // Candidatas: posições do heap cujo pai já entrou no resultado.
+        PriorityQueue<Integer> candidatas = new PriorityQueue<>(2 * quantidade,
+                (a, b) -> antes(heap[a], heap[b]) ? -1 : 1);
+        candidatas.add(0);
+        while (resultado.getTamanho() < quantidade) {
+            int posicao = candidatas.poll();
+            resultado.adicionar(heap[posicao]);
+            int filho = 2 * posicao + 1;
+            if (filho < tamanho) {
+                candidatas.add(filho);
+            }
+            if (filho + 1 < tamanho) {
+                candidatas.add(filho + 1);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * @return A quantidade de zonas na fila.
+     */
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Reposiciona uma zona cujo lixo acumulado mudou. Chamado pela própria zona.
+     *
+     * @param zona A zona alterada.
+     */
+    void atualizar(Zonas zona) {
+        int posicao = zona.getPosicaoNaFila();
+        if (posicao > 0 && antes(zona, heap[(posicao - 1) / 2])) {
+            subir(posicao);
+        } else {
+            descer(posicao);
+        }
+    }
+
+    /**
+     * Indica se a zona {@code a} deve ficar antes da zona {@code b}: tem mais lixo ou,
+     * com a mesma quantidade, foi adicionada antes.
+     */
+    private static boolean antes(Zonas a, Zonas b) {
+        int lixoA = a.getLixoAcumulado();
+        int lixoB = b.getLixoAcumulado();
+        return lixoA > lixoB || (lixoA == lixoB && a.getOrdemNaFila() < b.getOrdemNaFila());
+    }
+
+    private void subir(int posicao) {
+        Zonas zona = heap[posicao];
+        while (posicao > 0) {
+            int pai = (posicao - 1) / 2;
+            if (!antes(zona, heap[pai])) {
+                break;
+            }
+            colocar(heap[pai], posicao);
+            posicao = pai;
+        }
+        colocar(zona, posicao);
+    }
+
+    private void descer(int posicao) {
+        Zonas zona = heap[posicao];
+        while (true) {
+            int filho = 2 * posicao + 1;
+            if (filho >= tamanho) {
+                break;
+            }
+            if (filho + 1 < tamanho && antes(heap[filho + 1], heap[filho])) {
+                filho++;
+            }
+            if (!antes(heap[filho], zona)) {
+                break;
+            }
+            colocar(heap[filho], posicao);
+            posicao = filho;
+        }
+        colocar(zona, posicao);
+    }
+
+    private void colocar(Zonas zona, int posicao) {
+        heap[posicao] = zona;
+        zona.setPosicaoNaFila(posicao);
+    }
+}
@@ -0,0 +1,14 @@
+package zonas;
+
+/**
+ * Define como um caminhão pequeno escolhe a estação de transferência ao sair de uma zona.
+ */
+public enum PoliticaRoteamento {
+    /** Cada zona sempre usa a estação que lhe foi atribuída no cenário. */
+    FIXA,
+    /**
+     * O caminhão vai para a estação de menor custo estimado: o tempo de viagem sem trânsito
+     * mais a espera estimada na estação (veja {@link DistanciaZonas#escolherEstacao(Zonas, PoliticaRoteamento)}).
+     */
+    MENOR_CUSTO
+}
@@ -1,6 +1,8 @@
 package zonas;
 
-import java.util.Random;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Representa uma zona da cidade que acumula lixo diariamente.
@@ -8,6 +10,22 @@ import java.util.Random;
  * e um registro da quantidade de lixo acumulado.
  */
 public class Zonas {
+    /**
+     * Identificador das zonas criadas sem um identificador.
+     */
+    public static final int SEM_ID = -1;
+
+    /**
+     * Ordena as zonas da mais suja para a menos suja e, em caso de empate, pela ordem do cenário.
+     * É o critério usado pelos supervisores para escolher a zona com mais lixo da cidade.
+     */
+    public static final Comparator<Zonas> MAIS_SUJA_PRIMEIRO =
+            Comparator.comparingInt(Zonas::getLixoAcumulado).reversed().thenComparingInt(Zonas::getId);
+
+    /**
+     * O identificador da zona no cenário, ou {@link #SEM_ID}.
+     */
+    private final int id;
     /**
      * O nome da zona (ex: "Sul", "Norte").
      */
@@ -24,10 +42,28 @@ public class Zonas {
      * A quantidade atual de lixo acumulado na zona (em toneladas).
      */
     private int lixoAcomulado;
+    /**
+     * O fluxo de números aleatórios usado na geração de lixo da zona,
+     * ou {@code null} para usar o gerador da thread atual.
+     */
+    private RandomGenerator gerador;
+    /**
+     * A fila de prioridade à qual a zona pertence, ou {@code null} se não pertence a nenhuma.
+     * A fila é avisada sempre que o lixo acumulado muda.
+     */
+    private FilaPrioridadeZonas filaPrioridade;
+    /**
+     * A posição atual da zona no heap de {@link #filaPrioridade}.
+     */
+    private int posicaoNaFila;
+    /**
+     * A ordem em que a zona entrou na fila, usada para desempatar zonas com o mesmo lixo.
+     */
+    private int ordemNaFila;
 
     /**
      * Construtor da classe Zona.
-     * Inicializa uma nova zona com seu nome e os limites de geração de lixo.
+     * Inicializa uma nova zona, sem identificador, com seu nome e os limites de geração de lixo.
      * O lixo acumulado inicial é zero.
      *
      * @param nome    Nome da zona (ex: "Sul", "Norte", "Centro").
@@ -36,12 +72,31 @@ public class Zonas {
      * @throws IllegalArgumentException se o nome for nulo/vazio ou os limites de lixo forem inválidos.
      */
     public Zonas(String nome, int lixoMin, int lixoMax) {
+        this(SEM_ID, nome, lixoMin, lixoMax);
+    }
+
+    /**
+     * Inicializa uma nova zona com o seu identificador no cenário, o seu nome e os limites de
+     * geração de lixo. O lixo acumulado inicial é zero.
+     *
+     * @param id      O identificador da zona: a sua posição no cenário, a partir de 0.
+     * @param nome    Nome da zona.
+     * @param lixoMin Valor mínimo de geração de lixo por dia para esta zona (em toneladas).
+     * @param lixoMax Valor máximo de geração de lixo por dia para esta zona (em toneladas).
+     * @throws IllegalArgumentException se o identificador for inválido, o nome for nulo/vazio
+     *                                  ou os limites de lixo forem inválidos.
+     */
+    public Zonas(int id, String nome, int lixoMin, int lixoMax) {
+        if (id < SEM_ID) {
+            throw new IllegalArgumentException("O identificador da zona não pode ser negativo: " + id);
+        }
         if (nome == null || nome.trim().isEmpty()) {
             throw new IllegalArgumentException("O nome da zona não pode ser nulo ou vazio.");
         }
         if (lixoMin < 0 || lixoMax < lixoMin) {
             throw new IllegalArgumentException("Limites de lixo inválidos: lixoMin não pode ser negativo e lixoMax deve ser maior ou igual a lixoMin.");
         }
+        this.id = id;
         this.nome = nome;
         this.lixoMin = lixoMin;
         this.lixoMax = lixoMax;
@@ -51,14 +106,51 @@ public class Zonas {
     /**
      * Gera uma quantidade aleatória de lixo diário para a zona, entre os limites mínimo e máximo configurados.
      * Esta quantidade é então adicionada ao valor de lixo acumulado da zona.
+     * O sorteio usa o fluxo de números aleatórios da zona (veja {@link #setGerador(RandomGenerator)}).
+     *
+     * @return A quantidade de lixo gerada (em toneladas).
+     */
+    public int gerarLixoDiario() {
+        return gerarLixoDiario(getGerador());
+    }
+
+    /**
+     * Retorna o fluxo de números aleatórios da zona.
+     *
+     * @return O fluxo definido com {@link #setGerador(RandomGenerator)} ou, se nenhum foi definido,
+     * o gerador da thread atual.
+     */
+    public RandomGenerator getGerador() {
+        return gerador != null ? gerador : ThreadLocalRandom.current();
+    }
+
+    /**
+     * Define o fluxo de números aleatórios usado na geração de lixo da zona.
+     *
+     * @param gerador O fluxo a ser usado, ou {@code null} para usar o gerador da thread atual.
      */
-    public void gerarLixoDiario() {
+    public void setGerador(RandomGenerator gerador) {
+        this.gerador = gerador;
+    }
+
+    /**
+     * Gera uma quantidade aleatória de lixo diário para a zona, entre os limites mínimo e máximo
+     * configurados, usando o gerador informado. Permite reproduzir uma simulação a partir da
+     * semente do gerador.
+     *
+     * @param gerador O gerador de números aleatórios a ser usado.
+     * @return A quantidade de lixo gerada (em toneladas).
+     */
+    public int gerarLixoDiario(RandomGenerator gerador) {
         // Gera um número aleatório de lixo entre lixoMin e lixoMax (inclusive)
         // O método nextInt(bound) retorna um valor entre 0 (inclusive) e bound (exclusive).
         // Para incluir lixoMax, a faixa é (lixoMax - lixoMin + 1).
-        int lixoGerado = new Random().nextInt(lixoMax - lixoMin + 1) + lixoMin;
+        int lixoGerado = gerador.nextInt(lixoMax - lixoMin + 1) + lixoMin;
         this.lixoAcomulado += lixoGerado; // Adiciona o lixo gerado ao acumulado
-        System.out.println("[Zona] " + nome + " gerou " + lixoGerado + " toneladas de lixo. Total acumulado: " + lixoAcomulado + "t.");
+        if (filaPrioridade != null && lixoGerado > 0) {
+            filaPrioridade.atualizar(this);
+        }
+        return lixoGerado;
     }
 
     /**
@@ -76,7 +168,9 @@ public class Zonas {
         }
         int coletado = Math.min(quantidade, lixoAcomulado); // Garante que não se colete mais lixo do que o disponível
         lixoAcomulado -= coletado; // Reduz o lixo acumulado
-        System.out.println("[Zona] " + nome + " coletou " + coletado + " toneladas de lixo. Lixo restante: " + lixoAcomulado + "t.");
+        if (filaPrioridade != null && coletado > 0) {
+            filaPrioridade.atualizar(this);
+        }
         return coletado;
     }
 
@@ -98,6 +192,25 @@ public class Zonas {
         return lixoAcomulado;
     }
 
+    /**
+     * Restaura uma quantidade de lixo acumulado lida antes com {@link #getLixoAcumulado()},
+     * reposicionando a zona na sua fila de prioridade. Usado para voltar a simulação a um
+     * estado salvo; a geração e a coleta de lixo devem usar {@link #gerarLixoDiario()} e
+     * {@link #coletarLixo(int)}.
+     *
+     * @param lixoAcumulado A quantidade de lixo acumulado, em toneladas.
+     * @throws IllegalArgumentException se a quantidade for negativa.
+     */
+    public void restaurarLixoAcumulado(int lixoAcumulado) {
+        if (lixoAcumulado < 0) {
+            throw new IllegalArgumentException("O lixo acumulado não pode ser negativo.");
+        }
+        this.lixoAcomulado = lixoAcumulado;
+        if (filaPrioridade != null) {
+            filaPrioridade.atualizar(this);
+        }
+    }
+
     /**
      * Verifica se a zona está limpa (ou seja, sem lixo acumulado).
      *
@@ -117,6 +230,15 @@ public class Zonas {
         return lixoAcomulado >= limiteMinimo;
     }
 
+    /**
+     * Retorna o identificador da zona, usado para indexar as tabelas de roteamento.
+     *
+     * @return A posição da zona no cenário, ou {@link #SEM_ID} se a zona não tiver identificador.
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Retorna o nome da zona.
      *
@@ -134,4 +256,34 @@ public class Zonas {
     public int getLixoMax() {
         return lixoMax;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retorna a fila de prioridade à qual a zona pertence.
+     *
+     * @return A {@link FilaPrioridadeZonas} da zona, ou {@code null} se ela não pertence a nenhuma.
+     */
+    public FilaPrioridadeZonas getFilaPrioridade() {
+        return filaPrioridade;
+    }
+
+    /**
+     * Registra a entrada da zona em uma fila de prioridade. Usado por {@link FilaPrioridadeZonas}.
+     */
+    void entrarNaFila(FilaPrioridadeZonas fila, int ordem) {
+        this.filaPrioridade = fila;
+        this.ordemNaFila = ordem;
+        this.posicaoNaFila = ordem;
+    }
+
+    int getPosicaoNaFila() {
+        return posicaoNaFila;
+    }
+
+    void setPosicaoNaFila(int posicaoNaFila) {
+        this.posicaoNaFila = posicaoNaFila;
+    }
+
+    int getOrdemNaFila() {
+        return ordemNaFila;
+    }
+}